@@ -28,6 +28,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ClientWriteHandler extends ClientAbstractSelectionHandler implements Runnable {
 
+    //max number of socket writes in a single handle, so other connections of the selector are not starved.
+    private static final int MAX_WRITES_PER_HANDLE = 16;
+
     private final Queue<SocketWritable> writeQueue = new ConcurrentLinkedQueue<SocketWritable>();
 
     private final AtomicBoolean informSelector = new AtomicBoolean(true);
@@ -78,16 +81,17 @@ public class ClientWriteHandler extends ClientAbstractSelectionHandler implement
         }
     }
 
+    /**
+     * Coalesces as many queued packets as fit into the buffer into a single socket write. As long as the socket
+     * accepts the whole buffer and more packets are queued, e.g. by pipelined calls, the buffer is refilled and
+     * written again instead of waiting for the next selection, up to {@link #MAX_WRITES_PER_HANDLE} writes.
+     */
     private void writeBuffer() {
-        while (buffer.hasRemaining() && lastWritable != null) {
-            boolean complete = lastWritable.writeTo(buffer);
-            if (complete) {
-                lastWritable = poll();
-            } else {
-                break;
+        for (int writes = 0; writes < MAX_WRITES_PER_HANDLE; writes++) {
+            fillBuffer();
+            if (buffer.position() == 0) {
+                return;
             }
-        }
-        if (buffer.position() > 0) {
             buffer.flip();
             try {
                 socketChannel.write(buffer);
@@ -98,8 +102,25 @@ public class ClientWriteHandler extends ClientAbstractSelectionHandler implement
             }
             if (buffer.hasRemaining()) {
                 buffer.compact();
+                return;
+            }
+            buffer.clear();
+            if (lastWritable == null) {
+                lastWritable = poll();
+                if (lastWritable == null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void fillBuffer() {
+        while (buffer.hasRemaining() && lastWritable != null) {
+            boolean complete = lastWritable.writeTo(buffer);
+            if (complete) {
+                lastWritable = poll();
             } else {
-                buffer.clear();
+                break;
             }
         }
     }
@@ -25,6 +25,8 @@ import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.map.client.MapAddEntryListenerRequest;
 import com.hazelcast.map.client.MapRemoveEntryListenerRequest;
+import com.hazelcast.map.nearcache.NearCacheRecord;
+import com.hazelcast.map.nearcache.NearCacheStore;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.impl.PortableEntryEvent;
@@ -32,15 +34,9 @@ import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ClientNearCache
@@ -53,51 +49,27 @@ public class ClientNearCache<K> {
      * Used when caching nonexistent values.
      */
     public static final Object NULL_OBJECT = new Object();
-    private static final double EVICTION_PERCENTAGE = 0.2;
     private final ClientNearCacheType cacheType;
-    private final int maxSize;
     private volatile long lastCleanup;
-    private final long maxIdleMillis;
     private final long timeToLiveMillis;
-    private final EvictionPolicy evictionPolicy;
     private final InMemoryFormat inMemoryFormat;
     private final String mapName;
     private final ClientContext context;
     private final AtomicBoolean canCleanUp;
-    private final AtomicBoolean canEvict;
-    private final ConcurrentMap<K, CacheRecord<K>> cache;
-    private final NearCacheStatsImpl clientNearCacheStats;
+    private final NearCacheStore<K> store;
     private String registrationId;
 
-    private final Comparator<CacheRecord<K>> comparator = new Comparator<CacheRecord<K>>() {
-        public int compare(CacheRecord<K> o1, CacheRecord<K> o2) {
-            if (EvictionPolicy.LRU.equals(evictionPolicy)) {
-                return ((Long) o1.lastAccessTime).compareTo((o2.lastAccessTime));
-            } else if (EvictionPolicy.LFU.equals(evictionPolicy)) {
-                return ((Integer) o1.hit.get()).compareTo((o2.hit.get()));
-            }
-
-            return 0;
-        }
-    };
-
-
     public ClientNearCache(String mapName, ClientNearCacheType cacheType,
                            ClientContext context, NearCacheConfig nearCacheConfig) {
         this.mapName = mapName;
         this.cacheType = cacheType;
         this.context = context;
-        maxSize = nearCacheConfig.getMaxSize();
-        maxIdleMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getMaxIdleSeconds());
-        inMemoryFormat = nearCacheConfig.getInMemoryFormat();
         timeToLiveMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
+        inMemoryFormat = nearCacheConfig.getInMemoryFormat();
         boolean invalidateOnChange = nearCacheConfig.isInvalidateOnChange();
-        evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
-        cache = new ConcurrentHashMap<K, CacheRecord<K>>();
+        store = new NearCacheStore<K>(nearCacheConfig);
         canCleanUp = new AtomicBoolean(true);
-        canEvict = new AtomicBoolean(true);
         lastCleanup = Clock.currentTimeMillis();
-        clientNearCacheStats = new NearCacheStatsImpl();
         if (invalidateOnChange) {
             addInvalidateListener();
         }
@@ -117,11 +89,11 @@ public class ClientNearCache<K> {
                             case UPDATED:
                             case EVICTED:
                                 final Data key = event.getKey();
-                                cache.remove(key);
+                                store.remove((K) key);
                                 break;
                             case CLEAR_ALL:
                             case EVICT_ALL:
-                                cache.clear();
+                                store.clear();
                                 break;
                             default:
                                 throw new IllegalArgumentException("Not a known event type " + event.getEventType());
@@ -130,7 +102,7 @@ public class ClientNearCache<K> {
 
                     @Override
                     public void onListenerRegister() {
-                        cache.clear();
+                        store.clear();
                     }
                 };
             } else {
@@ -145,54 +117,15 @@ public class ClientNearCache<K> {
 
     }
 
-    static enum EvictionPolicy {
-        NONE, LRU, LFU
-    }
-
     public void put(K key, Object object) {
         fireTtlCleanup();
-        if (evictionPolicy == EvictionPolicy.NONE && cache.size() >= maxSize) {
-            return;
-        }
-        if (evictionPolicy != EvictionPolicy.NONE && cache.size() >= maxSize) {
-            fireEvictCache();
-        }
         Object value;
         if (object == null) {
             value = NULL_OBJECT;
         } else {
             value = inMemoryFormat.equals(InMemoryFormat.BINARY) ? context.getSerializationService().toData(object) : object;
         }
-        cache.put(key, new CacheRecord<K>(key, value));
-    }
-
-    private void fireEvictCache() {
-        if (canEvict.compareAndSet(true, false)) {
-            try {
-                context.getExecutionService().execute(new Runnable() {
-                    public void run() {
-                        try {
-                            TreeSet<CacheRecord<K>> records = new TreeSet<CacheRecord<K>>(comparator);
-                            records.addAll(cache.values());
-                            int evictSize = (int) (EVICTION_PERCENTAGE * cache.size());
-                            int i = 0;
-                            for (CacheRecord<K> record : records) {
-                                cache.remove(record.key);
-                                if (++i > evictSize) {
-                                    break;
-                                }
-                            }
-                        } finally {
-                            canEvict.set(true);
-                        }
-                    }
-                });
-            } catch (RejectedExecutionException e) {
-                canEvict.set(true);
-            } catch (Exception e) {
-                throw ExceptionUtil.rethrow(e);
-            }
-        }
+        store.put(key, new NearCacheRecord<K>(key, value));
     }
 
     private void fireTtlCleanup() {
@@ -206,11 +139,7 @@ public class ClientNearCache<K> {
                     public void run() {
                         try {
                             lastCleanup = Clock.currentTimeMillis();
-                            for (Map.Entry<K, CacheRecord<K>> entry : cache.entrySet()) {
-                                if (entry.getValue().expired()) {
-                                    cache.remove(entry.getKey());
-                                }
-                            }
+                            store.removeExpiredRecords();
                         } finally {
                             canCleanUp.set(true);
                         }
@@ -225,11 +154,11 @@ public class ClientNearCache<K> {
     }
 
     public void invalidate() {
-        cache.clear();
+        store.clear();
     }
 
     public void invalidate(K key) {
-        cache.remove(key);
+        store.remove(key);
     }
 
     public void invalidate(Collection<K> keys) {
@@ -237,45 +166,31 @@ public class ClientNearCache<K> {
             return;
         }
         for (K key : keys) {
-            cache.remove(key);
+            store.remove(key);
         }
     }
 
     public Object get(K key) {
         fireTtlCleanup();
-        CacheRecord<K> record = cache.get(key);
+        final NearCacheRecord<K> record = store.get(key);
         if (record != null) {
-            if (record.expired()) {
-                cache.remove(key);
-                clientNearCacheStats.incrementMisses();
-                return null;
-            }
-            if (record.value.equals(NULL_OBJECT)) {
-                clientNearCacheStats.incrementMisses();
+            final Object value = record.getValue();
+            if (value.equals(NULL_OBJECT)) {
+                store.incrementMisses();
                 return NULL_OBJECT;
             }
             record.access();
+            store.incrementHits();
             return inMemoryFormat.equals(InMemoryFormat.BINARY) ? context.getSerializationService().
-                    toObject((Data) record.value) : record.value;
+                    toObject((Data) value) : value;
         } else {
-            clientNearCacheStats.incrementMisses();
+            store.incrementMisses();
             return null;
         }
     }
 
     public NearCacheStatsImpl getNearCacheStats() {
-        return createNearCacheStats();
-    }
-
-    private NearCacheStatsImpl createNearCacheStats() {
-        long ownedEntryCount = cache.values().size();
-        long ownedEntryMemory = 0;
-        for (CacheRecord record : cache.values()) {
-            ownedEntryMemory += record.getCost();
-        }
-        clientNearCacheStats.setOwnedEntryCount(ownedEntryCount);
-        clientNearCacheStats.setOwnedEntryMemoryCost(ownedEntryMemory);
-        return clientNearCacheStats;
+        return store.getNearCacheStats();
     }
 
     public void destroy() {
@@ -288,58 +203,10 @@ public class ClientNearCache<K> {
             }
             context.getListenerService().stopListening(request, registrationId);
         }
-        cache.clear();
+        store.clear();
     }
 
     public void clear() {
-        cache.clear();
-    }
-
-    class CacheRecord<K> {
-        final K key;
-        final Object value;
-        volatile long lastAccessTime;
-        final long creationTime;
-        final AtomicInteger hit;
-
-        CacheRecord(K key, Object value) {
-            this.key = key;
-            this.value = value;
-            long time = Clock.currentTimeMillis();
-            this.lastAccessTime = time;
-            this.creationTime = time;
-            this.hit = new AtomicInteger(0);
-        }
-
-        void access() {
-            hit.incrementAndGet();
-            clientNearCacheStats.incrementHits();
-            lastAccessTime = Clock.currentTimeMillis();
-        }
-
-        public long getCost() {
-            // todo find object size  if not a Data instance.
-            if (!(value instanceof Data)) {
-                return 0;
-            }
-            if (!(key instanceof Data)) {
-                return 0;
-            }
-            // value is Data
-            return ((Data) key).getHeapCost()
-                    + ((Data) value).getHeapCost()
-                    + 2 * (Long.SIZE / Byte.SIZE)
-                    // sizeof atomic integer
-                    + (Integer.SIZE / Byte.SIZE)
-                    // object references (key, value, hit)
-                    + 3 * (Integer.SIZE / Byte.SIZE);
-        }
-
-        boolean expired() {
-            long time = Clock.currentTimeMillis();
-            return (maxIdleMillis > 0 && time > lastAccessTime + maxIdleMillis)
-                    || (timeToLiveMillis > 0 && time > creationTime + timeToLiveMillis);
-        }
-
+        store.clear();
     }
 }
@@ -18,6 +18,7 @@ package com.hazelcast.client.proxy;
 
 import com.hazelcast.client.nearcache.ClientNearCache;
 import com.hazelcast.client.nearcache.ClientNearCacheType;
+import com.hazelcast.client.spi.ClientPartitionService;
 import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.client.spi.EventHandler;
 import com.hazelcast.client.spi.impl.ClientCallFuture;
@@ -37,10 +38,13 @@ import com.hazelcast.map.MapEntrySet;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapKeySet;
 import com.hazelcast.map.MapValueCollection;
+import com.hazelcast.map.QueryCursorBatch;
+import com.hazelcast.map.QueryCursorIterator;
 import com.hazelcast.map.SimpleEntryView;
 import com.hazelcast.map.client.MapAddEntryListenerRequest;
 import com.hazelcast.map.client.MapAddIndexRequest;
 import com.hazelcast.map.client.MapAddInterceptorRequest;
+import com.hazelcast.map.client.MapAggregationRequest;
 import com.hazelcast.map.client.MapClearRequest;
 import com.hazelcast.map.client.MapContainsKeyRequest;
 import com.hazelcast.map.client.MapContainsValueRequest;
@@ -66,6 +70,7 @@ import com.hazelcast.map.client.MapPutAllRequest;
 import com.hazelcast.map.client.MapPutIfAbsentRequest;
 import com.hazelcast.map.client.MapPutRequest;
 import com.hazelcast.map.client.MapPutTransientRequest;
+import com.hazelcast.map.client.MapQueryCursorRequest;
 import com.hazelcast.map.client.MapQueryRequest;
 import com.hazelcast.map.client.MapRemoveEntryListenerRequest;
 import com.hazelcast.map.client.MapRemoveIfSameRequest;
@@ -90,12 +95,15 @@ import com.hazelcast.mapreduce.ReducerFactory;
 import com.hazelcast.mapreduce.ReducingSubmittableJob;
 import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.mapreduce.aggregation.impl.Accumulator;
+import com.hazelcast.mapreduce.aggregation.impl.AccumulatorFactory;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.PagingPredicate;
-import com.hazelcast.query.PagingPredicateAccessor;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
 import com.hazelcast.spi.impl.PortableEntryEvent;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.IterationType;
@@ -103,6 +111,7 @@ import com.hazelcast.util.QueryResultSet;
 import com.hazelcast.util.SortedQueryResultSet;
 import com.hazelcast.util.SortingUtil;
 import com.hazelcast.util.ThreadUtil;
+import com.hazelcast.util.TopN;
 import com.hazelcast.util.ValidationUtil;
 import com.hazelcast.util.executor.CompletedFuture;
 import com.hazelcast.util.executor.DelegatingFuture;
@@ -111,7 +120,6 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -654,12 +662,6 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         if (predicate instanceof PagingPredicate) {
             pagingPredicate = (PagingPredicate) predicate;
             pagingPredicate.setIterationType(IterationType.KEY);
-
-            if (pagingPredicate.getPage() > 0 && pagingPredicate.getAnchor() == null) {
-                pagingPredicate.previousPage();
-                keySet(pagingPredicate);
-                pagingPredicate.nextPage();
-            }
         }
         MapQueryRequest request = new MapQueryRequest(name, predicate, IterationType.KEY);
         QueryResultSet result = invoke(request);
@@ -671,23 +673,9 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
             }
             return keySet;
         }
-
-
-        final Comparator<Entry> comparator = SortingUtil.newComparator(pagingPredicate.getComparator(), IterationType.KEY);
-        final SortedQueryResultSet sortedResult = new SortedQueryResultSet(comparator, IterationType.KEY,
-                pagingPredicate.getPageSize());
-
-
-        final Iterator<Entry> iterator = result.rawIterator();
-        while (iterator.hasNext()) {
-            final Entry entry = iterator.next();
-            final K key = toObject(entry.getKey());
-            final V value = toObject(entry.getValue());
-            sortedResult.add(new AbstractMap.SimpleImmutableEntry<K, V>(key, value));
-        }
-
-        PagingPredicateAccessor.setPagingPredicateAnchor(pagingPredicate, sortedResult.last());
-
+        final SortedQueryResultSet sortedResult = new SortedQueryResultSet(pagingPredicate.getComparator(),
+                IterationType.KEY, pagingPredicate.getPageSize());
+        sortedResult.addAll(getPage(pagingPredicate, result));
         return (Set<K>) sortedResult;
     }
 
@@ -697,32 +685,23 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         if (predicate instanceof PagingPredicate) {
             pagingPredicate = (PagingPredicate) predicate;
             pagingPredicate.setIterationType(IterationType.ENTRY);
-
-            if (pagingPredicate.getPage() > 0 && pagingPredicate.getAnchor() == null) {
-                pagingPredicate.previousPage();
-                entrySet(pagingPredicate);
-                pagingPredicate.nextPage();
-            }
         }
 
         MapQueryRequest request = new MapQueryRequest(name, predicate, IterationType.ENTRY);
         QueryResultSet result = invoke(request);
-        Set entrySet;
-        if (pagingPredicate == null) {
-            entrySet = new HashSet<Entry<K, V>>(result.size());
-        } else {
-            entrySet = new SortedQueryResultSet(pagingPredicate.getComparator(), IterationType.ENTRY,
-                    pagingPredicate.getPageSize());
+        if (pagingPredicate != null) {
+            final SortedQueryResultSet sortedResult = new SortedQueryResultSet(pagingPredicate.getComparator(),
+                    IterationType.ENTRY, pagingPredicate.getPageSize());
+            sortedResult.addAll(getPage(pagingPredicate, result));
+            return (Set) sortedResult;
         }
+        Set<Entry<K, V>> entrySet = new HashSet<Entry<K, V>>(result.size());
         for (Object data : result) {
             AbstractMap.SimpleImmutableEntry<Data, Data> dataEntry = (AbstractMap.SimpleImmutableEntry<Data, Data>) data;
             K key = toObject(dataEntry.getKey());
             V value = toObject(dataEntry.getValue());
             entrySet.add(new AbstractMap.SimpleEntry<K, V>(key, value));
         }
-        if (pagingPredicate != null) {
-            PagingPredicateAccessor.setPagingPredicateAnchor(pagingPredicate, ((SortedQueryResultSet) entrySet).last());
-        }
         return entrySet;
     }
 
@@ -732,12 +711,6 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         if (predicate instanceof PagingPredicate) {
             pagingPredicate = (PagingPredicate) predicate;
             pagingPredicate.setIterationType(IterationType.VALUE);
-
-            if (pagingPredicate.getPage() > 0 && pagingPredicate.getAnchor() == null) {
-                pagingPredicate.previousPage();
-                values(pagingPredicate);
-                pagingPredicate.nextPage();
-            }
         }
         MapQueryRequest request = new MapQueryRequest(name, predicate, IterationType.VALUE);
         QueryResultSet result = invoke(request);
@@ -751,30 +724,70 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
             return values;
         }
 
-        List<Entry<Object, V>> valueEntryList = new ArrayList<Entry<Object, V>>(result.size());
+        final List<Entry> page = getPage(pagingPredicate, result);
+        final ArrayList<V> values = new ArrayList<V>(page.size());
+        for (Entry entry : page) {
+            values.add((V) entry.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Members return the entries following the nearest anchor of the paging predicate up to the requested page,
+     * keeps the smallest of them in a bounded heap and cuts the page out.
+     */
+    private List<Entry> getPage(PagingPredicate pagingPredicate, QueryResultSet result) {
+        final TopN<Entry> topEntries = new TopN<Entry>(SortingUtil.newComparator(pagingPredicate),
+                SortingUtil.getPagingLimit(pagingPredicate));
         final Iterator<Entry> iterator = result.rawIterator();
         while (iterator.hasNext()) {
             final Entry entry = iterator.next();
-            K key = toObject(entry.getKey());
-            V value = toObject(entry.getValue());
-            valueEntryList.add(new AbstractMap.SimpleImmutableEntry<Object, V>(key, value));
+            final K key = toObject(entry.getKey());
+            final V value = toObject(entry.getValue());
+            topEntries.add(new AbstractMap.SimpleImmutableEntry<K, V>(key, value));
         }
+        return SortingUtil.getPage(pagingPredicate, topEntries.toSortedList());
+    }
 
-        Collections.sort(valueEntryList, SortingUtil.newComparator(pagingPredicate.getComparator(), IterationType.VALUE));
-        if (valueEntryList.size() > pagingPredicate.getPageSize()) {
-            valueEntryList = valueEntryList.subList(0, pagingPredicate.getPageSize());
-        }
-        Entry anchor = null;
-        if (valueEntryList.size() != 0) {
-            anchor = valueEntryList.get(valueEntryList.size() - 1);
-        }
-        PagingPredicateAccessor.setPagingPredicateAnchor(pagingPredicate, anchor);
+    @Override
+    public Iterator<K> keyIterator(Predicate predicate, int batchSize) {
+        return queryIterator(predicate, IterationType.KEY, batchSize);
+    }
+
+    @Override
+    public Iterator<V> valueIterator(Predicate predicate, int batchSize) {
+        return queryIterator(predicate, IterationType.VALUE, batchSize);
+    }
 
-        final ArrayList<V> values = new ArrayList<V>(valueEntryList.size());
-        for (Entry<Object, V> objectVEntry : valueEntryList) {
-            values.add(objectVEntry.getValue());
+    @Override
+    public Iterator<Entry<K, V>> entryIterator(Predicate predicate, int batchSize) {
+        return queryIterator(predicate, IterationType.ENTRY, batchSize);
+    }
+
+    private <E> Iterator<E> queryIterator(Predicate predicate, final IterationType iterationType, final int batchSize) {
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Paging predicates are not supported by query iterators");
         }
-        return values;
+        ValidationUtil.shouldBePositive(batchSize, "batchSize");
+        final Predicate queryPredicate = predicate == null ? TruePredicate.INSTANCE : predicate;
+        final ClientPartitionService partitionService = getContext().getPartitionService();
+        return new QueryCursorIterator<E>(partitionService.getPartitionCount(), iterationType) {
+            @Override
+            protected QueryCursorBatch fetch(int partitionId, long cursorId, int batchSequence) {
+                MapQueryCursorRequest request = new MapQueryCursorRequest(name, queryPredicate, iterationType,
+                        partitionId, cursorId, batchSequence, batchSize);
+                Address owner = partitionService.getPartitionOwner(partitionId);
+                if (owner == null) {
+                    return invoke(request);
+                }
+                return invoke(request, owner);
+            }
+
+            @Override
+            protected Object toObject(Data data) {
+                return ClientMapProxy.this.toObject(data);
+            }
+        };
     }
 
     @Override
@@ -867,6 +880,14 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
     public <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                                     Aggregation<K, SuppliedValue, Result> aggregation) {
 
+        if (aggregation instanceof AccumulatorFactory) {
+            Accumulator accumulator = ((AccumulatorFactory) aggregation).newAccumulator();
+            if (accumulator != null) {
+                ValidationUtil.isNotNull(supplier, "supplier");
+                MapAggregationRequest request = new MapAggregationRequest(name, supplier, accumulator);
+                return invoke(request);
+            }
+        }
         HazelcastInstance hazelcastInstance = getContext().getHazelcastInstance();
         JobTracker jobTracker = hazelcastInstance.getJobTracker("hz::aggregation-map-" + getName());
         return aggregate(supplier, aggregation, jobTracker);
@@ -32,6 +32,8 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.spi.exception.TargetNotMemberException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -40,6 +42,9 @@ import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.onOutOfMemory;
 
 public final class ClientInvocationServiceImpl implements ClientInvocationService {
 
+    //max number of responses the response thread takes from its queue at once.
+    private static final int RESPONSE_BATCH_SIZE = 64;
+
     private final ILogger logger = Logger.getLogger(ClientInvocationService.class);
     private final HazelcastClient client;
     private final ClientConnectionManager connectionManager;
@@ -161,6 +166,9 @@ public final class ClientInvocationServiceImpl implements ClientInvocationServic
 
     private class ResponseThread extends Thread {
         private final BlockingQueue<Packet> workQueue = new LinkedBlockingQueue<Packet>();
+        //responses of pipelined calls arrive in bursts, they are drained in batches so the queue lock
+        //is taken once per batch instead of once per response.
+        private final List<Packet> batch = new ArrayList<Packet>(RESPONSE_BATCH_SIZE);
 
         public ResponseThread(ThreadGroup threadGroup, String name, ClassLoader classLoader) {
             super(threadGroup, name);
@@ -179,20 +187,23 @@ public final class ClientInvocationServiceImpl implements ClientInvocationServic
 
         private void doRun() {
             for (;;) {
-                Packet task;
                 try {
-                    task = workQueue.take();
+                    batch.add(workQueue.take());
                 } catch (InterruptedException e) {
                     if (isShutdown) {
                         return;
                     }
                     continue;
                 }
+                workQueue.drainTo(batch, RESPONSE_BATCH_SIZE - 1);
 
                 if (isShutdown) {
                     return;
                 }
-                process(task);
+                for (int i = 0; i < batch.size(); i++) {
+                    process(batch.get(i));
+                }
+                batch.clear();
             }
         }
 
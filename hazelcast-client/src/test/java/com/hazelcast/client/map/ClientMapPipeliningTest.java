@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.Pipelining;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static com.hazelcast.test.HazelcastTestSupport.randomString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ClientMapPipeliningTest {
+
+    static HazelcastInstance client;
+    static HazelcastInstance server;
+
+    @BeforeClass
+    public static void init() {
+        server = Hazelcast.newHazelcastInstance();
+        client = HazelcastClient.newHazelcastClient();
+    }
+
+    @AfterClass
+    public static void destroy() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testPipelinedPutsAndGets() throws Exception {
+        final int count = 10000;
+        final IMap<Integer, Integer> map = client.getMap(randomString());
+
+        Pipelining<Integer> puts = new Pipelining<Integer>(100);
+        for (int i = 0; i < count; i++) {
+            puts.add(map.putAsync(i, i));
+        }
+        List<Integer> oldValues = puts.results();
+        assertEquals(count, oldValues.size());
+        assertNull(oldValues.get(0));
+        assertEquals(count, map.size());
+
+        Pipelining<Integer> gets = new Pipelining<Integer>(100);
+        for (int i = 0; i < count; i++) {
+            gets.add(map.getAsync(i));
+        }
+        List<Integer> values = gets.results();
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, values.get(i).intValue());
+        }
+    }
+}
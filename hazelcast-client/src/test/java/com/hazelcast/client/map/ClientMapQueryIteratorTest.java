@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.test.HazelcastTestSupport.randomString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ClientMapQueryIteratorTest {
+
+    static HazelcastInstance client;
+    static HazelcastInstance server;
+
+    @BeforeClass
+    public static void init() {
+        server = Hazelcast.newHazelcastInstance();
+        client = HazelcastClient.newHazelcastClient();
+    }
+
+    @AfterClass
+    public static void destroy() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testKeyIterator() {
+        final IMap<Integer, Integer> map = newMap(1000);
+
+        Set<Integer> keys = new HashSet<Integer>();
+        Iterator<Integer> iterator = map.keyIterator(null, 10);
+        while (iterator.hasNext()) {
+            assertTrue(keys.add(iterator.next()));
+        }
+
+        assertEquals(1000, keys.size());
+    }
+
+    @Test
+    public void testValueIterator_withPredicate() {
+        final IMap<Integer, Integer> map = newMap(1000);
+
+        int count = 0;
+        Iterator<Integer> iterator = map.valueIterator(Predicates.greaterEqual("this", 900), 7);
+        while (iterator.hasNext()) {
+            assertTrue(iterator.next() >= 900);
+            count++;
+        }
+
+        assertEquals(100, count);
+    }
+
+    @Test
+    public void testEntryIterator_withPredicate() {
+        final IMap<Integer, Integer> map = newMap(1000);
+
+        int count = 0;
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.entryIterator(Predicates.lessThan("this", 10), 1);
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            assertEquals(entry.getKey(), entry.getValue());
+            count++;
+        }
+
+        assertEquals(10, count);
+    }
+
+    private IMap<Integer, Integer> newMap(int entryCount) {
+        final IMap<Integer, Integer> map = client.getMap(randomString());
+        for (int i = 0; i < entryCount; i++) {
+            map.put(i, i);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+
+/**
+ * A soft lock marker stored in place of the cached value while an entry is being updated. Readers see a
+ * cache miss as long as the marker is present. If more than one transaction locked the entry concurrently
+ * none of them may write its value. The marker expires after the lock timeout, which every lock and unlock
+ * renews, whether or not all locks were released, so a lock which is never released cannot block the entry
+ * forever.
+ */
+public class ExpiryMarker implements DataSerializable {
+
+    private String markerId;
+    private long timeout;
+    private int lockCount;
+    private boolean concurrent;
+
+    public ExpiryMarker() {
+    }
+
+    public ExpiryMarker(String markerId, long timeout) {
+        this(markerId, timeout, 1, false);
+    }
+
+    private ExpiryMarker(String markerId, long timeout, int lockCount, boolean concurrent) {
+        this.markerId = markerId;
+        this.timeout = timeout;
+        this.lockCount = lockCount;
+        this.concurrent = concurrent;
+    }
+
+    public String getMarkerId() {
+        return markerId;
+    }
+
+    public boolean isExpired(long now) {
+        return timeout < now;
+    }
+
+    public boolean matches(String markerId) {
+        return this.markerId.equals(markerId);
+    }
+
+    /**
+     * Returns true if this marker is held by a single lock which never had concurrent locks, in which case
+     * the lock holder may replace the marker with the updated value.
+     */
+    public boolean isWriteable() {
+        return lockCount == 1 && !concurrent;
+    }
+
+    public ExpiryMarker lock(long timeout) {
+        return new ExpiryMarker(markerId, timeout, lockCount + 1, true);
+    }
+
+    public ExpiryMarker unlock(long timeout) {
+        return new ExpiryMarker(markerId, timeout, lockCount - 1, concurrent);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(markerId);
+        out.writeLong(timeout);
+        out.writeInt(lockCount);
+        out.writeBoolean(concurrent);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        markerId = in.readUTF();
+        timeout = in.readLong();
+        lockCount = in.readInt();
+        concurrent = in.readBoolean();
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiryMarker{markerId=" + markerId + ", timeout=" + timeout + ", lockCount=" + lockCount
+                + ", concurrent=" + concurrent + '}';
+    }
+}
@@ -46,14 +46,15 @@ public class IMapRegionCache implements RegionCache {
     private static final SoftLock LOCK_FAILURE = new SoftLock() {
     };
 
+    protected final IMap<Object, Object> map;
+    protected final Comparator versionComparator;
+    protected final int lockTimeout;
+    protected final boolean explicitVersionCheckEnabled;
+    protected final ILogger logger;
+
     private final String name;
     private final HazelcastInstance hazelcastInstance;
-    private final IMap<Object, Object> map;
-    private final Comparator versionComparator;
-    private final int lockTimeout;
     private final long tryLockAndGetTimeout;
-    private final boolean explicitVersionCheckEnabled;
-    private final ILogger logger;
 
     public IMapRegionCache(final String name, final HazelcastInstance hazelcastInstance,
                            final Properties props, final CacheDataDescription metadata) {
@@ -68,6 +69,19 @@ public class IMapRegionCache implements RegionCache {
         logger = createLogger(name, hazelcastInstance);
     }
 
+    /**
+     * Creates the distributed {@link RegionCache} for an entity or collection region. Depending on
+     * {@link CacheEnvironment#SOFT_LOCK_MARKERS} this is an {@link IMapSoftLockRegionCache} or a
+     * plain IMapRegionCache.
+     */
+    public static IMapRegionCache create(final String name, final HazelcastInstance hazelcastInstance,
+                                         final Properties props, final CacheDataDescription metadata) {
+        if (CacheEnvironment.isSoftLockMarkersEnabled(props)) {
+            return new IMapSoftLockRegionCache(name, hazelcastInstance, props, metadata);
+        }
+        return new IMapRegionCache(name, hazelcastInstance, props, metadata);
+    }
+
     public Object get(final Object key) {
         return map.get(key);
     }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.hibernate.RegionCache;
+import org.hibernate.cache.CacheDataDescription;
+import org.hibernate.cache.access.SoftLock;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link RegionCache} implementation which soft locks entries by replacing them with an {@link ExpiryMarker}
+ * instead of locking the map entries. Lock, version check and update are each executed by an entry processor
+ * on the partition owning the key, so the read-write access strategies need no extra lock and unlock round
+ * trips. A marker which is not released, for example because its owner died, expires after the lock timeout.
+ */
+public class IMapSoftLockRegionCache extends IMapRegionCache {
+
+    private final String markerIdPrefix = UUID.randomUUID().toString() + "-";
+    private final AtomicLong markerIdSequence = new AtomicLong();
+    private final Comparator serializableVersionComparator;
+
+    public IMapSoftLockRegionCache(final String name, final HazelcastInstance hazelcastInstance,
+                                   final Properties props, final CacheDataDescription metadata) {
+        super(name, hazelcastInstance, props, metadata);
+        if (explicitVersionCheckEnabled && versionComparator instanceof Serializable) {
+            serializableVersionComparator = versionComparator;
+        } else {
+            if (explicitVersionCheckEnabled && versionComparator != null) {
+                logger.warning("Version comparator " + versionComparator.getClass().getName()
+                        + " is not serializable, explicit version checks are disabled");
+            }
+            serializableVersionComparator = null;
+        }
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final Object value = map.get(key);
+        return value instanceof ExpiryMarker ? null : value;
+    }
+
+    @Override
+    public boolean update(final Object key, final Object value, final Object currentVersion,
+                          final Object previousVersion, final SoftLock lock) {
+        final MarkerSoftLock markerLock = lock instanceof MarkerSoftLock ? (MarkerSoftLock) lock : null;
+        if (versionComparator != null && currentVersion != null && previousVersion != null
+                && versionComparator.compare(currentVersion, previousVersion) <= 0) {
+            return false;
+        }
+        final String markerId = markerLock != null ? markerLock.getMarkerId() : null;
+        final UpdateEntryProcessor processor =
+                new UpdateEntryProcessor(value, markerId, lockTimeout, serializableVersionComparator);
+        final boolean updated = Boolean.TRUE.equals(map.executeOnKey(key, processor));
+        if (markerLock != null) {
+            // the update processor either replaced the marker or released the lock already
+            markerLock.setReleased();
+        }
+        return updated;
+    }
+
+    @Override
+    public SoftLock tryLock(final Object key, final Object version) {
+        final String markerId = markerIdPrefix + markerIdSequence.incrementAndGet();
+        final Object lockedId = map.executeOnKey(key, new LockEntryProcessor(markerId, lockTimeout));
+        return new MarkerSoftLock((String) lockedId);
+    }
+
+    @Override
+    public void unlock(final Object key, final SoftLock lock) {
+        if (lock instanceof MarkerSoftLock) {
+            final MarkerSoftLock markerLock = (MarkerSoftLock) lock;
+            if (!markerLock.isReleased()) {
+                map.executeOnKey(key, new UnlockEntryProcessor(markerLock.getMarkerId(), lockTimeout));
+                markerLock.setReleased();
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(final Object key) {
+        return get(key) != null;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.util.Clock;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Replaces the cached value by an {@link ExpiryMarker} or adds another lock to an existing marker and
+ * returns the id of the marker now stored.
+ */
+public class LockEntryProcessor extends AbstractEntryProcessor<Object, Object> implements DataSerializable {
+
+    private String markerId;
+    private long lockTimeout;
+
+    public LockEntryProcessor() {
+    }
+
+    public LockEntryProcessor(String markerId, long lockTimeout) {
+        this.markerId = markerId;
+        this.lockTimeout = lockTimeout;
+    }
+
+    @Override
+    public Object process(Map.Entry<Object, Object> entry) {
+        long timeout = Clock.currentTimeMillis() + lockTimeout;
+        Object value = entry.getValue();
+        ExpiryMarker marker;
+        if (value instanceof ExpiryMarker && !((ExpiryMarker) value).isExpired(Clock.currentTimeMillis())) {
+            marker = ((ExpiryMarker) value).lock(timeout);
+        } else {
+            // an expired marker is replaced, the new lock does not inherit the locks of a dead holder
+            marker = new ExpiryMarker(markerId, timeout);
+        }
+        entry.setValue(marker);
+        return marker.getMarkerId();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(markerId);
+        out.writeLong(lockTimeout);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        markerId = in.readUTF();
+        lockTimeout = in.readLong();
+    }
+}
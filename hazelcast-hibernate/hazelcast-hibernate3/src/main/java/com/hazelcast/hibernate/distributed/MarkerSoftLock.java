@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed;
+
+import org.hibernate.cache.access.SoftLock;
+
+/**
+ * The {@link SoftLock} handed out by {@link IMapSoftLockRegionCache}. It references the {@link ExpiryMarker}
+ * stored for the locked entry and remembers if an update already released it.
+ */
+public class MarkerSoftLock implements SoftLock {
+
+    private final String markerId;
+    private volatile boolean released;
+
+    public MarkerSoftLock(String markerId) {
+        this.markerId = markerId;
+    }
+
+    public String getMarkerId() {
+        return markerId;
+    }
+
+    public boolean isReleased() {
+        return released;
+    }
+
+    public void setReleased() {
+        released = true;
+    }
+}
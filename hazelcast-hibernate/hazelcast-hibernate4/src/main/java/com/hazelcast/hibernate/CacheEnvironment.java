@@ -81,6 +81,14 @@ public final class CacheEnvironment {
      */
     public static final String EXPLICIT_VERSION_CHECK = "hibernate.cache.hazelcast.explicit_version_check";
 
+    /**
+     * Property to configure if entity, collection and natural id regions lock entries by storing soft lock
+     * markers through entry processors instead of locking the map entries. Every lock, unlock and update is a
+     * single operation on the partition owning the entry then. The members need the Hazelcast Hibernate
+     * classes on their classpath.
+     */
+    public static final String SOFT_LOCK_MARKERS = "hibernate.cache.hazelcast.use_soft_lock_markers";
+
     // milliseconds
     private static final int MAXIMUM_LOCK_TIMEOUT = 10000;
 
@@ -130,4 +138,8 @@ public final class CacheEnvironment {
     public static boolean isExplicitVersionCheckEnabled(Properties props) {
         return ConfigurationHelper.getBoolean(CacheEnvironment.EXPLICIT_VERSION_CHECK, props, false);
     }
+
+    public static boolean isSoftLockMarkersEnabled(Properties props) {
+        return ConfigurationHelper.getBoolean(CacheEnvironment.SOFT_LOCK_MARKERS, props, false);
+    }
 }
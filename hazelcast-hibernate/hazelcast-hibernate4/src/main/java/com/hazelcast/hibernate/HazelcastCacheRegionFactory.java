@@ -49,13 +49,13 @@ public class HazelcastCacheRegionFactory extends AbstractHazelcastCacheRegionFac
     public CollectionRegion buildCollectionRegion(final String regionName, final Properties properties,
                                                   final CacheDataDescription metadata) throws CacheException {
         return new HazelcastCollectionRegion<IMapRegionCache>(instance, regionName, properties, metadata,
-                new IMapRegionCache(regionName, instance, properties, metadata));
+                IMapRegionCache.create(regionName, instance, properties, metadata));
     }
 
     public EntityRegion buildEntityRegion(final String regionName, final Properties properties,
                                           final CacheDataDescription metadata) throws CacheException {
         return new HazelcastEntityRegion<IMapRegionCache>(instance, regionName, properties, metadata,
-                new IMapRegionCache(regionName, instance, properties, metadata));
+                IMapRegionCache.create(regionName, instance, properties, metadata));
     }
 
     public TimestampsRegion buildTimestampsRegion(final String regionName, final Properties properties)
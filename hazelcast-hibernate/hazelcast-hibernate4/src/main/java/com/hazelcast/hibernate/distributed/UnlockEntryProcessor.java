@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.util.Clock;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Releases a lock of an {@link ExpiryMarker} without writing a value. The marker stays until it expires, so
+ * values loaded by transactions which started before the lock was released cannot be put into the cache.
+ */
+public class UnlockEntryProcessor extends AbstractEntryProcessor<Object, Object> implements DataSerializable {
+
+    private String markerId;
+    private long lockTimeout;
+
+    public UnlockEntryProcessor() {
+    }
+
+    public UnlockEntryProcessor(String markerId, long lockTimeout) {
+        this.markerId = markerId;
+        this.lockTimeout = lockTimeout;
+    }
+
+    @Override
+    public Object process(Map.Entry<Object, Object> entry) {
+        Object value = entry.getValue();
+        if (value instanceof ExpiryMarker && ((ExpiryMarker) value).matches(markerId)) {
+            entry.setValue(((ExpiryMarker) value).unlock(Clock.currentTimeMillis() + lockTimeout));
+        }
+        return null;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(markerId);
+        out.writeLong(lockTimeout);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        markerId = in.readUTF();
+        lockTimeout = in.readLong();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.util.Clock;
+import org.hibernate.cache.spi.entry.CacheEntry;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Writes a value unless the entry is soft locked. If the update holds the lock (markerId is set) the value
+ * only replaces the marker if no other transaction locked the entry concurrently, otherwise the lock is
+ * released and the marker stays until it expires. If a version comparator is set the value is only written
+ * if its version is higher than the version of the cached {@link CacheEntry}. The operation returns
+ * <tt>true</tt> if the value was written.
+ */
+public class UpdateEntryProcessor extends AbstractEntryProcessor<Object, Object> implements DataSerializable {
+
+    private Object newValue;
+    private String markerId;
+    private long lockTimeout;
+    private Comparator versionComparator;
+
+    public UpdateEntryProcessor() {
+    }
+
+    public UpdateEntryProcessor(Object newValue, String markerId, long lockTimeout, Comparator versionComparator) {
+        this.newValue = newValue;
+        this.markerId = markerId;
+        this.lockTimeout = lockTimeout;
+        this.versionComparator = versionComparator;
+    }
+
+    @Override
+    public Object process(Map.Entry<Object, Object> entry) {
+        Object value = entry.getValue();
+        if (value instanceof ExpiryMarker) {
+            ExpiryMarker marker = (ExpiryMarker) value;
+            if (markerId != null && marker.matches(markerId)) {
+                if (marker.isWriteable()) {
+                    entry.setValue(newValue);
+                    return Boolean.TRUE;
+                }
+                entry.setValue(marker.unlock(Clock.currentTimeMillis() + lockTimeout));
+                return Boolean.FALSE;
+            }
+            if (!marker.isExpired(Clock.currentTimeMillis())) {
+                return Boolean.FALSE;
+            }
+        } else if (markerId != null) {
+            // The marker expired and was replaced or evicted, the value might be stale already
+            return Boolean.FALSE;
+        } else if (versionComparator != null && value instanceof CacheEntry && newValue instanceof CacheEntry) {
+            Object currentVersion = ((CacheEntry) value).getVersion();
+            if (versionComparator.compare(((CacheEntry) newValue).getVersion(), currentVersion) <= 0) {
+                return Boolean.FALSE;
+            }
+        }
+        entry.setValue(newValue);
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(newValue);
+        out.writeUTF(markerId);
+        out.writeLong(lockTimeout);
+        out.writeObject(versionComparator);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        newValue = in.readObject();
+        markerId = in.readUTF();
+        lockTimeout = in.readLong();
+        versionComparator = in.readObject();
+    }
+}
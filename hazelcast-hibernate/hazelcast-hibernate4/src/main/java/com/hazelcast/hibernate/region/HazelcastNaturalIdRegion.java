@@ -37,7 +37,7 @@ public class HazelcastNaturalIdRegion extends AbstractTransactionalDataRegion<IM
 
     public HazelcastNaturalIdRegion(final HazelcastInstance instance, final String regionName,
                                     final Properties props, final CacheDataDescription metadata) {
-        super(instance, regionName, props, metadata, new IMapRegionCache(regionName, instance, props, metadata));
+        super(instance, regionName, props, metadata, IMapRegionCache.create(regionName, instance, props, metadata));
     }
 
     public NaturalIdRegionAccessStrategy buildAccessStrategy(final AccessType accessType) throws CacheException {
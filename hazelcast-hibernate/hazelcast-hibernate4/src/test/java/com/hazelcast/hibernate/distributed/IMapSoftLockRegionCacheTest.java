@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.hibernate.CacheEnvironment;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class IMapSoftLockRegionCacheTest {
+
+    private static final int LOCK_TIMEOUT_MILLIS = 100;
+
+    private HazelcastInstance instance;
+    private IMapRegionCache cache;
+
+    @Before
+    public void setUp() {
+        instance = Hazelcast.newHazelcastInstance();
+        Properties props = new Properties();
+        props.setProperty(CacheEnvironment.SOFT_LOCK_MARKERS, "true");
+        cache = IMapRegionCache.create("softLockRegion", instance, props, null);
+    }
+
+    @After
+    public void tearDown() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testCreateHonorsProperty() {
+        assertTrue(cache instanceof IMapSoftLockRegionCache);
+        assertFalse(IMapRegionCache.create("plainRegion", instance, new Properties(), null)
+                instanceof IMapSoftLockRegionCache);
+    }
+
+    @Test
+    public void testLockedEntryIsNotVisible() {
+        cache.put("key", "value", null);
+        SoftLock lock = cache.tryLock("key", null);
+        assertNull(cache.get("key"));
+        assertFalse(cache.contains("key"));
+        assertFalse(cache.put("key", "other", null));
+
+        assertTrue(cache.update("key", "updated", null, null, lock));
+        cache.unlock("key", lock);
+        assertEquals("updated", cache.get("key"));
+    }
+
+    @Test
+    public void testConcurrentLockPreventsUpdate() {
+        SoftLock first = cache.tryLock("key", null);
+        SoftLock second = cache.tryLock("key", null);
+
+        assertFalse(cache.update("key", "first", null, null, first));
+        cache.unlock("key", first);
+        assertFalse(cache.update("key", "second", null, null, second));
+        cache.unlock("key", second);
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testUnlockWithoutUpdateKeepsMarker() {
+        cache.put("key", "value", null);
+        SoftLock lock = cache.tryLock("key", null);
+        cache.unlock("key", lock);
+
+        assertNull(cache.get("key"));
+        assertFalse(cache.put("key", "value", null));
+    }
+
+    @Test
+    public void testUnreleasedLockExpires() throws InterruptedException {
+        IMapRegionCache expiringCache = createExpiringCache();
+        expiringCache.put("key", "value", null);
+        expiringCache.tryLock("key", null);
+        assertFalse(expiringCache.put("key", "other", null));
+
+        Thread.sleep(LOCK_TIMEOUT_MILLIS * 2);
+        assertTrue(expiringCache.put("key", "other", null));
+        assertEquals("other", expiringCache.get("key"));
+    }
+
+    @Test
+    public void testLockAfterExpiryDoesNotInheritConcurrentLocks() throws InterruptedException {
+        IMapRegionCache expiringCache = createExpiringCache();
+        expiringCache.tryLock("key", null);
+        expiringCache.tryLock("key", null);
+
+        Thread.sleep(LOCK_TIMEOUT_MILLIS * 2);
+        SoftLock lock = expiringCache.tryLock("key", null);
+        assertTrue(expiringCache.update("key", "updated", null, null, lock));
+        assertEquals("updated", expiringCache.get("key"));
+    }
+
+    private IMapRegionCache createExpiringCache() {
+        Properties props = new Properties();
+        props.setProperty(CacheEnvironment.SOFT_LOCK_MARKERS, "true");
+        props.setProperty(CacheEnvironment.LOCK_TIMEOUT, String.valueOf(LOCK_TIMEOUT_MILLIS));
+        return IMapRegionCache.create("expiringRegion", instance, props, null);
+    }
+}
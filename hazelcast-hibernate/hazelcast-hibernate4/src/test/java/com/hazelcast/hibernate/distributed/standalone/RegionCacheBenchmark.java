@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.hibernate.distributed.standalone;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.hibernate.CacheEnvironment;
+import com.hazelcast.hibernate.RegionCache;
+import com.hazelcast.hibernate.distributed.IMapRegionCache;
+import org.hibernate.cache.spi.access.SoftLock;
+
+import java.util.Properties;
+
+/**
+ * Measures the read-write access path (lock, update, unlock) of a distributed region cache, locking the map
+ * entries versus storing soft lock markers through entry processors.
+ */
+public final class RegionCacheBenchmark {
+
+    private static final int MEMBER_COUNT = 2;
+    private static final int KEY_COUNT = 10000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 10;
+
+    static {
+        System.setProperty("hazelcast.version.check.enabled", "false");
+        System.setProperty("java.net.preferIPv4Stack", "true");
+    }
+
+    private RegionCacheBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        HazelcastInstance instance = null;
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            instance = Hazelcast.newHazelcastInstance();
+        }
+        try {
+            final Properties markerProps = new Properties();
+            markerProps.setProperty(CacheEnvironment.SOFT_LOCK_MARKERS, "true");
+            final RegionCache lockingCache = IMapRegionCache.create("locking", instance, new Properties(), null);
+            final RegionCache markerCache = IMapRegionCache.create("markers", instance, markerProps, null);
+
+            System.out.println("lock, update, unlock of " + KEY_COUNT + " keys, map locks: " + run(lockingCache)
+                    + " us, soft lock markers: " + run(markerCache) + " us");
+        } finally {
+            Hazelcast.shutdownAll();
+        }
+    }
+
+    private static long run(RegionCache cache) {
+        long nanos = 0;
+        for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            final long start = System.nanoTime();
+            for (int key = 0; key < KEY_COUNT; key++) {
+                final SoftLock lock = cache.tryLock(key, null);
+                try {
+                    cache.update(key, i, null, null, lock);
+                } finally {
+                    cache.unlock(key, lock);
+                }
+            }
+            if (i >= WARMUP_ROUNDS) {
+                nanos += System.nanoTime() - start;
+            }
+        }
+        return nanos / ROUNDS / 1000;
+    }
+}
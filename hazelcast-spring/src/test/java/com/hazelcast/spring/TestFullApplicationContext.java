@@ -195,6 +195,7 @@ public class TestFullApplicationContext {
         assertEquals(MapConfig.EvictionPolicy.LRU, simpleMapConfig.getEvictionPolicy());
         assertEquals(10, simpleMapConfig.getMaxSizeConfig().getSize());
         assertEquals(50, simpleMapConfig.getEvictionPercentage());
+        assertEquals(5, simpleMapConfig.getEvictionSampleCount());
         assertEquals(1, simpleMapConfig.getTimeToLiveSeconds());
         assertEquals("LATEST_UPDATE", simpleMapConfig.getMergePolicy());
         // Test that the simpleMapConfig does NOT have a mapStoreConfig
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2014, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.web;
+
+import java.util.Map;
+
+/**
+ * Touches session entries without writing them. The entries are only read, which refreshes their last access
+ * time on the owner without a backup or an entry event, so other nodes keep their cached attributes.
+ *
+ * @since 3.3
+ */
+public class SessionTouchEntryProcessor extends AbstractWebDataEntryProcessor<Object> {
+
+    public SessionTouchEntryProcessor() {
+        super(false);
+    }
+
+    @Override
+    public int getId() {
+        return WebDataSerializerHook.SESSION_TOUCH_ID;
+    }
+
+    @Override
+    public Object process(Map.Entry<String, Object> entry) {
+        return null;
+    }
+}
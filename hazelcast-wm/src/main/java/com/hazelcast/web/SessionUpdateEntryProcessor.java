@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2014, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.web;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Applies the attributes a request changed on a session. It is executed on the changed attribute keys only;
+ * attributes mapped to {@code null} are removed.
+ *
+ * @since 3.3
+ */
+public class SessionUpdateEntryProcessor extends AbstractWebDataEntryProcessor<Object> {
+
+    private Map<String, Object> attributes;
+
+    // Serialization Constructor
+    public SessionUpdateEntryProcessor() {
+    }
+
+    public SessionUpdateEntryProcessor(Map<String, Object> attributes) {
+        this.attributes = attributes;
+    }
+
+    @Override
+    public int getId() {
+        return WebDataSerializerHook.SESSION_UPDATE_ID;
+    }
+
+    @Override
+    public Object process(Entry<String, Object> entry) {
+        entry.setValue(attributes.get(entry.getKey()));
+        return null;
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        attributes = new HashMap<String, Object>(size);
+        for (int i = 0; i < size; i++) {
+            String key = in.readUTF();
+            attributes.put(key, in.readObject());
+        }
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(attributes.size());
+        for (Entry<String, Object> entry : attributes.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+    }
+}
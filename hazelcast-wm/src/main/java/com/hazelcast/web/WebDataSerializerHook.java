@@ -30,6 +30,8 @@ public class WebDataSerializerHook implements DataSerializerHook {
     public static final int DESTROY_SESSION_ID = 3;
     public static final int INVALIDATE_SESSION_ATTRIBUTES_ID = 4;
     public static final int REFERENCE_SESSION_ID = 5;
+    public static final int SESSION_UPDATE_ID = 6;
+    public static final int SESSION_TOUCH_ID = 7;
 
     @Override
     public DataSerializableFactory createFactory() {
@@ -48,6 +50,10 @@ public class WebDataSerializerHook implements DataSerializerHook {
                         return new InvalidateSessionAttributesEntryProcessor();
                     case REFERENCE_SESSION_ID:
                         return new ReferenceSessionEntryProcessor();
+                    case SESSION_UPDATE_ID:
+                        return new SessionUpdateEntryProcessor();
+                    case SESSION_TOUCH_ID:
+                        return new SessionTouchEntryProcessor();
                     default:
                         throw new IllegalArgumentException();
                 }
@@ -25,6 +25,7 @@ import com.hazelcast.core.IMap;
 import com.hazelcast.core.MapEvent;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
+import com.hazelcast.util.Clock;
 import com.hazelcast.util.UuidUtil;
 
 import javax.servlet.Filter;
@@ -44,6 +45,7 @@ import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionContext;
 import java.io.IOException;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -52,6 +54,8 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 /**
@@ -82,10 +86,14 @@ import java.util.logging.Level;
  *     the {@link IMap} used to persist session details (Default: Uses the existing {@link MapConfig} setting
  *     for the {@link IMap}, which defaults to infinite)</li>
  *     <li>{@code sticky-session}: When enabled, optimizes {@link IMap} interactions by assuming individual sessions
- *     are only used from a single node (Default: {@code true})</li>
+ *     are only used from a single node. Session attributes are cached locally and read from the {@link IMap} again
+ *     only after an invalidation event of another node changed them (Default: {@code true})</li>
  *     <li>{@code deferred-write}: When enabled, optimizes {@link IMap} interactions by only writing session attributes
- *     at the end of a request. This can yield significant performance improvements for session-heavy applications
- *     (Default: {@code false})</li>
+ *     at the end of a request. Only the attributes changed by the request are written, all of them with a single
+ *     entry processor call; requests which change nothing skip the write. If the {@link IMap} has a
+ *     {@link MapConfig#setMaxIdleSeconds(int) max-idle} setting, the entries of sessions in use are touched in
+ *     batches at most every half of that time to keep them from expiring. This can yield significant performance
+ *     improvements for session-heavy applications (Default: {@code false})</li>
  *     <li>{@code cookie-name}: Sets the name for the Hazelcast session cookie (Default:
  *     {@link #HAZELCAST_SESSION_COOKIE_NAME "hazelcast.sessionId"}</li>
  *     <li>{@code cookie-domain}: Sets the domain for the Hazelcast session cookie (Default: {@code null})</li>
@@ -114,6 +122,8 @@ public class WebFilter implements Filter {
     private final ConcurrentMap<String, String> originalSessions = new ConcurrentHashMap<String, String>(1000);
     private final ConcurrentMap<String, HazelcastHttpSession> sessions =
             new ConcurrentHashMap<String, HazelcastHttpSession>(1000);
+    private final ConcurrentMap<String, Boolean> pendingTouches = new ConcurrentHashMap<String, Boolean>();
+    private final AtomicLong nextTouchTime = new AtomicLong();
 
     private String sessionCookieName = HAZELCAST_SESSION_COOKIE_NAME;
     private HazelcastInstance hazelcastInstance;
@@ -124,6 +134,7 @@ public class WebFilter implements Filter {
     private boolean stickySession = true;
     private boolean shutdownOnDestroy = true;
     private boolean deferredWrite;
+    private long touchIntervalMillis;
     private Properties properties;
 
     public WebFilter() {
@@ -192,36 +203,44 @@ public class WebFilter implements Filter {
         } catch (UnsupportedOperationException ignored) {
             LOGGER.info("client cannot access Config.");
         }
+        initSessionTouch();
 
-        if (!stickySession) {
-            getClusterMap().addEntryListener(new EntryListener<String, Object>() {
-                public void entryAdded(EntryEvent<String, Object> entryEvent) {
-                }
+        getClusterMap().addEntryListener(new EntryListener<String, Object>() {
+            public void entryAdded(EntryEvent<String, Object> entryEvent) {
+                entryUpdated(entryEvent);
+            }
 
-                public void entryRemoved(EntryEvent<String, Object> entryEvent) {
-                    if (entryEvent.getMember() == null || !entryEvent.getMember().localMember()) {
-                        removeSessionLocally(entryEvent.getKey());
+            public void entryRemoved(EntryEvent<String, Object> entryEvent) {
+                if (isRemoteEvent(entryEvent)) {
+                    String key = entryEvent.getKey();
+                    if (key.contains(HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR)) {
+                        invalidateAttributeLocally(key);
+                    } else if (!stickySession) {
+                        removeSessionLocally(key);
                     }
                 }
+            }
 
-                public void entryUpdated(EntryEvent<String, Object> entryEvent) {
+            public void entryUpdated(EntryEvent<String, Object> entryEvent) {
+                if (isRemoteEvent(entryEvent) && entryEvent.getKey().contains(HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR)) {
+                    invalidateAttributeLocally(entryEvent.getKey());
                 }
+            }
 
-                public void entryEvicted(EntryEvent<String, Object> entryEvent) {
-                    entryRemoved(entryEvent);
-                }
+            public void entryEvicted(EntryEvent<String, Object> entryEvent) {
+                entryRemoved(entryEvent);
+            }
 
-                @Override
-                public void mapEvicted(MapEvent event) {
-                    // this method should be updated if we internally call evictAll in session replication logic
-                }
+            @Override
+            public void mapEvicted(MapEvent event) {
+                invalidateAttributesLocally();
+            }
 
-                @Override
-                public void mapCleared(MapEvent event) {
-                    // this method should be updated if we internally call clearAll in session replication logic
-                }
-            }, false);
-        }
+            @Override
+            public void mapCleared(MapEvent event) {
+                invalidateAttributesLocally();
+            }
+        }, false);
 
         if (LOGGER.isLoggable(Level.FINEST)) {
             LOGGER.finest("sticky:" + stickySession + ", shutdown-on-destroy: " + shutdownOnDestroy
@@ -244,6 +263,21 @@ public class WebFilter implements Filter {
         }
     }
 
+    private void initSessionTouch() {
+        if (!deferredWrite) {
+            return;
+        }
+        try {
+            int maxIdleSeconds = hazelcastInstance.getConfig().findMapConfig(clusterMapName).getMaxIdleSeconds();
+            if (maxIdleSeconds > 0) {
+                touchIntervalMillis = TimeUnit.SECONDS.toMillis(maxIdleSeconds) / 2;
+                nextTouchTime.set(Clock.currentTimeMillis() + touchIntervalMillis);
+            }
+        } catch (UnsupportedOperationException ignored) {
+            LOGGER.finest("client cannot access Config, sessions are not touched.");
+        }
+    }
+
     private void initCookieParams() {
         String cookieName = getParam("cookie-name");
         if (cookieName != null) {
@@ -292,6 +326,25 @@ public class WebFilter implements Filter {
         }
     }
 
+    private static boolean isRemoteEvent(EntryEvent<String, Object> entryEvent) {
+        return entryEvent.getMember() == null || !entryEvent.getMember().localMember();
+    }
+
+    private void invalidateAttributeLocally(String qualifiedAttributeKey) {
+        String sessionId = qualifiedAttributeKey.substring(0,
+                qualifiedAttributeKey.indexOf(HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR));
+        HazelcastHttpSession hazelSession = sessions.get(sessionId);
+        if (hazelSession != null) {
+            hazelSession.invalidateAttribute(extractAttributeKey(qualifiedAttributeKey));
+        }
+    }
+
+    private void invalidateAttributesLocally() {
+        for (HazelcastHttpSession hazelSession : sessions.values()) {
+            hazelSession.invalidateAttributes();
+        }
+    }
+
     private String extractAttributeKey(String key) {
         return key.substring(key.indexOf(HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR) + HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR.length());
     }
@@ -372,6 +425,31 @@ public class WebFilter implements Filter {
         }
     }
 
+    /**
+     * Touches the cluster map entries of the sessions used since the last touch, if the touch interval elapsed.
+     * All entries are touched with a single read-only entry processor call, so requests which did not change their
+     * session only cost a map operation once per interval and do not invalidate the caches of the other nodes.
+     */
+    private void touchSessions() {
+        long touchTime = nextTouchTime.get();
+        long now = Clock.currentTimeMillis();
+        if (now < touchTime || !nextTouchTime.compareAndSet(touchTime, now + touchIntervalMillis)) {
+            return;
+        }
+        Set<String> keys = new HashSet<String>();
+        Iterator<String> iterator = pendingTouches.keySet().iterator();
+        while (iterator.hasNext()) {
+            HazelcastHttpSession session = sessions.get(iterator.next());
+            iterator.remove();
+            if (session != null && session.isValid()) {
+                session.collectKeys(keys);
+            }
+        }
+        if (!keys.isEmpty()) {
+            getClusterMap().executeOnKeys(keys, new SessionTouchEntryProcessor());
+        }
+    }
+
     private IMap<String, Object> getClusterMap() {
         return hazelcastInstance.getMap(clusterMapName);
     }
@@ -460,6 +538,7 @@ public class WebFilter implements Filter {
     public final void destroy() {
         sessions.clear();
         originalSessions.clear();
+        pendingTouches.clear();
         shutdownInstance();
     }
 
@@ -491,8 +570,8 @@ public class WebFilter implements Filter {
     private static class LocalCacheEntry {
         volatile boolean dirty;
         volatile boolean reload;
-        boolean removed;
-        private Object value;
+        volatile boolean removed;
+        private volatile Object value;
     }
 
     private class RequestWrapper extends HttpServletRequestWrapper {
@@ -585,7 +664,8 @@ public class WebFilter implements Filter {
             if (hazelcastSession == null && create) {
                 hazelcastSession = createNewSession(RequestWrapper.this, null);
             }
-            if (deferredWrite) {
+            if (deferredWrite && !stickySession) {
+                // sticky sessions are kept up to date by the invalidation events of the cluster map
                 prepareReloadingSession(hazelcastSession);
             }
             return hazelcastSession;
@@ -597,7 +677,9 @@ public class WebFilter implements Filter {
         volatile boolean valid = true;
         final String id;
         final HttpSession originalSession;
-        private final Map<String, LocalCacheEntry> localCache;
+        private final ConcurrentMap<String, LocalCacheEntry> localCache;
+        // incremented by every invalidation, so a load can tell whether its value went stale while it was read
+        private final AtomicLong invalidations = new AtomicLong();
         private final boolean deferredWrite;
 
         public HazelcastHttpSession(final String sessionId, final HttpSession originalSession,
@@ -605,27 +687,24 @@ public class WebFilter implements Filter {
             this.id = sessionId;
             this.originalSession = originalSession;
             this.deferredWrite = deferredWrite;
-            this.localCache = deferredWrite ? buildLocalCache() : null;
+            if (deferredWrite) {
+                this.localCache = buildLocalCache();
+            } else if (stickySession) {
+                this.localCache = new ConcurrentHashMap<String, LocalCacheEntry>();
+            } else {
+                this.localCache = null;
+            }
         }
 
         public Object getAttribute(final String name) {
-            IMap<String, Object> clusterMap = getClusterMap();
-            if (deferredWrite) {
-                LocalCacheEntry cacheEntry = localCache.get(name);
-                if (cacheEntry == null || (cacheEntry.reload && !cacheEntry.dirty)) {
-                    Object value = clusterMap.get(buildAttributeName(name));
-                    if (value == null) {
-                        cacheEntry = NULL_ENTRY;
-                    } else {
-                        cacheEntry = new LocalCacheEntry();
-                        cacheEntry.value = value;
-                        cacheEntry.reload = false;
-                    }
-                    localCache.put(name, cacheEntry);
-                }
-                return cacheEntry != NULL_ENTRY ? cacheEntry.value : null;
+            if (localCache == null) {
+                return getClusterMap().get(buildAttributeName(name));
+            }
+            LocalCacheEntry cacheEntry = localCache.get(name);
+            if (cacheEntry == null || (cacheEntry.reload && !cacheEntry.dirty)) {
+                cacheEntry = loadAttribute(name, cacheEntry);
             }
-            return clusterMap.get(buildAttributeName(name));
+            return cacheEntry.value;
         }
 
         public Enumeration<String> getAttributeNames() {
@@ -693,6 +772,9 @@ public class WebFilter implements Filter {
                 }
             } else {
                 getClusterMap().delete(buildAttributeName(name));
+                if (localCache != null) {
+                    localCache.put(name, NULL_ENTRY);
+                }
             }
         }
 
@@ -714,6 +796,11 @@ public class WebFilter implements Filter {
                 entry.dirty = true;
             } else {
                 getClusterMap().put(buildAttributeName(name), value);
+                if (localCache != null) {
+                    LocalCacheEntry entry = new LocalCacheEntry();
+                    entry.value = value;
+                    localCache.put(name, entry);
+                }
             }
         }
 
@@ -757,6 +844,32 @@ public class WebFilter implements Filter {
             valid = false;
         }
 
+        /**
+         * Marks a locally cached attribute to be read from the cluster again. Dirty attributes of a deferred
+         * write are kept, they are written at the end of the request.
+         */
+        void invalidateAttribute(String name) {
+            if (localCache == null) {
+                return;
+            }
+            invalidations.incrementAndGet();
+            LocalCacheEntry cacheEntry = localCache.get(name);
+            if (cacheEntry == NULL_ENTRY) {
+                localCache.remove(name, NULL_ENTRY);
+            } else if (cacheEntry != null) {
+                cacheEntry.reload = true;
+            }
+        }
+
+        void invalidateAttributes() {
+            if (localCache != null) {
+                invalidations.incrementAndGet();
+                for (String name : localCache.keySet()) {
+                    invalidateAttribute(name);
+                }
+            }
+        }
+
         public boolean isValid() {
             return valid;
         }
@@ -765,10 +878,33 @@ public class WebFilter implements Filter {
             return id + HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR + name;
         }
 
-        private Map<String, LocalCacheEntry> buildLocalCache() {
+        /**
+         * Reads an attribute from the cluster and caches it in place of {@code staleEntry}. Only fully built entries
+         * are published, so concurrent readers never see a value which is still being loaded. An invalidation which
+         * arrives while the value is read is detected by the invalidation sequence and marks the new entry to be
+         * reloaded instead of getting lost.
+         */
+        private LocalCacheEntry loadAttribute(String name, LocalCacheEntry staleEntry) {
+            long sequence = invalidations.get();
+            Object value = getClusterMap().get(buildAttributeName(name));
+            LocalCacheEntry cacheEntry = NULL_ENTRY;
+            if (value != null) {
+                cacheEntry = new LocalCacheEntry();
+                cacheEntry.value = value;
+            }
+            boolean cached = staleEntry == null
+                    ? localCache.putIfAbsent(name, cacheEntry) == null
+                    : localCache.replace(name, staleEntry, cacheEntry);
+            if (cached && invalidations.get() != sequence) {
+                invalidateAttribute(name);
+            }
+            return cacheEntry;
+        }
+
+        private ConcurrentMap<String, LocalCacheEntry> buildLocalCache() {
             Set<Entry<String, Object>> entrySet = getClusterMap().entrySet(new SessionAttributePredicate(id));
 
-            Map<String, LocalCacheEntry> cache = new ConcurrentHashMap<String, LocalCacheEntry>();
+            ConcurrentMap<String, LocalCacheEntry> cache = new ConcurrentHashMap<String, LocalCacheEntry>();
             for (Entry<String, Object> entry : entrySet) {
                 String attributeKey = extractAttributeKey(entry.getKey());
                 LocalCacheEntry cacheEntry = cache.get(attributeKey);
@@ -788,22 +924,37 @@ public class WebFilter implements Filter {
 
         private void sessionDeferredWrite() {
             if (sessionChanged()) {
-                IMap<String, Object> clusterMap = getClusterMap();
-
+                Map<String, Object> changes = new HashMap<String, Object>();
                 Iterator<Entry<String, LocalCacheEntry>> iterator = localCache.entrySet().iterator();
                 while (iterator.hasNext()) {
                     Entry<String, LocalCacheEntry> entry = iterator.next();
                     if (entry.getValue().dirty) {
                         LocalCacheEntry cacheEntry = entry.getValue();
                         if (cacheEntry.removed) {
-                            clusterMap.delete(buildAttributeName(entry.getKey()));
+                            changes.put(buildAttributeName(entry.getKey()), null);
                             iterator.remove();
                         } else {
-                            clusterMap.put(buildAttributeName(entry.getKey()), cacheEntry.value);
+                            changes.put(buildAttributeName(entry.getKey()), cacheEntry.value);
                             cacheEntry.dirty = false;
                         }
                     }
                 }
+                if (!changes.isEmpty()) {
+                    getClusterMap().executeOnKeys(changes.keySet(), new SessionUpdateEntryProcessor(changes));
+                }
+            }
+            if (touchIntervalMillis > 0) {
+                pendingTouches.put(id, Boolean.TRUE);
+                touchSessions();
+            }
+        }
+
+        private void collectKeys(Set<String> keys) {
+            keys.add(id);
+            for (Entry<String, LocalCacheEntry> entry : localCache.entrySet()) {
+                if (!entry.getValue().removed && entry.getValue().value != null) {
+                    keys.add(buildAttributeName(entry.getKey()));
+                }
             }
         }
 
@@ -815,7 +966,7 @@ public class WebFilter implements Filter {
                 }
             } else {
                 for (Entry<String, LocalCacheEntry> entry : localCache.entrySet()) {
-                    if (!entry.getValue().removed && entry.getValue() != NULL_ENTRY) {
+                    if (!entry.getValue().removed && entry.getValue().value != null) {
                         keys.add(entry.getKey());
                     }
                 }
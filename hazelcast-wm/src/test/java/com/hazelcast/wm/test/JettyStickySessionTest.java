@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2014, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wm.test;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.http.client.CookieStore;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that a sticky node which cached a session attribute sees the changes other nodes make to it.
+ */
+@RunWith(Parameterized.class)
+@Category(QuickTest.class)
+public class JettyStickySessionTest extends AbstractWebFilterTest {
+
+    @Parameters(name = "Executing: {0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(
+                new Object[]{"node - sticky", "node1-node-sticky.xml", "node2-node-sticky.xml"}, //
+                new Object[]{"node - sticky deferred", "node1-node-sticky-deferred.xml", "node2-node-sticky-deferred.xml"} //
+        );
+    }
+
+    public JettyStickySessionTest(String name, String serverXml1, String serverXml2) {
+        super(serverXml1, serverXml2);
+    }
+
+    @Test(timeout = 60000)
+    public void testRemoteAttributeUpdate() throws Exception {
+        CookieStore cookieStore = cacheAttributeOnFirstServer();
+
+        assertEquals("value", executeRequest("read", serverPort2, cookieStore));
+        assertEquals("true", executeRequest("update", serverPort2, cookieStore));
+
+        assertReadEventually("value-updated", cookieStore);
+    }
+
+    @Test(timeout = 60000)
+    public void testRemoteAttributeRemoval() throws Exception {
+        CookieStore cookieStore = cacheAttributeOnFirstServer();
+
+        assertEquals("value", executeRequest("read", serverPort2, cookieStore));
+        assertEquals("true", executeRequest("remove", serverPort2, cookieStore));
+
+        assertReadEventually("null", cookieStore);
+    }
+
+    @Test(timeout = 60000)
+    public void testAttributeEviction() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+        CookieStore cookieStore = cacheAttributeOnFirstServer();
+
+        map.evict(findHazelcastSessionId(map) + HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR + "key");
+
+        assertReadEventually("null", cookieStore);
+    }
+
+    @Test(timeout = 60000)
+    public void testMapClear() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+        CookieStore cookieStore = cacheAttributeOnFirstServer();
+
+        map.clear();
+
+        assertReadEventually("null", cookieStore);
+    }
+
+    private CookieStore cacheAttributeOnFirstServer() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+        CookieStore cookieStore = new BasicCookieStore();
+
+        assertEquals("true", executeRequest("write", serverPort1, cookieStore));
+        assertEquals(2, map.size());
+        assertEquals("value", executeRequest("read", serverPort1, cookieStore));
+        return cookieStore;
+    }
+
+    // the invalidation reaches the first server with the entry event, so it may lag behind the change
+    private void assertReadEventually(final String expected, final CookieStore cookieStore) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expected, executeRequest("read", serverPort1, cookieStore));
+            }
+        });
+    }
+
+    @Override
+    protected ServletContainer getServletContainer(int port, String sourceDir, String serverXml) throws Exception {
+        return new JettyServer(port, sourceDir, serverXml);
+    }
+}
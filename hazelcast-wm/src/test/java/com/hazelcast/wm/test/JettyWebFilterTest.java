@@ -16,7 +16,11 @@
 
 package com.hazelcast.wm.test;
 
+import com.hazelcast.core.EntryAdapter;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.IMap;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.annotation.QuickTest;
 import org.apache.http.client.CookieStore;
 import org.apache.http.impl.client.BasicCookieStore;
@@ -28,6 +32,7 @@ import org.junit.runners.Parameterized.Parameters;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -162,6 +167,42 @@ public class JettyWebFilterTest extends AbstractWebFilterTest {
         assertNotEquals(oldSessionId, newSessionId);
     }
 
+    @Test(timeout = 60000)
+    public void testAttributeUpdate_writesOnlyChangedAttribute() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+        CookieStore cookieStore = new BasicCookieStore();
+        AttributeEventCounter counter = writeTwoAttributes(map, cookieStore);
+
+        assertEquals("true", executeRequest("update", serverPort1, cookieStore));
+
+        assertAttributeEvents(counter, 0, 1, 0);
+        assertEquals("other-value", map.get(findHazelcastSessionId(map) + HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR + "other-key"));
+    }
+
+    @Test(timeout = 60000)
+    public void testAttributeRemoval_writesOnlyRemovedAttribute() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+        CookieStore cookieStore = new BasicCookieStore();
+        AttributeEventCounter counter = writeTwoAttributes(map, cookieStore);
+
+        assertEquals("true", executeRequest("remove", serverPort1, cookieStore));
+
+        assertAttributeEvents(counter, 0, 0, 1);
+        assertEquals(2, map.size());
+    }
+
+    @Test(timeout = 60000)
+    public void testAttributeRead_writesNothing() throws Exception {
+        IMap<String, Object> map = hz.getMap("default");
+        CookieStore cookieStore = new BasicCookieStore();
+        AttributeEventCounter counter = writeTwoAttributes(map, cookieStore);
+
+        assertEquals("value", executeRequest("read", serverPort1, cookieStore));
+        assertEquals("value", executeRequest("read", serverPort1, cookieStore));
+
+        assertAttributeEvents(counter, 0, 0, 0);
+    }
+
     @Test
     public void testUpdateAndReadSameRequest() throws Exception {
         CookieStore cookieStore = new BasicCookieStore();
@@ -180,6 +221,79 @@ public class JettyWebFilterTest extends AbstractWebFilterTest {
         assertEquals("value-updated", executeRequest("update-and-read-same-request", serverPort1, cookieStore));
     }
 
+    /**
+     * Writes two attributes on the first server and returns a counter for the attribute events that follow.
+     */
+    private AttributeEventCounter writeTwoAttributes(IMap<String, Object> map, CookieStore cookieStore) throws Exception {
+        final AttributeEventCounter counter = new AttributeEventCounter();
+        map.addEntryListener(counter, false);
+
+        assertEquals("true", executeRequest("write", serverPort1, cookieStore));
+        assertEquals("true", executeRequest("write-other", serverPort1, cookieStore));
+        assertEquals(3, map.size());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(2, counter.added.get());
+            }
+        });
+        counter.reset();
+        return counter;
+    }
+
+    private void assertAttributeEvents(final AttributeEventCounter counter, final int added, final int updated,
+                                       final int removed) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(added + updated + removed, counter.total());
+            }
+        });
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(added, counter.added.get());
+                assertEquals(updated, counter.updated.get());
+                assertEquals(removed, counter.removed.get());
+            }
+        }, 2);
+    }
+
+    /**
+     * Counts the entry events of session attributes, the events of the session entries themselves are ignored.
+     */
+    private static class AttributeEventCounter extends EntryAdapter<String, Object> {
+
+        final AtomicInteger added = new AtomicInteger();
+        final AtomicInteger updated = new AtomicInteger();
+        final AtomicInteger removed = new AtomicInteger();
+
+        @Override
+        public void onEntryEvent(EntryEvent<String, Object> event) {
+            if (!event.getKey().contains(HAZELCAST_SESSION_ATTRIBUTE_SEPARATOR)) {
+                return;
+            }
+            EntryEventType eventType = event.getEventType();
+            if (eventType == EntryEventType.ADDED) {
+                added.incrementAndGet();
+            } else if (eventType == EntryEventType.UPDATED) {
+                updated.incrementAndGet();
+            } else if (eventType == EntryEventType.REMOVED) {
+                removed.incrementAndGet();
+            }
+        }
+
+        int total() {
+            return added.get() + updated.get() + removed.get();
+        }
+
+        void reset() {
+            added.set(0);
+            updated.set(0);
+            removed.set(0);
+        }
+    }
+
     @Override
     protected ServletContainer getServletContainer(int port, String sourceDir, String serverXml) throws Exception{
         return new JettyServer(port,sourceDir,serverXml);
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2014, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wm.test;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.EntryAdapter;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.web.SessionTouchEntryProcessor;
+import com.hazelcast.web.SessionUpdateEntryProcessor;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class SessionTouchEntryProcessorTest extends HazelcastTestSupport {
+
+    private static final String SESSION_ID = "session";
+    private static final String ATTRIBUTE_KEY = SESSION_ID + "::hz::key";
+    private static final String OTHER_ATTRIBUTE_KEY = SESSION_ID + "::hz::other-key";
+
+    @Test
+    public void testTouch_refreshesAccessTimeWithoutWrite() throws Exception {
+        IMap<String, Object> map = createSessionMap();
+        final AtomicInteger events = countEvents(map);
+        EntryView<String, Object> before = map.getEntryView(ATTRIBUTE_KEY);
+        sleepMillis(10);
+
+        map.executeOnKeys(keys(SESSION_ID, ATTRIBUTE_KEY, OTHER_ATTRIBUTE_KEY), new SessionTouchEntryProcessor());
+
+        EntryView<String, Object> after = map.getEntryView(ATTRIBUTE_KEY);
+        assertTrue(after.getLastAccessTime() > before.getLastAccessTime());
+        assertEquals(before.getVersion(), after.getVersion());
+        assertEquals("value", after.getValue());
+        assertEquals(3, map.size());
+        assertEvents(events, 0);
+    }
+
+    @Test
+    public void testUpdate_writesOnlyChangedAttribute() throws Exception {
+        IMap<String, Object> map = createSessionMap();
+        final AtomicInteger events = countEvents(map);
+        long otherVersion = map.getEntryView(OTHER_ATTRIBUTE_KEY).getVersion();
+        Map<String, Object> changes = new HashMap<String, Object>();
+        changes.put(ATTRIBUTE_KEY, "value-updated");
+
+        map.executeOnKeys(changes.keySet(), new SessionUpdateEntryProcessor(changes));
+
+        assertEquals("value-updated", map.get(ATTRIBUTE_KEY));
+        assertEquals(otherVersion, map.getEntryView(OTHER_ATTRIBUTE_KEY).getVersion());
+        assertEvents(events, 1);
+    }
+
+    @Test
+    public void testUpdate_removesAttributeMappedToNull() throws Exception {
+        IMap<String, Object> map = createSessionMap();
+        final AtomicInteger events = countEvents(map);
+        Map<String, Object> changes = new HashMap<String, Object>();
+        changes.put(ATTRIBUTE_KEY, null);
+
+        map.executeOnKeys(changes.keySet(), new SessionUpdateEntryProcessor(changes));
+
+        assertEquals(2, map.size());
+        assertEquals("other-value", map.get(OTHER_ATTRIBUTE_KEY));
+        assertEvents(events, 1);
+    }
+
+    private IMap<String, Object> createSessionMap() {
+        Config config = new Config();
+        config.getMapConfig("sessions").setMaxIdleSeconds(60);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        IMap<String, Object> map = instances[0].getMap("sessions");
+        map.put(SESSION_ID, 1);
+        map.put(ATTRIBUTE_KEY, "value");
+        map.put(OTHER_ATTRIBUTE_KEY, "other-value");
+        return map;
+    }
+
+    private AtomicInteger countEvents(IMap<String, Object> map) {
+        final AtomicInteger events = new AtomicInteger();
+        map.addEntryListener(new EntryAdapter<String, Object>() {
+            @Override
+            public void onEntryEvent(EntryEvent<String, Object> event) {
+                events.incrementAndGet();
+            }
+        }, false);
+        return events;
+    }
+
+    private Set<String> keys(String... keys) {
+        Set<String> set = new HashSet<String>();
+        Collections.addAll(set, keys);
+        return set;
+    }
+
+    private void assertEvents(final AtomicInteger events, final int expected) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expected, events.get());
+            }
+        });
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expected, events.get());
+            }
+        }, 2);
+    }
+}
@@ -43,6 +43,10 @@ public class TestServlet extends HttpServlet {
             session.setAttribute("key", "value");
             resp.getWriter().write("true");
 
+        } else if (req.getRequestURI().endsWith("write-other")) {
+            session.setAttribute("other-key", "other-value");
+            resp.getWriter().write("true");
+
         } else if (req.getRequestURI().endsWith("read")) {
             Object value = session.getAttribute("key");
             resp.getWriter().write(value == null ? "null" : value.toString());
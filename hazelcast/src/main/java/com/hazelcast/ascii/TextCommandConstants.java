@@ -71,6 +71,7 @@ public final class TextCommandConstants {
         TOUCH((byte) 16),
         INCREMENT((byte) 17),
         DECREMENT((byte) 18),
+        BULK_GET((byte) 19),
         HTTP_GET((byte) 30),
         HTTP_POST((byte) 31),
         HTTP_PUT((byte) 32),
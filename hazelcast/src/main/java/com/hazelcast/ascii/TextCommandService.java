@@ -17,8 +17,12 @@
 package com.hazelcast.ascii;
 
 import com.hazelcast.ascii.memcache.Stats;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.instance.Node;
 
+import java.util.Map;
+import java.util.Set;
+
 public interface TextCommandService {
 
     boolean offer(String queueName, Object value);
@@ -33,12 +37,24 @@ public interface TextCommandService {
 
     Object get(String mapName, String key);
 
+    /**
+     * Returns the values of the given keys. The keys are looked up with one invocation per partition.
+     * @param mapName name of the map
+     * @param keys the keys to look up
+     * @return the values found by key, keys without a value are missing
+     */
+    Map<String, Object> getAll(String mapName, Set<String> keys);
+
+    ICompletableFuture<Object> getAsync(String mapName, String key);
+
     byte[] getByteArray(String mapName, String key);
 
     Object put(String mapName, String key, Object value);
 
     Object put(String mapName, String key, Object value, int ttlSeconds);
 
+    ICompletableFuture<Object> putAsync(String mapName, String key, Object value, int ttlSeconds);
+
     Object putIfAbsent(String mapName, String key, Object value, int ttlSeconds);
 
     Object replace(String mapName, String key, Object value);
@@ -78,6 +94,8 @@ public interface TextCommandService {
 
     Object delete(String mapName, String key);
 
+    ICompletableFuture<Object> deleteAsync(String mapName, String key);
+
     void deleteAll(String mapName);
 
     Stats getStats();
@@ -16,6 +16,7 @@
 
 package com.hazelcast.ascii;
 
+import com.hazelcast.ascii.memcache.BulkGetCommandProcessor;
 import com.hazelcast.ascii.memcache.GetCommandProcessor;
 import com.hazelcast.ascii.memcache.Stats;
 import com.hazelcast.ascii.memcache.SetCommandProcessor;
@@ -31,21 +32,19 @@ import com.hazelcast.ascii.rest.HttpGetCommandProcessor;
 import com.hazelcast.ascii.rest.HttpPostCommandProcessor;
 import com.hazelcast.ascii.rest.RestValue;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import com.hazelcast.instance.Node;
-import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.nio.ascii.SocketTextWriter;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.util.Clock;
-import com.hazelcast.util.EmptyStatement;
 
-import java.nio.ByteBuffer;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static com.hazelcast.ascii.TextCommandConstants.TextCommandType.BULK_GET;
 import static com.hazelcast.ascii.TextCommandConstants.TextCommandType.GET;
 import static com.hazelcast.ascii.TextCommandConstants.TextCommandType.APPEND;
 import static com.hazelcast.ascii.TextCommandConstants.TextCommandType.SET;
@@ -74,7 +73,6 @@ public class TextCommandServiceImpl implements TextCommandService {
 
     private static final int TEXT_COMMAND_PROCESSOR_SIZE = 100;
     private static final int MILLIS_TO_SECONDS = 1000;
-    private static final long WAIT_TIME = 1000;
     private final Node node;
     private final TextCommandProcessor[] textCommandProcessors = new TextCommandProcessor[TEXT_COMMAND_PROCESSOR_SIZE];
     private final HazelcastInstance hazelcast;
@@ -90,7 +88,6 @@ public class TextCommandServiceImpl implements TextCommandService {
     private final AtomicLong decrementMisses = new AtomicLong();
     private final long startTime = Clock.currentTimeMillis();
     private final ILogger logger;
-    private volatile ResponseThreadRunnable responseThreadRunnable;
     private volatile boolean running = true;
 
     public TextCommandServiceImpl(Node node) {
@@ -99,6 +96,7 @@ public class TextCommandServiceImpl implements TextCommandService {
         this.logger = node.getLogger(this.getClass().getName());
         textCommandProcessors[GET.getValue()] = new GetCommandProcessor(this, true);
         textCommandProcessors[PARTIAL_GET.getValue()] = new GetCommandProcessor(this, false);
+        textCommandProcessors[BULK_GET.getValue()] = new BulkGetCommandProcessor(this);
         textCommandProcessors[SET.getValue()] = new SetCommandProcessor(this);
         textCommandProcessors[APPEND.getValue()] = new SetCommandProcessor(this);
         textCommandProcessors[PREPEND.getValue()] = new SetCommandProcessor(this);
@@ -205,16 +203,6 @@ public class TextCommandServiceImpl implements TextCommandService {
 
     @Override
     public void processRequest(TextCommand command) {
-        if (responseThreadRunnable == null) {
-            synchronized (this) {
-                if (responseThreadRunnable == null) {
-                    responseThreadRunnable = new ResponseThreadRunnable();
-                    String threadNamePrefix = node.getThreadNamePrefix("ascii.service.response");
-                    Thread thread = new Thread(node.threadGroup, responseThreadRunnable, threadNamePrefix);
-                    thread.start();
-                }
-            }
-        }
         node.nodeEngine.getExecutionService().execute("hz:text", new CommandExecutor(command));
     }
 
@@ -223,6 +211,18 @@ public class TextCommandServiceImpl implements TextCommandService {
         return hazelcast.getMap(mapName).get(key);
     }
 
+    @Override
+    public Map<String, Object> getAll(String mapName, Set<String> keys) {
+        IMap<String, Object> map = hazelcast.getMap(mapName);
+        return map.getAll(keys);
+    }
+
+    @Override
+    public ICompletableFuture<Object> getAsync(String mapName, String key) {
+        IMap<String, Object> map = hazelcast.getMap(mapName);
+        return (ICompletableFuture<Object>) map.getAsync(key);
+    }
+
     @Override
     public int getAdjustedTTLSeconds(int ttl) {
         if (ttl <= TextCommandConstants.getMonthSeconds()) {
@@ -259,6 +259,12 @@ public class TextCommandServiceImpl implements TextCommandService {
         return hazelcast.getMap(mapName).put(key, value, ttlSeconds, TimeUnit.SECONDS);
     }
 
+    @Override
+    public ICompletableFuture<Object> putAsync(String mapName, String key, Object value, int ttlSeconds) {
+        IMap<String, Object> map = hazelcast.getMap(mapName);
+        return (ICompletableFuture<Object>) map.putAsync(key, value, ttlSeconds, TimeUnit.SECONDS);
+    }
+
     @Override
     public Object putIfAbsent(String mapName, String key, Object value, int ttlSeconds) {
         return hazelcast.getMap(mapName).putIfAbsent(key, value, ttlSeconds, TimeUnit.SECONDS);
@@ -293,6 +299,12 @@ public class TextCommandServiceImpl implements TextCommandService {
         return hazelcast.getMap(mapName).remove(key);
     }
 
+    @Override
+    public ICompletableFuture<Object> deleteAsync(String mapName, String key) {
+        IMap<String, Object> map = hazelcast.getMap(mapName);
+        return (ICompletableFuture<Object>) map.removeAsync(key);
+    }
+
     @Override
     public boolean offer(String queueName, Object value) {
         return hazelcast.getQueue(queueName).offer(value);
@@ -322,14 +334,14 @@ public class TextCommandServiceImpl implements TextCommandService {
         if (!textCommand.shouldReply() || textCommand.getRequestId() == -1) {
             throw new RuntimeException("Shouldn't reply " + textCommand);
         }
-        responseThreadRunnable.sendResponse(textCommand);
+        // Responses are ordered per connection by their request id, so they can be handed over from any thread
+        if (running) {
+            textCommand.getSocketTextWriter().enqueue(textCommand);
+        }
     }
 
     public void stop() {
-        final ResponseThreadRunnable rtr = responseThreadRunnable;
-        if (rtr != null) {
-            rtr.stop();
-        }
+        running = false;
     }
 
     class CommandExecutor implements Runnable {
@@ -350,60 +362,4 @@ public class TextCommandServiceImpl implements TextCommandService {
             }
         }
     }
-
-    private class ResponseThreadRunnable implements Runnable {
-        private final BlockingQueue<TextCommand> blockingQueue = new ArrayBlockingQueue<TextCommand>(200);
-        private final Object stopObject = new Object();
-
-        @edu.umd.cs.findbugs.annotations.SuppressWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
-        public void sendResponse(TextCommand textCommand) {
-            blockingQueue.offer(textCommand);
-        }
-
-        @Override
-        public void run() {
-            while (running) {
-                try {
-                    TextCommand textCommand = blockingQueue.take();
-                    if (TextCommandConstants.TextCommandType.STOP == textCommand.getType()) {
-                        synchronized (stopObject) {
-                            stopObject.notify();
-                        }
-                    } else {
-                        SocketTextWriter socketTextWriter = textCommand.getSocketTextWriter();
-                        socketTextWriter.enqueue(textCommand);
-                    }
-                } catch (InterruptedException e) {
-                    return;
-                } catch (OutOfMemoryError e) {
-                    OutOfMemoryErrorDispatcher.onOutOfMemory(e);
-                    throw e;
-                }
-            }
-        }
-
-        @edu.umd.cs.findbugs.annotations.SuppressWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
-        void stop() {
-            running = false;
-            synchronized (stopObject) {
-                try {
-                    blockingQueue.offer(new AbstractTextCommand(TextCommandConstants.TextCommandType.STOP) {
-                        @Override
-                        public boolean readFrom(ByteBuffer cb) {
-                            return true;
-                        }
-
-                        @Override
-                        public boolean writeTo(ByteBuffer bb) {
-                            return true;
-                        }
-                    });
-                    //noinspection WaitNotInLoop
-                    stopObject.wait(WAIT_TIME);
-                } catch (Exception ignored) {
-                    EmptyStatement.ignore(ignored);
-                }
-            }
-        }
-    }
 }
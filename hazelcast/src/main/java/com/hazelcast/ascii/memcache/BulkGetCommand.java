@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import com.hazelcast.ascii.AbstractTextCommand;
+import com.hazelcast.ascii.TextCommandConstants;
+import com.hazelcast.nio.IOUtil;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * A memcache get command requesting multiple keys at once. All values are written as one response which
+ * is terminated by the END line.
+ */
+public class BulkGetCommand extends AbstractTextCommand {
+    private final List<String> keys;
+    private ByteBuffer[] values;
+    private ByteBuffer end;
+    private int writeIndex;
+
+    public BulkGetCommand(List<String> keys) {
+        super(TextCommandConstants.TextCommandType.BULK_GET);
+        this.keys = keys;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public boolean readFrom(ByteBuffer cb) {
+        return true;
+    }
+
+    /**
+     * Sets the entries found for the requested keys.
+     *
+     * @param entries the entries in the order of the requested keys, null for keys without value
+     */
+    public void setValues(MemcacheEntry[] entries) {
+        values = new ByteBuffer[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] != null) {
+                values[i] = entries[i].toNewBuffer();
+            }
+        }
+        end = ByteBuffer.wrap(TextCommandConstants.END);
+    }
+
+    public boolean writeTo(ByteBuffer bb) {
+        while (writeIndex < values.length) {
+            ByteBuffer value = values[writeIndex];
+            if (value != null) {
+                IOUtil.copyToHeapBuffer(value, bb);
+                if (value.hasRemaining()) {
+                    return false;
+                }
+            }
+            writeIndex++;
+        }
+        IOUtil.copyToHeapBuffer(end, bb);
+        return !end.hasRemaining();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkGetCommand{"
+                + "keys="
+                + keys
+                + "} "
+                + super.toString();
+    }
+}
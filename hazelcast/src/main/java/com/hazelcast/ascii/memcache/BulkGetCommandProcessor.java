@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ascii.memcache;
+
+import com.hazelcast.ascii.TextCommandService;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.logging.ILogger;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Processes a multi-key get with one getAll call per map instead of one get per key. The map groups the
+ * keys by partition, so a get of many keys only waits once for all involved partitions.
+ */
+public class BulkGetCommandProcessor extends MemcacheCommandProcessor<BulkGetCommand> {
+
+    private final ILogger logger;
+
+    public BulkGetCommandProcessor(TextCommandService textCommandService) {
+        super(textCommandService);
+        logger = textCommandService.getNode().getLogger(this.getClass().getName());
+    }
+
+    public void handle(BulkGetCommand bulkGetCommand) {
+        List<String> requestedKeys = bulkGetCommand.getKeys();
+        int size = requestedKeys.size();
+        String[] mapNames = new String[size];
+        String[] keys = new String[size];
+        Map<String, Set<String>> keysByMap = new HashMap<String, Set<String>>();
+        for (int i = 0; i < size; i++) {
+            String key;
+            try {
+                key = URLDecoder.decode(requestedKeys.get(i), "UTF-8");
+            } catch (UnsupportedEncodingException e) {
+                throw new HazelcastException(e);
+            }
+            String mapName = DEFAULT_MAP_NAME;
+            int index = key.indexOf(':');
+            if (index != -1) {
+                mapName = MAP_NAME_PRECEDER + key.substring(0, index);
+                key = key.substring(index + 1);
+            }
+            mapNames[i] = mapName;
+            keys[i] = key;
+            Set<String> mapKeys = keysByMap.get(mapName);
+            if (mapKeys == null) {
+                mapKeys = new HashSet<String>();
+                keysByMap.put(mapName, mapKeys);
+            }
+            mapKeys.add(key);
+        }
+
+        Map<String, Map<String, Object>> valuesByMap = new HashMap<String, Map<String, Object>>(keysByMap.size());
+        for (Map.Entry<String, Set<String>> entry : keysByMap.entrySet()) {
+            valuesByMap.put(entry.getKey(), textCommandService.getAll(entry.getKey(), entry.getValue()));
+        }
+
+        MemcacheEntry[] entries = new MemcacheEntry[size];
+        for (int i = 0; i < size; i++) {
+            Object value = valuesByMap.get(mapNames[i]).get(keys[i]);
+            try {
+                entries[i] = toMemcacheEntry(requestedKeys.get(i), value);
+            } catch (Exception e) {
+                logger.warning(e);
+            }
+            if (entries[i] != null) {
+                textCommandService.incrementGetHitCount();
+            } else {
+                textCommandService.incrementGetMissCount();
+            }
+        }
+        bulkGetCommand.setValues(entries);
+        textCommandService.sendResponse(bulkGetCommand);
+    }
+
+    public void handleRejection(BulkGetCommand bulkGetCommand) {
+        bulkGetCommand.setValues(new MemcacheEntry[bulkGetCommand.getKeys().size()]);
+        textCommandService.sendResponse(bulkGetCommand);
+    }
+}
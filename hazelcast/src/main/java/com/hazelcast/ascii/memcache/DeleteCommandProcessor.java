@@ -18,6 +18,8 @@ package com.hazelcast.ascii.memcache;
 
 import com.hazelcast.ascii.TextCommandConstants;
 import com.hazelcast.ascii.TextCommandService;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.logging.ILogger;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -26,11 +28,14 @@ import static java.lang.String.format;
 
 public class DeleteCommandProcessor extends MemcacheCommandProcessor<DeleteCommand> {
 
+    private final ILogger logger;
+
     public DeleteCommandProcessor(TextCommandService textCommandService) {
         super(textCommandService);
+        logger = textCommandService.getNode().getLogger(this.getClass().getName());
     }
 
-    public void handle(DeleteCommand command) {
+    public void handle(final DeleteCommand command) {
         String key;
         try {
             key = URLDecoder.decode(command.getKey(), "UTF-8");
@@ -46,14 +51,33 @@ public class DeleteCommandProcessor extends MemcacheCommandProcessor<DeleteComma
         if (key.equals("")) {
             textCommandService.deleteAll(mapName);
         } else {
-            final Object oldValue = textCommandService.delete(mapName, key);
-            if (oldValue == null) {
-                textCommandService.incrementDeleteMissCount();
-                command.setResponse(TextCommandConstants.NOT_FOUND);
-            } else {
-                textCommandService.incrementDeleteHitCount(1);
-                command.setResponse(TextCommandConstants.DELETED);
-            }
+            // The response is sent from the callback, so the text executor thread never waits for the map
+            textCommandService.deleteAsync(mapName, key).andThen(new ExecutionCallback<Object>() {
+                @Override
+                public void onResponse(Object oldValue) {
+                    if (oldValue == null) {
+                        textCommandService.incrementDeleteMissCount();
+                        command.setResponse(TextCommandConstants.NOT_FOUND);
+                    } else {
+                        textCommandService.incrementDeleteHitCount(1);
+                        command.setResponse(TextCommandConstants.DELETED);
+                    }
+                    if (command.shouldReply()) {
+                        textCommandService.sendResponse(command);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    logger.warning(t);
+                    textCommandService.incrementDeleteMissCount();
+                    command.setResponse(TextCommandConstants.NOT_FOUND);
+                    if (command.shouldReply()) {
+                        textCommandService.sendResponse(command);
+                    }
+                }
+            });
+            return;
         }
 
         if (command.shouldReply()) {
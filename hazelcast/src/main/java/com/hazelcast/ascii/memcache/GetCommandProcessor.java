@@ -17,15 +17,13 @@
 package com.hazelcast.ascii.memcache;
 
 import com.hazelcast.ascii.TextCommandService;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.logging.ILogger;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 
-
-import static com.hazelcast.util.StringUtil.stringToBytes;
-
 public class GetCommandProcessor extends MemcacheCommandProcessor<GetCommand> {
     final boolean single;
     private final ILogger logger;
@@ -36,7 +34,7 @@ public class GetCommandProcessor extends MemcacheCommandProcessor<GetCommand> {
         logger = textCommandService.getNode().getLogger(this.getClass().getName());
     }
 
-    public void handle(GetCommand getCommand) {
+    public void handle(final GetCommand getCommand) {
         String key = null;
         try {
             key = URLDecoder.decode(getCommand.getKey(), "UTF-8");
@@ -49,22 +47,32 @@ public class GetCommandProcessor extends MemcacheCommandProcessor<GetCommand> {
             mapName = MAP_NAME_PRECEDER + key.substring(0, index);
             key = key.substring(index + 1);
         }
-        Object value = textCommandService.get(mapName, key);
-        MemcacheEntry entry = null;
-        if (value != null) {
-            if (value instanceof MemcacheEntry) {
-                entry = (MemcacheEntry) value;
-            } else if (value instanceof byte[]) {
-                entry = new MemcacheEntry(getCommand.getKey(), ((byte[]) value), 0);
-            } else if (value instanceof String) {
-                entry = new MemcacheEntry(getCommand.getKey(), stringToBytes((String) value), 0);
-            } else {
-                try {
-                    entry = new MemcacheEntry(getCommand.getKey(), textCommandService.toByteArray(value), 0);
-                } catch (Exception e) {
-                    logger.warning(e);
-                }
+        // The response is sent from the callback, so the text executor thread never waits for the map
+        textCommandService.getAsync(mapName, key).andThen(new ExecutionCallback<Object>() {
+            @Override
+            public void onResponse(Object value) {
+                sendValue(getCommand, value);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                logger.warning(t);
+                sendValue(getCommand, null);
             }
+        });
+    }
+
+    public void handleRejection(GetCommand getCommand) {
+        getCommand.setValue(null, single);
+        textCommandService.sendResponse(getCommand);
+    }
+
+    private void sendValue(GetCommand getCommand, Object value) {
+        MemcacheEntry entry = null;
+        try {
+            entry = toMemcacheEntry(getCommand.getKey(), value);
+        } catch (Exception e) {
+            logger.warning(e);
         }
         if (entry != null) {
             textCommandService.incrementGetHitCount();
@@ -74,9 +82,4 @@ public class GetCommandProcessor extends MemcacheCommandProcessor<GetCommand> {
         getCommand.setValue(entry, single);
         textCommandService.sendResponse(getCommand);
     }
-
-    public void handleRejection(GetCommand getCommand) {
-        getCommand.setValue(null, single);
-        textCommandService.sendResponse(getCommand);
-    }
 }
@@ -19,6 +19,8 @@ package com.hazelcast.ascii.memcache;
 import com.hazelcast.ascii.AbstractTextCommandProcessor;
 import com.hazelcast.ascii.TextCommandService;
 
+import static com.hazelcast.util.StringUtil.stringToBytes;
+
 /**
  * User: sancar
  * Date: 3/8/13
@@ -33,6 +35,28 @@ public abstract class MemcacheCommandProcessor<T> extends AbstractTextCommandPro
         super(textCommandService);
     }
 
+    /**
+     * Converts a map value into the entry returned to the memcache client.
+     *
+     * @param key   the key as requested by the client
+     * @param value the map value, may be null
+     * @return the entry or null if there is no value
+     */
+    protected MemcacheEntry toMemcacheEntry(String key, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof MemcacheEntry) {
+            return (MemcacheEntry) value;
+        } else if (value instanceof byte[]) {
+            return new MemcacheEntry(key, ((byte[]) value), 0);
+        } else if (value instanceof String) {
+            return new MemcacheEntry(key, stringToBytes((String) value), 0);
+        } else {
+            return new MemcacheEntry(key, textCommandService.toByteArray(value), 0);
+        }
+    }
+
     public static byte[] longToByteArray(long v) {
         long paramV = v;
         int len = (int) (paramV / 256) + 1;
@@ -18,6 +18,7 @@ package com.hazelcast.ascii.memcache;
 
 import com.hazelcast.ascii.TextCommandConstants;
 import com.hazelcast.ascii.TextCommandService;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.util.ByteUtil;
@@ -61,7 +62,7 @@ public class SetCommandProcessor extends MemcacheCommandProcessor<SetCommand> {
      * condition for an "add" or a "replace" command wasn't met, or that the
      * item is in a delete queue (see the "delete" command below).
      */
-    public void handle(SetCommand setCommand) {
+    public void handle(final SetCommand setCommand) {
         String key = null;
         try {
             key = URLDecoder.decode(setCommand.getKey(), "UTF-8");
@@ -78,8 +79,26 @@ public class SetCommandProcessor extends MemcacheCommandProcessor<SetCommand> {
         int ttl = textCommandService.getAdjustedTTLSeconds(setCommand.getExpiration());
         textCommandService.incrementSetCount();
         if (SET == setCommand.getType()) {
-            textCommandService.put(mapName, key, value, ttl);
-            setCommand.setResponse(TextCommandConstants.STORED);
+            // A plain set does not depend on the current value, the response is sent from the callback
+            textCommandService.putAsync(mapName, key, value, ttl).andThen(new ExecutionCallback<Object>() {
+                @Override
+                public void onResponse(Object response) {
+                    setCommand.setResponse(TextCommandConstants.STORED);
+                    if (setCommand.shouldReply()) {
+                        textCommandService.sendResponse(setCommand);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    logger.warning(t);
+                    setCommand.setResponse(TextCommandConstants.NOT_STORED);
+                    if (setCommand.shouldReply()) {
+                        textCommandService.sendResponse(setCommand);
+                    }
+                }
+            });
+            return;
         } else if (ADD == setCommand.getType()) {
 
             addCommandType(setCommand, mapName, key, value, ttl);
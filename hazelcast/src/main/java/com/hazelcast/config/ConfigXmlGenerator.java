@@ -304,6 +304,7 @@ public class ConfigXmlGenerator {
                     .append("\">").append(m.getMaxSizeConfig().getSize())
                     .append("</max-size>");
             xml.append("<eviction-percentage>").append(m.getEvictionPercentage()).append("</eviction-percentage>");
+            xml.append("<eviction-sample-count>").append(m.getEvictionSampleCount()).append("</eviction-sample-count>");
             xml.append("<merge-policy>").append(m.getMergePolicy())
                     .append("</merge-policy>");
             xml.append("<read-backup-data>").append(m.isReadBackupData())
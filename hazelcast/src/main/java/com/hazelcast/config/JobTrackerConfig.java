@@ -38,6 +38,10 @@ public class JobTrackerConfig {
      * Default value of Queue size.
      */
     public static final int DEFAULT_QUEUE_SIZE = 0;
+    /**
+     * Default value of the maximum number of unprocessed chunks per reducer and mapping member.
+     */
+    public static final int DEFAULT_MAX_CHUNKS_IN_FLIGHT = 16;
     /**
      * Default boolean value of communication statics.define how a map reduce job behaves
      */
@@ -53,6 +57,7 @@ public class JobTrackerConfig {
     private int retryCount = DEFAULT_RETRY_COUNT;
     private int chunkSize = DEFAULT_CHUNK_SIZE;
     private int queueSize = DEFAULT_QUEUE_SIZE;
+    private int maxChunksInFlight = DEFAULT_MAX_CHUNKS_IN_FLIGHT;
     private boolean communicateStats = DEFAULT_COMMUNICATE_STATS;
     private TopologyChangedStrategy topologyChangedStrategy = DEFAULT_TOPOLOGY_CHANGED_STRATEGY;
 
@@ -65,6 +70,7 @@ public class JobTrackerConfig {
         this.retryCount = source.retryCount;
         this.chunkSize = source.chunkSize;
         this.queueSize = source.queueSize;
+        this.maxChunksInFlight = source.maxChunksInFlight;
         this.communicateStats = source.communicateStats;
         this.topologyChangedStrategy = source.topologyChangedStrategy;
     }
@@ -114,6 +120,21 @@ public class JobTrackerConfig {
         this.queueSize = queueSize;
     }
 
+    public int getMaxChunksInFlight() {
+        return maxChunksInFlight;
+    }
+
+    /**
+     * Sets the maximum number of intermediate chunks a mapping member sends to a reducing member which are
+     * not reduced yet. When the limit is reached the mapping member keeps combining emitted values locally
+     * until the reducing member catches up. A value of 0 means no limit.
+     *
+     * @param maxChunksInFlight the maximum number of unprocessed chunks per reducer
+     */
+    public void setMaxChunksInFlight(int maxChunksInFlight) {
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
     public boolean isCommunicateStats() {
         return communicateStats;
     }
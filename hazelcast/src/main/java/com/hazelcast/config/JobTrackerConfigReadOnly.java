@@ -52,6 +52,11 @@ public class JobTrackerConfigReadOnly
         throw new UnsupportedOperationException("This config is read-only");
     }
 
+    @Override
+    public void setMaxChunksInFlight(int maxChunksInFlight) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
     @Override
     public void setCommunicateStats(boolean communicateStats) {
         throw new UnsupportedOperationException("This config is read-only");
@@ -53,6 +53,10 @@ public class MapConfig {
      * The number of maximum eviction percentage
      */
     public static final int MAX_EVICTION_PERCENTAGE = 100;
+    /**
+     * Default eviction sample count, zero means eviction sorts all entries of a partition
+     */
+    public static final int DEFAULT_EVICTION_SAMPLE_COUNT = 0;
 
     /**
      * The number of default Time to Live seconds
@@ -88,6 +92,8 @@ public class MapConfig {
 
     private int evictionPercentage = DEFAULT_EVICTION_PERCENTAGE;
 
+    private int evictionSampleCount = DEFAULT_EVICTION_SAMPLE_COUNT;
+
     private int timeToLiveSeconds = DEFAULT_TTL_SECONDS;
 
     private int maxIdleSeconds = DEFAULT_MAX_IDLE_SECONDS;
@@ -150,6 +156,7 @@ public class MapConfig {
         this.backupCount = config.backupCount;
         this.asyncBackupCount = config.asyncBackupCount;
         this.evictionPercentage = config.evictionPercentage;
+        this.evictionSampleCount = config.evictionSampleCount;
         this.timeToLiveSeconds = config.timeToLiveSeconds;
         this.maxIdleSeconds = config.maxIdleSeconds;
         this.maxSizeConfig = config.maxSizeConfig != null ? new MaxSizeConfig(config.maxSizeConfig) : null;
@@ -299,6 +306,30 @@ public class MapConfig {
         return this;
     }
 
+    /**
+     * @return the evictionSampleCount
+     */
+    public int getEvictionSampleCount() {
+        return evictionSampleCount;
+    }
+
+    /**
+     * Number of entries sampled for each evicted entry. When set, eviction picks the
+     * least recently or least frequently used entry among this many entries of the partition
+     * instead of sorting all of them, so the cost of an eviction does not depend on the partition size.
+     * Zero (the default) keeps the sort based eviction.
+     *
+     * @param evictionSampleCount the evictionSampleCount to set
+     * @throws IllegalArgumentException if evictionSampleCount is negative.
+     */
+    public MapConfig setEvictionSampleCount(final int evictionSampleCount) {
+        if (evictionSampleCount < 0) {
+            throw new IllegalArgumentException("eviction sample count must be greater or equal than 0");
+        }
+        this.evictionSampleCount = evictionSampleCount;
+        return this;
+    }
+
     /**
      * @return the timeToLiveSeconds
      */
@@ -510,6 +541,7 @@ public class MapConfig {
         result = prime * result + this.backupCount;
         result = prime * result + this.asyncBackupCount;
         result = prime * result + this.evictionPercentage;
+        result = prime * result + this.evictionSampleCount;
         result = prime
                 * result
                 + ((this.evictionPolicy == null) ? 0 : this.evictionPolicy
@@ -548,6 +580,7 @@ public class MapConfig {
                         && this.backupCount == other.backupCount
                         && this.asyncBackupCount == other.asyncBackupCount
                         && this.evictionPercentage == other.evictionPercentage
+                        && this.evictionSampleCount == other.evictionSampleCount
                         && this.maxIdleSeconds == other.maxIdleSeconds
                         && this.maxSizeConfig.getSize() == other.maxSizeConfig.getSize()
                         && this.timeToLiveSeconds == other.timeToLiveSeconds
@@ -575,6 +608,7 @@ public class MapConfig {
         sb.append(", maxIdleSeconds=").append(maxIdleSeconds);
         sb.append(", evictionPolicy='").append(evictionPolicy).append('\'');
         sb.append(", evictionPercentage=").append(evictionPercentage);
+        sb.append(", evictionSampleCount=").append(evictionSampleCount);
         sb.append(", maxSizeConfig=").append(maxSizeConfig);
         sb.append(", readBackupData=").append(readBackupData);
         sb.append(", nearCacheConfig=").append(nearCacheConfig);
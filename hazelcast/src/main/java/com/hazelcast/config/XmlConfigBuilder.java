@@ -836,6 +836,9 @@ public class XmlConfigBuilder extends AbstractXmlConfigHelper implements ConfigB
             } else if ("eviction-percentage".equals(nodeName)) {
                 mapConfig.setEvictionPercentage(getIntegerValue("eviction-percentage", value,
                         MapConfig.DEFAULT_EVICTION_PERCENTAGE));
+            } else if ("eviction-sample-count".equals(nodeName)) {
+                mapConfig.setEvictionSampleCount(getIntegerValue("eviction-sample-count", value,
+                        MapConfig.DEFAULT_EVICTION_SAMPLE_COUNT));
             } else if ("time-to-live-seconds".equals(nodeName)) {
                 mapConfig.setTimeToLiveSeconds(getIntegerValue("time-to-live-seconds", value,
                         MapConfig.DEFAULT_TTL_SECONDS));
@@ -1043,6 +1046,9 @@ public class XmlConfigBuilder extends AbstractXmlConfigHelper implements ConfigB
                 jConfig.setRetryCount(getIntegerValue("retry-count", value, JobTrackerConfig.DEFAULT_RETRY_COUNT));
             } else if ("chunk-size".equals(nodeName)) {
                 jConfig.setChunkSize(getIntegerValue("chunk-size", value, JobTrackerConfig.DEFAULT_CHUNK_SIZE));
+            } else if ("max-chunks-in-flight".equals(nodeName)) {
+                jConfig.setMaxChunksInFlight(getIntegerValue("max-chunks-in-flight", value,
+                        JobTrackerConfig.DEFAULT_MAX_CHUNKS_IN_FLIGHT));
             } else if ("communicate-stats".equals(nodeName)) {
                 jConfig.setCommunicateStats(value == null || value.length() == 0
                         ? JobTrackerConfig.DEFAULT_COMMUNICATE_STATS : Boolean.parseBoolean(value));
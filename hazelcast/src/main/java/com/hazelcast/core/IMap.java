@@ -25,6 +25,7 @@ import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.query.Predicate;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -994,6 +995,50 @@ public interface IMap<K, V>
 
     Collection<V> values(Predicate predicate);
 
+    /**
+     * Queries the map based on the specified predicate and
+     * returns an iterator over the keys of matching entries.
+     * <p/>
+     * Unlike {@link #keySet(Predicate)}, the result is not collected up front: partitions are iterated one after
+     * another and their matching entries are fetched in batches of at most <code>batchSize</code> entries, so
+     * neither the caller nor the members hold more than a batch of the result in memory at a time.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * The iteration is weakly consistent; entries updated while iterating may or may not be returned.
+     * If a partition migrates or the iteration is idle for a few minutes, the iterator throws
+     * {@link java.util.ConcurrentModificationException}. The iterator does not support removal.
+     *
+     * @param predicate query criteria, <code>null</code> to iterate over all keys
+     * @param batchSize maximum number of entries fetched at once
+     * @return iterator over the keys matching the predicate
+     */
+    Iterator<K> keyIterator(Predicate predicate, int batchSize);
+
+    /**
+     * Queries the map based on the specified predicate and
+     * returns an iterator over the values of matching entries.
+     * <p/>
+     * See {@link #keyIterator(Predicate, int)} for how the result is fetched.
+     *
+     * @param predicate query criteria, <code>null</code> to iterate over all values
+     * @param batchSize maximum number of entries fetched at once
+     * @return iterator over the values matching the predicate
+     */
+    Iterator<V> valueIterator(Predicate predicate, int batchSize);
+
+    /**
+     * Queries the map based on the specified predicate and
+     * returns an iterator over the matching entries.
+     * <p/>
+     * See {@link #keyIterator(Predicate, int)} for how the result is fetched.
+     * The returned entries are immutable.
+     *
+     * @param predicate query criteria, <code>null</code> to iterate over all entries
+     * @param batchSize maximum number of entries fetched at once
+     * @return iterator over the entries matching the predicate
+     */
+    Iterator<Map.Entry<K, V>> entryIterator(Predicate predicate, int batchSize);
+
     /**
      * Returns the locally owned set of keys.
      * <p/>
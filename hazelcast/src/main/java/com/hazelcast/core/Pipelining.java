@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.util.EmptyStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Pipelining keeps a bounded number of asynchronous calls in flight, so a thread can send the next requests
+ * while the responses of the previous ones are still on the way instead of waiting a full round trip per call.
+ * The requests of the pipelined calls share the connection and are written in batches, so a bulk loader gets
+ * close to the bandwidth of a single connection instead of being bound by its latency.
+ * <p/>
+ * Usage:
+ * <pre>
+ * Pipelining&lt;String&gt; pipelining = new Pipelining&lt;String&gt;(100);
+ * for (int k = 0; k &lt; 100000; k++) {
+ *     pipelining.add(map.putAsync(k, "value"));
+ * }
+ * List&lt;String&gt; oldValues = pipelining.results();
+ * </pre>
+ * When the depth is reached, {@link #add(java.util.concurrent.Future)} waits for the oldest call before
+ * returning. A failed call doesn't interrupt the pipeline, its failure is thrown by {@link #results()}.
+ * <p/>
+ * A Pipelining is not thread safe, it is meant to be used by a single thread. All added futures are kept until
+ * {@link #results()} is called, so very large loads should be split into multiple pipelines.
+ *
+ * @param <E> result type of the pipelined calls.
+ */
+public class Pipelining<E> {
+
+    private final int depth;
+    private final List<Future<E>> futures = new ArrayList<Future<E>>();
+    // futures before this index are known to be completed.
+    private int completedIndex;
+
+    /**
+     * @param depth maximum number of calls in flight.
+     * @throws IllegalArgumentException if depth is smaller than 1.
+     */
+    public Pipelining(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth should be at least 1, but was: " + depth);
+        }
+        this.depth = depth;
+    }
+
+    /**
+     * Adds the future of an asynchronous call to the pipeline. If the number of calls in flight reached the depth,
+     * waits until the oldest call is completed, so the next call can be made without exceeding the depth.
+     *
+     * @param future future of the call, e.g. returned by {@link IMap#putAsync(Object, Object)}.
+     * @return the given future.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public Future<E> add(Future<E> future) throws InterruptedException {
+        if (future == null) {
+            throw new NullPointerException("future can't be null");
+        }
+        futures.add(future);
+        while (completedIndex < futures.size() && futures.get(completedIndex).isDone()) {
+            completedIndex++;
+        }
+        if (futures.size() - completedIndex >= depth) {
+            await(futures.get(completedIndex++));
+        }
+        return future;
+    }
+
+    /**
+     * Waits for all calls in the pipeline and returns their results in the order they were added.
+     *
+     * @return results of the calls.
+     * @throws Exception the failure of the first failed call, or InterruptedException.
+     */
+    public List<E> results() throws Exception {
+        final List<E> results = new ArrayList<E>(futures.size());
+        for (Future<E> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the number of calls added to the pipeline.
+     */
+    public int size() {
+        return futures.size();
+    }
+
+    private void await(Future<E> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException ignored) {
+            // reported by results()
+            EmptyStatement.ignore(ignored);
+        }
+    }
+}
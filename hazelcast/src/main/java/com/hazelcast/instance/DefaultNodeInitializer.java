@@ -28,6 +28,8 @@ import com.hazelcast.nio.tcp.SocketChannelWrapperFactory;
 import com.hazelcast.nio.tcp.TcpIpConnection;
 import com.hazelcast.security.SecurityContext;
 import com.hazelcast.storage.DataRef;
+import com.hazelcast.storage.MemorySize;
+import com.hazelcast.storage.OffHeapStorage;
 import com.hazelcast.storage.Storage;
 import com.hazelcast.wan.WanReplicationService;
 import com.hazelcast.wan.impl.WanReplicationServiceImpl;
@@ -40,6 +42,9 @@ public class DefaultNodeInitializer implements NodeInitializer {
     protected String version;
     protected String build;
 
+    private final Object offHeapStorageLock = new Object();
+    private volatile Storage<DataRef> offHeapStorage;
+
     @Override
     public void beforeInitialize(Node node) {
         this.node = node;
@@ -72,7 +77,28 @@ public class DefaultNodeInitializer implements NodeInitializer {
 
     @Override
     public Storage<DataRef> getOffHeapStorage() {
-        throw new UnsupportedOperationException("Offheap feature is only available on Hazelcast Enterprise!");
+        Storage<DataRef> storage = offHeapStorage;
+        if (storage == null) {
+            synchronized (offHeapStorageLock) {
+                storage = offHeapStorage;
+                if (storage == null) {
+                    storage = createOffHeapStorage();
+                    offHeapStorage = storage;
+                }
+            }
+        }
+        return storage;
+    }
+
+    protected Storage<DataRef> createOffHeapStorage() {
+        final GroupProperties groupProperties = node.getGroupProperties();
+        final long totalSize = MemorySize.parse(groupProperties.ELASTIC_MEMORY_TOTAL_SIZE.getString());
+        final int chunkSize = (int) MemorySize.parse(groupProperties.ELASTIC_MEMORY_CHUNK_SIZE.getString());
+        final int segmentCount = groupProperties.ELASTIC_MEMORY_SEGMENT_COUNT.getInteger();
+        final boolean useUnsafe = groupProperties.ELASTIC_MEMORY_UNSAFE_ENABLED.getBoolean();
+        final OffHeapStorage storage = new OffHeapStorage(totalSize, chunkSize, segmentCount, useUnsafe);
+        logger.info("Created " + storage);
+        return storage;
     }
 
     @Override
@@ -104,5 +130,9 @@ public class DefaultNodeInitializer implements NodeInitializer {
     @Override
     public void destroy() {
         logger.info("Destroying node initializer.");
+        final Storage<DataRef> storage = offHeapStorage;
+        if (storage != null) {
+            storage.destroy();
+        }
     }
 }
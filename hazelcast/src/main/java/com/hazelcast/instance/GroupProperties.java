@@ -36,6 +36,9 @@ public class GroupProperties {
      */
     public static final String PROP_PARTITION_OPERATION_THREAD_COUNT = "hazelcast.operation.thread.count";
     public static final String PROP_GENERIC_OPERATION_THREAD_COUNT = "hazelcast.operation.generic.thread.count";
+    public static final String PROP_OPERATION_MPSC_QUEUE_ENABLED = "hazelcast.operation.mpsc.queue.enabled";
+    public static final String PROP_GENERIC_OPERATION_WORK_STEALING_ENABLED
+            = "hazelcast.operation.generic.work.stealing.enabled";
     public static final String PROP_EVENT_THREAD_COUNT = "hazelcast.event.thread.count";
     public static final String PROP_EVENT_QUEUE_CAPACITY = "hazelcast.event.queue.capacity";
     public static final String PROP_EVENT_QUEUE_TIMEOUT_MILLIS = "hazelcast.event.queue.timeout.millis";
@@ -55,6 +58,8 @@ public class GroupProperties {
     public static final String PROP_SOCKET_LINGER_SECONDS = "hazelcast.socket.linger.seconds";
     public static final String PROP_SOCKET_KEEP_ALIVE = "hazelcast.socket.keep.alive";
     public static final String PROP_SOCKET_NO_DELAY = "hazelcast.socket.no.delay";
+    public static final String PROP_SOCKET_WRITE_QUEUE_CAPACITY = "hazelcast.socket.write.queue.capacity";
+    public static final String PROP_SOCKET_BUFFER_DIRECT = "hazelcast.socket.buffer.direct";
     public static final String PROP_SHUTDOWNHOOK_ENABLED = "hazelcast.shutdownhook.enabled";
     public static final String PROP_WAIT_SECONDS_BEFORE_JOIN = "hazelcast.wait.seconds.before.join";
     public static final String PROP_MAX_WAIT_SECONDS_BEFORE_JOIN = "hazelcast.max.wait.seconds.before.join";
@@ -85,6 +90,10 @@ public class GroupProperties {
     public static final String PROP_PARTITION_MIGRATION_INTERVAL = "hazelcast.partition.migration.interval";
     public static final String PROP_PARTITION_MIGRATION_TIMEOUT = "hazelcast.partition.migration.timeout";
     public static final String PROP_PARTITION_MIGRATION_ZIP_ENABLED = "hazelcast.partition.migration.zip.enabled";
+    public static final String PROP_PARTITION_MIGRATION_CHUNK_SIZE = "hazelcast.partition.migration.chunk.size";
+    public static final String PROP_PARTITION_MIGRATION_CONCURRENCY = "hazelcast.partition.migration.concurrency";
+    public static final String PROP_PARTITION_MIGRATION_MEMBER_CONCURRENCY
+            = "hazelcast.partition.migration.member.concurrency";
     public static final String PROP_PARTITION_TABLE_SEND_INTERVAL = "hazelcast.partition.table.send.interval";
     public static final String PROP_PARTITION_BACKUP_SYNC_INTERVAL = "hazelcast.partition.backup.sync.interval";
     public static final String PROP_PARTITIONING_STRATEGY_CLASS = "hazelcast.partitioning.strategy.class";
@@ -95,6 +104,8 @@ public class GroupProperties {
     public static final String PROP_ELASTIC_MEMORY_CHUNK_SIZE = "hazelcast.elastic.memory.chunk.size";
     public static final String PROP_ELASTIC_MEMORY_SHARED_STORAGE = "hazelcast.elastic.memory.shared.storage";
     public static final String PROP_ELASTIC_MEMORY_UNSAFE_ENABLED = "hazelcast.elastic.memory.unsafe.enabled";
+    public static final String PROP_ELASTIC_MEMORY_SEGMENT_COUNT = "hazelcast.elastic.memory.segment.count";
+    public static final String PROP_ELASTIC_MEMORY_NATIVE_RECORD_STORE = "hazelcast.elastic.memory.native.record.store";
     public static final String PROP_ENTERPRISE_LICENSE_KEY = "hazelcast.enterprise.license.key";
     public static final String PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY = "hazelcast.map.write.behind.queue.capacity";
     public static final String PROP_ENTERPRISE_WAN_REP_QUEUESIZE = "hazelcast.enterprise.wanrep.queuesize";
@@ -103,6 +114,12 @@ public class GroupProperties {
     public final GroupProperty PARTITION_OPERATION_THREAD_COUNT;
     public final GroupProperty GENERIC_OPERATION_THREAD_COUNT;
 
+    // use lock free multi producer single consumer queues for partition and response threads
+    public final GroupProperty OPERATION_MPSC_QUEUE_ENABLED;
+
+    // give every generic operation thread its own work queue and let idle generic threads steal work
+    public final GroupProperty GENERIC_OPERATION_WORK_STEALING_ENABLED;
+
     public final GroupProperty EVENT_THREAD_COUNT;
 
     public final GroupProperty HEALTH_MONITORING_LEVEL;
@@ -151,6 +168,12 @@ public class GroupProperties {
 
     public final GroupProperty SOCKET_NO_DELAY;
 
+    // max number of packets waiting to be written to a member connection, 0 means unbounded
+    public final GroupProperty SOCKET_WRITE_QUEUE_CAPACITY;
+
+    // allocate read and write buffers of member connections outside of the heap
+    public final GroupProperty SOCKET_BUFFER_DIRECT;
+
     public final GroupProperty SHUTDOWNHOOK_ENABLED;
 
     public final GroupProperty WAIT_SECONDS_BEFORE_JOIN;
@@ -205,6 +228,15 @@ public class GroupProperties {
 
     public final GroupProperty PARTITION_MIGRATION_ZIP_ENABLED;
 
+    // size of the chunks partition data is sent in during migration and replica sync, in KB
+    public final GroupProperty PARTITION_MIGRATION_CHUNK_SIZE;
+
+    // max number of migrations the master runs at the same time
+    public final GroupProperty PARTITION_MIGRATION_CONCURRENCY;
+
+    // max number of concurrent migrations a member takes part in, as source or destination; 0 means no member limit
+    public final GroupProperty PARTITION_MIGRATION_MEMBER_CONCURRENCY;
+
     public final GroupProperty PARTITION_TABLE_SEND_INTERVAL;
 
     public final GroupProperty PARTITION_BACKUP_SYNC_INTERVAL;
@@ -225,6 +257,10 @@ public class GroupProperties {
 
     public final GroupProperty ELASTIC_MEMORY_UNSAFE_ENABLED;
 
+    public final GroupProperty ELASTIC_MEMORY_SEGMENT_COUNT;
+
+    public final GroupProperty ELASTIC_MEMORY_NATIVE_RECORD_STORE;
+
     public final GroupProperty ENTERPRISE_LICENSE_KEY;
 
     public final GroupProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY;
@@ -246,6 +282,9 @@ public class GroupProperties {
         //-1 means that the value is worked out dynamically.
         PARTITION_OPERATION_THREAD_COUNT = new GroupProperty(config, PROP_PARTITION_OPERATION_THREAD_COUNT, "-1");
         GENERIC_OPERATION_THREAD_COUNT = new GroupProperty(config, PROP_GENERIC_OPERATION_THREAD_COUNT, "-1");
+        OPERATION_MPSC_QUEUE_ENABLED = new GroupProperty(config, PROP_OPERATION_MPSC_QUEUE_ENABLED, "false");
+        GENERIC_OPERATION_WORK_STEALING_ENABLED = new GroupProperty(config, PROP_GENERIC_OPERATION_WORK_STEALING_ENABLED,
+                "false");
         EVENT_THREAD_COUNT = new GroupProperty(config, PROP_EVENT_THREAD_COUNT, "5");
         EVENT_QUEUE_CAPACITY = new GroupProperty(config, PROP_EVENT_QUEUE_CAPACITY, "1000000");
         EVENT_QUEUE_TIMEOUT_MILLIS = new GroupProperty(config, PROP_EVENT_QUEUE_TIMEOUT_MILLIS, "250");
@@ -265,6 +304,8 @@ public class GroupProperties {
         SOCKET_LINGER_SECONDS = new GroupProperty(config, PROP_SOCKET_LINGER_SECONDS, "0");
         SOCKET_KEEP_ALIVE = new GroupProperty(config, PROP_SOCKET_KEEP_ALIVE, "true");
         SOCKET_NO_DELAY = new GroupProperty(config, PROP_SOCKET_NO_DELAY, "true");
+        SOCKET_WRITE_QUEUE_CAPACITY = new GroupProperty(config, PROP_SOCKET_WRITE_QUEUE_CAPACITY, "0");
+        SOCKET_BUFFER_DIRECT = new GroupProperty(config, PROP_SOCKET_BUFFER_DIRECT, "false");
         SHUTDOWNHOOK_ENABLED = new GroupProperty(config, PROP_SHUTDOWNHOOK_ENABLED, "true");
         WAIT_SECONDS_BEFORE_JOIN = new GroupProperty(config, PROP_WAIT_SECONDS_BEFORE_JOIN, "5");
         MAX_WAIT_SECONDS_BEFORE_JOIN = new GroupProperty(config, PROP_MAX_WAIT_SECONDS_BEFORE_JOIN, "20");
@@ -295,6 +336,9 @@ public class GroupProperties {
         PARTITION_MIGRATION_INTERVAL = new GroupProperty(config, PROP_PARTITION_MIGRATION_INTERVAL, "0");
         PARTITION_MIGRATION_TIMEOUT = new GroupProperty(config, PROP_PARTITION_MIGRATION_TIMEOUT, "300");
         PARTITION_MIGRATION_ZIP_ENABLED = new GroupProperty(config, PROP_PARTITION_MIGRATION_ZIP_ENABLED, "true");
+        PARTITION_MIGRATION_CHUNK_SIZE = new GroupProperty(config, PROP_PARTITION_MIGRATION_CHUNK_SIZE, "1024");
+        PARTITION_MIGRATION_CONCURRENCY = new GroupProperty(config, PROP_PARTITION_MIGRATION_CONCURRENCY, "1");
+        PARTITION_MIGRATION_MEMBER_CONCURRENCY = new GroupProperty(config, PROP_PARTITION_MIGRATION_MEMBER_CONCURRENCY, "0");
         PARTITION_TABLE_SEND_INTERVAL = new GroupProperty(config, PROP_PARTITION_TABLE_SEND_INTERVAL, "15");
         PARTITION_BACKUP_SYNC_INTERVAL = new GroupProperty(config, PROP_PARTITION_BACKUP_SYNC_INTERVAL, "30");
         PARTITIONING_STRATEGY_CLASS = new GroupProperty(config, PROP_PARTITIONING_STRATEGY_CLASS, "");
@@ -305,6 +349,8 @@ public class GroupProperties {
         ELASTIC_MEMORY_CHUNK_SIZE = new GroupProperty(config, PROP_ELASTIC_MEMORY_CHUNK_SIZE, "1K");
         ELASTIC_MEMORY_SHARED_STORAGE = new GroupProperty(config, PROP_ELASTIC_MEMORY_SHARED_STORAGE, "false");
         ELASTIC_MEMORY_UNSAFE_ENABLED = new GroupProperty(config, PROP_ELASTIC_MEMORY_UNSAFE_ENABLED, "false");
+        ELASTIC_MEMORY_SEGMENT_COUNT = new GroupProperty(config, PROP_ELASTIC_MEMORY_SEGMENT_COUNT, "16");
+        ELASTIC_MEMORY_NATIVE_RECORD_STORE = new GroupProperty(config, PROP_ELASTIC_MEMORY_NATIVE_RECORD_STORE, "false");
         ENTERPRISE_LICENSE_KEY = new GroupProperty(config, PROP_ENTERPRISE_LICENSE_KEY);
         MAP_WRITE_BEHIND_QUEUE_CAPACITY
                 = new GroupProperty(config, PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY, "50000");
@@ -29,6 +29,7 @@ import static com.hazelcast.jmx.ManagementService.quote;
 public class OperationServiceMBean extends HazelcastMBean<OperationService> {
 
     private static final int INITIAL_CAPACITY = 3;
+    private static final double PERCENTILE_99 = 99;
 
     public OperationServiceMBean(HazelcastInstance hazelcastInstance, OperationService operationService,
                                  ManagementService service) {
@@ -54,6 +55,12 @@ public class OperationServiceMBean extends HazelcastMBean<OperationService> {
         return managedObject.getOperationExecutorQueueSize();
     }
 
+    @ManagedAnnotation("operationExecutorQueueLatencyP99")
+    @ManagedDescription("The 99th percentile of the time operations wait in the operation executor queue in microseconds")
+    public long getOperationExecutorQueueLatencyP99() {
+        return managedObject.getOperationExecutorQueueLatencyMicros(PERCENTILE_99);
+    }
+
     @ManagedAnnotation("runningOperationsCount")
     @ManagedDescription("the running operations count")
     public int getRunningOperationsCount() {
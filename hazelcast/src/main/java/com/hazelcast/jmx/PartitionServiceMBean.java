@@ -58,4 +58,16 @@ public class PartitionServiceMBean extends HazelcastMBean<InternalPartitionServi
         InetSocketAddress address = hazelcastInstance.getCluster().getLocalMember().getSocketAddress();
         return managedObject.getMemberPartitions(new Address(address)).size();
     }
+
+    @ManagedAnnotation("replicationChunksInFlight")
+    @ManagedDescription("Number of migration and replica sync chunks sent and not acknowledged yet")
+    public long getReplicationChunksInFlight() {
+        return managedObject.getReplicationChunksInFlight();
+    }
+
+    @ManagedAnnotation("replicationBytesInFlight")
+    @ManagedDescription("Number of bytes of migration and replica sync chunks sent and not acknowledged yet")
+    public long getReplicationBytesInFlight() {
+        return managedObject.getReplicationBytesInFlight();
+    }
 }
@@ -2,6 +2,7 @@ package com.hazelcast.map;
 
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.map.eviction.EvictionHelper;
+import com.hazelcast.map.eviction.EvictionSampler;
 import com.hazelcast.map.record.Record;
 import com.hazelcast.nio.serialization.Data;
 
@@ -12,6 +13,7 @@ import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.map.eviction.EvictionHelper.fireEvent;
 import static com.hazelcast.map.eviction.EvictionHelper.removeEvictableRecords;
+import static com.hazelcast.map.eviction.EvictionHelper.removeSampledEvictableRecords;
 
 /**
  * Contains eviction specific functionality.
@@ -55,6 +57,11 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
      */
     protected long lastEvictionTime;
 
+    /**
+     * Picks eviction candidates when sampling eviction is configured. Initializes lazily.
+     */
+    protected EvictionSampler evictionSampler;
+
     protected AbstractEvictableRecordStore(MapContainer mapContainer, int partitionId) {
         super(mapContainer, partitionId);
         this.evictionEnabled
@@ -200,7 +207,14 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
             return;
         }
         final MapConfig mapConfig = mapContainer.getMapConfig();
-        removeEvictableRecords(this, evictableSize, mapConfig, mapServiceContext);
+        if (mapConfig.getEvictionSampleCount() > 0) {
+            if (evictionSampler == null) {
+                evictionSampler = new EvictionSampler(records.values());
+            }
+            removeSampledEvictableRecords(this, evictionSampler, evictableSize, mapConfig, mapServiceContext);
+        } else {
+            removeEvictableRecords(this, evictableSize, mapConfig, mapServiceContext);
+        }
     }
 
     private int getEvictableSize() {
@@ -27,7 +27,7 @@ import java.util.concurrent.ConcurrentMap;
 abstract class AbstractRecordStore implements RecordStore {
 
     protected static final long DEFAULT_TTL = -1L;
-    protected final ConcurrentMap<Data, Record> records = new ConcurrentHashMap<Data, Record>(1000);
+    protected final ConcurrentMap<Data, Record> records;
     protected final RecordFactory recordFactory;
     protected final String name;
     protected final MapContainer mapContainer;
@@ -44,6 +44,15 @@ abstract class AbstractRecordStore implements RecordStore {
         this.name = mapContainer.getName();
         this.recordFactory = mapContainer.getRecordFactory();
         this.sizeEstimator = SizeEstimators.createMapSizeEstimator();
+        this.records = createRecordMap();
+    }
+
+    /**
+     * Creates the map holding records of this store.
+     * Called from the constructor, so implementations must not rely on their own fields.
+     */
+    protected ConcurrentMap<Data, Record> createRecordMap() {
+        return new ConcurrentHashMap<Data, Record>(1000);
     }
 
 
@@ -1,13 +1,16 @@
 package com.hazelcast.map;
 
 import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.map.operation.MapAggregationOperation;
+import com.hazelcast.map.operation.MapAggregationPartitionOperation;
 import com.hazelcast.map.operation.QueryOperation;
 import com.hazelcast.map.operation.QueryPartitionOperation;
 import com.hazelcast.map.record.Record;
+import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.mapreduce.aggregation.impl.Accumulator;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.query.PagingPredicate;
-import com.hazelcast.query.PagingPredicateAccessor;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryEntry;
 import com.hazelcast.query.impl.QueryResultEntry;
@@ -19,12 +22,12 @@ import com.hazelcast.util.IterationType;
 import com.hazelcast.util.QueryResultSet;
 import com.hazelcast.util.SortedQueryResultSet;
 import com.hazelcast.util.SortingUtil;
+import com.hazelcast.util.TopN;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -54,8 +57,10 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         final PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
         final RecordStore recordStore = container.getRecordStore(mapName);
         final SerializationService serializationService = nodeEngine.getSerializationService();
-        final PagingPredicate pagingPredicate = predicate instanceof PagingPredicate ? (PagingPredicate) predicate : null;
-        List<QueryEntry> list = new LinkedList<QueryEntry>();
+        if (predicate instanceof PagingPredicate) {
+            return queryPageOnPartition(recordStore, (PagingPredicate) predicate);
+        }
+        List<QueryableEntry> list = new LinkedList<QueryableEntry>();
         final Iterator<Record> iterator = recordStore.loadAwareIterator();
         while (iterator.hasNext()) {
             final Record record = iterator.next();
@@ -66,18 +71,40 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
             }
             QueryEntry queryEntry = new QueryEntry(serializationService, key, key, value);
             if (predicate.apply(queryEntry)) {
-                if (pagingPredicate != null) {
-                    Map.Entry anchor = pagingPredicate.getAnchor();
-                    if (anchor != null
-                            && SortingUtil.compare(pagingPredicate.getComparator(),
-                            pagingPredicate.getIterationType(), anchor, queryEntry) >= 0) {
-                        continue;
-                    }
-                }
                 list.add(queryEntry);
             }
         }
-        return getPage(list, pagingPredicate);
+        return list;
+    }
+
+    /**
+     * Keeps only the entries following the anchor which are needed for the current page in a bounded heap,
+     * instead of sorting all matching entries of the partition.
+     */
+    private List<QueryableEntry> queryPageOnPartition(RecordStore recordStore, PagingPredicate pagingPredicate) {
+        final SerializationService serializationService = nodeEngine.getSerializationService();
+        final Map.Entry anchor = SortingUtil.getNearestAnchor(pagingPredicate);
+        final TopN<QueryableEntry> topEntries = new TopN<QueryableEntry>(SortingUtil.newComparator(pagingPredicate),
+                SortingUtil.getPagingLimit(pagingPredicate));
+        final Iterator<Record> iterator = recordStore.loadAwareIterator();
+        while (iterator.hasNext()) {
+            final Record record = iterator.next();
+            Data key = record.getKey();
+            Object value = getValueOrCachedValue(record);
+            if (value == null) {
+                continue;
+            }
+            QueryEntry queryEntry = new QueryEntry(serializationService, key, key, value);
+            if (!pagingPredicate.apply(queryEntry)) {
+                continue;
+            }
+            if (anchor != null && SortingUtil.compare(pagingPredicate.getComparator(),
+                    pagingPredicate.getIterationType(), anchor, queryEntry) >= 0) {
+                continue;
+            }
+            topEntries.add(queryEntry);
+        }
+        return topEntries.toSortedList();
     }
 
     private Object getValueOrCachedValue(Record record) {
@@ -144,17 +171,13 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         final NodeEngine nodeEngine = this.nodeEngine;
         final List<Integer> partitionIds = getLocalPartitionIds(nodeEngine);
         pagingPredicate.setIterationType(iterationType);
-        setPreviousPagesAnchorsOnLocalMember(mapName, pagingPredicate, iterationType);
-        final Set result = new SortedQueryResultSet(pagingPredicate.getComparator(),
-                iterationType, pagingPredicate.getPageSize());
+        final List<Iterator<Map.Entry>> sortedResults = new ArrayList<Iterator<Map.Entry>>();
         try {
             final Future future = queryOnLocalMember(mapName, pagingPredicate, nodeEngine);
             final List<Future> futures = Collections.singletonList(future);
-            addResultsOfPagingPredicate(futures, result, partitionIds);
+            addResultsOfPagingPredicate(futures, sortedResults, partitionIds);
             if (partitionIds.isEmpty()) {
-                PagingPredicateAccessor.setPagingPredicateAnchor(pagingPredicate,
-                        ((SortedQueryResultSet) result).last());
-                return result;
+                return getPage(pagingPredicate, sortedResults);
             }
         } catch (Throwable t) {
             nodeEngine.getLogger(getClass()).warning("Could not get results", t);
@@ -162,11 +185,11 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
 
         try {
             final List<Future> futures = queryOnPartitions(mapName, pagingPredicate, partitionIds, nodeEngine);
-            addResultsOfPagingPredicate(futures, result, partitionIds);
+            addResultsOfPagingPredicate(futures, sortedResults, partitionIds);
         } catch (Throwable t) {
             throw ExceptionUtil.rethrow(t);
         }
-        return result;
+        return getPage(pagingPredicate, sortedResults);
     }
 
     /**
@@ -181,15 +204,12 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         final NodeEngine nodeEngine = this.nodeEngine;
         final Set<Integer> partitionIds = getAllPartitionIds(nodeEngine);
         pagingPredicate.setIterationType(iterationType);
-        setPreviousPagesAnchors(mapName, pagingPredicate, iterationType);
-        final Set result = new SortedQueryResultSet(pagingPredicate.getComparator(),
-                iterationType, pagingPredicate.getPageSize());
+        final List<Iterator<Map.Entry>> sortedResults = new ArrayList<Iterator<Map.Entry>>();
         try {
             List<Future> futures = queryOnMembers(mapName, pagingPredicate, nodeEngine);
-            addResultsOfPagingPredicate(futures, result, partitionIds);
+            addResultsOfPagingPredicate(futures, sortedResults, partitionIds);
             if (partitionIds.isEmpty()) {
-                PagingPredicateAccessor.setPagingPredicateAnchor(pagingPredicate, ((SortedQueryResultSet) result).last());
-                return result;
+                return getPage(pagingPredicate, sortedResults);
             }
         } catch (Throwable t) {
             nodeEngine.getLogger(getClass()).warning("Could not get results", t);
@@ -197,12 +217,11 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
 
         try {
             List<Future> futures = queryOnPartitions(mapName, pagingPredicate, partitionIds, nodeEngine);
-            addResultsOfPagingPredicate(futures, result, partitionIds);
+            addResultsOfPagingPredicate(futures, sortedResults, partitionIds);
         } catch (Throwable t) {
             throw ExceptionUtil.rethrow(t);
         }
-        PagingPredicateAccessor.setPagingPredicateAnchor(pagingPredicate, ((SortedQueryResultSet) result).last());
-        return result;
+        return getPage(pagingPredicate, sortedResults);
     }
 
     /**
@@ -241,6 +260,94 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         return result;
     }
 
+    @Override
+    public void aggregateOnPartition(String mapName, Supplier supplier, Accumulator accumulator, int partitionId) {
+        final RecordStore recordStore = mapServiceContext.getPartitionContainer(partitionId).getRecordStore(mapName);
+        final SerializationService serializationService = nodeEngine.getSerializationService();
+        final Iterator<Record> iterator = recordStore.loadAwareIterator();
+        while (iterator.hasNext()) {
+            final Record record = iterator.next();
+            Data key = record.getKey();
+            Object value = getValueOrCachedValue(record);
+            if (value == null) {
+                continue;
+            }
+            Object suppliedValue = supplier.apply(new QueryEntry(serializationService, key, key, value));
+            if (suppliedValue != null) {
+                accumulator.accumulate(suppliedValue);
+            }
+        }
+    }
+
+    /**
+     * Each member accumulates the partitions it owns and returns a single accumulator. Results of members
+     * whose partitions migrated in the meantime are dropped and the missing partitions are aggregated one by one.
+     */
+    @Override
+    public Object aggregate(String mapName, Supplier supplier, Accumulator accumulator) {
+        final Set<Integer> partitionIds = getAllPartitionIds(nodeEngine);
+        try {
+            List<Future> futures = aggregateOnMembers(mapName, supplier, accumulator);
+            addAggregationResults(futures, accumulator, partitionIds);
+            if (partitionIds.isEmpty()) {
+                return accumulator.getResult();
+            }
+        } catch (Throwable t) {
+            nodeEngine.getLogger(getClass()).warning("Could not get results", t);
+        }
+
+        try {
+            List<Future> futures = aggregateOnPartitions(mapName, supplier, accumulator, partitionIds);
+            addAggregationResults(futures, accumulator, partitionIds);
+        } catch (Throwable t) {
+            throw ExceptionUtil.rethrow(t);
+        }
+        return accumulator.getResult();
+    }
+
+    private List<Future> aggregateOnMembers(String mapName, Supplier supplier, Accumulator accumulator) {
+        final Collection<MemberImpl> members = nodeEngine.getClusterService().getMemberList();
+        final List<Future> futures = new ArrayList<Future>(members.size());
+        final OperationService operationService = nodeEngine.getOperationService();
+        for (MemberImpl member : members) {
+            MapAggregationOperation operation = new MapAggregationOperation(mapName, supplier, accumulator);
+            futures.add(operationService.invokeOnTarget(SERVICE_NAME, operation, member.getAddress()));
+        }
+        return futures;
+    }
+
+    private List<Future> aggregateOnPartitions(String mapName, Supplier supplier, Accumulator accumulator,
+                                               Collection<Integer> partitionIds) {
+        final OperationService operationService = nodeEngine.getOperationService();
+        final List<Future> futures = new ArrayList<Future>(partitionIds.size());
+        for (Integer partitionId : partitionIds) {
+            MapAggregationPartitionOperation operation
+                    = new MapAggregationPartitionOperation(mapName, supplier, accumulator);
+            operation.setPartitionId(partitionId);
+            futures.add(operationService.invokeOnPartition(SERVICE_NAME, operation, partitionId));
+        }
+        return futures;
+    }
+
+    /**
+     * Merges partial results and removes aggregated partition ids. A result containing a partition
+     * which is already aggregated is dropped, so that no partition is counted twice.
+     */
+    private void addAggregationResults(List<Future> futures, Accumulator accumulator, Collection<Integer> partitionIds)
+            throws ExecutionException, InterruptedException {
+        for (Future future : futures) {
+            final AggregationResult aggregationResult = (AggregationResult) future.get();
+            if (aggregationResult == null) {
+                continue;
+            }
+            final List<Integer> aggregatedPartitionIds = aggregationResult.getPartitionIds();
+            if (aggregatedPartitionIds != null && partitionIds.containsAll(aggregatedPartitionIds)) {
+                partitionIds.removeAll(aggregatedPartitionIds);
+                accumulator.merge(aggregationResult.getAccumulator());
+            }
+        }
+    }
+
     private Future queryOnLocalMember(String mapName, Predicate predicate, NodeEngine nodeEngine) {
         final OperationService operationService = nodeEngine.getOperationService();
         return operationService
@@ -285,9 +392,10 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
 
     /**
      * For paging predicates.
-     * Adds results to result set and removes queried partition ids.
+     * Adds the sorted results to the list of results to merge and removes queried partition ids.
      */
-    private void addResultsOfPagingPredicate(List<Future> futures, Set result, Collection<Integer> partitionIds)
+    private void addResultsOfPagingPredicate(List<Future> futures, List<Iterator<Map.Entry>> sortedResults,
+                                             Collection<Integer> partitionIds)
             throws ExecutionException, InterruptedException {
         for (Future future : futures) {
             final QueryResult queryResult = getQueryResult(future);
@@ -297,15 +405,46 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
             List<Integer> tmpPartitionIds = queryResult.getPartitionIds();
             if (tmpPartitionIds != null) {
                 partitionIds.removeAll(tmpPartitionIds);
-                for (QueryResultEntry queryResultEntry : queryResult.getResult()) {
-                    Object key = toObject(queryResultEntry.getKeyData());
-                    Object value = toObject(queryResultEntry.getValueData());
-                    result.add(new AbstractMap.SimpleImmutableEntry(key, value));
-                }
+                sortedResults.add(toEntryIterator(queryResult.getResult().iterator()));
             }
         }
     }
 
+    /**
+     * Deserializes result entries lazily, so that the merge deserializes only the entries it looks at.
+     */
+    private Iterator<Map.Entry> toEntryIterator(final Iterator<QueryResultEntry> iterator) {
+        return new Iterator<Map.Entry>() {
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            public Map.Entry next() {
+                final QueryResultEntry queryResultEntry = iterator.next();
+                Object key = toObject(queryResultEntry.getKeyData());
+                Object value = toObject(queryResultEntry.getValueData());
+                return new AbstractMap.SimpleImmutableEntry(key, value);
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Merges the sorted results of members and partitions up to the current page, cuts the page out of them
+     * and sets the anchors of the paging predicate.
+     */
+    private Set getPage(PagingPredicate pagingPredicate, List<Iterator<Map.Entry>> sortedResults) {
+        final List<Map.Entry> sortedEntries = SortingUtil.merge(sortedResults, SortingUtil.newComparator(pagingPredicate),
+                SortingUtil.getPagingLimit(pagingPredicate));
+        final Set<Map.Entry> result = new SortedQueryResultSet(pagingPredicate.getComparator(),
+                pagingPredicate.getIterationType(), pagingPredicate.getPageSize());
+        result.addAll(SortingUtil.getPage(pagingPredicate, sortedEntries));
+        return result;
+    }
+
     /**
      * For predicates except paging predicates.
      * Adds results to result set and removes queried partition ids.
@@ -350,39 +489,10 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         return partitionIds;
     }
 
-    private List getPage(List<QueryEntry> list, PagingPredicate pagingPredicate) {
-        if (pagingPredicate == null) {
-            return list;
-        }
-        final Comparator<Map.Entry> wrapperComparator = SortingUtil.newComparator(pagingPredicate);
-        Collections.sort(list, wrapperComparator);
-        if (list.size() > pagingPredicate.getPageSize()) {
-            list = list.subList(0, pagingPredicate.getPageSize());
-        }
-        return list;
-    }
-
     private void checkIfNotPagingPredicate(Predicate predicate) {
         if (predicate instanceof PagingPredicate) {
             throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
         }
     }
 
-    private void setPreviousPagesAnchorsOnLocalMember(String mapName,
-                                                      PagingPredicate pagingPredicate, IterationType iterationType) {
-        if (pagingPredicate.getPage() > 0 && pagingPredicate.getAnchor() == null) {
-            pagingPredicate.previousPage();
-            queryLocalMemberWithPagingPredicate(mapName, pagingPredicate, iterationType);
-            pagingPredicate.nextPage();
-        }
-    }
-
-    private void setPreviousPagesAnchors(String mapName, PagingPredicate pagingPredicate, IterationType iterationType) {
-        if (pagingPredicate.getPage() > 0 && pagingPredicate.getAnchor() == null) {
-            pagingPredicate.previousPage();
-            queryWithPagingPredicate(mapName, pagingPredicate, iterationType);
-            pagingPredicate.nextPage();
-        }
-    }
-
 }
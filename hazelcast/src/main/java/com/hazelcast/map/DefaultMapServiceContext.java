@@ -91,6 +91,7 @@ public class DefaultMapServiceContext extends AbstractMapServiceContextSupport i
                 mapPartition.clearPartition();
             }
             container.getMaps().clear();
+            container.closeQueryCursors();
         }
     }
 
@@ -104,6 +104,19 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         final Record existingRecord = records.put(key, record);
         updateSizeEstimator(-calculateRecordHeapCost(existingRecord));
         updateSizeEstimator(calculateRecordHeapCost(record));
+        if (existingRecord != null && existingRecord != record) {
+            // releases off-heap value of the replaced record
+            existingRecord.invalidate();
+        }
+    }
+
+    /**
+     * Stores a newly created record and returns the record kept by the record map. Further updates
+     * of the record have to go through the returned instance.
+     */
+    protected Record storeRecord(Data key, Record record) {
+        records.put(key, record);
+        return record;
     }
 
     @Override
@@ -126,7 +139,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         Record record = records.get(key);
         if (record == null) {
             record = createRecord(key, value, ttl, now);
-            records.put(key, record);
+            record = storeRecord(key, record);
             updateSizeEstimator(calculateRecordHeapCost(record));
         } else {
             updateSizeEstimator(-calculateRecordHeapCost(record));
@@ -307,7 +320,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         final Object value = mapDataStore.load(key);
         if (value != null) {
             record = createRecord(key, value, getNow());
-            records.put(key, record);
+            record = storeRecord(key, record);
             if (enableIndex) {
                 saveIndex(record);
             }
@@ -582,7 +595,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             value = mapDataStore.load(key);
             if (value != null) {
                 record = createRecord(key, value, now);
-                records.put(key, record);
+                record = storeRecord(key, record);
                 saveIndex(record);
                 updateSizeEstimator(calculateRecordHeapCost(record));
             }
@@ -647,7 +660,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             Object value = mapDataStore.load(key);
             if (value != null) {
                 record = createRecord(key, value, now);
-                records.put(key, record);
+                record = storeRecord(key, record);
                 updateSizeEstimator(calculateRecordHeapCost(record));
             }
         }
@@ -672,7 +685,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             value = mapServiceContext.interceptPut(name, null, value);
             value = mapDataStore.add(key, value, now);
             record = createRecord(key, value, now);
-            records.put(key, record);
+            record = storeRecord(key, record);
             // increase size.
             updateSizeEstimator(calculateRecordHeapCost(record));
             saveIndex(record);
@@ -704,7 +717,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             value = mapServiceContext.interceptPut(name, null, value);
             value = mapDataStore.add(key, value, now);
             record = createRecord(key, value, ttl, now);
-            records.put(key, record);
+            record = storeRecord(key, record);
             updateSizeEstimator(calculateRecordHeapCost(record));
             saveIndex(record);
         } else {
@@ -737,7 +750,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             value = mapServiceContext.interceptPut(name, null, value);
             value = mapDataStore.add(key, value, now);
             record = createRecord(key, value, ttl, now);
-            records.put(key, record);
+            record = storeRecord(key, record);
             updateSizeEstimator(calculateRecordHeapCost(record));
             newRecord = true;
         } else {
@@ -772,7 +785,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             }
             newValue = mapDataStore.add(key, newValue, now);
             record = createRecord(key, newValue, now);
-            records.put(key, record);
+            record = storeRecord(key, record);
             updateSizeEstimator(calculateRecordHeapCost(record));
         } else {
             Object oldValue = record.getValue();
@@ -865,7 +878,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         if (record == null) {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(key, value, ttl, now);
-            records.put(key, record);
+            record = storeRecord(key, record);
             updateSizeEstimator(calculateRecordHeapCost(record));
         } else {
             value = mapServiceContext.interceptPut(name, record.getValue(), value);
@@ -894,7 +907,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         if (record == null) {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(key, value, ttl, now);
-            records.put(key, record);
+            record = storeRecord(key, record);
             updateSizeEstimator(calculateRecordHeapCost(record));
         } else {
             oldValue = record.getValue();
@@ -921,7 +934,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             value = mapServiceContext.interceptPut(name, null, value);
             value = mapDataStore.add(key, value, now);
             record = createRecord(key, value, ttl, now);
-            records.put(key, record);
+            record = storeRecord(key, record);
             updateSizeEstimator(calculateRecordHeapCost(record));
         } else {
             value = mapServiceContext.interceptPut(name, record.getValue(), value);
@@ -951,7 +964,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             oldValue = mapDataStore.load(key);
             if (oldValue != null) {
                 record = createRecord(key, oldValue, now);
-                records.put(key, record);
+                record = storeRecord(key, record);
                 updateSizeEstimator(calculateRecordHeapCost(record));
             }
         } else {
@@ -963,7 +976,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
             value = mapDataStore.add(key, value, now);
             onStore(record);
             record = createRecord(key, value, ttl, now);
-            records.put(key, record);
+            record = storeRecord(key, record);
             updateSizeEstimator(calculateRecordHeapCost(record));
             updateTtl(record, ttl);
         }
@@ -1,6 +1,7 @@
 package com.hazelcast.map;
 
 import com.hazelcast.cluster.ClusterService;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.map.record.Record;
 import com.hazelcast.map.record.RecordStatistics;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
@@ -9,6 +10,9 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.partition.InternalPartition;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.storage.DataRef;
+import com.hazelcast.storage.Storage;
+import com.hazelcast.storage.StorageStats;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ExceptionUtil;
@@ -63,6 +67,7 @@ public class LocalMapStatsProvider {
         localMapStats.init();
         localMapStats.setBackupCount(backupCount);
         addNearCacheStats(localMapStats, mapContainer);
+        addOffHeapStats(localMapStats, mapContainer);
 
         for (int partitionId = 0; partitionId < partitionService.getPartitionCount(); partitionId++) {
             InternalPartition partition = partitionService.getPartition(partitionId);
@@ -230,6 +235,21 @@ public class LocalMapStatsProvider {
         }
     }
 
+    /**
+     * Adds stats of the member wide off-heap storage.
+     */
+    private void addOffHeapStats(LocalMapStatsImpl localMapStats, MapContainer mapContainer) {
+        if (mapContainer.getMapConfig().getInMemoryFormat() != InMemoryFormat.OFFHEAP) {
+            return;
+        }
+        final Storage<DataRef> storage = nodeEngine.getOffHeapStorage();
+        if (storage instanceof StorageStats) {
+            final StorageStats storageStats = (StorageStats) storage;
+            localMapStats.setOffHeapMemory(storageStats.getUsedMemory(), storageStats.getFreeMemory(),
+                    storageStats.getFragmentedMemory());
+        }
+    }
+
     /**
      * Adds near cache stats.
      */
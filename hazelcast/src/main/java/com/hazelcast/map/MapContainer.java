@@ -16,6 +16,7 @@
 
 package com.hazelcast.map;
 
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
@@ -26,12 +27,14 @@ import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.map.mapstore.MapStoreManager;
 import com.hazelcast.map.merge.MapMergePolicy;
 import com.hazelcast.map.record.DataRecordFactory;
+import com.hazelcast.map.record.NativeRecordFactory;
 import com.hazelcast.map.record.ObjectRecordFactory;
 import com.hazelcast.map.record.OffHeapRecordFactory;
 import com.hazelcast.map.record.Record;
 import com.hazelcast.map.record.RecordFactory;
 import com.hazelcast.map.record.RecordStatistics;
 import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.nio.UnsafeHelper;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.impl.IndexService;
 import com.hazelcast.spi.NodeEngine;
@@ -61,6 +64,7 @@ public class MapContainer extends MapContainerSupport {
 
     private final String name;
     private final RecordFactory recordFactory;
+    private final boolean nativeRecordStoreEnabled;
     private final MapServiceContext mapServiceContext;
     private final List<MapInterceptor> interceptors;
     private final Map<String, MapInterceptor> interceptorMap;
@@ -80,6 +84,7 @@ public class MapContainer extends MapContainerSupport {
         this.mapServiceContext = mapServiceContext;
         this.partitioningStrategy = createPartitioningStrategy();
         final NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        nativeRecordStoreEnabled = isNativeRecordStoreEnabled(nodeEngine);
         recordFactory = createRecordFactory(nodeEngine);
         initMapStoreOperations(nodeEngine);
         initWanReplication(nodeEngine);
@@ -126,8 +131,13 @@ public class MapContainer extends MapContainerSupport {
                 recordFactory = new ObjectRecordFactory(mapConfig, nodeEngine.getSerializationService());
                 break;
             case OFFHEAP:
-                recordFactory = new OffHeapRecordFactory(mapConfig, nodeEngine.getOffHeapStorage(),
-                        nodeEngine.getSerializationService(), partitioningStrategy);
+                if (nativeRecordStoreEnabled) {
+                    recordFactory = new NativeRecordFactory(mapConfig, nodeEngine.getSerializationService(),
+                            partitioningStrategy);
+                } else {
+                    recordFactory = new OffHeapRecordFactory(mapConfig, nodeEngine.getOffHeapStorage(),
+                            nodeEngine.getSerializationService(), partitioningStrategy);
+                }
                 break;
             default:
                 throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
@@ -135,6 +145,23 @@ public class MapContainer extends MapContainerSupport {
         return recordFactory;
     }
 
+    /**
+     * Native record store keeps keys, values and record meta data of an {@link InMemoryFormat#OFFHEAP} map
+     * in native memory, it needs <tt>sun.misc.Unsafe</tt>.
+     */
+    private boolean isNativeRecordStoreEnabled(NodeEngine nodeEngine) {
+        if (mapConfig.getInMemoryFormat() != InMemoryFormat.OFFHEAP
+                || !nodeEngine.getGroupProperties().ELASTIC_MEMORY_NATIVE_RECORD_STORE.getBoolean()) {
+            return false;
+        }
+        if (!UnsafeHelper.UNSAFE_AVAILABLE) {
+            nodeEngine.getLogger(getClass()).warning("Native record store needs sun.misc.Unsafe, "
+                    + "falling back to off-heap values for map " + name);
+            return false;
+        }
+        return true;
+    }
+
     private MapStoreWrapper createMapStoreWrapper(MapStoreConfig mapStoreConfig, NodeEngine nodeEngine) {
         Object store;
         MapStoreWrapper storeWrapper;
@@ -312,6 +339,10 @@ public class MapContainer extends MapContainerSupport {
         return nearCacheSizeEstimator;
     }
 
+    public boolean isNativeRecordStoreEnabled() {
+        return nativeRecordStoreEnabled;
+    }
+
     public RecordFactory getRecordFactory() {
         return recordFactory;
     }
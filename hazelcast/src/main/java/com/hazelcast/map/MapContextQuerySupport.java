@@ -1,5 +1,7 @@
 package com.hazelcast.map;
 
+import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.mapreduce.aggregation.impl.Accumulator;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -69,4 +71,24 @@ public interface MapContextQuerySupport {
      */
     Set query(String mapName, Predicate predicate,
               IterationType iterationType, boolean dataResult);
+
+    /**
+     * Accumulates the values supplied for the entries of a specific partition.
+     *
+     * @param mapName     map name.
+     * @param supplier    supplier of the aggregated values.
+     * @param accumulator accumulator to add the supplied values to.
+     * @param partitionId partition id.
+     */
+    void aggregateOnPartition(String mapName, Supplier supplier, Accumulator accumulator, int partitionId);
+
+    /**
+     * Aggregates the values supplied for all entries on the members which own them, without a MapReduce job.
+     *
+     * @param mapName     map name.
+     * @param supplier    supplier of the aggregated values.
+     * @param accumulator empty accumulator of the aggregation, the partial results of all members are merged into it.
+     * @return result of the aggregation.
+     */
+    Object aggregate(String mapName, Supplier supplier, Accumulator accumulator);
 }
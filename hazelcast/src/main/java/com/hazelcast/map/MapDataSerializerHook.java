@@ -50,8 +50,9 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int MAP_STATS = 12;
     public static final int QUERY_RESULT_ENTRY = 13;
     public static final int QUERY_RESULT_SET = 14;
+    public static final int QUERY_CURSOR_BATCH = 15;
 
-    private static final int LEN = QUERY_RESULT_SET + 1;
+    private static final int LEN = QUERY_CURSOR_BATCH + 1;
 
     public int getFactoryId() {
         return F_ID;
@@ -121,6 +122,11 @@ public final class MapDataSerializerHook implements DataSerializerHook {
                 return new QueryResultSet();
             }
         };
+        constructors[QUERY_CURSOR_BATCH] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new QueryCursorBatch();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
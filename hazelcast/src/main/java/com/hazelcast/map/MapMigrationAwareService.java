@@ -31,7 +31,9 @@ class MapMigrationAwareService implements MigrationAwareService {
 
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
-
+        for (MapContainer mapContainer : mapServiceContext.getMapContainers().values()) {
+            mapContainer.getIndexService().beginPartitionMigration(event.getPartitionId());
+        }
     }
 
     @Override
@@ -52,6 +54,7 @@ class MapMigrationAwareService implements MigrationAwareService {
         }
         final List<Integer> memberPartitions = mapServiceContext.getMemberPartitions();
         mapServiceContext.ownedPartitions().set(memberPartitions);
+        finishIndexMigration(event);
     }
 
     @Override
@@ -61,6 +64,7 @@ class MapMigrationAwareService implements MigrationAwareService {
         }
         final List<Integer> memberPartitions = mapServiceContext.getMemberPartitions();
         mapServiceContext.ownedPartitions().set(memberPartitions);
+        finishIndexMigration(event);
     }
 
     @Override
@@ -68,6 +72,13 @@ class MapMigrationAwareService implements MigrationAwareService {
         mapServiceContext.clearPartitionData(partitionId);
     }
 
+    // after owned partitions are updated, so queries see index entries and owned partitions in agreement
+    private void finishIndexMigration(PartitionMigrationEvent event) {
+        for (MapContainer mapContainer : mapServiceContext.getMapContainers().values()) {
+            mapContainer.getIndexService().finishPartitionMigration(event.getPartitionId());
+        }
+    }
+
     private void migrateIndex(PartitionMigrationEvent event) {
         final PartitionContainer container = mapServiceContext.getPartitionContainer(event.getPartitionId());
         for (RecordStore recordStore : container.getMaps().values()) {
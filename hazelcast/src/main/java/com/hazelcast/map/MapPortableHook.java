@@ -20,6 +20,7 @@ import com.hazelcast.map.client.MapAddEntryListenerRequest;
 import com.hazelcast.map.client.MapAddEntryListenerSqlRequest;
 import com.hazelcast.map.client.MapAddIndexRequest;
 import com.hazelcast.map.client.MapAddInterceptorRequest;
+import com.hazelcast.map.client.MapAggregationRequest;
 import com.hazelcast.map.client.MapClearRequest;
 import com.hazelcast.map.client.MapContainsKeyRequest;
 import com.hazelcast.map.client.MapContainsValueRequest;
@@ -45,6 +46,7 @@ import com.hazelcast.map.client.MapPutAllRequest;
 import com.hazelcast.map.client.MapPutIfAbsentRequest;
 import com.hazelcast.map.client.MapPutRequest;
 import com.hazelcast.map.client.MapPutTransientRequest;
+import com.hazelcast.map.client.MapQueryCursorRequest;
 import com.hazelcast.map.client.MapQueryRequest;
 import com.hazelcast.map.client.MapRemoveEntryListenerRequest;
 import com.hazelcast.map.client.MapRemoveIfSameRequest;
@@ -121,6 +123,8 @@ public class MapPortableHook implements PortableHook {
     public static final int LOAD_ALL_GIVEN_KEYS = 47;
     public static final int LOAD_ALL_KEYS = 48;
     public static final int IS_EMPTY = 49;
+    public static final int QUERY_CURSOR = 50;
+    public static final int AGGREGATE = 51;
 
     public int getFactoryId() {
         return F_ID;
@@ -128,7 +132,7 @@ public class MapPortableHook implements PortableHook {
 
     public PortableFactory createFactory() {
         return new PortableFactory() {
-            final ConstructorFunction<Integer, Portable>[] constructors = new ConstructorFunction[IS_EMPTY + 1];
+            final ConstructorFunction<Integer, Portable>[] constructors = new ConstructorFunction[AGGREGATE + 1];
 
             {
                 constructors[GET] = new ConstructorFunction<Integer, Portable>() {
@@ -399,6 +403,18 @@ public class MapPortableHook implements PortableHook {
                         return new MapIsEmptyRequest();
                     }
                 };
+
+                constructors[QUERY_CURSOR] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapQueryCursorRequest();
+                    }
+                };
+
+                constructors[AGGREGATE] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapAggregationRequest();
+                    }
+                };
             }
 
             public Portable create(int classId) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.map.record.NativeRecordMap;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Record store of {@link com.hazelcast.config.InMemoryFormat#OFFHEAP} maps which keeps keys, values
+ * and record meta data in a {@link NativeRecordMap}, so entries cost no retained heap.
+ * <p/>
+ * Plain reads of non-expirable stores are served from the native slot without materializing a record,
+ * all other operations work on short living record views.
+ */
+public class NativeRecordStore extends DefaultRecordStore {
+
+    public NativeRecordStore(MapContainer mapContainer, int partitionId) {
+        super(mapContainer, partitionId);
+    }
+
+    @Override
+    protected ConcurrentMap<Data, Record> createRecordMap() {
+        final boolean statisticsEnabled = mapContainer.getMapConfig().isStatisticsEnabled();
+        return new NativeRecordMap(serializationService, statisticsEnabled);
+    }
+
+    private NativeRecordMap getNativeRecordMap() {
+        return (NativeRecordMap) records;
+    }
+
+    @Override
+    public Object get(Data key) {
+        if (isExpirable()) {
+            return super.get(key);
+        }
+        checkIfLoaded();
+        final long now = getNow();
+        final MapConfig.EvictionPolicy evictionPolicy = mapContainer.getMapConfig().getEvictionPolicy();
+        final Data value = getNativeRecordMap().touch(key, now, evictionPolicy, lruAccessSequenceNumber + 1);
+        if (value == null) {
+            return super.get(key);
+        }
+        if (evictionPolicy == MapConfig.EvictionPolicy.LRU) {
+            lruAccessSequenceNumber++;
+        }
+        final Object result = mapServiceContext.interceptGet(name, value);
+        postReadCleanUp(now);
+        return result;
+    }
+
+    /**
+     * The native map copies the heap record into its slot, so the slot view is returned.
+     */
+    @Override
+    protected Record storeRecord(Data key, Record record) {
+        records.put(key, record);
+        return records.get(key);
+    }
+
+    /**
+     * Records do not retain heap, native memory is reported by {@link Record#getCost()}.
+     */
+    @Override
+    protected long calculateRecordHeapCost(Record record) {
+        return 0L;
+    }
+
+    @Override
+    public void clearPartition() {
+        super.clearPartition();
+        // releases the slot table as well
+        records.clear();
+    }
+}
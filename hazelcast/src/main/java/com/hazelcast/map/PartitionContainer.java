@@ -17,16 +17,31 @@
 package com.hazelcast.map;
 
 import com.hazelcast.concurrent.lock.LockService;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.query.Predicate;
 import com.hazelcast.spi.DefaultObjectNamespace;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
 
+import java.util.Iterator;
+import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 public class PartitionContainer {
 
+    /**
+     * Max number of open query cursors of a partition, the least recently used one is closed to open another.
+     */
+    static final int MAX_QUERY_CURSORS = 16;
+
+    /**
+     * Cursors not advanced for this long are closed when a new one is opened.
+     */
+    static final long QUERY_CURSOR_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     private final MapService mapService;
 
     private final int partitionId;
@@ -37,6 +52,9 @@ public class PartitionContainer {
             = new ConstructorFunction<String, RecordStore>() {
         public RecordStore createNew(String name) {
             final MapContainer mapContainer = mapService.getMapServiceContext().getMapContainer(name);
+            if (mapContainer.isNativeRecordStoreEnabled()) {
+                return new NativeRecordStore(mapContainer, partitionId);
+            }
             return new DefaultRecordStore(mapContainer, partitionId);
         }
     };
@@ -48,6 +66,11 @@ public class PartitionContainer {
 
     private volatile long lastCleanupTime;
 
+    private final ConcurrentMap<Long, QueryCursor> queryCursors = new ConcurrentHashMap<Long, QueryCursor>();
+
+    // starts at a random value so a cursor id handed out by another member is not mistaken for a local one
+    private long lastQueryCursorId = new Random().nextLong();
+
     public PartitionContainer(final MapService mapService, final int partitionId) {
         this.mapService = mapService;
         this.partitionId = partitionId;
@@ -74,6 +97,7 @@ public class PartitionContainer {
     }
 
     void destroyMap(String name) {
+        closeQueryCursors(name);
         RecordStore recordStore = maps.remove(name);
         if (recordStore != null) {
             recordStore.clearPartition();
@@ -92,6 +116,7 @@ public class PartitionContainer {
     }
 
     void clear() {
+        closeQueryCursors();
         for (RecordStore recordStore : maps.values()) {
             recordStore.clearPartition();
         }
@@ -113,4 +138,56 @@ public class PartitionContainer {
     public void setLastCleanupTime(long lastCleanupTime) {
         this.lastCleanupTime = lastCleanupTime;
     }
+
+    /**
+     * Opens a cursor over the records of the map. Called by the partition thread only.
+     */
+    public QueryCursor openQueryCursor(String mapName, Predicate predicate, Iterator<Record> iterator, long now) {
+        QueryCursor leastRecentlyUsed = null;
+        for (QueryCursor cursor : queryCursors.values()) {
+            if (now - cursor.getLastAccessTime() > QUERY_CURSOR_TIMEOUT_MILLIS) {
+                queryCursors.remove(cursor.getId());
+            } else if (leastRecentlyUsed == null || cursor.getLastAccessTime() < leastRecentlyUsed.getLastAccessTime()) {
+                leastRecentlyUsed = cursor;
+            }
+        }
+        if (leastRecentlyUsed != null && queryCursors.size() >= MAX_QUERY_CURSORS) {
+            queryCursors.remove(leastRecentlyUsed.getId());
+        }
+        long id = ++lastQueryCursorId;
+        if (id == 0) {
+            id = ++lastQueryCursorId;
+        }
+        QueryCursor cursor = new QueryCursor(id, mapName, predicate, iterator, now);
+        queryCursors.put(id, cursor);
+        return cursor;
+    }
+
+    /**
+     * Returns the open cursor of the map with the given id or <code>null</code> if it is closed or expired.
+     */
+    public QueryCursor getQueryCursor(String mapName, long id, long now) {
+        QueryCursor cursor = queryCursors.get(id);
+        if (cursor == null || !cursor.getMapName().equals(mapName)) {
+            return null;
+        }
+        cursor.setLastAccessTime(now);
+        return cursor;
+    }
+
+    public void closeQueryCursor(long id) {
+        queryCursors.remove(id);
+    }
+
+    void closeQueryCursors() {
+        queryCursors.clear();
+    }
+
+    private void closeQueryCursors(String mapName) {
+        for (QueryCursor cursor : queryCursors.values()) {
+            if (cursor.getMapName().equals(mapName)) {
+                queryCursors.remove(cursor.getId());
+            }
+        }
+    }
 }
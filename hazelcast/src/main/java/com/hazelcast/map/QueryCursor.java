@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.map.record.Record;
+import com.hazelcast.query.Predicate;
+
+import java.util.Iterator;
+
+/**
+ * Position of a streaming query on the records of one partition of a map.
+ * <p/>
+ * Keeps a weakly consistent iterator over the record store instead of the matching records, so an open cursor
+ * costs the same memory whatever the size of the partition or of the result. Cursors are created, advanced and
+ * closed by partition threads only.
+ *
+ * @see PartitionContainer#openQueryCursor(String, Predicate, Iterator, long)
+ */
+public final class QueryCursor {
+
+    private final long id;
+    private final String mapName;
+    private final Predicate predicate;
+    private final Iterator<Record> iterator;
+    private long lastAccessTime;
+    private int batchSequence = -1;
+    private QueryCursorBatch lastBatch;
+
+    QueryCursor(long id, String mapName, Predicate predicate, Iterator<Record> iterator, long now) {
+        this.id = id;
+        this.mapName = mapName;
+        this.predicate = predicate;
+        this.iterator = iterator;
+        this.lastAccessTime = now;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    public Iterator<Record> getIterator() {
+        return iterator;
+    }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    public void setLastAccessTime(long lastAccessTime) {
+        this.lastAccessTime = lastAccessTime;
+    }
+
+    /**
+     * Returns the sequence number of the last batch returned by this cursor, -1 before the first one.
+     */
+    public int getBatchSequence() {
+        return batchSequence;
+    }
+
+    /**
+     * Returns the last batch returned by this cursor, kept to answer a retried fetch of the same batch.
+     */
+    public QueryCursorBatch getLastBatch() {
+        return lastBatch;
+    }
+
+    public void setLastBatch(int batchSequence, QueryCursorBatch lastBatch) {
+        this.batchSequence = batchSequence;
+        this.lastBatch = lastBatch;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.QueryResultEntryImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of the entries matched by a streaming query on one partition.
+ */
+public class QueryCursorBatch implements IdentifiedDataSerializable {
+
+    private long cursorId;
+    private boolean last;
+    private boolean expired;
+    private List<QueryResultEntryImpl> entries;
+
+    public QueryCursorBatch() {
+    }
+
+    public QueryCursorBatch(long cursorId, boolean last, List<QueryResultEntryImpl> entries) {
+        this.cursorId = cursorId;
+        this.last = last;
+        this.entries = entries;
+    }
+
+    /**
+     * Creates the response for a cursor which is no longer open on the partition owner,
+     * because the partition migrated or the cursor timed out.
+     */
+    public static QueryCursorBatch expired(long cursorId) {
+        QueryCursorBatch batch = new QueryCursorBatch(cursorId, true, new ArrayList<QueryResultEntryImpl>(0));
+        batch.expired = true;
+        return batch;
+    }
+
+    public long getCursorId() {
+        return cursorId;
+    }
+
+    /**
+     * Returns <code>true</code> if the partition has no more entries, the cursor is closed then.
+     */
+    public boolean isLast() {
+        return last;
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+
+    public List<QueryResultEntryImpl> getEntries() {
+        return entries;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.QUERY_CURSOR_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(cursorId);
+        out.writeBoolean(last);
+        out.writeBoolean(expired);
+        out.writeInt(entries.size());
+        for (QueryResultEntryImpl entry : entries) {
+            entry.writeData(out);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        cursorId = in.readLong();
+        last = in.readBoolean();
+        expired = in.readBoolean();
+        int size = in.readInt();
+        entries = new ArrayList<QueryResultEntryImpl>(size);
+        for (int i = 0; i < size; i++) {
+            QueryResultEntryImpl entry = new QueryResultEntryImpl();
+            entry.readData(in);
+            entries.add(entry);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.QueryResultEntryImpl;
+import com.hazelcast.util.IterationType;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the results of a streaming query, fetching them partition by partition in batches.
+ * <p/>
+ * Only the current batch is held in memory, on the caller and on the members. The iteration is weakly consistent:
+ * entries updated during the iteration may or may not be returned. If a partition migrates while it is being
+ * iterated, its cursor is lost and {@link #hasNext()} throws {@link ConcurrentModificationException}.
+ *
+ * @param <E> type of the returned keys, values or entries.
+ */
+public abstract class QueryCursorIterator<E> implements Iterator<E> {
+
+    private final int partitionCount;
+    private final IterationType iterationType;
+    private int partitionId = -1;
+    private long cursorId;
+    private int batchSequence;
+    private boolean partitionDone = true;
+    private Iterator<QueryResultEntryImpl> batch = Collections.<QueryResultEntryImpl>emptyList().iterator();
+
+    protected QueryCursorIterator(int partitionCount, IterationType iterationType) {
+        this.partitionCount = partitionCount;
+        this.iterationType = iterationType;
+    }
+
+    /**
+     * Fetches the next batch of the partition, opening a new cursor if <code>cursorId</code> is 0.
+     * <code>batchSequence</code> counts the batches of the partition from 0; a retried fetch sends the same
+     * sequence again and gets the same batch back.
+     */
+    protected abstract QueryCursorBatch fetch(int partitionId, long cursorId, int batchSequence);
+
+    protected abstract Object toObject(Data data);
+
+    @Override
+    public boolean hasNext() {
+        while (!batch.hasNext()) {
+            if (partitionDone) {
+                if (partitionId + 1 >= partitionCount) {
+                    return false;
+                }
+                partitionId++;
+                cursorId = 0;
+                batchSequence = 0;
+            }
+            QueryCursorBatch next = fetch(partitionId, cursorId, batchSequence++);
+            if (next.isExpired()) {
+                throw new ConcurrentModificationException("Query cursor of partition " + partitionId
+                        + " is lost, the partition migrated or the iteration was idle for too long");
+            }
+            cursorId = next.getCursorId();
+            partitionDone = next.isLast();
+            batch = next.getEntries().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        QueryResultEntryImpl entry = batch.next();
+        switch (iterationType) {
+            case KEY:
+                return (E) toObject(entry.getKeyData());
+            case VALUE:
+                return (E) toObject(entry.getValueData());
+            default:
+                return (E) new AbstractMap.SimpleImmutableEntry(toObject(entry.getKeyData()),
+                        toObject(entry.getValueData()));
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Query cursor iterators are read only");
+    }
+}
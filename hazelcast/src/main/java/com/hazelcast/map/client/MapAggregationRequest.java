@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.client;
+
+import com.hazelcast.client.CallableClientRequest;
+import com.hazelcast.client.RetryableRequest;
+import com.hazelcast.client.SecureRequest;
+import com.hazelcast.map.MapPortableHook;
+import com.hazelcast.map.MapService;
+import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.mapreduce.aggregation.impl.Accumulator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+
+import java.io.IOException;
+import java.security.Permission;
+
+/**
+ * Runs an aggregation on the members which own the entries, without a MapReduce job.
+ *
+ * @see com.hazelcast.map.operation.MapAggregationOperation
+ */
+public class MapAggregationRequest extends CallableClientRequest implements Portable, RetryableRequest, SecureRequest {
+
+    private String name;
+    private Supplier supplier;
+    private Accumulator accumulator;
+
+    public MapAggregationRequest() {
+    }
+
+    public MapAggregationRequest(String name, Supplier supplier, Accumulator accumulator) {
+        this.name = name;
+        this.supplier = supplier;
+        this.accumulator = accumulator;
+    }
+
+    @Override
+    public Object call() throws Exception {
+        MapService mapService = getService();
+        return mapService.getMapServiceContext().getMapContextQuerySupport().aggregate(name, supplier, accumulator);
+    }
+
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapPortableHook.F_ID;
+    }
+
+    public int getClassId() {
+        return MapPortableHook.AGGREGATE;
+    }
+
+    public void write(PortableWriter writer) throws IOException {
+        writer.writeUTF("n", name);
+        final ObjectDataOutput out = writer.getRawDataOutput();
+        out.writeObject(supplier);
+        out.writeObject(accumulator);
+    }
+
+    public void read(PortableReader reader) throws IOException {
+        name = reader.readUTF("n");
+        final ObjectDataInput in = reader.getRawDataInput();
+        supplier = in.readObject();
+        accumulator = in.readObject();
+    }
+
+    public Permission getRequiredPermission() {
+        return new MapPermission(name, ActionConstants.ACTION_READ);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "aggregate";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{supplier};
+    }
+}
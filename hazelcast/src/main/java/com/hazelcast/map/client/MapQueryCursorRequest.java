@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.client;
+
+import com.hazelcast.client.PartitionClientRequest;
+import com.hazelcast.client.RetryableRequest;
+import com.hazelcast.client.SecureRequest;
+import com.hazelcast.map.MapPortableHook;
+import com.hazelcast.map.MapService;
+import com.hazelcast.map.operation.QueryCursorOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.util.IterationType;
+
+import java.io.IOException;
+import java.security.Permission;
+import java.util.Locale;
+
+/**
+ * Fetches the next batch of a streaming query from a single partition. The request names the sequence number
+ * of the batch it expects, so it can be retried safely: a resent request returns the same batch again.
+ *
+ * @see QueryCursorOperation
+ */
+public class MapQueryCursorRequest extends PartitionClientRequest implements Portable, RetryableRequest, SecureRequest {
+
+    private String name;
+    private Predicate predicate;
+    private IterationType iterationType;
+    private int partitionId;
+    private long cursorId;
+    private int batchSequence;
+    private int batchSize;
+
+    public MapQueryCursorRequest() {
+    }
+
+    public MapQueryCursorRequest(String name, Predicate predicate, IterationType iterationType,
+                                 int partitionId, long cursorId, int batchSequence, int batchSize) {
+        this.name = name;
+        this.predicate = predicate;
+        this.iterationType = iterationType;
+        this.partitionId = partitionId;
+        this.cursorId = cursorId;
+        this.batchSequence = batchSequence;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    protected Operation prepareOperation() {
+        return new QueryCursorOperation(name, predicate, iterationType, cursorId, batchSequence, batchSize);
+    }
+
+    @Override
+    protected int getPartition() {
+        return partitionId;
+    }
+
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapPortableHook.F_ID;
+    }
+
+    public int getClassId() {
+        return MapPortableHook.QUERY_CURSOR;
+    }
+
+    public void write(PortableWriter writer) throws IOException {
+        writer.writeUTF("n", name);
+        writer.writeUTF("t", iterationType.toString());
+        writer.writeInt("p", partitionId);
+        writer.writeLong("c", cursorId);
+        writer.writeInt("s", batchSequence);
+        writer.writeInt("b", batchSize);
+        final ObjectDataOutput out = writer.getRawDataOutput();
+        out.writeObject(predicate);
+    }
+
+    public void read(PortableReader reader) throws IOException {
+        name = reader.readUTF("n");
+        iterationType = IterationType.valueOf(reader.readUTF("t"));
+        partitionId = reader.readInt("p");
+        cursorId = reader.readLong("c");
+        batchSequence = reader.readInt("s");
+        batchSize = reader.readInt("b");
+        final ObjectDataInput in = reader.getRawDataInput();
+        predicate = in.readObject();
+    }
+
+    public Permission getRequiredPermission() {
+        return new MapPermission(name, ActionConstants.ACTION_READ);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return iterationType.toString().toLowerCase(Locale.ENGLISH) + "Iterator";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{predicate, batchSize};
+    }
+}
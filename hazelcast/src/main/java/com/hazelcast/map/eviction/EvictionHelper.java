@@ -105,6 +105,30 @@ public final class EvictionHelper {
         }
     }
 
+    /**
+     * Evicts records picked by an {@link EvictionSampler} instead of sorting the eviction criteria of all records.
+     * Every evicted record is the least recently or least frequently used one among
+     * {@link MapConfig#getEvictionSampleCount()} sampled records.
+     */
+    public static void removeSampledEvictableRecords(final RecordStore recordStore, final EvictionSampler sampler,
+                                                     int evictableSize, final MapConfig mapConfig,
+                                                     final MapServiceContext mapServiceContext) {
+        final String mapName = mapConfig.getName();
+        for (int i = 0; i < evictableSize; i++) {
+            final int sampleCount = Math.min(mapConfig.getEvictionSampleCount(), recordStore.size());
+            final Record record = sampler.sample(sampleCount);
+            if (record == null) {
+                break;
+            }
+            final Data tmpKey = record.getKey();
+            final Object tmpValue = record.getValue();
+            if (evictIfNotLocked(tmpKey, recordStore)) {
+                interceptAndInvalidate(mapServiceContext, tmpValue, tmpKey, mapName);
+                fireEvent(tmpKey, tmpValue, mapName, mapServiceContext);
+            }
+        }
+    }
+
     private static long[] createAndPopulateEvictionCriteriaArray(RecordStore recordStore,
                                                                  MapConfig.EvictionPolicy evictionPolicy) {
         final int size = recordStore.size();
@@ -144,7 +168,7 @@ public final class EvictionHelper {
         return index < 0 ? 0 : index;
     }
 
-    private static void interceptAndInvalidate(MapServiceContext mapServiceContext, long value, Data tmpKey, String mapName) {
+    private static void interceptAndInvalidate(MapServiceContext mapServiceContext, Object value, Data tmpKey, String mapName) {
         mapServiceContext.interceptAfterRemove(mapName, value);
         final NearCacheProvider nearCacheProvider = mapServiceContext.getNearCacheProvider();
         if (nearCacheProvider.isNearCacheAndInvalidationEnabled(mapName)) {
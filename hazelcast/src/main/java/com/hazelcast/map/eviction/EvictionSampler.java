@@ -0,0 +1,76 @@
+/*
+* Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.hazelcast.map.eviction;
+
+import com.hazelcast.map.record.Record;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Picks eviction candidates from a fixed size sample of records.
+ * <p/>
+ * Samples are taken by a cursor which continues where the previous sample ended and
+ * wraps around at the end of the records, so every record gets sampled and the cost
+ * of picking a candidate only depends on the sample count, not on the number of records.
+ * <p/>
+ * Not thread safe, meant to be used from the partition thread owning the records.
+ */
+public final class EvictionSampler {
+
+    private final Collection<Record> records;
+
+    private Iterator<Record> cursor;
+
+    public EvictionSampler(Collection<Record> records) {
+        this.records = records;
+    }
+
+    /**
+     * Returns the record having the smallest eviction criteria number among the next
+     * <code>sampleCount</code> records.
+     *
+     * @param sampleCount number of records to sample.
+     * @return the eviction candidate or <code>null</code> if there are no records.
+     */
+    public Record sample(int sampleCount) {
+        Record candidate = null;
+        long candidateCriteria = Long.MAX_VALUE;
+        for (int i = 0; i < sampleCount; i++) {
+            final Record record = next();
+            if (record == null) {
+                break;
+            }
+            final long criteria = record.getEvictionCriteriaNumber();
+            if (candidate == null || criteria < candidateCriteria) {
+                candidate = record;
+                candidateCriteria = criteria;
+            }
+        }
+        return candidate;
+    }
+
+    private Record next() {
+        if (cursor == null || !cursor.hasNext()) {
+            cursor = records.iterator();
+            if (!cursor.hasNext()) {
+                return null;
+            }
+        }
+        return cursor.next();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.nearcache;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * An entry of a {@link NearCacheStore}.
+ *
+ * @param <K> key type.
+ */
+public class NearCacheRecord<K> {
+
+    private static final AtomicIntegerFieldUpdater<NearCacheRecord> HITS_UPDATER = AtomicIntegerFieldUpdater
+            .newUpdater(NearCacheRecord.class, "hits");
+
+    private final K key;
+    private final Object value;
+    private final long creationTime;
+    private volatile long lastAccessTime;
+    // only accessed through the updater
+    private volatile int hits;
+
+    public NearCacheRecord(K key, Object value) {
+        this.key = key;
+        this.value = value;
+        final long time = Clock.currentTimeMillis();
+        this.lastAccessTime = time;
+        this.creationTime = time;
+    }
+
+    public void access() {
+        HITS_UPDATER.incrementAndGet(this);
+        lastAccessTime = Clock.currentTimeMillis();
+    }
+
+    public boolean isExpired(long now, long maxIdleMillis, long timeToLiveMillis) {
+        return (maxIdleMillis > 0 && now > lastAccessTime + maxIdleMillis)
+                || (timeToLiveMillis > 0 && now > creationTime + timeToLiveMillis);
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public long getCost() {
+        // todo find object size  if not a Data instance.
+        if (!(value instanceof Data) || !(key instanceof Data)) {
+            return 0;
+        }
+        final int numberOfLongs = 2;
+        final int numberOfReferences = 2;
+        // value is Data
+        return ((Data) key).getHeapCost()
+                + ((Data) value).getHeapCost()
+                + numberOfLongs * (Long.SIZE / Byte.SIZE)
+                // hits
+                + (Integer.SIZE / Byte.SIZE)
+                // object references (key, value)
+                + numberOfReferences * (Integer.SIZE / Byte.SIZE);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.nearcache;
+
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.map.SizeEstimator;
+import com.hazelcast.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.util.Clock;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Near cache storage used by both member and client side near caches.
+ * <p/>
+ * Instead of sorting the whole cache and removing a big chunk of it when the cache is full,
+ * the store evicts entries one by one as soon as an insertion fills the cache, so it stays just below
+ * its max size. The evicted entry is the least recently (LRU) or least frequently (LFU) used one among
+ * a small sample of entries, so the cost of an insertion does not depend on the size of the cache.
+ * <p/>
+ * Samples are taken by a cursor which continues where the previous sample ended. Only one thread
+ * samples at a time. Other inserting threads do not wait for it, the evicting thread keeps evicting
+ * until the entries they inserted are trimmed as well.
+ *
+ * @param <K> key type.
+ */
+public class NearCacheStore<K> {
+
+    /**
+     * Eviction policy of the near cache.
+     */
+    public static enum EvictionPolicy {
+        NONE, LRU, LFU
+    }
+
+    /**
+     * Number of entries sampled for each eviction.
+     */
+    static final int SAMPLE_COUNT = 8;
+
+    private final int maxSize;
+    private final long maxIdleMillis;
+    private final long timeToLiveMillis;
+    private final EvictionPolicy evictionPolicy;
+    private final ConcurrentMap<K, NearCacheRecord<K>> cache;
+    private final NearCacheStatsImpl nearCacheStats;
+    private final AtomicBoolean evicting;
+    private volatile SizeEstimator<NearCacheRecord<K>> sizeEstimator;
+    // only accessed by the thread which set evicting flag.
+    private Iterator<NearCacheRecord<K>> evictionCursor;
+
+    public NearCacheStore(NearCacheConfig nearCacheConfig) {
+        this.maxSize = nearCacheConfig.getMaxSize() <= 0 ? Integer.MAX_VALUE : nearCacheConfig.getMaxSize();
+        this.maxIdleMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getMaxIdleSeconds());
+        this.timeToLiveMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
+        this.evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
+        this.cache = new ConcurrentHashMap<K, NearCacheRecord<K>>();
+        this.nearCacheStats = new NearCacheStatsImpl();
+        this.evicting = new AtomicBoolean();
+    }
+
+    /**
+     * Returns the record of the key or <code>null</code> when the key is not cached or expired.
+     * Does not update access statistics of the record.
+     */
+    public NearCacheRecord<K> get(K key) {
+        final NearCacheRecord<K> record = cache.get(key);
+        if (record == null) {
+            return null;
+        }
+        if (isExpired(record, Clock.currentTimeMillis())) {
+            remove(key, record);
+            return null;
+        }
+        return record;
+    }
+
+    /**
+     * Puts the record, evicting entries if the cache reaches its max size.
+     *
+     * @return <code>false</code> if the cache is full and eviction policy is NONE, otherwise <code>true</code>.
+     */
+    public boolean put(K key, NearCacheRecord<K> record) {
+        if (evictionPolicy == EvictionPolicy.NONE && cache.size() >= maxSize && !cache.containsKey(key)) {
+            return false;
+        }
+        final NearCacheRecord<K> oldRecord = cache.put(key, record);
+        updateSizeEstimator(cost(record) - cost(oldRecord));
+        if (evictionPolicy != EvictionPolicy.NONE && cache.size() >= maxSize) {
+            evict();
+        }
+        return true;
+    }
+
+    public NearCacheRecord<K> remove(K key) {
+        final NearCacheRecord<K> record = cache.remove(key);
+        updateSizeEstimator(-cost(record));
+        return record;
+    }
+
+    public void clear() {
+        cache.clear();
+        final SizeEstimator<NearCacheRecord<K>> estimator = sizeEstimator;
+        if (estimator != null) {
+            estimator.reset();
+        }
+    }
+
+    /**
+     * Removes all expired records. Iterates over the whole cache, meant to be run periodically
+     * on a background thread.
+     */
+    public void removeExpiredRecords() {
+        if (maxIdleMillis <= 0 && timeToLiveMillis <= 0) {
+            return;
+        }
+        final long now = Clock.currentTimeMillis();
+        for (NearCacheRecord<K> record : cache.values()) {
+            if (isExpired(record, now)) {
+                remove(record.getKey(), record);
+            }
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public Map<K, NearCacheRecord<K>> getReadonlyMap() {
+        return Collections.unmodifiableMap(cache);
+    }
+
+    public void incrementHits() {
+        nearCacheStats.incrementHits();
+    }
+
+    public void incrementMisses() {
+        nearCacheStats.incrementMisses();
+    }
+
+    /**
+     * Returns the statistics with owned entry count and cost calculated at the time of the call.
+     * Iterates over the whole cache, not meant to be called for each read.
+     */
+    public NearCacheStatsImpl getNearCacheStats() {
+        long ownedEntryMemoryCost = 0;
+        for (NearCacheRecord<K> record : cache.values()) {
+            ownedEntryMemoryCost += record.getCost();
+        }
+        nearCacheStats.setOwnedEntryCount(cache.size());
+        nearCacheStats.setOwnedEntryMemoryCost(ownedEntryMemoryCost);
+        return nearCacheStats;
+    }
+
+    public void setSizeEstimator(SizeEstimator<NearCacheRecord<K>> sizeEstimator) {
+        this.sizeEstimator = sizeEstimator;
+    }
+
+    private void evict() {
+        // re-checks the size after releasing the flag, an insertion may have skipped eviction meanwhile
+        while (cache.size() >= maxSize && evicting.compareAndSet(false, true)) {
+            try {
+                final long now = Clock.currentTimeMillis();
+                while (cache.size() >= maxSize) {
+                    final NearCacheRecord<K> candidate = sample(now);
+                    if (candidate == null) {
+                        break;
+                    }
+                    if (remove(candidate.getKey(), candidate)) {
+                        nearCacheStats.incrementEvictions();
+                    }
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the first expired record or the best eviction candidate among the next sampled records.
+     */
+    private NearCacheRecord<K> sample(long now) {
+        NearCacheRecord<K> candidate = null;
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            final NearCacheRecord<K> record = nextRecord();
+            if (record == null) {
+                break;
+            }
+            if (isExpired(record, now)) {
+                return record;
+            }
+            if (candidate == null || isBetterCandidate(record, candidate)) {
+                candidate = record;
+            }
+        }
+        return candidate;
+    }
+
+    private NearCacheRecord<K> nextRecord() {
+        if (evictionCursor == null || !evictionCursor.hasNext()) {
+            evictionCursor = cache.values().iterator();
+            if (!evictionCursor.hasNext()) {
+                return null;
+            }
+        }
+        return evictionCursor.next();
+    }
+
+    private boolean isBetterCandidate(NearCacheRecord<K> record, NearCacheRecord<K> candidate) {
+        if (evictionPolicy == EvictionPolicy.LFU) {
+            return record.getHits() < candidate.getHits();
+        }
+        return record.getLastAccessTime() < candidate.getLastAccessTime();
+    }
+
+    private boolean isExpired(NearCacheRecord<K> record, long now) {
+        return record.isExpired(now, maxIdleMillis, timeToLiveMillis);
+    }
+
+    private boolean remove(K key, NearCacheRecord<K> record) {
+        if (cache.remove(key, record)) {
+            updateSizeEstimator(-cost(record));
+            return true;
+        }
+        return false;
+    }
+
+    private long cost(NearCacheRecord<K> record) {
+        final SizeEstimator<NearCacheRecord<K>> estimator = sizeEstimator;
+        return estimator == null ? 0L : estimator.getCost(record);
+    }
+
+    private void updateSizeEstimator(long size) {
+        final SizeEstimator<NearCacheRecord<K>> estimator = sizeEstimator;
+        if (estimator != null && size != 0L) {
+            estimator.add(size);
+        }
+    }
+}
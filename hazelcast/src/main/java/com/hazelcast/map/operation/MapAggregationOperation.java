@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.operation;
+
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.map.AggregationResult;
+import com.hazelcast.map.MapContextQuerySupport;
+import com.hazelcast.map.MapServiceContext;
+import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.mapreduce.aggregation.impl.Accumulator;
+import com.hazelcast.mapreduce.aggregation.impl.PredicateSupplier;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.query.impl.IndexService;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.ExceptionAction;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.exception.TargetNotMemberException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Accumulates the supplied values of all partitions owned by a member into a single accumulator.
+ * If the supplier filters by an indexed predicate, only the entries found by the index are accumulated,
+ * otherwise the partitions are scanned in parallel.
+ */
+public class MapAggregationOperation extends AbstractMapOperation {
+
+    private Supplier supplier;
+    private Accumulator accumulator;
+    private AggregationResult result;
+
+    public MapAggregationOperation(String mapName, Supplier supplier, Accumulator accumulator) {
+        super(mapName);
+        this.supplier = supplier;
+        this.accumulator = accumulator;
+    }
+
+    public MapAggregationOperation() {
+    }
+
+    public void run() throws Exception {
+        final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        List<Integer> initialPartitions = mapServiceContext.getOwnedPartitions();
+        // the accumulator of the invocation is not touched, local invocations are not serialized
+        Accumulator memberAccumulator = accumulator.newAccumulator();
+        List<Integer> partitionsToScan = aggregateIndexed(memberAccumulator, initialPartitions);
+        for (Future<Accumulator> future : aggregatePartitions(partitionsToScan)) {
+            memberAccumulator.merge(future.get());
+        }
+        result = new AggregationResult(memberAccumulator);
+        List<Integer> finalPartitions = mapServiceContext.getOwnedPartitions();
+        if (initialPartitions.equals(finalPartitions)) {
+            result.setPartitionIds(finalPartitions);
+        }
+        if (mapContainer.getMapConfig().isStatisticsEnabled()) {
+            mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name).incrementOtherOperations();
+        }
+    }
+
+    /**
+     * Accumulates the entries found by the index, for the partitions whose index entries did not change
+     * while they were read.
+     *
+     * @return the partitions which have to be scanned.
+     */
+    private List<Integer> aggregateIndexed(Accumulator memberAccumulator, List<Integer> partitions) {
+        if (!(supplier instanceof PredicateSupplier)) {
+            return partitions;
+        }
+        final PredicateSupplier predicateSupplier = (PredicateSupplier) supplier;
+        final IndexService indexService = mapContainer.getIndexService();
+        final InternalPartitionService partitionService = getNodeEngine().getPartitionService();
+        if (!partitionService.hasOnGoingMigration()) {
+            Set<QueryableEntry> entries = indexService.query(predicateSupplier.getPredicate());
+            if (entries == null) {
+                return partitions;
+            }
+            accumulate(memberAccumulator, predicateSupplier, entries);
+            return new ArrayList<Integer>(0);
+        }
+        Map<Integer, List<QueryableEntry>> stableEntries = indexService.queryStablePartitions(
+                predicateSupplier.getPredicate(), partitions, partitionService);
+        if (stableEntries == null) {
+            return partitions;
+        }
+        List<Integer> migratingPartitions = new ArrayList<Integer>();
+        for (Integer partitionId : partitions) {
+            List<QueryableEntry> partitionEntries = stableEntries.get(partitionId);
+            if (partitionEntries == null) {
+                migratingPartitions.add(partitionId);
+            } else {
+                accumulate(memberAccumulator, predicateSupplier, partitionEntries);
+            }
+        }
+        return migratingPartitions;
+    }
+
+    private void accumulate(Accumulator memberAccumulator, PredicateSupplier predicateSupplier,
+                            Collection<QueryableEntry> entries) {
+        for (QueryableEntry entry : entries) {
+            Object value = predicateSupplier.applyMatching(entry);
+            if (value != null) {
+                memberAccumulator.accumulate(value);
+            }
+        }
+    }
+
+    private List<Future<Accumulator>> aggregatePartitions(List<Integer> partitions) {
+        final ExecutorService executor
+                = getNodeEngine().getExecutionService().getExecutor(ExecutionService.QUERY_EXECUTOR);
+        final List<Future<Accumulator>> futures = new ArrayList<Future<Accumulator>>(partitions.size());
+        for (Integer partitionId : partitions) {
+            futures.add(executor.submit(new PartitionCallable(partitionId)));
+        }
+        return futures;
+    }
+
+    public ExceptionAction onException(Throwable throwable) {
+        if (throwable instanceof MemberLeftException) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        if (throwable instanceof TargetNotMemberException) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        return super.onException(throwable);
+    }
+
+    public Object getResponse() {
+        return result;
+    }
+
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(supplier);
+        out.writeObject(accumulator);
+    }
+
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        supplier = in.readObject();
+        accumulator = in.readObject();
+    }
+
+    private final class PartitionCallable implements Callable<Accumulator> {
+
+        final int partition;
+
+        private PartitionCallable(int partitionId) {
+            this.partition = partitionId;
+        }
+
+        public Accumulator call() throws Exception {
+            MapContextQuerySupport mapContextQuerySupport = mapService.getMapServiceContext()
+                    .getMapContextQuerySupport();
+            Accumulator partitionAccumulator = accumulator.newAccumulator();
+            mapContextQuerySupport.aggregateOnPartition(name, supplier, partitionAccumulator, partition);
+            return partitionAccumulator;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.operation;
+
+import com.hazelcast.map.AggregationResult;
+import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.mapreduce.aggregation.impl.Accumulator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.PartitionAwareOperation;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Accumulates the supplied values of a single partition, used for the partitions which were missed
+ * by {@link MapAggregationOperation}s because they migrated.
+ */
+public class MapAggregationPartitionOperation extends AbstractMapOperation implements PartitionAwareOperation {
+
+    private Supplier supplier;
+    private Accumulator accumulator;
+    private AggregationResult result;
+
+    public MapAggregationPartitionOperation(String mapName, Supplier supplier, Accumulator accumulator) {
+        super(mapName);
+        this.supplier = supplier;
+        this.accumulator = accumulator;
+    }
+
+    public MapAggregationPartitionOperation() {
+    }
+
+    public void run() {
+        Accumulator partitionAccumulator = accumulator.newAccumulator();
+        mapService.getMapServiceContext().getMapContextQuerySupport()
+                .aggregateOnPartition(name, supplier, partitionAccumulator, getPartitionId());
+        result = new AggregationResult(partitionAccumulator);
+        result.setPartitionIds(Collections.singletonList(getPartitionId()));
+    }
+
+    @Override
+    public Object getResponse() {
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(supplier);
+        out.writeObject(accumulator);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        supplier = in.readObject();
+        accumulator = in.readObject();
+    }
+}
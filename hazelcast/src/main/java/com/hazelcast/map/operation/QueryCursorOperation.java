@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.operation;
+
+import com.hazelcast.map.PartitionContainer;
+import com.hazelcast.map.QueryCursor;
+import com.hazelcast.map.QueryCursorBatch;
+import com.hazelcast.map.RecordStore;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryResultEntryImpl;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.IterationType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Returns the next batch of at most <code>batchSize</code> entries of the partition matching the predicate.
+ * The first call, with cursor id 0, opens a {@link QueryCursor} on the partition; the following calls continue
+ * from where the previous batch ended. The cursor is closed when the last batch is returned.
+ * <p/>
+ * Every call names the sequence number of the batch it expects. A retried call, e.g. after the client
+ * connection dropped, asks for the batch the cursor returned last and gets the same batch again instead of
+ * advancing the cursor. Any other sequence number is answered as an expired cursor.
+ */
+public class QueryCursorOperation extends AbstractMapOperation implements PartitionAwareOperation {
+
+    private static final int MAX_INITIAL_BATCH_CAPACITY = 128;
+
+    private Predicate predicate;
+    private IterationType iterationType;
+    private long cursorId;
+    private int batchSequence;
+    private int batchSize;
+    private transient QueryCursorBatch batch;
+
+    public QueryCursorOperation() {
+    }
+
+    public QueryCursorOperation(String name, Predicate predicate, IterationType iterationType,
+                                long cursorId, int batchSequence, int batchSize) {
+        super(name);
+        this.predicate = predicate;
+        this.iterationType = iterationType;
+        this.cursorId = cursorId;
+        this.batchSequence = batchSequence;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() throws Exception {
+        final long now = Clock.currentTimeMillis();
+        final PartitionContainer container = mapService.getMapServiceContext().getPartitionContainer(getPartitionId());
+        final QueryCursor cursor;
+        if (cursorId == 0) {
+            final RecordStore recordStore = container.getRecordStore(name);
+            cursor = container.openQueryCursor(name, predicate, recordStore.loadAwareIterator(), now);
+        } else {
+            cursor = container.getQueryCursor(name, cursorId, now);
+            if (cursor != null && batchSequence == cursor.getBatchSequence()) {
+                batch = cursor.getLastBatch();
+                return;
+            }
+            if (cursor == null || batchSequence != cursor.getBatchSequence() + 1) {
+                batch = QueryCursorBatch.expired(cursorId);
+                return;
+            }
+        }
+        final List<QueryResultEntryImpl> entries
+                = new ArrayList<QueryResultEntryImpl>(Math.min(batchSize, MAX_INITIAL_BATCH_CAPACITY));
+        final Iterator<Record> iterator = cursor.getIterator();
+        while (entries.size() < batchSize && iterator.hasNext()) {
+            final QueryResultEntryImpl entry = match(iterator.next(), cursor.getPredicate());
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        final boolean last = !iterator.hasNext();
+        batch = new QueryCursorBatch(cursor.getId(), last, entries);
+        if (last) {
+            container.closeQueryCursor(cursor.getId());
+        } else {
+            cursor.setLastBatch(batchSequence, batch);
+        }
+    }
+
+    private QueryResultEntryImpl match(Record record, Predicate predicate) {
+        final Object value = record.getValue();
+        if (value == null) {
+            return null;
+        }
+        final SerializationService serializationService = getNodeEngine().getSerializationService();
+        final Data key = record.getKey();
+        final QueryEntry queryEntry = new QueryEntry(serializationService, key, key, value);
+        if (!predicate.apply(queryEntry)) {
+            return null;
+        }
+        final Data valueData = iterationType == IterationType.KEY ? null : queryEntry.getValueData();
+        return new QueryResultEntryImpl(key, key, valueData);
+    }
+
+    @Override
+    public Object getResponse() {
+        return batch;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(predicate);
+        out.writeUTF(iterationType.toString());
+        out.writeLong(cursorId);
+        out.writeInt(batchSequence);
+        out.writeInt(batchSize);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        predicate = in.readObject();
+        iterationType = IterationType.valueOf(in.readUTF());
+        cursorId = in.readLong();
+        batchSequence = in.readInt();
+        batchSize = in.readInt();
+    }
+}
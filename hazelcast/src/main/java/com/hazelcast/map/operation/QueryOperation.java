@@ -37,9 +37,7 @@ import com.hazelcast.util.SortingUtil;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -68,23 +66,16 @@ public class QueryOperation extends AbstractMapOperation {
     public void run() throws Exception {
         List<Integer> initialPartitions = mapService.getMapServiceContext().getOwnedPartitions();
         IndexService indexService = mapService.getMapServiceContext().getMapContainer(name).getIndexService();
-        Set<QueryableEntry> entries = null;
-        // TODO: fix
-        if (!getNodeEngine().getPartitionService().hasOnGoingMigration()) {
-            entries = indexService.query(predicate);
-        }
         result = new QueryResult();
-        if (entries != null) {
-            for (QueryableEntry entry : entries) {
-                result.add(new QueryResultEntryImpl(entry.getKeyData(), entry.getKeyData(), entry.getValueData()));
-            }
+        boolean indexed;
+        if (getNodeEngine().getPartitionService().hasOnGoingMigration()) {
+            indexed = runIndexedDuringMigration(indexService, initialPartitions);
         } else {
+            indexed = runIndexed(indexService);
+        }
+        if (!indexed) {
             // run in parallel
-            if (pagingPredicate != null) {
-                runParallelForPaging(initialPartitions);
-            } else {
-                runParallel(initialPartitions);
-            }
+            runParallel(initialPartitions);
         }
         List<Integer> finalPartitions = mapService.getMapServiceContext().getOwnedPartitions();
         if (initialPartitions.equals(finalPartitions)) {
@@ -98,52 +89,99 @@ public class QueryOperation extends AbstractMapOperation {
         }
     }
 
-    protected void runParallel(final List<Integer> initialPartitions) throws InterruptedException, ExecutionException {
-        final NodeEngine nodeEngine = getNodeEngine();
-        final ExecutorService executor
-                = nodeEngine.getExecutionService().getExecutor(ExecutionService.QUERY_EXECUTOR);
-        final List<Future<Collection<QueryableEntry>>> lsFutures
-                = new ArrayList<Future<Collection<QueryableEntry>>>(initialPartitions.size());
-        for (Integer partitionId : initialPartitions) {
-            Future<Collection<QueryableEntry>> f = executor.submit(new PartitionCallable(partitionId));
-            lsFutures.add(f);
+    private boolean runIndexed(IndexService indexService) {
+        Set<QueryableEntry> entries = indexService.query(predicate);
+        if (entries == null) {
+            return false;
         }
-        for (Future<Collection<QueryableEntry>> future : lsFutures) {
-            final Collection<QueryableEntry> collection = future.get();
-            if (collection != null) {
-                for (QueryableEntry entry : collection) {
-                    result.add(new QueryResultEntryImpl(entry.getKeyData(), entry.getKeyData(), entry.getValueData()));
-                }
+        for (QueryableEntry entry : entries) {
+            addResult(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Uses the index for the partitions whose index entries did not change while they were read and scans
+     * only the partitions which are migrating. Index entries of partitions this member does not own are skipped.
+     */
+    private boolean runIndexedDuringMigration(IndexService indexService, List<Integer> initialPartitions)
+            throws InterruptedException, ExecutionException {
+        Map<Integer, List<QueryableEntry>> stableEntries = indexService.queryStablePartitions(predicate,
+                initialPartitions, getNodeEngine().getPartitionService());
+        if (stableEntries == null) {
+            return false;
+        }
+        List<Integer> migratingPartitions = new ArrayList<Integer>();
+        List<Collection<QueryableEntry>> partitionResults = new ArrayList<Collection<QueryableEntry>>();
+        for (Integer partitionId : initialPartitions) {
+            List<QueryableEntry> partitionEntries = stableEntries.get(partitionId);
+            if (partitionEntries == null) {
+                migratingPartitions.add(partitionId);
+            } else if (!partitionEntries.isEmpty()) {
+                partitionResults.add(partitionEntries);
             }
         }
+        partitionResults.addAll(getResults(queryPartitions(migratingPartitions)));
+        addResults(partitionResults);
+        return true;
+    }
+
+    protected void runParallel(final List<Integer> initialPartitions) throws InterruptedException, ExecutionException {
+        addResults(getResults(queryPartitions(initialPartitions)));
         result.setPartitionIds(initialPartitions);
     }
 
-    protected void runParallelForPaging(List<Integer> initialPartitions) throws InterruptedException, ExecutionException {
+    private List<Future<Collection<QueryableEntry>>> queryPartitions(List<Integer> partitions) {
         final NodeEngine nodeEngine = getNodeEngine();
         final ExecutorService executor
                 = nodeEngine.getExecutionService().getExecutor(ExecutionService.QUERY_EXECUTOR);
         final List<Future<Collection<QueryableEntry>>> lsFutures
-                = new ArrayList<Future<Collection<QueryableEntry>>>(initialPartitions.size());
-
-        final Comparator<Map.Entry> wrapperComparator = SortingUtil.newComparator(pagingPredicate);
-        for (final Integer partitionId : initialPartitions) {
+                = new ArrayList<Future<Collection<QueryableEntry>>>(partitions.size());
+        for (Integer partitionId : partitions) {
             Future<Collection<QueryableEntry>> f = executor.submit(new PartitionCallable(partitionId));
             lsFutures.add(f);
         }
-        List<QueryableEntry> toMerge = new LinkedList<QueryableEntry>();
-        for (Future<Collection<QueryableEntry>> future : lsFutures) {
+        return lsFutures;
+    }
+
+    private List<Collection<QueryableEntry>> getResults(List<Future<Collection<QueryableEntry>>> futures)
+            throws InterruptedException, ExecutionException {
+        final List<Collection<QueryableEntry>> results = new ArrayList<Collection<QueryableEntry>>(futures.size());
+        for (Future<Collection<QueryableEntry>> future : futures) {
             final Collection<QueryableEntry> collection = future.get();
-            toMerge.addAll(collection);
+            if (collection != null) {
+                results.add(collection);
+            }
         }
-        Collections.sort(toMerge, wrapperComparator);
-        if (toMerge.size() > pagingPredicate.getPageSize()) {
-            toMerge = toMerge.subList(0, pagingPredicate.getPageSize());
+        return results;
+    }
+
+    /**
+     * Adds the results of partitions. For paging predicates, the sorted partition results are merged
+     * up to the entries needed for the requested page.
+     */
+    private void addResults(List<Collection<QueryableEntry>> partitionResults) {
+        if (pagingPredicate == null) {
+            for (Collection<QueryableEntry> partitionResult : partitionResults) {
+                for (QueryableEntry entry : partitionResult) {
+                    addResult(entry);
+                }
+            }
+            return;
         }
-        for (QueryableEntry entry : toMerge) {
-            result.add(new QueryResultEntryImpl(entry.getKeyData(), entry.getKeyData(), entry.getValueData()));
+        final List<Iterator<QueryableEntry>> sortedResults = new ArrayList<Iterator<QueryableEntry>>(partitionResults.size());
+        for (Collection<QueryableEntry> partitionResult : partitionResults) {
+            sortedResults.add(partitionResult.iterator());
         }
-        result.setPartitionIds(initialPartitions);
+        final List<QueryableEntry> merged = SortingUtil.merge(sortedResults, SortingUtil.newComparator(pagingPredicate),
+                SortingUtil.getPagingLimit(pagingPredicate));
+        for (QueryableEntry entry : merged) {
+            addResult(entry);
+        }
+    }
+
+    private void addResult(QueryableEntry entry) {
+        result.add(new QueryResultEntryImpl(entry.getKeyData(), entry.getKeyData(), entry.getValueData()));
     }
 
     public ExceptionAction onException(Throwable throwable) {
@@ -40,6 +40,8 @@ import com.hazelcast.mapreduce.ReducerFactory;
 import com.hazelcast.mapreduce.ReducingSubmittableJob;
 import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.mapreduce.aggregation.impl.Accumulator;
+import com.hazelcast.mapreduce.aggregation.impl.AccumulatorFactory;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.TruePredicate;
@@ -54,6 +56,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -592,6 +595,21 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         return query(predicate, IterationType.VALUE, false);
     }
 
+    @Override
+    public Iterator<K> keyIterator(Predicate predicate, int batchSize) {
+        return queryIterator(predicate, IterationType.KEY, batchSize);
+    }
+
+    @Override
+    public Iterator<V> valueIterator(Predicate predicate, int batchSize) {
+        return queryIterator(predicate, IterationType.VALUE, batchSize);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> entryIterator(Predicate predicate, int batchSize) {
+        return queryIterator(predicate, IterationType.ENTRY, batchSize);
+    }
+
     @Override
     public Set<K> localKeySet() {
         return localKeySet(TruePredicate.INSTANCE);
@@ -651,6 +669,12 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
     public <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                                     Aggregation<K, SuppliedValue, Result> aggregation) {
 
+        if (aggregation instanceof AccumulatorFactory) {
+            Accumulator accumulator = ((AccumulatorFactory) aggregation).newAccumulator();
+            if (accumulator != null) {
+                return (Result) aggregate(supplier, accumulator);
+            }
+        }
         HazelcastInstance hazelcastInstance = getNodeEngine().getHazelcastInstance();
         JobTracker jobTracker = hazelcastInstance.getJobTracker("hz::aggregation-map-" + getName());
         return aggregate(supplier, aggregation, jobTracker);
@@ -43,6 +43,8 @@ import com.hazelcast.map.MapService;
 import com.hazelcast.map.MapServiceContext;
 import com.hazelcast.map.NearCache;
 import com.hazelcast.map.NearCacheProvider;
+import com.hazelcast.map.QueryCursorBatch;
+import com.hazelcast.map.QueryCursorIterator;
 import com.hazelcast.map.QueryEventFilter;
 import com.hazelcast.map.operation.AddIndexOperation;
 import com.hazelcast.map.operation.AddInterceptorOperation;
@@ -68,6 +70,7 @@ import com.hazelcast.map.operation.PutAllOperation;
 import com.hazelcast.map.operation.PutIfAbsentOperation;
 import com.hazelcast.map.operation.PutOperation;
 import com.hazelcast.map.operation.PutTransientOperation;
+import com.hazelcast.map.operation.QueryCursorOperation;
 import com.hazelcast.map.operation.RemoveIfSameOperation;
 import com.hazelcast.map.operation.RemoveInterceptorOperation;
 import com.hazelcast.map.operation.RemoveOperation;
@@ -77,6 +80,8 @@ import com.hazelcast.map.operation.SetOperation;
 import com.hazelcast.map.operation.SizeOperationFactory;
 import com.hazelcast.map.operation.TryPutOperation;
 import com.hazelcast.map.operation.TryRemoveOperation;
+import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.mapreduce.aggregation.impl.Accumulator;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.ClassLoaderUtil;
@@ -119,6 +124,8 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.map.MapService.SERVICE_NAME;
+import static com.hazelcast.util.ValidationUtil.isNotNull;
+import static com.hazelcast.util.ValidationUtil.shouldBePositive;
 
 abstract class MapProxySupport extends AbstractDistributedObject<MapService> implements InitializingObject {
 
@@ -1056,6 +1063,40 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         return getMapQuerySupport().query(name, predicate, iterationType, dataResult);
     }
 
+    protected Object aggregate(Supplier supplier, Accumulator accumulator) {
+        isNotNull(supplier, "supplier");
+        return getMapQuerySupport().aggregate(name, supplier, accumulator);
+    }
+
+    protected <E> Iterator<E> queryIterator(Predicate predicate, final IterationType iterationType, final int batchSize) {
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Paging predicates are not supported by query iterators");
+        }
+        shouldBePositive(batchSize, "batchSize");
+        final Predicate queryPredicate = predicate == null ? TruePredicate.INSTANCE : predicate;
+        final NodeEngine nodeEngine = getNodeEngine();
+        final int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        return new QueryCursorIterator<E>(partitionCount, iterationType) {
+            @Override
+            protected QueryCursorBatch fetch(int partitionId, long cursorId, int batchSequence) {
+                QueryCursorOperation operation = new QueryCursorOperation(name, queryPredicate, iterationType,
+                        cursorId, batchSequence, batchSize);
+                try {
+                    Future<QueryCursorBatch> future
+                            = nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
+                    return future.get();
+                } catch (Throwable t) {
+                    throw ExceptionUtil.rethrow(t);
+                }
+            }
+
+            @Override
+            protected Object toObject(Data data) {
+                return getService().getMapServiceContext().toObject(data);
+            }
+        };
+    }
+
     public void addIndex(final String attribute, final boolean ordered) {
         final NodeEngine nodeEngine = getNodeEngine();
         if (attribute == null) {
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map.record;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+import static com.hazelcast.map.record.NativeRecordMap.CREATION_TIME_OFFSET;
+import static com.hazelcast.map.record.NativeRecordMap.EVICTION_CRITERIA_OFFSET;
+import static com.hazelcast.map.record.NativeRecordMap.EXPIRATION_TIME_OFFSET;
+import static com.hazelcast.map.record.NativeRecordMap.HITS_OFFSET;
+import static com.hazelcast.map.record.NativeRecordMap.LAST_ACCESS_TIME_OFFSET;
+import static com.hazelcast.map.record.NativeRecordMap.LAST_STORED_TIME_OFFSET;
+import static com.hazelcast.map.record.NativeRecordMap.LAST_UPDATE_TIME_OFFSET;
+import static com.hazelcast.map.record.NativeRecordMap.TTL_OFFSET;
+import static com.hazelcast.map.record.NativeRecordMap.VERSION_OFFSET;
+
+/**
+ * Short living view of a slot of {@link NativeRecordMap}, all reads and writes go through to native memory.
+ * A detached view (key removed from the map) returns <tt>null</tt>/zero and ignores writes.
+ */
+final class NativeRecord implements Record<Data> {
+
+    private static final int DETACHED = -1;
+
+    private final NativeRecordMap map;
+    private final Data key;
+    private int index;
+    private int stamp;
+
+    NativeRecord(NativeRecordMap map, Data key, int index, int stamp) {
+        this.map = map;
+        this.key = key;
+        this.index = index;
+        this.stamp = stamp;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getStamp() {
+        return stamp;
+    }
+
+    boolean isDetached() {
+        return index == DETACHED;
+    }
+
+    void detach() {
+        index = DETACHED;
+        stamp = DETACHED;
+    }
+
+    void relocate(int index, int stamp) {
+        this.index = index;
+        this.stamp = stamp;
+    }
+
+    boolean isViewOf(NativeRecordMap map, Data key) {
+        return this.map == map && !isDetached() && this.key.equals(key);
+    }
+
+    @Override
+    public Data getKey() {
+        return key;
+    }
+
+    @Override
+    public Data getValue() {
+        return map.getValue(this);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        map.setValue(this, value);
+    }
+
+    @Override
+    public void invalidate() {
+        map.setValue(this, null);
+    }
+
+    @Override
+    public RecordStatistics getStatistics() {
+        return map.isStatisticsEnabled() ? new NativeRecordStatistics(this) : null;
+    }
+
+    @Override
+    public void setStatistics(RecordStatistics stats) {
+        if (stats == null || !map.isStatisticsEnabled()) {
+            return;
+        }
+        setHits(stats.getHits());
+        setLastStoredTime(stats.getLastStoredTime());
+        setExpirationTime(stats.getExpirationTime());
+    }
+
+    @Override
+    public void onAccess() {
+        if (map.isStatisticsEnabled()) {
+            setHits(getHits() + 1);
+        }
+    }
+
+    @Override
+    public void onUpdate() {
+        setVersion(getVersion() + 1L);
+    }
+
+    @Override
+    public void onStore() {
+        if (map.isStatisticsEnabled()) {
+            setLastStoredTime(Clock.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return native memory held by the record, the view itself costs no retained heap.
+     */
+    @Override
+    public long getCost() {
+        return map.getCost(this);
+    }
+
+    @Override
+    public long getVersion() {
+        return map.getLong(this, VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(long version) {
+        map.setLong(this, VERSION_OFFSET, version);
+    }
+
+    @Override
+    public void setEvictionCriteriaNumber(long evictionCriteriaNumber) {
+        map.setLong(this, EVICTION_CRITERIA_OFFSET, evictionCriteriaNumber);
+    }
+
+    @Override
+    public long getEvictionCriteriaNumber() {
+        return map.getLong(this, EVICTION_CRITERIA_OFFSET);
+    }
+
+    @Override
+    public Object getCachedValue() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public void setCachedValue(Object cachedValue) {
+    }
+
+    @Override
+    public long getTtl() {
+        return map.getLong(this, TTL_OFFSET);
+    }
+
+    @Override
+    public void setTtl(long ttl) {
+        map.setLong(this, TTL_OFFSET, ttl);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return map.getLong(this, LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        map.setLong(this, LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return map.getLong(this, LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdatedTime) {
+        map.setLong(this, LAST_UPDATE_TIME_OFFSET, lastUpdatedTime);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return map.getLong(this, CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        map.setLong(this, CREATION_TIME_OFFSET, creationTime);
+    }
+
+    int getHits() {
+        return map.getInt(this, HITS_OFFSET);
+    }
+
+    void setHits(int hits) {
+        map.setInt(this, HITS_OFFSET, hits);
+    }
+
+    long getLastStoredTime() {
+        return map.getLong(this, LAST_STORED_TIME_OFFSET);
+    }
+
+    void setLastStoredTime(long lastStoredTime) {
+        map.setLong(this, LAST_STORED_TIME_OFFSET, lastStoredTime);
+    }
+
+    long getExpirationTime() {
+        return map.getLong(this, EXPIRATION_TIME_OFFSET);
+    }
+
+    void setExpirationTime(long expirationTime) {
+        map.setLong(this, EXPIRATION_TIME_OFFSET, expirationTime);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Record)) {
+            return false;
+        }
+        return key.equals(((Record) o).getKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{key=" + key + ", index=" + index + '}';
+    }
+}
@@ -0,0 +1,790 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map.record;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.hazelcast.nio.UnsafeHelper.BYTE_ARRAY_BASE_OFFSET;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+
+/**
+ * Record map keeping keys, values and record meta data in native memory.
+ * <p/>
+ * Records live in an open addressing (linear probing) hash table of fixed size slots.
+ * A slot holds the addresses of the native key and value blocks and the meta data of
+ * the record (version, ttl, access/update times, hits...), so no per-entry object is retained on heap.
+ * <p/>
+ * {@link #get(Object)} and iterators return {@link NativeRecord} views which read and write through
+ * to the slot. Views are short living, they re-locate their slot by key when the table is restructured.
+ * {@link #touch(Data, long, MapConfig.EvictionPolicy, long)} reads a value without creating a record at all.
+ * <p/>
+ * The table is mutated by the partition thread only but may be read by query and statistics threads,
+ * a read-write lock protects native memory from being released while it is being read.
+ */
+public final class NativeRecordMap extends AbstractMap<Data, Record> implements ConcurrentMap<Data, Record> {
+
+    static final int KEY_OFFSET = 0;
+    static final int VALUE_OFFSET = 8;
+    static final int VERSION_OFFSET = 16;
+    static final int EVICTION_CRITERIA_OFFSET = 24;
+    static final int TTL_OFFSET = 32;
+    static final int LAST_ACCESS_TIME_OFFSET = 40;
+    static final int LAST_UPDATE_TIME_OFFSET = 48;
+    static final int CREATION_TIME_OFFSET = 56;
+    static final int LAST_STORED_TIME_OFFSET = 64;
+    static final int EXPIRATION_TIME_OFFSET = 72;
+    static final int HASH_OFFSET = 80;
+    static final int HITS_OFFSET = 84;
+    static final int SLOT_SIZE = 88;
+
+    // data block layout: type, factory-id, class-id, class-version, partition-hash, length, bytes
+    private static final int DATA_TYPE_OFFSET = 0;
+    private static final int DATA_FACTORY_ID_OFFSET = 4;
+    private static final int DATA_CLASS_ID_OFFSET = 8;
+    private static final int DATA_CLASS_VERSION_OFFSET = 12;
+    private static final int DATA_PARTITION_HASH_OFFSET = 16;
+    private static final int DATA_LENGTH_OFFSET = 20;
+    private static final int DATA_HEADER_SIZE = 24;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int LONG_SIZE = 8;
+    private static final int HASH_SHIFT = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SerializationService serializationService;
+    private final boolean statisticsEnabled;
+
+    private long slots;
+    private int capacity;
+    private int threshold;
+    private volatile int size;
+    /**
+     * Incremented whenever slots may move (removal, resize, clear),
+     * so record views know they have to re-locate their slot.
+     */
+    private volatile int stamp;
+    private long nativeMemory;
+
+    public NativeRecordMap(SerializationService serializationService, boolean statisticsEnabled) {
+        this.serializationService = serializationService;
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return native memory in bytes allocated for slots, keys and values.
+     */
+    public long getNativeMemory() {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return nativeMemory;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof Data)) {
+            return false;
+        }
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return findSlot((Data) key) >= 0;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Record get(Object key) {
+        if (!(key instanceof Data)) {
+            return null;
+        }
+        final Data dataKey = (Data) key;
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final int index = findSlot(dataKey);
+            return index < 0 ? null : new NativeRecord(this, dataKey, index, stamp);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the value of a key and records the access on its slot, without materializing a record.
+     *
+     * @param key                 the key
+     * @param now                 access time
+     * @param evictionPolicy      eviction policy of the map
+     * @param lruSequenceNumber   new eviction criteria number when policy is LRU
+     * @return value of the key or <tt>null</tt> if key does not exist
+     */
+    public Data touch(Data key, long now, MapConfig.EvictionPolicy evictionPolicy, long lruSequenceNumber) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final int index = findSlot(key);
+            if (index < 0) {
+                return null;
+            }
+            final long slot = slotAddress(index);
+            UNSAFE.putLong(slot + LAST_ACCESS_TIME_OFFSET, now);
+            if (statisticsEnabled) {
+                UNSAFE.putInt(slot + HITS_OFFSET, UNSAFE.getInt(slot + HITS_OFFSET) + 1);
+            }
+            if (evictionPolicy == MapConfig.EvictionPolicy.LRU) {
+                UNSAFE.putLong(slot + EVICTION_CRITERIA_OFFSET, lruSequenceNumber);
+            } else if (evictionPolicy == MapConfig.EvictionPolicy.LFU) {
+                UNSAFE.putLong(slot + EVICTION_CRITERIA_OFFSET, UNSAFE.getLong(slot + EVICTION_CRITERIA_OFFSET) + 1L);
+            }
+            return readData(UNSAFE.getLong(slot + VALUE_OFFSET));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Record put(Data key, Record record) {
+        if (record instanceof NativeRecord && ((NativeRecord) record).isViewOf(this, key)) {
+            // record is already stored in this slot
+            return null;
+        }
+        final Object value = record.getValue();
+        final Data dataValue = value == null ? null : serializationService.toData(value);
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            int index = findSlot(key);
+            final Record previous;
+            if (index >= 0) {
+                previous = copyRecord(key, index);
+                freeData(UNSAFE.getLong(slotAddress(index) + VALUE_OFFSET));
+            } else {
+                previous = null;
+                ensureCapacity();
+                index = insertSlot(key);
+            }
+            final long slot = slotAddress(index);
+            UNSAFE.putLong(slot + VALUE_OFFSET, allocateData(dataValue));
+            copyMetaData(record, slot);
+            return previous;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void copyMetaData(Record record, long slot) {
+        UNSAFE.putLong(slot + VERSION_OFFSET, record.getVersion());
+        UNSAFE.putLong(slot + EVICTION_CRITERIA_OFFSET, record.getEvictionCriteriaNumber());
+        UNSAFE.putLong(slot + TTL_OFFSET, record.getTtl());
+        UNSAFE.putLong(slot + LAST_ACCESS_TIME_OFFSET, record.getLastAccessTime());
+        UNSAFE.putLong(slot + LAST_UPDATE_TIME_OFFSET, record.getLastUpdateTime());
+        UNSAFE.putLong(slot + CREATION_TIME_OFFSET, record.getCreationTime());
+        final RecordStatistics statistics = record.getStatistics();
+        if (statistics != null) {
+            UNSAFE.putInt(slot + HITS_OFFSET, statistics.getHits());
+            UNSAFE.putLong(slot + LAST_STORED_TIME_OFFSET, statistics.getLastStoredTime());
+            UNSAFE.putLong(slot + EXPIRATION_TIME_OFFSET, statistics.getExpirationTime());
+        } else {
+            UNSAFE.putInt(slot + HITS_OFFSET, 0);
+            UNSAFE.putLong(slot + LAST_STORED_TIME_OFFSET, 0L);
+            UNSAFE.putLong(slot + EXPIRATION_TIME_OFFSET, 0L);
+        }
+    }
+
+    /**
+     * Copies value and meta data of a slot into a heap record, so it stays readable after the slot is released.
+     * Caller must hold the lock.
+     */
+    private Record copyRecord(Data key, int index) {
+        final long slot = slotAddress(index);
+        final Data value = readData(UNSAFE.getLong(slot + VALUE_OFFSET));
+        final Record<Data> record = statisticsEnabled ? new DataRecordWithStats(key, value) : new DataRecord(key, value);
+        record.setVersion(UNSAFE.getLong(slot + VERSION_OFFSET));
+        record.setEvictionCriteriaNumber(UNSAFE.getLong(slot + EVICTION_CRITERIA_OFFSET));
+        record.setTtl(UNSAFE.getLong(slot + TTL_OFFSET));
+        record.setLastAccessTime(UNSAFE.getLong(slot + LAST_ACCESS_TIME_OFFSET));
+        record.setLastUpdateTime(UNSAFE.getLong(slot + LAST_UPDATE_TIME_OFFSET));
+        record.setCreationTime(UNSAFE.getLong(slot + CREATION_TIME_OFFSET));
+        final RecordStatistics statistics = record.getStatistics();
+        if (statistics != null) {
+            statistics.setHits(UNSAFE.getInt(slot + HITS_OFFSET));
+            statistics.setLastStoredTime(UNSAFE.getLong(slot + LAST_STORED_TIME_OFFSET));
+            statistics.setExpirationTime(UNSAFE.getLong(slot + EXPIRATION_TIME_OFFSET));
+        }
+        return record;
+    }
+
+    @Override
+    public Record putIfAbsent(Data key, Record record) {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final Record existing = get(key);
+            if (existing != null) {
+                return existing;
+            }
+            return put(key, record);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(Data key, Record oldRecord, Record newRecord) {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final Record existing = get(key);
+            if (existing == null || !valueEquals(existing, oldRecord)) {
+                return false;
+            }
+            put(key, newRecord);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Record replace(Data key, Record record) {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (!containsKey(key)) {
+                return null;
+            }
+            return put(key, record);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the key and releases its native memory.
+     *
+     * @return a heap copy of the removed record, or <tt>null</tt> if key does not exist.
+     */
+    @Override
+    public Record remove(Object key) {
+        if (!(key instanceof Data)) {
+            return null;
+        }
+        return removeKey((Data) key, null);
+    }
+
+    /**
+     * @param wrappedKeys collects the keys which backward shift deletion moved from the start of the table
+     *                    to its end, may be <tt>null</tt>
+     */
+    private Record removeKey(Data key, Set<Data> wrappedKeys) {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final int index = findSlot(key);
+            if (index < 0) {
+                return null;
+            }
+            final Record removed = copyRecord(key, index);
+            removeSlot(index, wrappedKeys);
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object record) {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final Record existing = get(key);
+            if (existing == null || !valueEquals(existing, record)) {
+                return false;
+            }
+            remove(key);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Records are views of their slot, so the values decide whether a record matches the expected one.
+     */
+    private static boolean valueEquals(Record existing, Object expected) {
+        if (!(expected instanceof Record)) {
+            return false;
+        }
+        final Object expectedValue = ((Record) expected).getValue();
+        final Object value = existing.getValue();
+        return value == null ? expectedValue == null : value.equals(expectedValue);
+    }
+
+    /**
+     * Removes all records and releases all native memory including the table itself.
+     */
+    @Override
+    public void clear() {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            for (int i = 0; i < capacity; i++) {
+                final long slot = slotAddress(i);
+                freeData(UNSAFE.getLong(slot + KEY_OFFSET));
+                freeData(UNSAFE.getLong(slot + VALUE_OFFSET));
+            }
+            if (slots != 0L) {
+                UNSAFE.freeMemory(slots);
+                nativeMemory -= (long) capacity * SLOT_SIZE;
+            }
+            slots = 0L;
+            capacity = 0;
+            threshold = 0;
+            size = 0;
+            stamp++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Set<Entry<Data, Record>> entrySet() {
+        return new EntrySet();
+    }
+
+    // ---------------- slot access used by NativeRecord views ----------------
+
+    boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    long getLong(NativeRecord record, int offset) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final int index = locate(record);
+            return index < 0 ? 0L : UNSAFE.getLong(slotAddress(index) + offset);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    void setLong(NativeRecord record, int offset, long value) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final int index = locate(record);
+            if (index >= 0) {
+                UNSAFE.putLong(slotAddress(index) + offset, value);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    int getInt(NativeRecord record, int offset) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final int index = locate(record);
+            return index < 0 ? 0 : UNSAFE.getInt(slotAddress(index) + offset);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    void setInt(NativeRecord record, int offset, int value) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final int index = locate(record);
+            if (index >= 0) {
+                UNSAFE.putInt(slotAddress(index) + offset, value);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    Data getValue(NativeRecord record) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final int index = locate(record);
+            return index < 0 ? null : readData(UNSAFE.getLong(slotAddress(index) + VALUE_OFFSET));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    void setValue(NativeRecord record, Data value) {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final int index = locate(record);
+            if (index >= 0) {
+                final long slot = slotAddress(index);
+                freeData(UNSAFE.getLong(slot + VALUE_OFFSET));
+                UNSAFE.putLong(slot + VALUE_OFFSET, allocateData(value));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    long getCost(NativeRecord record) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final int index = locate(record);
+            if (index < 0) {
+                return 0L;
+            }
+            final long slot = slotAddress(index);
+            return SLOT_SIZE + dataSize(UNSAFE.getLong(slot + KEY_OFFSET)) + dataSize(UNSAFE.getLong(slot + VALUE_OFFSET));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns current slot index of the record view, re-locating it by key if slots moved since.
+     * Caller must hold the lock.
+     */
+    private int locate(NativeRecord record) {
+        if (record.isDetached()) {
+            return -1;
+        }
+        final int currentStamp = stamp;
+        if (record.getStamp() == currentStamp) {
+            return record.getIndex();
+        }
+        final int index = findSlot(record.getKey());
+        if (index < 0) {
+            record.detach();
+        } else {
+            record.relocate(index, currentStamp);
+        }
+        return index;
+    }
+
+    // ---------------- hash table internals, caller must hold the lock ----------------
+
+    private long slotAddress(int index) {
+        return slots + (long) index * SLOT_SIZE;
+    }
+
+    private static int hash(Data key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> HASH_SHIFT);
+    }
+
+    private int findSlot(Data key) {
+        if (capacity == 0) {
+            return -1;
+        }
+        final int hash = hash(key);
+        final int mask = capacity - 1;
+        int index = hash & mask;
+        while (true) {
+            final long slot = slotAddress(index);
+            final long keyAddress = UNSAFE.getLong(slot + KEY_OFFSET);
+            if (keyAddress == 0L) {
+                return -1;
+            }
+            if (UNSAFE.getInt(slot + HASH_OFFSET) == hash && keyEquals(keyAddress, key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private int insertSlot(Data key) {
+        final int hash = hash(key);
+        final int mask = capacity - 1;
+        int index = hash & mask;
+        while (UNSAFE.getLong(slotAddress(index) + KEY_OFFSET) != 0L) {
+            index = (index + 1) & mask;
+        }
+        final long slot = slotAddress(index);
+        UNSAFE.putLong(slot + KEY_OFFSET, allocateData(key));
+        UNSAFE.putInt(slot + HASH_OFFSET, hash);
+        size++;
+        return index;
+    }
+
+    /**
+     * Removes the slot with backward shift deletion, so no tombstones are needed.
+     *
+     * @param wrappedKeys collects the keys of slots moved across the end of the table, may be <tt>null</tt>
+     */
+    private void removeSlot(int index, Set<Data> wrappedKeys) {
+        final long removed = slotAddress(index);
+        freeData(UNSAFE.getLong(removed + KEY_OFFSET));
+        freeData(UNSAFE.getLong(removed + VALUE_OFFSET));
+        final int mask = capacity - 1;
+        int hole = index;
+        int next = (index + 1) & mask;
+        while (UNSAFE.getLong(slotAddress(next) + KEY_OFFSET) != 0L) {
+            final int home = UNSAFE.getInt(slotAddress(next) + HASH_OFFSET) & mask;
+            final boolean inPlace = hole <= next
+                    ? hole < home && home <= next
+                    : hole < home || home <= next;
+            if (!inPlace) {
+                if (wrappedKeys != null && next < hole) {
+                    wrappedKeys.add(readData(UNSAFE.getLong(slotAddress(next) + KEY_OFFSET)));
+                }
+                UNSAFE.copyMemory(slotAddress(next), slotAddress(hole), SLOT_SIZE);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        UNSAFE.setMemory(slotAddress(hole), SLOT_SIZE, (byte) 0);
+        size--;
+        stamp++;
+    }
+
+    private void ensureCapacity() {
+        if (capacity == 0) {
+            allocateSlots(INITIAL_CAPACITY);
+        } else if (size + 1 > threshold) {
+            resize(capacity << 1);
+        }
+    }
+
+    private void allocateSlots(int newCapacity) {
+        final long bytes = (long) newCapacity * SLOT_SIZE;
+        slots = UNSAFE.allocateMemory(bytes);
+        UNSAFE.setMemory(slots, bytes, (byte) 0);
+        nativeMemory += bytes;
+        capacity = newCapacity;
+        threshold = (int) (newCapacity * LOAD_FACTOR);
+    }
+
+    private void resize(int newCapacity) {
+        final long oldSlots = slots;
+        final int oldCapacity = capacity;
+        allocateSlots(newCapacity);
+        final int mask = newCapacity - 1;
+        for (int i = 0; i < oldCapacity; i++) {
+            final long oldSlot = oldSlots + (long) i * SLOT_SIZE;
+            if (UNSAFE.getLong(oldSlot + KEY_OFFSET) == 0L) {
+                continue;
+            }
+            int index = UNSAFE.getInt(oldSlot + HASH_OFFSET) & mask;
+            while (UNSAFE.getLong(slotAddress(index) + KEY_OFFSET) != 0L) {
+                index = (index + 1) & mask;
+            }
+            UNSAFE.copyMemory(oldSlot, slotAddress(index), SLOT_SIZE);
+        }
+        UNSAFE.freeMemory(oldSlots);
+        nativeMemory -= (long) oldCapacity * SLOT_SIZE;
+        stamp++;
+    }
+
+    private long allocateData(Data data) {
+        if (data == null) {
+            return 0L;
+        }
+        final int length = data.bufferSize();
+        final long address = UNSAFE.allocateMemory(DATA_HEADER_SIZE + length);
+        final ClassDefinition classDefinition = data.getClassDefinition();
+        UNSAFE.putInt(address + DATA_TYPE_OFFSET, data.getType());
+        if (classDefinition != null) {
+            UNSAFE.putInt(address + DATA_FACTORY_ID_OFFSET, classDefinition.getFactoryId());
+            UNSAFE.putInt(address + DATA_CLASS_ID_OFFSET, classDefinition.getClassId());
+            UNSAFE.putInt(address + DATA_CLASS_VERSION_OFFSET, classDefinition.getVersion());
+        } else {
+            UNSAFE.putInt(address + DATA_FACTORY_ID_OFFSET, 0);
+            UNSAFE.putInt(address + DATA_CLASS_ID_OFFSET, Data.NO_CLASS_ID);
+            UNSAFE.putInt(address + DATA_CLASS_VERSION_OFFSET, 0);
+        }
+        UNSAFE.putInt(address + DATA_PARTITION_HASH_OFFSET, data.getPartitionHash());
+        UNSAFE.putInt(address + DATA_LENGTH_OFFSET, length);
+        if (length > 0) {
+            UNSAFE.copyMemory(data.getBuffer(), BYTE_ARRAY_BASE_OFFSET, null, address + DATA_HEADER_SIZE, length);
+        }
+        nativeMemory += DATA_HEADER_SIZE + length;
+        return address;
+    }
+
+    private Data readData(long address) {
+        if (address == 0L) {
+            return null;
+        }
+        final int length = UNSAFE.getInt(address + DATA_LENGTH_OFFSET);
+        byte[] buffer = null;
+        if (length > 0) {
+            buffer = new byte[length];
+            UNSAFE.copyMemory(null, address + DATA_HEADER_SIZE, buffer, BYTE_ARRAY_BASE_OFFSET, length);
+        }
+        final int classId = UNSAFE.getInt(address + DATA_CLASS_ID_OFFSET);
+        ClassDefinition classDefinition = null;
+        if (classId != Data.NO_CLASS_ID) {
+            classDefinition = serializationService.getPortableContext().lookup(
+                    UNSAFE.getInt(address + DATA_FACTORY_ID_OFFSET), classId,
+                    UNSAFE.getInt(address + DATA_CLASS_VERSION_OFFSET));
+        }
+        return new Data(UNSAFE.getInt(address + DATA_TYPE_OFFSET), buffer, classDefinition,
+                UNSAFE.getInt(address + DATA_PARTITION_HASH_OFFSET));
+    }
+
+    private void freeData(long address) {
+        if (address != 0L) {
+            nativeMemory -= dataSize(address);
+            UNSAFE.freeMemory(address);
+        }
+    }
+
+    private static long dataSize(long address) {
+        return address == 0L ? 0L : DATA_HEADER_SIZE + UNSAFE.getInt(address + DATA_LENGTH_OFFSET);
+    }
+
+    private static boolean keyEquals(long address, Data key) {
+        final int length = key.bufferSize();
+        if (UNSAFE.getInt(address + DATA_LENGTH_OFFSET) != length
+                || UNSAFE.getInt(address + DATA_TYPE_OFFSET) != key.getType()) {
+            return false;
+        }
+        final byte[] buffer = key.getBuffer();
+        final long base = address + DATA_HEADER_SIZE;
+        int i = 0;
+        for (; i + LONG_SIZE <= length; i += LONG_SIZE) {
+            if (UNSAFE.getLong(base + i) != UNSAFE.getLong(buffer, BYTE_ARRAY_BASE_OFFSET + i)) {
+                return false;
+            }
+        }
+        for (; i < length; i++) {
+            if (UNSAFE.getByte(base + i) != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Weakly consistent entry set, entries are materialized one by one while iterating.
+     */
+    private final class EntrySet extends AbstractSet<Entry<Data, Record>> {
+
+        @Override
+        public Iterator<Entry<Data, Record>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            NativeRecordMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Data, Record>> {
+
+        // entries moved from the already iterated start of the table to its end by a removal
+        private final Set<Data> wrappedKeys = new HashSet<Data>();
+        private int nextIndex;
+        private int lastIndex = -1;
+        private Entry<Data, Record> next;
+        private Entry<Data, Record> lastReturned;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                advance();
+            }
+            return next != null;
+        }
+
+        private void advance() {
+            final Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                while (nextIndex < capacity) {
+                    final int index = nextIndex++;
+                    final long keyAddress = UNSAFE.getLong(slotAddress(index) + KEY_OFFSET);
+                    if (keyAddress != 0L) {
+                        final Data key = readData(keyAddress);
+                        if (!wrappedKeys.isEmpty() && wrappedKeys.remove(key)) {
+                            continue;
+                        }
+                        final NativeRecord record = new NativeRecord(NativeRecordMap.this, key, index, stamp);
+                        next = new SimpleImmutableEntry<Data, Record>(key, record);
+                        lastIndex = index;
+                        return;
+                    }
+                }
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = null;
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            removeKey(lastReturned.getKey(), wrappedKeys);
+            lastReturned = null;
+            // backward shift deletion may have moved a following slot into the removed one,
+            // slots moved from the start of the table were returned already and are skipped
+            nextIndex = lastIndex;
+        }
+    }
+}
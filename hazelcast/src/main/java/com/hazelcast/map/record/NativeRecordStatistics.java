@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map.record;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.util.Clock;
+
+import java.io.IOException;
+
+/**
+ * {@link RecordStatistics} reading and writing through to the slot of a {@link NativeRecord}.
+ */
+final class NativeRecordStatistics extends RecordStatistics {
+
+    private final NativeRecord record;
+
+    NativeRecordStatistics(NativeRecord record) {
+        this.record = record;
+    }
+
+    @Override
+    public int getHits() {
+        return record.getHits();
+    }
+
+    @Override
+    public void setHits(int hits) {
+        record.setHits(hits);
+    }
+
+    @Override
+    public long getExpirationTime() {
+        return record.getExpirationTime();
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        record.setExpirationTime(expirationTime);
+    }
+
+    @Override
+    public void access() {
+        record.setHits(record.getHits() + 1);
+    }
+
+    @Override
+    public void store() {
+        record.setLastStoredTime(Clock.currentTimeMillis());
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        return record.getLastStoredTime();
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        record.setLastStoredTime(lastStoredTime);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(getHits());
+        out.writeLong(getLastStoredTime());
+        out.writeLong(getExpirationTime());
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        setHits(in.readInt());
+        setLastStoredTime(in.readLong());
+        setExpirationTime(in.readLong());
+    }
+}
@@ -25,6 +25,7 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.transaction.TransactionException;
 import com.hazelcast.transaction.impl.KeyAwareTransactionLog;
+import com.hazelcast.transaction.impl.PartitionTransactionLog;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.ThreadUtil;
 import java.io.IOException;
@@ -33,7 +34,7 @@ import java.util.concurrent.Future;
 /**
  * Represents an operation on the map in the transaction log.
  */
-public class MapTransactionLog implements KeyAwareTransactionLog {
+public class MapTransactionLog implements KeyAwareTransactionLog, PartitionTransactionLog {
 
     String name;
     Data key;
@@ -56,11 +57,9 @@ public class MapTransactionLog implements KeyAwareTransactionLog {
 
     @Override
     public Future prepare(NodeEngine nodeEngine) throws TransactionException {
-        TxnPrepareOperation operation = new TxnPrepareOperation(name, key, ownerUuid);
-        operation.setThreadId(threadId);
         try {
-            int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
-            return nodeEngine.getOperationService().invokeOnPartition(MapService.SERVICE_NAME, operation, partitionId);
+            return nodeEngine.getOperationService().invokeOnPartition(MapService.SERVICE_NAME,
+                    createPrepareOperation(), getPartitionId(nodeEngine));
         } catch (Throwable t) {
             throw ExceptionUtil.rethrow(t);
         }
@@ -68,17 +67,36 @@ public class MapTransactionLog implements KeyAwareTransactionLog {
 
     @Override
     public Future commit(NodeEngine nodeEngine) {
-        MapTxnOperation txnOp = (MapTxnOperation) op;
-        txnOp.setThreadId(threadId);
-        txnOp.setOwnerUuid(ownerUuid);
         try {
-            int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
-            return nodeEngine.getOperationService().invokeOnPartition(MapService.SERVICE_NAME, op, partitionId);
+            return nodeEngine.getOperationService().invokeOnPartition(MapService.SERVICE_NAME,
+                    createCommitOperation(), getPartitionId(nodeEngine));
         } catch (Throwable t) {
             throw ExceptionUtil.rethrow(t);
         }
     }
 
+    @Override
+    public int getPartitionId(NodeEngine nodeEngine) {
+        return nodeEngine.getPartitionService().getPartitionId(key);
+    }
+
+    @Override
+    public Operation createPrepareOperation() {
+        TxnPrepareOperation operation = new TxnPrepareOperation(name, key, ownerUuid);
+        operation.setThreadId(threadId);
+        operation.setServiceName(MapService.SERVICE_NAME);
+        return operation;
+    }
+
+    @Override
+    public Operation createCommitOperation() {
+        MapTxnOperation txnOp = (MapTxnOperation) op;
+        txnOp.setThreadId(threadId);
+        txnOp.setOwnerUuid(ownerUuid);
+        op.setServiceName(MapService.SERVICE_NAME);
+        return op;
+    }
+
     public Future rollback(NodeEngine nodeEngine) {
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
         TxnRollbackOperation operation = new TxnRollbackOperation(name, key, ownerUuid);
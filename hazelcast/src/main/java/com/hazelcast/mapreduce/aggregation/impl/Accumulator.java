@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.mapreduce.aggregation.impl;
+
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+/**
+ * Accumulates the supplied values of an aggregation without running a MapReduce job. Members accumulate
+ * the values of their own partitions and send a single accumulator back, the caller merges the accumulators
+ * of all members and calculates the result of the aggregation from the merged accumulator.
+ *
+ * @param <SuppliedValue> the supplied value type
+ * @param <Result>        the final value type
+ */
+public abstract class Accumulator<SuppliedValue, Result>
+        implements IdentifiedDataSerializable {
+
+    static final int SUM = 0;
+    static final int MIN = 1;
+    static final int MAX = 2;
+    static final int AVG = 3;
+
+    /**
+     * Adds a supplied value, never <tt>null</tt>.
+     */
+    public abstract void accumulate(SuppliedValue value);
+
+    /**
+     * Adds the values accumulated by another accumulator of the same aggregation.
+     */
+    public abstract void merge(Accumulator<SuppliedValue, Result> accumulator);
+
+    public abstract Result getResult();
+
+    /**
+     * Creates an empty accumulator of the same aggregation, used to accumulate partitions in parallel.
+     */
+    public abstract Accumulator<SuppliedValue, Result> newAccumulator();
+
+    @Override
+    public int getFactoryId() {
+        return AggregationsDataSerializerHook.F_ID;
+    }
+}
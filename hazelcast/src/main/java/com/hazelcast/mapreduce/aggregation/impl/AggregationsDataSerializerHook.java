@@ -88,8 +88,14 @@ public class AggregationsDataSerializerHook
     public static final int KEY_PREDICATE_SUPPLIER = 52;
     public static final int PREDICATE_SUPPLIER = 53;
     public static final int AVG_TUPLE = 54;
+    public static final int COUNT_ACCUMULATOR = 55;
+    public static final int INTEGER_ACCUMULATOR = 56;
+    public static final int LONG_ACCUMULATOR = 57;
+    public static final int DOUBLE_ACCUMULATOR = 58;
+    public static final int COMPARABLE_ACCUMULATOR = 59;
+    public static final int DISTINCT_VALUES_ACCUMULATOR = 60;
 
-    private static final int LEN = AVG_TUPLE + 1;
+    private static final int LEN = DISTINCT_VALUES_ACCUMULATOR + 1;
 
     @Override
     public int getFactoryId() {
@@ -429,6 +435,42 @@ public class AggregationsDataSerializerHook
                 return new PredicateSupplier();
             }
         };
+        constructors[COUNT_ACCUMULATOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new CountAccumulator();
+            }
+        };
+        constructors[INTEGER_ACCUMULATOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new IntegerAccumulator();
+            }
+        };
+        constructors[LONG_ACCUMULATOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new LongAccumulator();
+            }
+        };
+        constructors[DOUBLE_ACCUMULATOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new DoubleAccumulator();
+            }
+        };
+        constructors[COMPARABLE_ACCUMULATOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ComparableAccumulator();
+            }
+        };
+        constructors[DISTINCT_VALUES_ACCUMULATOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new DistinctValuesAccumulator();
+            }
+        };
         return new ArrayDataSerializableFactory(constructors);
     }
 }
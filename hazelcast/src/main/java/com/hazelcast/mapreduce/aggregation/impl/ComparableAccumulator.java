@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.mapreduce.aggregation.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Accumulator for the min and max aggregations of {@link Comparable} values.
+ */
+public class ComparableAccumulator
+        extends Accumulator<Comparable, Comparable> {
+
+    private int type;
+    private Comparable value;
+
+    ComparableAccumulator() {
+    }
+
+    ComparableAccumulator(int type) {
+        this.type = type;
+    }
+
+    @Override
+    public void accumulate(Comparable value) {
+        if (this.value == null) {
+            this.value = value;
+            return;
+        }
+        int comparison = value.compareTo(this.value);
+        if (type == MIN ? comparison < 0 : comparison > 0) {
+            this.value = value;
+        }
+    }
+
+    @Override
+    public void merge(Accumulator<Comparable, Comparable> accumulator) {
+        Comparable other = ((ComparableAccumulator) accumulator).value;
+        if (other != null) {
+            accumulate(other);
+        }
+    }
+
+    @Override
+    public Comparable getResult() {
+        return value;
+    }
+
+    @Override
+    public Accumulator<Comparable, Comparable> newAccumulator() {
+        return new ComparableAccumulator(type);
+    }
+
+    @Override
+    public int getId() {
+        return AggregationsDataSerializerHook.COMPARABLE_ACCUMULATOR;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out)
+            throws IOException {
+
+        out.writeInt(type);
+        out.writeObject(value);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in)
+            throws IOException {
+
+        type = in.readInt();
+        value = in.readObject();
+    }
+}
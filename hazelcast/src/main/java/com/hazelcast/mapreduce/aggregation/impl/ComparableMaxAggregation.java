@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class ComparableMaxAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Comparable, Comparable, Comparable, Comparable> {
+        implements AggType<Key, Value, Key, Comparable, Comparable, Comparable, Comparable>,
+                   AccumulatorFactory<Comparable, Comparable> {
 
     @Override
     public Collator<Map.Entry<Key, Comparable>, Comparable> getCollator() {
@@ -67,6 +68,11 @@ public class ComparableMaxAggregation<Key, Value>
         return new ComparableMaxReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Comparable, Comparable> newAccumulator() {
+        return new ComparableAccumulator(Accumulator.MAX);
+    }
+
     /**
      * Maximum CombinerFactory for type {@link java.lang.Comparable}
      *
@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class ComparableMinAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Comparable, Comparable, Comparable, Comparable> {
+        implements AggType<Key, Value, Key, Comparable, Comparable, Comparable, Comparable>,
+                   AccumulatorFactory<Comparable, Comparable> {
 
     @Override
     public Collator<Map.Entry<Key, Comparable>, Comparable> getCollator() {
@@ -67,6 +68,11 @@ public class ComparableMinAggregation<Key, Value>
         return new ComparableMinReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Comparable, Comparable> newAccumulator() {
+        return new ComparableAccumulator(Accumulator.MIN);
+    }
+
     /**
      * Minimum CombinerFactory for type {@link java.lang.Comparable}
      *
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.mapreduce.aggregation.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Accumulator for the count aggregation.
+ */
+public class CountAccumulator
+        extends Accumulator<Object, Long> {
+
+    private long count;
+
+    @Override
+    public void accumulate(Object value) {
+        count++;
+    }
+
+    @Override
+    public void merge(Accumulator<Object, Long> accumulator) {
+        count += ((CountAccumulator) accumulator).count;
+    }
+
+    @Override
+    public Long getResult() {
+        return count;
+    }
+
+    @Override
+    public Accumulator<Object, Long> newAccumulator() {
+        return new CountAccumulator();
+    }
+
+    @Override
+    public int getId() {
+        return AggregationsDataSerializerHook.COUNT_ACCUMULATOR;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out)
+            throws IOException {
+
+        out.writeLong(count);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in)
+            throws IOException {
+
+        count = in.readLong();
+    }
+}
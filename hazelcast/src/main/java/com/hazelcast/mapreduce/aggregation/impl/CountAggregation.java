@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the value input type
  */
 public class CountAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Object, Long, Long, Long> {
+        implements AggType<Key, Value, Key, Object, Long, Long, Long>,
+                   AccumulatorFactory<Object, Long> {
 
     @Override
     public Collator<Map.Entry<Key, Long>, Long> getCollator() {
@@ -64,6 +65,11 @@ public class CountAggregation<Key, Value>
         return new CountReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Object, Long> newAccumulator() {
+        return new CountAccumulator();
+    }
+
     /**
      * Count CombinerFactory
      *
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.mapreduce.aggregation.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Accumulator for the distinct values aggregation.
+ *
+ * @param <DistinctType> the type of distinct values
+ */
+public class DistinctValuesAccumulator<DistinctType>
+        extends Accumulator<DistinctType, Set<DistinctType>> {
+
+    private final Set<DistinctType> distinctValues = new HashSet<DistinctType>();
+
+    @Override
+    public void accumulate(DistinctType value) {
+        distinctValues.add(value);
+    }
+
+    @Override
+    public void merge(Accumulator<DistinctType, Set<DistinctType>> accumulator) {
+        distinctValues.addAll(((DistinctValuesAccumulator<DistinctType>) accumulator).distinctValues);
+    }
+
+    @Override
+    public Set<DistinctType> getResult() {
+        return distinctValues;
+    }
+
+    @Override
+    public Accumulator<DistinctType, Set<DistinctType>> newAccumulator() {
+        return new DistinctValuesAccumulator<DistinctType>();
+    }
+
+    @Override
+    public int getId() {
+        return AggregationsDataSerializerHook.DISTINCT_VALUES_ACCUMULATOR;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out)
+            throws IOException {
+
+        out.writeInt(distinctValues.size());
+        for (DistinctType value : distinctValues) {
+            out.writeObject(value);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in)
+            throws IOException {
+
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            DistinctType value = in.readObject();
+            distinctValues.add(value);
+        }
+    }
+}
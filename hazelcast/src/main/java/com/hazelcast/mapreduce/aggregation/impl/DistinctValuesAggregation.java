@@ -42,7 +42,8 @@ import java.util.Set;
  * @param <DistinctType> the common super type for all distinct values
  */
 public class DistinctValuesAggregation<Key, Value, DistinctType>
-        implements AggType<Key, Value, Integer, DistinctType, Set<DistinctType>, Set<DistinctType>, Set<DistinctType>> {
+        implements AggType<Key, Value, Integer, DistinctType, Set<DistinctType>, Set<DistinctType>, Set<DistinctType>>,
+                   AccumulatorFactory<DistinctType, Set<DistinctType>> {
 
     private static final int DEFAULT_DISTRIBUTION_FACTOR = 20;
 
@@ -76,6 +77,11 @@ public class DistinctValuesAggregation<Key, Value, DistinctType>
         return new DistinctValuesReducerFactory<DistinctType>();
     }
 
+    @Override
+    public Accumulator<DistinctType, Set<DistinctType>> newAccumulator() {
+        return new DistinctValuesAccumulator<DistinctType>();
+    }
+
     /**
      * Distinct values CombinerFactory
      *
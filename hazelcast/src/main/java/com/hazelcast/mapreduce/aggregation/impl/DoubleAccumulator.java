@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.mapreduce.aggregation.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Accumulator for the sum, min, max and average aggregations of values of type double.
+ */
+public class DoubleAccumulator
+        extends Accumulator<Double, Double> {
+
+    private int type;
+    private long count;
+    private double value;
+
+    DoubleAccumulator() {
+    }
+
+    DoubleAccumulator(int type) {
+        this.type = type;
+        if (type == MIN) {
+            value = Double.MAX_VALUE;
+        } else if (type == MAX) {
+            value = -Double.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public void accumulate(Double value) {
+        count++;
+        add(value);
+    }
+
+    @Override
+    public void merge(Accumulator<Double, Double> accumulator) {
+        DoubleAccumulator other = (DoubleAccumulator) accumulator;
+        if (other.count > 0) {
+            count += other.count;
+            add(other.value);
+        }
+    }
+
+    private void add(double value) {
+        if (type == MIN) {
+            if (value < this.value) {
+                this.value = value;
+            }
+        } else if (type == MAX) {
+            if (value > this.value) {
+                this.value = value;
+            }
+        } else {
+            this.value += value;
+        }
+    }
+
+    @Override
+    public Double getResult() {
+        if (type == AVG) {
+            return value / count;
+        }
+        return value;
+    }
+
+    @Override
+    public Accumulator<Double, Double> newAccumulator() {
+        return new DoubleAccumulator(type);
+    }
+
+    @Override
+    public int getId() {
+        return AggregationsDataSerializerHook.DOUBLE_ACCUMULATOR;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out)
+            throws IOException {
+
+        out.writeInt(type);
+        out.writeLong(count);
+        out.writeDouble(value);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in)
+            throws IOException {
+
+        type = in.readInt();
+        count = in.readLong();
+        value = in.readDouble();
+    }
+}
@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class DoubleAvgAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Double, AvgTuple<Long, Double>, AvgTuple<Long, Double>, Double> {
+        implements AggType<Key, Value, Key, Double, AvgTuple<Long, Double>, AvgTuple<Long, Double>, Double>,
+                   AccumulatorFactory<Double, Double> {
 
     @Override
     public Collator<Map.Entry<Key, AvgTuple<Long, Double>>, Double> getCollator() {
@@ -67,6 +68,11 @@ public class DoubleAvgAggregation<Key, Value>
         return new DoubleAvgReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Double, Double> newAccumulator() {
+        return new DoubleAccumulator(Accumulator.AVG);
+    }
+
     /**
      * Average CombinerFactory for type double
      *
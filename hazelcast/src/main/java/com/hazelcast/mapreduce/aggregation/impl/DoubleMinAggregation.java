@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class DoubleMinAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Double, Double, Double, Double> {
+        implements AggType<Key, Value, Key, Double, Double, Double, Double>,
+                   AccumulatorFactory<Double, Double> {
 
     @Override
     public Collator<Map.Entry<Key, Double>, Double> getCollator() {
@@ -67,6 +68,11 @@ public class DoubleMinAggregation<Key, Value>
         return new DoubleMinReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Double, Double> newAccumulator() {
+        return new DoubleAccumulator(Accumulator.MIN);
+    }
+
     /**
      * Minimum CombinerFactory for type double
      *
@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class DoubleSumAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Double, Double, Double, Double> {
+        implements AggType<Key, Value, Key, Double, Double, Double, Double>,
+                   AccumulatorFactory<Double, Double> {
 
     @Override
     public Collator<Map.Entry<Key, Double>, Double> getCollator() {
@@ -64,6 +65,11 @@ public class DoubleSumAggregation<Key, Value>
         return new DoubleSumReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Double, Double> newAccumulator() {
+        return new DoubleAccumulator(Accumulator.SUM);
+    }
+
     /**
      * Sum CombinerFactory for type double
      *
@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class IntegerAvgAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Integer, AvgTuple<Integer, Integer>, AvgTuple<Integer, Integer>, Integer> {
+        implements AggType<Key, Value, Key, Integer, AvgTuple<Integer, Integer>, AvgTuple<Integer, Integer>, Integer>,
+                   AccumulatorFactory<Integer, Integer> {
 
     @Override
     public Collator<Map.Entry<Key, AvgTuple<Integer, Integer>>, Integer> getCollator() {
@@ -67,6 +68,11 @@ public class IntegerAvgAggregation<Key, Value>
         return new IntegerAvgReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Integer, Integer> newAccumulator() {
+        return new IntegerAccumulator(Accumulator.AVG);
+    }
+
     /**
      * Average CombinerFactory for type long
      *
@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class IntegerMaxAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Integer, Integer, Integer, Integer> {
+        implements AggType<Key, Value, Key, Integer, Integer, Integer, Integer>,
+                   AccumulatorFactory<Integer, Integer> {
 
     @Override
     public Collator<Map.Entry<Key, Integer>, Integer> getCollator() {
@@ -67,6 +68,11 @@ public class IntegerMaxAggregation<Key, Value>
         return new IntegerMaxReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Integer, Integer> newAccumulator() {
+        return new IntegerAccumulator(Accumulator.MAX);
+    }
+
     /**
      * Maximum CombinerFactory for type integer
      *
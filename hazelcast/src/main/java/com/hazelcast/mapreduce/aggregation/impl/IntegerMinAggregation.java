@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class IntegerMinAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Integer, Integer, Integer, Integer> {
+        implements AggType<Key, Value, Key, Integer, Integer, Integer, Integer>,
+                   AccumulatorFactory<Integer, Integer> {
 
     @Override
     public Collator<Map.Entry<Key, Integer>, Integer> getCollator() {
@@ -67,6 +68,11 @@ public class IntegerMinAggregation<Key, Value>
         return new IntegerMinReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Integer, Integer> newAccumulator() {
+        return new IntegerAccumulator(Accumulator.MIN);
+    }
+
     /**
      * Minimum CombinerFactory for type integer
      *
@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class IntegerSumAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Integer, Integer, Integer, Integer> {
+        implements AggType<Key, Value, Key, Integer, Integer, Integer, Integer>,
+                   AccumulatorFactory<Integer, Integer> {
 
     @Override
     public Collator<Map.Entry<Key, Integer>, Integer> getCollator() {
@@ -64,6 +65,11 @@ public class IntegerSumAggregation<Key, Value>
         return new IntegerSumReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Integer, Integer> newAccumulator() {
+        return new IntegerAccumulator(Accumulator.SUM);
+    }
+
     /**
      * Sum CombinerFactory for type integer
      *
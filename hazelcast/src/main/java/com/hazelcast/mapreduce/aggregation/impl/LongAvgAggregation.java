@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class LongAvgAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Long, AvgTuple<Long, Long>, AvgTuple<Long, Long>, Long> {
+        implements AggType<Key, Value, Key, Long, AvgTuple<Long, Long>, AvgTuple<Long, Long>, Long>,
+                   AccumulatorFactory<Long, Long> {
 
     @Override
     public Collator<Map.Entry<Key, AvgTuple<Long, Long>>, Long> getCollator() {
@@ -67,6 +68,11 @@ public class LongAvgAggregation<Key, Value>
         return new LongAvgReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Long, Long> newAccumulator() {
+        return new LongAccumulator(Accumulator.AVG);
+    }
+
     /**
      * Average CombinerFactory for type long
      *
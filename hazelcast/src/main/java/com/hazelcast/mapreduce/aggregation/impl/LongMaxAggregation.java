@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class LongMaxAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Long, Long, Long, Long> {
+        implements AggType<Key, Value, Key, Long, Long, Long, Long>,
+                   AccumulatorFactory<Long, Long> {
 
     @Override
     public Collator<Map.Entry<Key, Long>, Long> getCollator() {
@@ -67,6 +68,11 @@ public class LongMaxAggregation<Key, Value>
         return new LongMaxReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Long, Long> newAccumulator() {
+        return new LongAccumulator(Accumulator.MAX);
+    }
+
     /**
      * Maximum CombinerFactory for type long
      *
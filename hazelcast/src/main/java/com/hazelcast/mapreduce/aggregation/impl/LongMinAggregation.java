@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class LongMinAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Long, Long, Long, Long> {
+        implements AggType<Key, Value, Key, Long, Long, Long, Long>,
+                   AccumulatorFactory<Long, Long> {
 
     @Override
     public Collator<Map.Entry<Key, Long>, Long> getCollator() {
@@ -67,6 +68,11 @@ public class LongMinAggregation<Key, Value>
         return new LongMinReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Long, Long> newAccumulator() {
+        return new LongAccumulator(Accumulator.MIN);
+    }
+
     /**
      * Minimum CombinerFactory for type long
      *
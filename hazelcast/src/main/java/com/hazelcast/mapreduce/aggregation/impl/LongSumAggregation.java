@@ -33,7 +33,8 @@ import java.util.Map;
  * @param <Value> the input value type
  */
 public class LongSumAggregation<Key, Value>
-        implements AggType<Key, Value, Key, Long, Long, Long, Long> {
+        implements AggType<Key, Value, Key, Long, Long, Long, Long>,
+                   AccumulatorFactory<Long, Long> {
 
     @Override
     public Collator<Map.Entry<Key, Long>, Long> getCollator() {
@@ -64,6 +65,11 @@ public class LongSumAggregation<Key, Value>
         return new LongSumReducerFactory<Key>();
     }
 
+    @Override
+    public Accumulator<Long, Long> newAccumulator() {
+        return new LongAccumulator(Accumulator.SUM);
+    }
+
     /**
      * Sum CombinerFactory for type long
      *
@@ -56,14 +56,27 @@ public class PredicateSupplier<KeyIn, ValueIn, ValueOut>
     @Override
     public ValueOut apply(Map.Entry<KeyIn, ValueIn> entry) {
         if (predicate.apply(entry)) {
-            ValueIn value = entry.getValue();
-            if (value != null) {
-                return chainedSupplier != null ? chainedSupplier.apply(entry) : (ValueOut) value;
-            }
+            return applyMatching(entry);
         }
         return null;
     }
 
+    /**
+     * Supplies the value of an entry which is known to match the predicate, e.g. because it was found
+     * by an index, without evaluating the predicate again.
+     */
+    public ValueOut applyMatching(Map.Entry<KeyIn, ValueIn> entry) {
+        ValueIn value = entry.getValue();
+        if (value != null) {
+            return chainedSupplier != null ? chainedSupplier.apply(entry) : (ValueOut) value;
+        }
+        return null;
+    }
+
+    public Predicate<KeyIn, ValueIn> getPredicate() {
+        return predicate;
+    }
+
     @Override
     public int getFactoryId() {
         return AggregationsDataSerializerHook.F_ID;
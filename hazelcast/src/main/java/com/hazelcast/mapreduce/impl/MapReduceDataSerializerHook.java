@@ -17,6 +17,7 @@
 package com.hazelcast.mapreduce.impl;
 
 import com.hazelcast.mapreduce.impl.notification.IntermediateChunkNotification;
+import com.hazelcast.mapreduce.impl.notification.IntermediateChunkProcessedNotification;
 import com.hazelcast.mapreduce.impl.notification.LastChunkNotification;
 import com.hazelcast.mapreduce.impl.notification.ReducingFinishedNotification;
 import com.hazelcast.mapreduce.impl.operation.CancelJobSupervisorOperation;
@@ -74,8 +75,9 @@ public class MapReduceDataSerializerHook
     public static final int KEYS_ASSIGNMENT_RESULT = 20;
     public static final int KEYS_ASSIGNMENT_OPERATION = 21;
     public static final int HASH_MAP_ADAPTER = 22;
+    public static final int REDUCER_CHUNK_PROCESSED_MESSAGE = 23;
 
-    private static final int LEN = HASH_MAP_ADAPTER + 1;
+    private static final int LEN = REDUCER_CHUNK_PROCESSED_MESSAGE + 1;
 
     @Override
     public int getFactoryId() {
@@ -223,6 +225,12 @@ public class MapReduceDataSerializerHook
                 return new HashMapAdapter();
             }
         };
+        constructors[REDUCER_CHUNK_PROCESSED_MESSAGE] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new IntermediateChunkProcessedNotification();
+            }
+        };
         return new ArrayDataSerializableFactory(constructors);
     }
 
@@ -34,18 +34,25 @@ import java.util.Map;
 public class IntermediateChunkNotification<KeyOut, Value>
         extends MemberAwareMapReduceNotification {
 
+    private Address sender;
     private Map<KeyOut, Value> chunk;
     private int partitionId;
 
     public IntermediateChunkNotification() {
     }
 
-    public IntermediateChunkNotification(Address address, String name, String jobId, Map<KeyOut, Value> chunk, int partitionId) {
+    public IntermediateChunkNotification(Address address, String name, String jobId, Address sender, Map<KeyOut, Value> chunk,
+                                         int partitionId) {
         super(address, name, jobId);
+        this.sender = sender;
         this.chunk = chunk;
         this.partitionId = partitionId;
     }
 
+    public Address getSender() {
+        return sender;
+    }
+
     public Map<KeyOut, Value> getChunk() {
         return chunk;
     }
@@ -58,6 +65,7 @@ public class IntermediateChunkNotification<KeyOut, Value>
     public void writeData(ObjectDataOutput out)
             throws IOException {
         super.writeData(out);
+        sender.writeData(out);
         out.writeInt(chunk.size());
         for (Map.Entry<KeyOut, Value> entry : chunk.entrySet()) {
             out.writeObject(entry.getKey());
@@ -70,6 +78,8 @@ public class IntermediateChunkNotification<KeyOut, Value>
     public void readData(ObjectDataInput in)
             throws IOException {
         super.readData(in);
+        sender = new Address();
+        sender.readData(in);
         int size = in.readInt();
         chunk = new HashMap<KeyOut, Value>();
         for (int i = 0; i < size; i++) {
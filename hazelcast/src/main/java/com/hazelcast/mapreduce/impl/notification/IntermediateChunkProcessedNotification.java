@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.mapreduce.impl.notification;
+
+import com.hazelcast.mapreduce.impl.MapReduceDataSerializerHook;
+import com.hazelcast.nio.Address;
+
+/**
+ * This notification is sent back to the mapping member after a reducer has processed an intermediate
+ * chunk of it. It returns the credit the mapping member consumed by sending the chunk, see
+ * {@link com.hazelcast.config.JobTrackerConfig#getMaxChunksInFlight()}.
+ */
+public class IntermediateChunkProcessedNotification
+        extends MemberAwareMapReduceNotification {
+
+    public IntermediateChunkProcessedNotification() {
+    }
+
+    public IntermediateChunkProcessedNotification(Address address, String name, String jobId) {
+        super(address, name, jobId);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapReduceDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapReduceDataSerializerHook.REDUCER_CHUNK_PROCESSED_MESSAGE;
+    }
+
+    @Override
+    public String toString() {
+        return "IntermediateChunkProcessedNotification{" + "address=" + getAddress() + '}';
+    }
+
+}
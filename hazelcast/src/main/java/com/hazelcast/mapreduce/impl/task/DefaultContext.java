@@ -33,7 +33,10 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
  * values to be combined using either the set {@link com.hazelcast.mapreduce.Combiner} or by utilizing the internal
  * collecting combiner (which is just a better HashMap ;-)).<br/>
  * In addition to that it is responsible to notify about an the {@link com.hazelcast.mapreduce.impl.task.MapCombineTask}
- * about an emitted value to eventually send out chunks on reaching the chunk size limit.
+ * about an emitted value to eventually send out chunks on reaching the chunk size limit.<br/>
+ * A chunk only contains the combiners that received values since the previous chunk, so keys which are
+ * not emitted anymore do not inflate later chunks. The combiners are discarded after the last chunk of a
+ * partition is requested.
  *
  * @param <KeyIn>
  * @param <ValueIn>
@@ -45,6 +48,8 @@ public class DefaultContext<KeyIn, ValueIn>
             .newUpdater(DefaultContext.class, "collected");
 
     private final Map<KeyIn, Combiner<ValueIn, ?>> combiners = new HashMap<KeyIn, Combiner<ValueIn, ?>>();
+    // Combiners that received values since the last chunk was requested
+    private final Map<KeyIn, Combiner<ValueIn, ?>> pendingCombiners = new HashMap<KeyIn, Combiner<ValueIn, ?>>();
     private final CombinerFactory<KeyIn, ValueIn, ?> combinerFactory;
     private final MapCombineTask mapCombineTask;
 
@@ -66,14 +71,15 @@ public class DefaultContext<KeyIn, ValueIn>
     public void emit(KeyIn key, ValueIn value) {
         Combiner<ValueIn, ?> combiner = getOrCreateCombiner(key);
         combiner.combine(value);
+        pendingCombiners.put(key, combiner);
         COLLECTED_UPDATER.incrementAndGet(this);
         mapCombineTask.onEmit(this, partitionId);
     }
 
     public <Chunk> Map<KeyIn, Chunk> requestChunk() {
-        int mapSize = MapReduceUtil.mapSize(combiners.size());
+        int mapSize = MapReduceUtil.mapSize(pendingCombiners.size());
         Map<KeyIn, Chunk> chunkMap = new HashMapAdapter<KeyIn, Chunk>(mapSize);
-        for (Map.Entry<KeyIn, Combiner<ValueIn, ?>> entry : combiners.entrySet()) {
+        for (Map.Entry<KeyIn, Combiner<ValueIn, ?>> entry : pendingCombiners.entrySet()) {
             Combiner<ValueIn, ?> combiner = entry.getValue();
             Chunk chunk = (Chunk) combiner.finalizeChunk();
             combiner.reset();
@@ -82,6 +88,7 @@ public class DefaultContext<KeyIn, ValueIn>
                 chunkMap.put(entry.getKey(), chunk);
             }
         }
+        pendingCombiners.clear();
         COLLECTED_UPDATER.set(this, 0);
         return chunkMap;
     }
@@ -94,7 +101,9 @@ public class DefaultContext<KeyIn, ValueIn>
         for (Combiner<ValueIn, ?> combiner : combiners.values()) {
             combiner.finalizeCombine();
         }
-        return requestChunk();
+        Map<KeyIn, Chunk> chunkMap = requestChunk();
+        combiners.clear();
+        return chunkMap;
     }
 
     private Combiner<ValueIn, ?> getOrCreateCombiner(KeyIn key) {
@@ -40,6 +40,10 @@ public class JobProcessInformationImpl
             AtomicReferenceFieldUpdater.newUpdater(JobProcessInformationImpl.class, JobPartitionState[].class, "partitionStates");
     private static final AtomicIntegerFieldUpdater<JobProcessInformationImpl> PROCESSED_RECORDS_UPDATER = AtomicIntegerFieldUpdater
             .newUpdater(JobProcessInformationImpl.class, "processedRecords");
+    private static final AtomicIntegerFieldUpdater<JobProcessInformationImpl> QUEUED_CHUNKS_UPDATER = AtomicIntegerFieldUpdater
+            .newUpdater(JobProcessInformationImpl.class, "queuedChunks");
+    private static final AtomicIntegerFieldUpdater<JobProcessInformationImpl> MAX_QUEUED_CHUNKS_UPDATER = AtomicIntegerFieldUpdater
+            .newUpdater(JobProcessInformationImpl.class, "maxQueuedChunks");
     //CHECKSTYLE:ON
 
     private final JobSupervisor supervisor;
@@ -47,6 +51,10 @@ public class JobProcessInformationImpl
     // This field is only accessed through the updater
     private volatile int processedRecords;
 
+    // These fields are only accessed through the updaters
+    private volatile int queuedChunks;
+    private volatile int maxQueuedChunks;
+
     private volatile JobPartitionState[] partitionStates;
 
     public JobProcessInformationImpl(int partitionCount, JobSupervisor supervisor) {
@@ -73,6 +81,28 @@ public class JobProcessInformationImpl
         PROCESSED_RECORDS_UPDATER.addAndGet(this, records);
     }
 
+    /**
+     * Returns the number of chunks waiting on this member to be reduced.
+     */
+    public int getQueuedChunks() {
+        return queuedChunks;
+    }
+
+    /**
+     * Returns the highest number of chunks that were waiting on this member to be reduced at the same time.
+     */
+    public int getMaxQueuedChunks() {
+        return maxQueuedChunks;
+    }
+
+    public void addQueuedChunks(int chunks) {
+        int queued = QUEUED_CHUNKS_UPDATER.addAndGet(this, chunks);
+        int max = maxQueuedChunks;
+        while (queued > max && !MAX_QUEUED_CHUNKS_UPDATER.compareAndSet(this, max, queued)) {
+            max = maxQueuedChunks;
+        }
+    }
+
     public void cancelPartitionState() {
         JobPartitionState[] oldPartitionStates = this.partitionStates;
         JobPartitionState[] newPartitionStates = new JobPartitionState[oldPartitionStates.length];
@@ -125,8 +155,8 @@ public class JobProcessInformationImpl
 
     @Override
     public String toString() {
-        return "JobProcessInformationImpl{" + "processedRecords=" + processedRecords + ", partitionStates=" + Arrays
-                .toString(partitionStates) + '}';
+        return "JobProcessInformationImpl{" + "processedRecords=" + processedRecords + ", queuedChunks=" + queuedChunks
+                + ", partitionStates=" + Arrays.toString(partitionStates) + '}';
     }
 
 }
@@ -26,6 +26,7 @@ import com.hazelcast.mapreduce.impl.HashMapAdapter;
 import com.hazelcast.mapreduce.impl.MapReduceService;
 import com.hazelcast.mapreduce.impl.MapReduceUtil;
 import com.hazelcast.mapreduce.impl.notification.IntermediateChunkNotification;
+import com.hazelcast.mapreduce.impl.notification.IntermediateChunkProcessedNotification;
 import com.hazelcast.mapreduce.impl.notification.LastChunkNotification;
 import com.hazelcast.mapreduce.impl.notification.MapReduceNotification;
 import com.hazelcast.mapreduce.impl.notification.ReducingFinishedNotification;
@@ -48,6 +49,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hazelcast.mapreduce.JobPartitionState.State.REDUCING;
@@ -68,6 +70,7 @@ public class JobSupervisor {
     private final ConcurrentMap<Integer, Set<Address>> remoteReducers = new ConcurrentHashMap<Integer, Set<Address>>();
     private final AtomicReference<DefaultContext> context = new AtomicReference<DefaultContext>();
     private final ConcurrentMap<Object, Address> keyAssignments = new ConcurrentHashMap<Object, Address>();
+    private final ConcurrentMap<Address, AtomicInteger> chunksInFlight = new ConcurrentHashMap<Address, AtomicInteger>();
 
     private final Address jobOwner;
     private final boolean ownerNode;
@@ -75,6 +78,7 @@ public class JobSupervisor {
     private final JobTaskConfiguration configuration;
     private final MapReduceService mapReduceService;
     private final ExecutorService executorService;
+    private final int maxChunksInFlight;
 
     private final JobProcessInformationImpl jobProcessInformation;
 
@@ -86,6 +90,7 @@ public class JobSupervisor {
         this.mapReduceService = mapReduceService;
         this.jobOwner = configuration.getJobOwner();
         this.executorService = mapReduceService.getExecutorService(configuration.getName());
+        this.maxChunksInFlight = jobTracker.getJobTrackerConfig().getMaxChunksInFlight();
 
         // Calculate partition count
         this.jobProcessInformation = createJobProcessInformation(configuration, this);
@@ -113,13 +118,17 @@ public class JobSupervisor {
         if (notification instanceof IntermediateChunkNotification) {
             IntermediateChunkNotification icn = (IntermediateChunkNotification) notification;
             ReducerTask reducerTask = jobTracker.getReducerTask(icn.getJobId());
-            reducerTask.processChunk(icn.getChunk());
+            reducerTask.processChunk(-1, icn.getSender(), icn.getChunk());
+        } else if (notification instanceof IntermediateChunkProcessedNotification) {
+            IntermediateChunkProcessedNotification icpn = (IntermediateChunkProcessedNotification) notification;
+            releaseChunkCredit(icpn.getAddress());
         } else if (notification instanceof LastChunkNotification) {
             LastChunkNotification lcn = (LastChunkNotification) notification;
             ReducerTask reducerTask = jobTracker.getReducerTask(lcn.getJobId());
             reducerTask.processChunk(lcn.getPartitionId(), lcn.getSender(), lcn.getChunk());
         } else if (notification instanceof ReducingFinishedNotification) {
             ReducingFinishedNotification rfn = (ReducingFinishedNotification) notification;
+            releaseChunkCredit(rfn.getAddress());
             processReducerFinished(rfn);
         }
     }
@@ -346,6 +355,52 @@ public class JobSupervisor {
         return this.remoteReducers.get(partitionId);
     }
 
+    /**
+     * Returns <tt>true</tt> if no reducer has reached the configured maximum of chunks sent by this member
+     * but not processed yet. As long as this returns <tt>false</tt> the emitted values are combined locally
+     * instead of sending them to the reducers.
+     *
+     * @return true if intermediate chunks can be sent to the reducers
+     */
+    public boolean hasChunkCredits() {
+        if (maxChunksInFlight <= 0) {
+            return true;
+        }
+        for (AtomicInteger counter : chunksInFlight.values()) {
+            if (counter.get() >= maxChunksInFlight) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reduces the chunks queued on this member on the calling thread. Mappers and reducers share the same
+     * executor, so a mapper which runs ahead of the reducers helps them instead of keeping their thread busy.
+     */
+    public void processQueuedChunks() {
+        ReducerTask reducerTask = jobTracker.getReducerTask(configuration.getJobId());
+        if (reducerTask != null) {
+            reducerTask.processQueuedChunks();
+        }
+    }
+
+    public void onChunkSent(Address reducerAddress) {
+        getChunksInFlightCounter(reducerAddress).incrementAndGet();
+    }
+
+    /**
+     * Returns the number of chunks this member sent to the given reducer which are
+     * not processed yet.
+     *
+     * @param reducerAddress the address of the reducing member
+     * @return the number of unprocessed chunks
+     */
+    public int getChunksInFlight(Address reducerAddress) {
+        AtomicInteger counter = chunksInFlight.get(reducerAddress);
+        return counter == null ? 0 : counter.get();
+    }
+
     public JobProcessInformationImpl getJobProcessInformation() {
         return jobProcessInformation;
     }
@@ -419,6 +474,22 @@ public class JobSupervisor {
         });
     }
 
+    private void releaseChunkCredit(Address reducerAddress) {
+        getChunksInFlightCounter(reducerAddress).decrementAndGet();
+    }
+
+    private AtomicInteger getChunksInFlightCounter(Address reducerAddress) {
+        AtomicInteger counter = chunksInFlight.get(reducerAddress);
+        if (counter == null) {
+            counter = new AtomicInteger();
+            AtomicInteger oldCounter = chunksInFlight.putIfAbsent(reducerAddress, counter);
+            if (oldCounter != null) {
+                counter = oldCounter;
+            }
+        }
+        return counter;
+    }
+
     private void addAllFilterJobOwner(Set<Address> target, Set<Address> source) {
         for (Address address : source) {
             if (jobOwner.equals(address)) {
@@ -20,7 +20,9 @@ import com.hazelcast.mapreduce.KeyValueSource;
 import com.hazelcast.mapreduce.LifecycleMapper;
 import com.hazelcast.mapreduce.Mapper;
 import com.hazelcast.mapreduce.PartitionIdAware;
+import com.hazelcast.mapreduce.impl.HashMapAdapter;
 import com.hazelcast.mapreduce.impl.MapReduceService;
+import com.hazelcast.mapreduce.impl.MapReduceUtil;
 import com.hazelcast.mapreduce.impl.notification.IntermediateChunkNotification;
 import com.hazelcast.mapreduce.impl.notification.LastChunkNotification;
 import com.hazelcast.mapreduce.impl.operation.PostPonePartitionProcessing;
@@ -36,12 +38,16 @@ import com.hazelcast.util.ExceptionUtil;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.mapreduce.JobPartitionState.State.REDUCING;
 import static com.hazelcast.mapreduce.impl.MapReduceUtil.mapResultToMember;
+import static com.hazelcast.mapreduce.impl.MapReduceUtil.mapSize;
 import static com.hazelcast.mapreduce.impl.MapReduceUtil.notifyRemoteException;
 import static com.hazelcast.mapreduce.impl.operation.RequestPartitionResult.ResultState.CHECK_STATE_FAILED;
 import static com.hazelcast.mapreduce.impl.operation.RequestPartitionResult.ResultState.NO_MORE_PARTITIONS;
@@ -61,8 +67,16 @@ import static com.hazelcast.mapreduce.impl.operation.RequestPartitionResult.Resu
  */
 public class MapCombineTask<KeyIn, ValueIn, KeyOut, ValueOut, Chunk> {
 
+    private static final long PENDING_CHUNKS_RETRY_MILLIS = 10;
+
     private final AtomicBoolean cancelled = new AtomicBoolean();
 
+    // Chunks of mapped partitions waiting for chunk credits. Credits are returned by notifications which
+    // run on the same executor as this task, so instead of blocking for them the chunks are queued here
+    // and sent in order whenever credits are available
+    private final Queue<PendingChunk<KeyOut, Chunk>> pendingChunks = new ConcurrentLinkedQueue<PendingChunk<KeyOut, Chunk>>();
+    private final AtomicBoolean pendingChunksRetryScheduled = new AtomicBoolean();
+
     private final Mapper<KeyIn, ValueIn, KeyOut, ValueOut> mapper;
     private final MappingPhase<KeyIn, ValueIn, KeyOut, ValueOut> mappingPhase;
     private final KeyValueSource<KeyIn, ValueIn> keyValueSource;
@@ -102,6 +116,7 @@ public class MapCombineTask<KeyIn, ValueIn, KeyOut, ValueOut, Chunk> {
     public void cancel() {
         cancelled.set(true);
         mappingPhase.cancel();
+        pendingChunks.clear();
     }
 
     public void process() {
@@ -136,20 +151,36 @@ public class MapCombineTask<KeyIn, ValueIn, KeyOut, ValueOut, Chunk> {
         // If we have a reducer let's test for chunk size otherwise
         // we need to collect all values locally and wait for final request
         if (supervisor.getConfiguration().getReducerFactory() != null) {
-            if (context.getCollected() == chunkSize) {
-                Map<KeyOut, Chunk> chunkMap = context.requestChunk();
+            if (context.getCollected() >= chunkSize) {
+                if (sendPendingChunks() && supervisor.hasChunkCredits()) {
+                    sendIntermediateChunk(context, partitionId);
+                } else {
+                    // Reducers are still busy with earlier chunks, keep combining locally
+                    // and help reducing what is queued on this member
+                    supervisor.processQueuedChunks();
+                }
+            }
+        }
+    }
 
-                // Wrap into IntermediateChunkNotification object
-                Map<Address, Map<KeyOut, Chunk>> mapping = mapResultToMember(supervisor, chunkMap);
+    private void sendIntermediateChunk(DefaultContext<KeyOut, ValueOut> context, int partitionId) {
+        sendIntermediateChunk(partitionId, context.<Chunk>requestChunk());
+    }
 
-                // Register remote addresses and partitionId for receiving reducer events
-                supervisor.registerReducerEventInterests(partitionId, mapping.keySet());
+    private void sendIntermediateChunk(int partitionId, Map<KeyOut, Chunk> chunkMap) {
+        Address sender = mapReduceService.getLocalAddress();
 
-                for (Map.Entry<Address, Map<KeyOut, Chunk>> entry : mapping.entrySet()) {
-                    mapReduceService.sendNotification(entry.getKey(),
-                            new IntermediateChunkNotification(entry.getKey(), name, jobId, entry.getValue(), partitionId));
-                }
-            }
+        // Wrap into IntermediateChunkNotification object
+        Map<Address, Map<KeyOut, Chunk>> mapping = mapResultToMember(supervisor, chunkMap);
+
+        // Register remote addresses and partitionId for receiving reducer events
+        supervisor.registerReducerEventInterests(partitionId, mapping.keySet());
+
+        for (Map.Entry<Address, Map<KeyOut, Chunk>> entry : mapping.entrySet()) {
+            Address receiver = entry.getKey();
+            supervisor.onChunkSent(receiver);
+            mapReduceService.sendNotification(receiver,
+                    new IntermediateChunkNotification(receiver, name, jobId, sender, entry.getValue(), partitionId));
         }
     }
 
@@ -164,7 +195,8 @@ public class MapCombineTask<KeyIn, ValueIn, KeyOut, ValueOut, Chunk> {
             if (supervisor.getConfiguration().getReducerFactory() != null) {
                 Map<KeyOut, Chunk> chunkMap = context.finish();
                 if (chunkMap.size() > 0) {
-                    sendLastChunkToAssignedReducers(partitionId, chunkMap);
+                    queueLastChunks(partitionId, chunkMap);
+                    sendPendingChunks();
 
                 } else {
                     finalizeProcessing(partitionId);
@@ -186,6 +218,61 @@ public class MapCombineTask<KeyIn, ValueIn, KeyOut, ValueOut, Chunk> {
         }
     }
 
+    /**
+     * Queues the values of a mapped partition. Values held back while the reducers had no credits left
+     * are split into chunks of the configured size which are sent as intermediate chunks before the last one.
+     */
+    private void queueLastChunks(int partitionId, Map<KeyOut, Chunk> chunkMap) {
+        Map<KeyOut, Chunk> lastChunk = chunkMap;
+        if (chunkSize > 0 && chunkMap.size() > chunkSize) {
+            lastChunk = new HashMapAdapter<KeyOut, Chunk>(mapSize(chunkSize));
+            for (Map.Entry<KeyOut, Chunk> entry : chunkMap.entrySet()) {
+                if (lastChunk.size() == chunkSize) {
+                    pendingChunks.offer(new PendingChunk<KeyOut, Chunk>(partitionId, lastChunk, false));
+                    lastChunk = new HashMapAdapter<KeyOut, Chunk>(mapSize(chunkSize));
+                }
+                lastChunk.put(entry.getKey(), entry.getValue());
+            }
+        }
+        pendingChunks.offer(new PendingChunk<KeyOut, Chunk>(partitionId, lastChunk, true));
+    }
+
+    /**
+     * Sends the queued chunks as long as the reducers have credits left.
+     *
+     * @return true if no chunks are left to send
+     */
+    private boolean sendPendingChunks() {
+        // Only one thread sends at a time, otherwise a partition's last chunk could overtake its other chunks
+        synchronized (pendingChunks) {
+            while (!pendingChunks.isEmpty()) {
+                if (cancelled.get() || !supervisor.hasChunkCredits()) {
+                    return false;
+                }
+                PendingChunk<KeyOut, Chunk> pendingChunk = pendingChunks.poll();
+                if (pendingChunk.last) {
+                    sendLastChunkToAssignedReducers(pendingChunk.partitionId, pendingChunk.chunk);
+                } else {
+                    sendIntermediateChunk(pendingChunk.partitionId, pendingChunk.chunk);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Called after the last partition is mapped. Chunks which still wait for credits are retried
+     * by a task scheduled on the executor, so the credit notifications can run in the meantime.
+     */
+    private void sendRemainingChunks() {
+        supervisor.processQueuedChunks();
+        if (!sendPendingChunks() && !cancelled.get() && pendingChunksRetryScheduled.compareAndSet(false, true)) {
+            String executorName = MapReduceUtil.buildExecutorName(name);
+            nodeEngine.getExecutionService().schedule(executorName, new PendingChunkSender(),
+                    PENDING_CHUNKS_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
     private void sendLastChunkToAssignedReducers(int partitionId, Map<KeyOut, Chunk> chunkMap) {
         Address sender = mapReduceService.getLocalAddress();
 
@@ -199,16 +286,19 @@ public class MapCombineTask<KeyIn, ValueIn, KeyOut, ValueOut, Chunk> {
         for (Map.Entry<Address, Map<KeyOut, Chunk>> entry : mapping.entrySet()) {
             Address receiver = entry.getKey();
             Map<KeyOut, Chunk> chunk = entry.getValue();
+            supervisor.onChunkSent(receiver);
             mapReduceService
                     .sendNotification(receiver, new LastChunkNotification(receiver, name, jobId, sender, partitionId, chunk));
         }
 
-        // Send LastChunk notification to notify reducers that received at least one chunk
+        // Send LastChunk notification to notify reducers that received at least one chunk,
+        // they report the partition as reduced after its last chunk
         Set<Address> addresses = mapping.keySet();
         Collection<Address> reducerInterests = supervisor.getReducerEventInterests(partitionId);
         if (reducerInterests != null) {
             for (Address address : reducerInterests) {
                 if (!addresses.contains(address)) {
+                    supervisor.onChunkSent(address);
                     mapReduceService.sendNotification(address,
                             new LastChunkNotification(address, name, jobId, sender, partitionId, Collections.emptyMap()));
                 }
@@ -253,9 +343,14 @@ public class MapCombineTask<KeyIn, ValueIn, KeyOut, ValueOut, Chunk> {
                     return;
                 }
 
+                // Reduce what queued up on this member meanwhile, the reducer might wait for this thread
+                supervisor.processQueuedChunks();
+                sendPendingChunks();
+
                 Integer partitionId = findNewPartitionProcessing();
                 if (partitionId == null) {
                     // Job's done
+                    sendRemainingChunks();
                     return;
                 }
 
@@ -337,6 +432,7 @@ public class MapCombineTask<KeyIn, ValueIn, KeyOut, ValueOut, Chunk> {
                     processMapping(partitionId, context, delegate);
                     delegate.close();
                     finalizeMapping(partitionId, context);
+                    sendRemainingChunks();
                 } else {
                     // Partition assignment might not be ready yet, postpone the processing and retry later
                     postponePartitionProcessing(partitionId);
@@ -347,4 +443,40 @@ public class MapCombineTask<KeyIn, ValueIn, KeyOut, ValueOut, Chunk> {
         }
     }
 
+    /**
+     * This class retries sending the chunks left after the mapping phase
+     */
+    private class PendingChunkSender
+            implements Runnable {
+
+        @Override
+        public void run() {
+            pendingChunksRetryScheduled.set(false);
+            try {
+                sendRemainingChunks();
+            } catch (Throwable t) {
+                handleProcessorThrowable(t);
+            }
+        }
+    }
+
+    /**
+     * A chunk of a mapped partition waiting for credits
+     *
+     * @param <KeyOut> type of the emitted key
+     * @param <Chunk>  type of the intermediate chunk
+     */
+    private static final class PendingChunk<KeyOut, Chunk> {
+
+        private final int partitionId;
+        private final Map<KeyOut, Chunk> chunk;
+        private final boolean last;
+
+        private PendingChunk(int partitionId, Map<KeyOut, Chunk> chunk, boolean last) {
+            this.partitionId = partitionId;
+            this.chunk = chunk;
+            this.last = last;
+        }
+    }
+
 }
@@ -18,6 +18,7 @@ package com.hazelcast.mapreduce.impl.task;
 
 import com.hazelcast.mapreduce.Reducer;
 import com.hazelcast.mapreduce.impl.MapReduceService;
+import com.hazelcast.mapreduce.impl.notification.IntermediateChunkProcessedNotification;
 import com.hazelcast.mapreduce.impl.notification.ReducingFinishedNotification;
 import com.hazelcast.nio.Address;
 import com.hazelcast.util.ExceptionUtil;
@@ -34,7 +35,9 @@ import static com.hazelcast.mapreduce.impl.MapReduceUtil.notifyRemoteException;
 /**
  * This task implementation executes the reducing phase. It collects all arriving chunks and processes them
  * one by one. There is one ReducerTask per job per node to have a clear idea of the resulting load a job
- * may create.
+ * may create.<br/>
+ * Every processed intermediate chunk is acknowledged to its sender which limits the number of chunks
+ * it has in flight to this member (see {@link com.hazelcast.config.JobTrackerConfig#getMaxChunksInFlight()}).
  *
  * @param <Key> type of the emitted key
  * @param <Chunk> type of the intermediate chunk data
@@ -50,6 +53,7 @@ public class ReducerTask<Key, Chunk>
     private final String jobId;
 
     private AtomicBoolean active = new AtomicBoolean();
+    private final AtomicBoolean processing = new AtomicBoolean();
 
     public ReducerTask(String name, String jobId, JobSupervisor supervisor) {
         this.name = name;
@@ -79,6 +83,11 @@ public class ReducerTask<Key, Chunk>
             return;
         }
         reducerQueue.offer(new ReducerChunk<Key, Chunk>(chunk, partitionId, sender));
+        supervisor.getJobProcessInformation().addQueuedChunks(1);
+        trySchedule();
+    }
+
+    private void trySchedule() {
         if (active.compareAndSet(false, true)) {
             MapReduceService mapReduceService = supervisor.getMapReduceService();
             ExecutorService es = mapReduceService.getExecutorService(name);
@@ -88,9 +97,32 @@ public class ReducerTask<Key, Chunk>
 
     @Override
     public void run() {
+        try {
+            reduceQueuedChunks();
+        } finally {
+            active.compareAndSet(true, false);
+        }
+        rescheduleIfPending();
+    }
+
+    /**
+     * Reduces the queued chunks on the calling thread unless another thread is already reducing them.
+     * Used by mappers running ahead of the reducers, since they might occupy the executor threads
+     * this task would run on otherwise.
+     */
+    public void processQueuedChunks() {
+        reduceQueuedChunks();
+        rescheduleIfPending();
+    }
+
+    private void reduceQueuedChunks() {
+        if (!processing.compareAndSet(false, true)) {
+            return;
+        }
         try {
             ReducerChunk<Key, Chunk> reducerChunk;
             while ((reducerChunk = reducerQueue.poll()) != null) {
+                supervisor.getJobProcessInformation().addQueuedChunks(-1);
                 if (cancelled.get()) {
                     return;
                 }
@@ -104,7 +136,15 @@ public class ReducerTask<Key, Chunk>
                 ExceptionUtil.sneakyThrow(t);
             }
         } finally {
-            active.compareAndSet(true, false);
+            processing.set(false);
+        }
+    }
+
+    private void rescheduleIfPending() {
+        // A chunk offered after the last poll but before resetting the flags would otherwise wait
+        // for the next chunk to arrive
+        if (!processing.get() && !reducerQueue.isEmpty() && !cancelled.get()) {
+            trySchedule();
         }
     }
 
@@ -125,12 +165,18 @@ public class ReducerTask<Key, Chunk>
     }
 
     private void processProcessedState(ReducerChunk<Key, Chunk> reducerChunk) {
+        MapReduceService mapReduceService = supervisor.getMapReduceService();
         // If partitionId is set this was the last chunk for this partition
         if (reducerChunk.partitionId != -1) {
-            MapReduceService mapReduceService = supervisor.getMapReduceService();
             ReducingFinishedNotification notification = new ReducingFinishedNotification(mapReduceService.getLocalAddress(), name,
                     jobId, reducerChunk.partitionId);
 
+            mapReduceService.sendNotification(reducerChunk.sender, notification);
+        } else if (reducerChunk.sender != null) {
+            // Return the credit of the intermediate chunk to its sender
+            IntermediateChunkProcessedNotification notification = new IntermediateChunkProcessedNotification(
+                    mapReduceService.getLocalAddress(), name, jobId);
+
             mapReduceService.sendNotification(reducerChunk.sender, notification);
         }
     }
@@ -198,6 +198,32 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getHeapCost();
 
+    /**
+     * Returns off-heap memory (number of bytes) allocated by the storage of this member.
+     * Off-heap storage is shared by all {@link com.hazelcast.config.InMemoryFormat#OFFHEAP} maps of the member,
+     * so this is zero for other formats.
+     *
+     * @return used off-heap memory in bytes
+     */
+    long getOffHeapUsedMemory();
+
+    /**
+     * Returns off-heap memory (number of bytes) still available in the storage of this member.
+     *
+     * @return free off-heap memory in bytes
+     * @see #getOffHeapUsedMemory()
+     */
+    long getOffHeapFreeMemory();
+
+    /**
+     * Returns the part of the used off-heap memory (number of bytes) which is not filled by values
+     * since values do not fit exactly into storage chunks.
+     *
+     * @return fragmented off-heap memory in bytes
+     * @see #getOffHeapUsedMemory()
+     */
+    long getOffHeapFragmentedMemory();
+
     /**
      * Returns statistics related to the Near Cache.
      *
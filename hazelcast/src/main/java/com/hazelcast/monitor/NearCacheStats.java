@@ -37,6 +37,13 @@ public interface NearCacheStats extends LocalInstanceStats {
      */
     long getMisses();
 
+    /**
+     * Returns the number of entries evicted from this cache to stay within its max size.
+     *
+     * @return number of evictions.
+     */
+    long getEvictions();
+
     /**
      * Returns the hit/miss ratio  of the locally owned entries.
      *
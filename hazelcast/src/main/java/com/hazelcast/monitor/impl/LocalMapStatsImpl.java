@@ -92,6 +92,9 @@ public class LocalMapStatsImpl
      * Holds total heap cost of map & near-cache & backups.
      */
     private long heapCost;
+    private long offHeapUsedMemory;
+    private long offHeapFreeMemory;
+    private long offHeapFragmentedMemory;
     private long lockedEntryCount;
     private long dirtyEntryCount;
     private int backupCount;
@@ -117,6 +120,9 @@ public class LocalMapStatsImpl
         ownedEntryMemoryCost = 0;
         backupEntryMemoryCost = 0;
         heapCost = 0;
+        offHeapUsedMemory = 0;
+        offHeapFreeMemory = 0;
+        offHeapFragmentedMemory = 0;
         lockedEntryCount = 0;
         dirtyEntryCount = 0;
         backupCount = 0;
@@ -149,6 +155,9 @@ public class LocalMapStatsImpl
         out.writeLong(maxPutLatency);
         out.writeLong(maxRemoveLatency);
         out.writeLong(heapCost);
+        out.writeLong(offHeapUsedMemory);
+        out.writeLong(offHeapFreeMemory);
+        out.writeLong(offHeapFragmentedMemory);
         boolean hasNearCache = nearCacheStats != null;
         out.writeBoolean(hasNearCache);
         if (hasNearCache) {
@@ -182,6 +191,9 @@ public class LocalMapStatsImpl
         MAX_PUT_LATENCY_UPDATER.set(this, in.readLong());
         MAX_REMOVE_LATENCY_UPDATER.set(this, in.readLong());
         heapCost = in.readLong();
+        offHeapUsedMemory = in.readLong();
+        offHeapFreeMemory = in.readLong();
+        offHeapFragmentedMemory = in.readLong();
         boolean hasNearCache = in.readBoolean();
         if (hasNearCache) {
             nearCacheStats = new NearCacheStatsImpl();
@@ -395,6 +407,27 @@ public class LocalMapStatsImpl
         return heapCost;
     }
 
+    @Override
+    public long getOffHeapUsedMemory() {
+        return offHeapUsedMemory;
+    }
+
+    @Override
+    public long getOffHeapFreeMemory() {
+        return offHeapFreeMemory;
+    }
+
+    @Override
+    public long getOffHeapFragmentedMemory() {
+        return offHeapFragmentedMemory;
+    }
+
+    public void setOffHeapMemory(long usedMemory, long freeMemory, long fragmentedMemory) {
+        this.offHeapUsedMemory = usedMemory;
+        this.offHeapFreeMemory = freeMemory;
+        this.offHeapFragmentedMemory = fragmentedMemory;
+    }
+
     @Override
     public NearCacheStatsImpl getNearCacheStats() {
         return nearCacheStats;
@@ -439,6 +472,9 @@ public class LocalMapStatsImpl
         root.add("maxPutLatency", maxPutLatency);
         root.add("maxRemoveLatency", maxRemoveLatency);
         root.add("heapCost", heapCost);
+        root.add("offHeapUsedMemory", offHeapUsedMemory);
+        root.add("offHeapFreeMemory", offHeapFreeMemory);
+        root.add("offHeapFragmentedMemory", offHeapFragmentedMemory);
         if (nearCacheStats != null) {
             root.add("nearCacheStats", nearCacheStats.toJson());
         }
@@ -470,6 +506,9 @@ public class LocalMapStatsImpl
         MAX_PUT_LATENCY_UPDATER.set(this, getLong(json, "maxPutLatency", -1L));
         MAX_REMOVE_LATENCY_UPDATER.set(this, getLong(json, "maxRemoveLatency", -1L));
         heapCost = getLong(json, "heapCost", -1L);
+        offHeapUsedMemory = getLong(json, "offHeapUsedMemory", -1L);
+        offHeapFreeMemory = getLong(json, "offHeapFreeMemory", -1L);
+        offHeapFragmentedMemory = getLong(json, "offHeapFragmentedMemory", -1L);
         final JsonValue jsonNearCacheStats = json.get("nearCacheStats");
         if (jsonNearCacheStats != null) {
             nearCacheStats = new NearCacheStatsImpl();
@@ -500,6 +539,9 @@ public class LocalMapStatsImpl
                 + ", lockedEntryCount=" + lockedEntryCount
                 + ", dirtyEntryCount=" + dirtyEntryCount
                 + ", heapCost=" + heapCost
+                + ", offHeapUsedMemory=" + offHeapUsedMemory
+                + ", offHeapFreeMemory=" + offHeapFreeMemory
+                + ", offHeapFragmentedMemory=" + offHeapFragmentedMemory
                 + '}';
     }
 }
@@ -378,6 +378,21 @@ public class LocalReplicatedMapStatsImpl
         return 0;
     }
 
+    @Override
+    public long getOffHeapUsedMemory() {
+        return 0;
+    }
+
+    @Override
+    public long getOffHeapFreeMemory() {
+        return 0;
+    }
+
+    @Override
+    public long getOffHeapFragmentedMemory() {
+        return 0;
+    }
+
     @Override
     public NearCacheStatsImpl getNearCacheStats() {
         throw new UnsupportedOperationException("Replicated map has no Near Cache!");
@@ -17,6 +17,8 @@ public class NearCacheStatsImpl
             .newUpdater(NearCacheStatsImpl.class, "hits");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> MISSES_UPDATER = AtomicLongFieldUpdater
             .newUpdater(NearCacheStatsImpl.class, "misses");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EVICTIONS_UPDATER = AtomicLongFieldUpdater
+            .newUpdater(NearCacheStatsImpl.class, "evictions");
     private long ownedEntryCount;
     private long ownedEntryMemoryCost;
     private long creationTime;
@@ -24,6 +26,7 @@ public class NearCacheStatsImpl
     // These fields are only accessed through the updaters
     private volatile long hits;
     private volatile long misses;
+    private volatile long evictions;
 
     public NearCacheStatsImpl() {
         this.creationTime = Clock.currentTimeMillis();
@@ -58,6 +61,11 @@ public class NearCacheStatsImpl
         return misses;
     }
 
+    @Override
+    public long getEvictions() {
+        return evictions;
+    }
+
     public void setHits(long hits) {
         HITS_UPDATER.set(this, hits);
     }
@@ -80,6 +88,10 @@ public class NearCacheStatsImpl
         HITS_UPDATER.incrementAndGet(this);
     }
 
+    public void incrementEvictions() {
+        EVICTIONS_UPDATER.incrementAndGet(this);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out)
             throws IOException {
@@ -87,6 +99,7 @@ public class NearCacheStatsImpl
         out.writeLong(ownedEntryMemoryCost);
         out.writeLong(hits);
         out.writeLong(misses);
+        out.writeLong(evictions);
         out.writeLong(creationTime);
     }
 
@@ -97,6 +110,7 @@ public class NearCacheStatsImpl
         this.ownedEntryMemoryCost = in.readLong();
         HITS_UPDATER.set(this, in.readLong());
         MISSES_UPDATER.set(this, in.readLong());
+        EVICTIONS_UPDATER.set(this, in.readLong());
         this.creationTime = in.readLong();
     }
 
@@ -108,6 +122,7 @@ public class NearCacheStatsImpl
         root.add("creationTime", creationTime);
         root.add("hits", hits);
         root.add("misses", misses);
+        root.add("evictions", evictions);
         return root;
     }
 
@@ -118,6 +133,7 @@ public class NearCacheStatsImpl
         creationTime = getLong(json, "creationTime", -1L);
         HITS_UPDATER.set(this, getLong(json, "hits", -1L));
         MISSES_UPDATER.set(this, getLong(json, "misses", -1L));
+        EVICTIONS_UPDATER.set(this, getLong(json, "evictions", -1L));
     }
 
     @Override
@@ -128,6 +144,7 @@ public class NearCacheStatsImpl
                 + ", creationTime=" + creationTime
                 + ", hits=" + hits
                 + ", misses=" + misses
+                + ", evictions=" + evictions
                 + ", ratio=" + getRatio()
                 + '}';
     }
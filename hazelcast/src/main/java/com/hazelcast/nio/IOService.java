@@ -85,6 +85,10 @@ public interface IOService {
 
     boolean getSocketNoDelay();
 
+    int getSocketWriteQueueCapacity();
+
+    boolean isSocketBufferDirect();
+
     int getSelectorThreadCount();
 
     long getConnectionMonitorInterval();
@@ -133,6 +133,10 @@ public final class IOUtil {
         };
     }
 
+    /**
+     * Copies as many bytes as fit from src to dest. Either of the buffers may be a direct buffer,
+     * socket buffers are direct when {@link com.hazelcast.instance.GroupProperties#PROP_SOCKET_BUFFER_DIRECT} is set.
+     */
     public static int copyToHeapBuffer(ByteBuffer src, ByteBuffer dest) {
         if (src == null) {
             return 0;
@@ -143,17 +147,42 @@ public final class IOUtil {
                 for (int i = 0; i < n; i++) {
                     dest.put(src.get());
                 }
-            } else {
+            } else if (src.hasArray() && dest.hasArray()) {
                 int srcPosition = src.position();
                 int destPosition = dest.position();
-                System.arraycopy(src.array(), srcPosition, dest.array(), destPosition, n);
+                System.arraycopy(src.array(), src.arrayOffset() + srcPosition,
+                        dest.array(), dest.arrayOffset() + destPosition, n);
                 src.position(srcPosition + n);
                 dest.position(destPosition + n);
+            } else {
+                copyBulk(src, dest, n);
             }
         }
         return n;
     }
 
+    private static void copyBulk(ByteBuffer src, ByteBuffer dest, int n) {
+        if (src.hasArray()) {
+            dest.put(src.array(), src.arrayOffset() + src.position(), n);
+            src.position(src.position() + n);
+        } else if (dest.hasArray()) {
+            src.get(dest.array(), dest.arrayOffset() + dest.position(), n);
+            dest.position(dest.position() + n);
+        } else {
+            int limit = src.limit();
+            src.limit(src.position() + n);
+            dest.put(src);
+            src.limit(limit);
+        }
+    }
+
+    /**
+     * Allocates a socket buffer, either on the heap or as a direct buffer.
+     */
+    public static ByteBuffer newByteBuffer(int capacity, boolean direct) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
     public static int copyToDirectBuffer(ByteBuffer src, ByteBuffer dest) {
         int n = Math.min(src.remaining(), dest.remaining());
         if (n > 0) {
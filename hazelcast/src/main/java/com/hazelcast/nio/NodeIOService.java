@@ -189,6 +189,16 @@ public class NodeIOService implements IOService {
         return this.node.getGroupProperties().SOCKET_LINGER_SECONDS.getInteger();
     }
 
+    @Override
+    public int getSocketWriteQueueCapacity() {
+        return this.node.getGroupProperties().SOCKET_WRITE_QUEUE_CAPACITY.getInteger();
+    }
+
+    @Override
+    public boolean isSocketBufferDirect() {
+        return this.node.getGroupProperties().SOCKET_BUFFER_DIRECT.getBoolean();
+    }
+
     @Override
     public boolean getSocketKeepAlive() {
         return this.node.getGroupProperties().SOCKET_KEEP_ALIVE.getBoolean();
@@ -21,19 +21,24 @@ import com.hazelcast.nio.tcp.SocketWriter;
 import com.hazelcast.nio.tcp.TcpIpConnection;
 
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Writes the responses of a text connection in the order the requests arrived. Responses are completed by
+ * arbitrary threads, the ones arriving before their predecessors wait here until it is their turn.
+ */
 public class SocketTextWriter implements SocketWriter<TextCommand> {
     private final TcpIpConnection connection;
-    private final Map<Long, TextCommand> responses = new ConcurrentHashMap<Long, TextCommand>(100);
+    // Guarded by this
+    private final Map<Long, TextCommand> responses = new HashMap<Long, TextCommand>(100);
     private long currentRequestId;
 
     public SocketTextWriter(TcpIpConnection connection) {
         this.connection = connection;
     }
 
-    public void enqueue(TextCommand response) {
+    public synchronized void enqueue(TextCommand response) {
         long requestId = response.getRequestId();
         if (requestId == -1) {
             connection.getWriteHandler().enqueueSocketWritable(response);
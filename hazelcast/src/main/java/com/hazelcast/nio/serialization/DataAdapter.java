@@ -260,6 +260,20 @@ public class DataAdapter implements SocketWritable, SocketReadable {
         return true;
     }
 
+    /**
+     * Returns the value bytes which are not written yet when {@link #writeTo(java.nio.ByteBuffer)}
+     * stopped in the middle of the value, otherwise <code>null</code>.
+     * <p/>
+     * The returned buffer is the one writeTo copies from, bytes drained from it directly
+     * (e.g. by a gathering socket write) are not written again.
+     */
+    public final ByteBuffer getPendingValueBuffer() {
+        if (isStatusSet(ST_SIZE) && !isStatusSet(ST_VALUE) && buffer != null && buffer.hasRemaining()) {
+            return buffer;
+        }
+        return null;
+    }
+
     protected final void setStatus(int bit) {
         status |= 1 << bit;
     }
@@ -181,8 +181,21 @@ public class SSLSocketChannelWrapper extends DefaultSocketChannelWrapper {
         return writeInternal(input);
     }
 
+    @Override
+    public long write(ByteBuffer[] inputs) throws IOException {
+        if (!handshakeCompleted) {
+            handshake();
+        }
+        sslEngineResult = sslEngine.wrap(inputs, netOutBuffer);
+        return flushNetOutBuffer();
+    }
+
     private int writeInternal(ByteBuffer input) throws IOException {
         sslEngineResult = sslEngine.wrap(input, netOutBuffer);
+        return flushNetOutBuffer();
+    }
+
+    private int flushNetOutBuffer() throws IOException {
         netOutBuffer.flip();
         int written = socketChannel.write(netOutBuffer);
         if (netOutBuffer.hasRemaining()) {
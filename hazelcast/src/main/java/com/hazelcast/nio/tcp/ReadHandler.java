@@ -17,6 +17,7 @@
 package com.hazelcast.nio.tcp;
 
 import com.hazelcast.nio.ConnectionType;
+import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.Protocols;
 import com.hazelcast.nio.ascii.SocketTextReader;
 import com.hazelcast.util.Clock;
@@ -44,7 +45,7 @@ final class ReadHandler extends AbstractSelectionHandler implements Runnable {
     public ReadHandler(TcpIpConnection connection, IOSelector ioSelector) {
         super(connection);
         this.ioSelector = ioSelector;
-        buffer = ByteBuffer.allocate(connectionManager.socketReceiveBufferSize);
+        buffer = IOUtil.newByteBuffer(connectionManager.socketReceiveBufferSize, connectionManager.socketBufferDirect);
     }
 
     @Override
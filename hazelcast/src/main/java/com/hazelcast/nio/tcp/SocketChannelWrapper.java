@@ -43,6 +43,11 @@ public interface SocketChannelWrapper extends Closeable {
 
     int write(ByteBuffer byteBuffer) throws IOException;
 
+    /**
+     * Gathering write, writes the buffers in order as a single sequence of bytes.
+     */
+    long write(ByteBuffer[] byteBuffers) throws IOException;
+
     SelectableChannel configureBlocking(boolean b) throws IOException;
 
     boolean isOpen();
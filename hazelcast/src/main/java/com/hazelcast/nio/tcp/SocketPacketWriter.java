@@ -30,12 +30,16 @@ class SocketPacketWriter implements SocketWriter<Packet> {
 
     private final PacketWriter packetWriter;
 
+    private final boolean gatheringWrite;
+
     SocketPacketWriter(TcpIpConnection connection) {
         this.connection = connection;
         final TcpIpConnectionManager connectionManager = connection.getConnectionManager();
         this.ioService = connectionManager.ioService;
         this.logger = ioService.getLogger(SocketPacketWriter.class.getName());
         packetWriter = connectionManager.createPacketWriter(connection);
+        // only plain packets can bypass the socket buffer, other writers transform the bytes (e.g. encryption)
+        gatheringWrite = packetWriter.getClass() == DefaultPacketWriter.class;
     }
 
     @Override
@@ -43,4 +47,14 @@ class SocketPacketWriter implements SocketWriter<Packet> {
         return packetWriter.writePacket(socketWritable, socketBuffer);
     }
 
+    /**
+     * Returns the value bytes of the packet which did not fit into the socket buffer, so they can be
+     * written to the socket together with the buffer instead of being copied into it chunk by chunk.
+     *
+     * @return remaining value bytes or <code>null</code> if the packet should be written through the socket buffer.
+     */
+    ByteBuffer getPendingValueBuffer(Packet packet) {
+        return gatheringWrite ? packet.getPendingValueBuffer() : null;
+    }
+
 }
@@ -97,7 +97,13 @@ public final class TcpIpConnection implements Connection {
             }
             return false;
         }
-        writeHandler.enqueueSocketWritable(packet);
+        if (!writeHandler.offer(packet)) {
+            if (logger.isFinestEnabled()) {
+                logger.finest("Write queue is full, won't write packet -> " + packet + ", connection: " + this
+                        + ", pendingWriteBytes=" + writeHandler.getPendingWriteBytes());
+            }
+            return false;
+        }
         return true;
     }
 
@@ -241,6 +247,8 @@ public final class TcpIpConnection implements Connection {
         final Socket socket = this.socketChannel.socket();
         final SocketAddress remoteSocketAddress = socket != null ? socket.getRemoteSocketAddress() : null;
         return "Connection [" + remoteSocketAddress + " -> " + endPoint
-                + "] live=" + live + ", client=" + isClient() + ", type=" + type;
+                + "] live=" + live + ", client=" + isClient() + ", type=" + type
+                + ", writeQueueSize=" + writeHandler.getWriteQueueSize()
+                + ", pendingWriteBytes=" + writeHandler.getPendingWriteBytes();
     }
 }
@@ -58,6 +58,10 @@ public class TcpIpConnectionManager implements ConnectionManager {
 
     final int socketSendBufferSize;
 
+    final int socketWriteQueueCapacity;
+
+    final boolean socketBufferDirect;
+
     private final ConstructorFunction<Address, TcpIpConnectionMonitor> monitorConstructor
             = new ConstructorFunction<Address, TcpIpConnectionMonitor>() {
         public TcpIpConnectionMonitor createNew(Address endpoint) {
@@ -126,6 +130,8 @@ public class TcpIpConnectionManager implements ConnectionManager {
         this.logger = ioService.getLogger(TcpIpConnectionManager.class.getName());
         this.socketReceiveBufferSize = ioService.getSocketReceiveBufferSize() * IOService.KILO_BYTE;
         this.socketSendBufferSize = ioService.getSocketSendBufferSize() * IOService.KILO_BYTE;
+        this.socketWriteQueueCapacity = ioService.getSocketWriteQueueCapacity();
+        this.socketBufferDirect = ioService.isSocketBufferDirect();
         this.socketLingerSeconds = ioService.getSocketLingerSeconds();
         this.socketKeepAlive = ioService.getSocketKeepAlive();
         this.socketNoDelay = ioService.getSocketNoDelay();
@@ -17,6 +17,8 @@
 package com.hazelcast.nio.tcp;
 
 import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.Protocols;
 import com.hazelcast.nio.SocketWritable;
 import com.hazelcast.nio.ascii.SocketTextWriter;
@@ -29,6 +31,8 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import static com.hazelcast.util.StringUtil.stringToBytes;
@@ -46,8 +50,16 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
     private final AtomicBoolean informSelector = new AtomicBoolean(true);
 
+    private final AtomicInteger writeQueueSize = new AtomicInteger();
+
+    private final AtomicLong pendingWriteBytes = new AtomicLong();
+
+    private final int writeQueueCapacity;
+
     private final ByteBuffer buffer;
 
+    private final ByteBuffer[] gatheringBuffers = new ByteBuffer[2];
+
     private final IOSelector ioSelector;
 
     private boolean ready;
@@ -61,7 +73,8 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
     WriteHandler(TcpIpConnection connection, IOSelector ioSelector) {
         super(connection);
         this.ioSelector = ioSelector;
-        buffer = ByteBuffer.allocate(connectionManager.socketSendBufferSize);
+        this.writeQueueCapacity = connectionManager.socketWriteQueueCapacity;
+        buffer = IOUtil.newByteBuffer(connectionManager.socketSendBufferSize, connectionManager.socketBufferDirect);
     }
 
     // accessed from ReadHandler and SocketConnector
@@ -99,7 +112,25 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         return socketWriter;
     }
 
+    /**
+     * Enqueues the socketWritable unless the write queue is full. Urgent writables are always accepted.
+     * <p/>
+     * Rejecting instead of blocking keeps the calling thread responsive when the other side is slow,
+     * the caller is expected to retry (invocations do so on a failed send) or drop the writable.
+     *
+     * @return <code>true</code> if enqueued, <code>false</code> if the write queue is full.
+     */
+    public boolean offer(SocketWritable socketWritable) {
+        if (writeQueueCapacity > 0 && !socketWritable.isUrgent() && writeQueueSize.get() >= writeQueueCapacity) {
+            return false;
+        }
+        enqueueSocketWritable(socketWritable);
+        return true;
+    }
+
     public void enqueueSocketWritable(SocketWritable socketWritable) {
+        writeQueueSize.incrementAndGet();
+        pendingWriteBytes.addAndGet(sizeOf(socketWritable));
         if (socketWritable.isUrgent()) {
             urgencyWriteQueue.offer(socketWritable);
         } else {
@@ -120,10 +151,17 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         if (writable == null) {
             writable = writeQueue.poll();
         }
-
+        if (writable != null) {
+            writeQueueSize.decrementAndGet();
+            pendingWriteBytes.addAndGet(-sizeOf(writable));
+        }
         return writable;
     }
 
+    private static int sizeOf(SocketWritable socketWritable) {
+        return socketWritable instanceof Packet ? ((Packet) socketWritable).size() : 0;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void handle() {
@@ -155,18 +193,27 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
     }
 
     private void writeBuffer() throws Exception {
-        while (buffer.hasRemaining() && lastWritable != null) {
+        ByteBuffer pendingValue = getPendingValueBuffer();
+        while (pendingValue == null && buffer.hasRemaining() && lastWritable != null) {
             boolean complete = socketWriter.write(lastWritable, buffer);
             if (complete) {
                 lastWritable = poll();
             } else {
+                pendingValue = getPendingValueBuffer();
                 break;
             }
         }
-        if (buffer.position() > 0) {
+        if (buffer.position() > 0 || pendingValue != null) {
             buffer.flip();
             try {
-                socketChannel.write(buffer);
+                if (pendingValue == null) {
+                    socketChannel.write(buffer);
+                } else {
+                    // value of a large packet is written right behind the buffered bytes without copying it
+                    gatheringBuffers[0] = buffer;
+                    gatheringBuffers[1] = pendingValue;
+                    socketChannel.write(gatheringBuffers);
+                }
             } catch (Exception e) {
                 lastWritable = null;
                 handleSocketException(e);
@@ -180,6 +227,13 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         }
     }
 
+    private ByteBuffer getPendingValueBuffer() {
+        if (lastWritable instanceof Packet && socketWriter instanceof SocketPacketWriter) {
+            return ((SocketPacketWriter) socketWriter).getPendingValueBuffer((Packet) lastWritable);
+        }
+        return null;
+    }
+
     @Override
     public void run() {
         informSelector.set(true);
@@ -204,4 +258,18 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
     long getLastHandle() {
         return lastHandle;
     }
+
+    /**
+     * @return number of writables waiting in the write queues.
+     */
+    public int getWriteQueueSize() {
+        return writeQueueSize.get();
+    }
+
+    /**
+     * @return number of bytes of the packets waiting in the write queues.
+     */
+    public long getPendingWriteBytes() {
+        return pendingWriteBytes.get();
+    }
 }
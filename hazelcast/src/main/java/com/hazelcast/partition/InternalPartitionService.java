@@ -123,6 +123,16 @@ public interface InternalPartitionService extends CoreService {
 
     long getMigrationQueueSize();
 
+    /**
+     * Returns the number of migration and replica sync chunks sent by this member and not acknowledged yet.
+     */
+    long getReplicationChunksInFlight();
+
+    /**
+     * Returns the number of bytes of migration and replica sync chunks sent by this member and not acknowledged yet.
+     */
+    long getReplicationBytesInFlight();
+
     void pauseMigration();
 
     void resumeMigration();
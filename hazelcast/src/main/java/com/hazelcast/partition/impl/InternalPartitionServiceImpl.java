@@ -51,6 +51,7 @@ import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.ResponseHandlerFactory;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.executor.ExecutorType;
 import com.hazelcast.util.scheduler.EntryTaskScheduler;
 import com.hazelcast.util.scheduler.EntryTaskSchedulerFactory;
 import com.hazelcast.util.scheduler.ScheduleType;
@@ -73,6 +74,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -101,6 +103,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     private static final int DEFAULT_SLEEP_MILLIS = 10;
     private static final float DEFAULT_MIGRATION_TIMEOUT_MULTIPLICATOR = 1.5f;
     private static final long MAX_ACTIVATION_DELAY = 1000L;
+    private static final String MIGRATION_EXECUTOR = "hz:migration";
 
     private final Node node;
     private final NodeEngineImpl nodeEngine;
@@ -109,9 +112,15 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     private final InternalPartitionImpl[] partitions;
     private final PartitionReplicaVersions[] replicaVersions;
     private final AtomicReferenceArray<ReplicaSyncInfo> replicaSyncRequests;
+    // readers of the partitions receiving migration or replica sync chunks, only accessed by partition threads
+    private final AtomicReferenceArray<ReplicationChunkReader> migrationChunkReaders;
+    private final AtomicReferenceArray<ReplicationChunkReader> replicaSyncChunkReaders;
+    private final AtomicLong replicationChunksInFlight = new AtomicLong();
+    private final AtomicLong replicationBytesInFlight = new AtomicLong();
     private final EntryTaskScheduler<Integer, ReplicaSyncInfo> replicaSyncScheduler;
     private final AtomicInteger replicaSyncProcessCount = new AtomicInteger();
     private final MigrationThread migrationThread;
+    private final MigrationThrottle migrationThrottle;
     private final long partitionMigrationInterval;
     private final long partitionMigrationTimeout;
     private final PartitionStateGenerator partitionStateGenerator;
@@ -161,10 +170,14 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         long defaultMigrationTimeout = node.groupProperties.PARTITION_MIGRATION_TIMEOUT.getLong();
         partitionMigrationTimeout = (long) (defaultMigrationTimeout * DEFAULT_MIGRATION_TIMEOUT_MULTIPLICATOR);
 
+        migrationThrottle = new MigrationThrottle(node.groupProperties.PARTITION_MIGRATION_CONCURRENCY.getInteger(),
+                node.groupProperties.PARTITION_MIGRATION_MEMBER_CONCURRENCY.getInteger());
         migrationThread = new MigrationThread(node);
         proxy = new PartitionServiceProxy(this);
 
         replicaSyncRequests = new AtomicReferenceArray<ReplicaSyncInfo>(new ReplicaSyncInfo[partitionCount]);
+        migrationChunkReaders = new AtomicReferenceArray<ReplicationChunkReader>(partitionCount);
+        replicaSyncChunkReaders = new AtomicReferenceArray<ReplicationChunkReader>(partitionCount);
         ScheduledExecutorService scheduledExecutor = nodeEngine.getExecutionService().getDefaultScheduledExecutor();
         replicaSyncScheduler = EntryTaskSchedulerFactory.newScheduler(scheduledExecutor,
                 new ReplicaSyncEntryProcessor(this), ScheduleType.SCHEDULE_IF_NEW);
@@ -172,6 +185,10 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
 
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
+        if (migrationThrottle.isParallel()) {
+            nodeEngine.getExecutionService().register(MIGRATION_EXECUTOR, migrationThrottle.getMaxMigrations(),
+                    Integer.MAX_VALUE, ExecutorType.CACHED);
+        }
         migrationThread.start();
 
         int partitionTableSendInterval = node.groupProperties.PARTITION_TABLE_SEND_INTERVAL.getInteger();
@@ -971,6 +988,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         return !activeMigrations.isEmpty() || !migrationQueue.isEmpty()
                 || !migrationActive.get()
                 || migrationThread.isMigrating()
+                || migrationThrottle.getMigrationCount() > 0
                 || shouldWaitMigrationOrBackups(Level.OFF);
     }
 
@@ -1226,6 +1244,61 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         replicaSyncScheduler.cancel(partitionId);
     }
 
+    // called in operation threads
+    ReplicationChunkReader getMigrationChunkReader(int partitionId, ReplicationChunk chunk) {
+        return getChunkReader(migrationChunkReaders, partitionId, chunk);
+    }
+
+    // called in operation threads
+    void removeMigrationChunkReader(int partitionId) {
+        migrationChunkReaders.set(partitionId, null);
+    }
+
+    // called in operation threads
+    ReplicationChunkReader getReplicaSyncChunkReader(int partitionId, ReplicationChunk chunk) {
+        return getChunkReader(replicaSyncChunkReaders, partitionId, chunk);
+    }
+
+    // called in operation threads
+    void removeReplicaSyncChunkReader(int partitionId) {
+        replicaSyncChunkReaders.set(partitionId, null);
+    }
+
+    private ReplicationChunkReader getChunkReader(AtomicReferenceArray<ReplicationChunkReader> readers, int partitionId,
+                                                  ReplicationChunk chunk) {
+        if (chunk.getIndex() == 0) {
+            ReplicationChunkReader reader = new ReplicationChunkReader(nodeEngine.getSerializationService());
+            readers.set(partitionId, reader);
+            return reader;
+        }
+        ReplicationChunkReader reader = readers.get(partitionId);
+        if (reader == null) {
+            throw new IllegalStateException("No replication in progress for partition: " + partitionId
+                    + ", received " + chunk);
+        }
+        return reader;
+    }
+
+    void onReplicationChunkSent(int size) {
+        replicationChunksInFlight.incrementAndGet();
+        replicationBytesInFlight.addAndGet(size);
+    }
+
+    void onReplicationChunkAcknowledged(int size) {
+        replicationChunksInFlight.decrementAndGet();
+        replicationBytesInFlight.addAndGet(-size);
+    }
+
+    @Override
+    public long getReplicationChunksInFlight() {
+        return replicationChunksInFlight.get();
+    }
+
+    @Override
+    public long getReplicationBytesInFlight() {
+        return replicationBytesInFlight.get();
+    }
+
     boolean incrementReplicaSyncProcessCount() {
         int c = replicaSyncProcessCount.get();
         if (c >= MAX_PARALLEL_REPLICATIONS) {
@@ -1283,6 +1356,8 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         migrationQueue.clear();
         for (int k = 0; k < replicaSyncRequests.length(); k++) {
             replicaSyncRequests.set(k, null);
+            migrationChunkReaders.set(k, null);
+            replicaSyncChunkReaders.set(k, null);
         }
         replicaSyncScheduler.cancelAll();
         lock.lock();
@@ -1700,12 +1775,18 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
                     break;
                 }
 
-                processTask(r);
+                if (r instanceof MigrateTask && migrationThrottle.isParallel()) {
+                    dispatch((MigrateTask) r);
+                } else {
+                    // other tasks, repartitioning in particular, expect the partition table to be settled
+                    migrationThrottle.awaitIdle();
+                    processTask(r);
+                }
                 if (partitionMigrationInterval > 0) {
                     Thread.sleep(partitionMigrationInterval);
                 }
             }
-            boolean hasNoTasks = migrationQueue.isEmpty();
+            boolean hasNoTasks = migrationQueue.isEmpty() && migrationThrottle.getMigrationCount() == 0;
             if (hasNoTasks) {
                 if (migrating) {
                     migrating = false;
@@ -1731,6 +1812,60 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
             return true;
         }
 
+        /**
+         * Hands the migration to the migration executor as soon as the throttle allows it. While waiting for
+         * a slot, queued migrations between other members are dispatched ahead of it.
+         */
+        private void dispatch(MigrateTask task) throws InterruptedException {
+            migrating = true;
+            MigrationInfo migrationInfo = task.migrationInfo;
+            while (!migrationActive.get() || !migrationThrottle.tryAcquire(migrationInfo)) {
+                if (!migrationActive.get()) {
+                    Thread.sleep(sleepTime);
+                    continue;
+                }
+                dispatchQueuedMigrations();
+                if (migrationThrottle.acquire(migrationInfo, sleepTime)) {
+                    break;
+                }
+            }
+            executeMigration(task);
+        }
+
+        private void dispatchQueuedMigrations() {
+            for (Runnable r : migrationQueue) {
+                if (!(r instanceof MigrateTask) || !migrationActive.get()) {
+                    return;
+                }
+                MigrateTask task = (MigrateTask) r;
+                if (migrationThrottle.tryAcquire(task.migrationInfo)) {
+                    if (migrationQueue.remove(task)) {
+                        executeMigration(task);
+                    } else {
+                        migrationThrottle.release(task.migrationInfo);
+                    }
+                }
+            }
+        }
+
+        private void executeMigration(final MigrateTask task) {
+            try {
+                nodeEngine.getExecutionService().execute(MIGRATION_EXECUTOR, new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            task.run();
+                        } finally {
+                            migrationThrottle.release(task.migrationInfo);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                migrationThrottle.release(task.migrationInfo);
+                logger.warning("Could not execute " + task, e);
+            }
+        }
+
         void stopNow() {
             migrationQueue.clear();
             interrupt();
@@ -19,10 +19,8 @@ package com.hazelcast.partition.impl;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
-import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
-import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.partition.MigrationEndpoint;
 import com.hazelcast.partition.MigrationInfo;
 import com.hazelcast.spi.MigrationAwareService;
@@ -33,13 +31,14 @@ import com.hazelcast.spi.ResponseHandler;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
 import java.util.logging.Level;
 
-import static com.hazelcast.nio.IOUtil.closeResource;
-import static com.hazelcast.nio.IOUtil.decompress;
-
+/**
+ * Applies a {@link ReplicationChunk} of a migrating partition on the destination. The source sends the chunks
+ * of a partition in order, one at a time, and stops at the first chunk which is not applied successfully.
+ * Replica versions are set when the last chunk is applied.
+ */
 @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI_EXPOSE_REP")
 public final class MigrationOperation extends BaseMigrationOperation {
 
@@ -56,19 +55,15 @@ public final class MigrationOperation extends BaseMigrationOperation {
     };
 
     private long[] replicaVersions;
-    private Collection<Operation> tasks;
-    private byte[] taskData;
-    private boolean compressed;
+    private ReplicationChunk chunk;
 
     public MigrationOperation() {
     }
 
-    public MigrationOperation(MigrationInfo migrationInfo, long[] replicaVersions,
-            byte[] taskData, boolean compressed) {
+    MigrationOperation(MigrationInfo migrationInfo, long[] replicaVersions, ReplicationChunk chunk) {
         super(migrationInfo);
         this.replicaVersions = replicaVersions;
-        this.taskData = taskData;
-        this.compressed = compressed;
+        this.chunk = chunk;
     }
 
     @Override
@@ -115,8 +110,11 @@ public final class MigrationOperation extends BaseMigrationOperation {
     }
 
     private void afterMigrate() {
-        if (success) {
-            InternalPartitionServiceImpl partitionService = getService();
+        InternalPartitionServiceImpl partitionService = getService();
+        if (!success || chunk.isLast()) {
+            partitionService.removeMigrationChunkReader(migrationInfo.getPartitionId());
+        }
+        if (success && chunk.isLast()) {
             partitionService.setPartitionReplicaVersions(migrationInfo.getPartitionId(), replicaVersions);
         }
 
@@ -135,8 +133,12 @@ public final class MigrationOperation extends BaseMigrationOperation {
     }
 
     private void migrate() throws Exception {
-        buildMigrationTasks();
-        addActiveMigration();
+        InternalPartitionServiceImpl partitionService = getService();
+        ReplicationChunkReader reader = partitionService.getMigrationChunkReader(migrationInfo.getPartitionId(), chunk);
+        List<Operation> tasks = reader.read(chunk);
+        if (chunk.getIndex() == 0) {
+            addActiveMigration();
+        }
 
         for (Operation op : tasks) {
             try {
@@ -154,29 +156,6 @@ public final class MigrationOperation extends BaseMigrationOperation {
         partitionService.addActiveMigration(migrationInfo);
     }
 
-    private void buildMigrationTasks() throws IOException {
-        SerializationService serializationService = getNodeEngine().getSerializationService();
-        BufferObjectDataInput in = serializationService.createObjectDataInput(toData());
-        try {
-            int size = in.readInt();
-            tasks = new ArrayList<Operation>(size);
-            for (int i = 0; i < size; i++) {
-                Operation task = (Operation) serializationService.readObject(in);
-                tasks.add(task);
-            }
-        } finally {
-            closeResource(in);
-        }
-    }
-
-    private byte[] toData() throws IOException {
-        if (compressed) {
-            return decompress(taskData);
-        } else {
-            return taskData;
-        }
-    }
-
     private void runMigrationTask(Operation op) throws Exception {
         op.setNodeEngine(getNodeEngine())
                 .setPartitionId(getPartitionId())
@@ -195,19 +174,15 @@ public final class MigrationOperation extends BaseMigrationOperation {
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
-        out.writeBoolean(compressed);
-        out.writeInt(taskData.length);
-        out.write(taskData);
+        chunk.writeData(out);
         out.writeLongArray(replicaVersions);
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
-        compressed = in.readBoolean();
-        int size = in.readInt();
-        taskData = new byte[size];
-        in.readFully(taskData);
+        chunk = new ReplicationChunk();
+        chunk.readData(in);
         replicaVersions = in.readLongArray();
     }
 
@@ -217,7 +192,7 @@ public final class MigrationOperation extends BaseMigrationOperation {
         sb.append(getClass().getName());
         sb.append("{partitionId=").append(getPartitionId());
         sb.append(", migration=").append(migrationInfo);
-        sb.append(", compressed=").append(compressed);
+        sb.append(", chunk=").append(chunk);
         sb.append('}');
         return sb.toString();
     }
@@ -21,8 +21,6 @@ import com.hazelcast.core.Member;
 import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.nio.Address;
-import com.hazelcast.nio.BufferObjectDataOutput;
-import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.partition.InternalPartition;
 import com.hazelcast.partition.InternalPartitionService;
@@ -32,7 +30,6 @@ import com.hazelcast.spi.ExceptionAction;
 import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.NodeEngine;
-import com.hazelcast.spi.NonThreadSafe;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PartitionReplicationEvent;
@@ -45,19 +42,14 @@ import com.hazelcast.util.executor.ManagedExecutorService;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
-import static com.hazelcast.nio.IOUtil.closeResource;
-
 public final class MigrationRequestOperation extends BaseMigrationOperation {
 
     private static final int TRY_PAUSE_MILLIS = 1000;
-    private static final int DEFAULT_DATA_OUTPUT_BUFFER_SIZE = 1024 * 32;
 
     private boolean returnResponse = true;
 
@@ -137,29 +129,16 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
     private void spawnMigrationRequestTask(Address destination, long[] replicaVersions, Collection<Operation> tasks)
             throws IOException {
         NodeEngine nodeEngine = getNodeEngine();
-
         SerializationService serializationService = nodeEngine.getSerializationService();
-        BufferObjectDataOutput out = createDataOutput(serializationService);
-
-        out.writeInt(tasks.size());
-        Iterator<Operation> iter = tasks.iterator();
-        while (iter.hasNext()) {
-            Operation task = iter.next();
-            if (task instanceof NonThreadSafe) {
-                serializationService.writeObject(out, task);
-                iter.remove();
-            }
-        }
+
+        Collection<byte[]> serializedTasks
+                = ReplicationChunkSender.serializeNonThreadSafeOperations(serializationService, tasks);
 
         ManagedExecutorService executor = nodeEngine.getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR);
-        MigrationRequestTask task = new MigrationRequestTask(tasks, out, replicaVersions, destination);
+        MigrationRequestTask task = new MigrationRequestTask(serializedTasks, tasks, replicaVersions, destination);
         executor.execute(task);
     }
 
-    private BufferObjectDataOutput createDataOutput(SerializationService serializationService) {
-        return serializationService.createObjectDataOutput(DEFAULT_DATA_OUTPUT_BUFFER_SIZE);
-    }
-
     private void verifyGoodMaster(NodeEngine nodeEngine) {
         Address masterAddress = nodeEngine.getMasterAddress();
         if (!masterAddress.equals(migrationInfo.getMaster())) {
@@ -227,43 +206,27 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         return tasks;
     }
 
-    private class MigrationRequestTask implements Runnable {
-        private final SerializationService serializationService;
+    private class MigrationRequestTask extends ReplicationChunkSender implements Runnable {
+        private final Collection<byte[]> serializedTasks;
         private final Collection<Operation> tasks;
-        private final BufferObjectDataOutput out;
         private final long[] replicaVersions;
         private final Address destination;
-        private final long timeout;
         private final ResponseHandler responseHandler;
-        private final boolean compress;
 
-        public MigrationRequestTask(Collection<Operation> tasks, BufferObjectDataOutput out,
+        public MigrationRequestTask(Collection<byte[]> serializedTasks, Collection<Operation> tasks,
                 long[] replicaVersions, Address destination) {
+            super(getNodeEngine());
+            this.serializedTasks = serializedTasks;
             this.tasks = tasks;
-            this.out = out;
             this.replicaVersions = replicaVersions;
             this.destination = destination;
             this.responseHandler = getResponseHandler();
-            NodeEngine nodeEngine = getNodeEngine();
-            this.serializationService = nodeEngine.getSerializationService();
-            this.compress = nodeEngine.getGroupProperties().PARTITION_MIGRATION_ZIP_ENABLED.getBoolean();
-            this.timeout = nodeEngine.getGroupProperties().PARTITION_MIGRATION_TIMEOUT.getLong();
         }
 
         @Override
         public void run() {
-            NodeEngine nodeEngine = getNodeEngine();
             try {
-                byte[] data = getTaskData();
-                MigrationOperation operation = new MigrationOperation(
-                        migrationInfo, replicaVersions, data, compress);
-                Future future = nodeEngine.getOperationService()
-                        .createInvocationBuilder(InternalPartitionService.SERVICE_NAME, operation, destination)
-                        .setTryPauseMillis(TRY_PAUSE_MILLIS)
-                        .setReplicaIndex(getReplicaIndex())
-                        .invoke();
-                Object response = future.get(timeout, TimeUnit.SECONDS);
-                Boolean result = nodeEngine.toObject(response);
+                boolean result = send(serializedTasks, tasks);
                 migrationInfo.doneProcessing();
                 responseHandler.sendResponse(result);
             } catch (Throwable e) {
@@ -272,6 +235,16 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
             }
         }
 
+        @Override
+        protected Future invoke(ReplicationChunk chunk) {
+            MigrationOperation operation = new MigrationOperation(migrationInfo, replicaVersions, chunk);
+            return nodeEngine.getOperationService()
+                    .createInvocationBuilder(InternalPartitionService.SERVICE_NAME, operation, destination)
+                    .setTryPauseMillis(TRY_PAUSE_MILLIS)
+                    .setReplicaIndex(getReplicaIndex())
+                    .invoke();
+        }
+
         private void logThrowable(Throwable t) {
             Throwable throwableToLog = t;
             if (throwableToLog instanceof ExecutionException) {
@@ -285,21 +258,5 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
             return (e instanceof MemberLeftException || e instanceof InterruptedException)
                     || !getNodeEngine().isActive() ? Level.INFO : Level.WARNING;
         }
-
-        private byte[] getTaskData() throws IOException {
-            try {
-                for (Operation task : tasks) {
-                    serializationService.writeObject(out, task);
-                }
-
-                if (compress) {
-                    return IOUtil.compress(out.toByteArray());
-                } else {
-                    return out.toByteArray();
-                }
-            } finally {
-                closeResource(out);
-            }
-        }
     }
 }
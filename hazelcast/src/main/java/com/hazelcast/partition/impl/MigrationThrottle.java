@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.partition.MigrationInfo;
+import com.hazelcast.util.Clock;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounds the number of migrations the master runs at the same time, both in total and per member.
+ * A member takes part in a migration either as its source or as its destination; both count against
+ * the member limit, so a member is never source and destination of too many migrations at once.
+ */
+final class MigrationThrottle {
+
+    private final int maxMigrations;
+    private final int maxMigrationsPerMember;
+    // both guarded by this
+    private final Map<Address, Integer> memberMigrations = new HashMap<Address, Integer>();
+    private int migrations;
+
+    MigrationThrottle(int maxMigrations, int maxMigrationsPerMember) {
+        this.maxMigrations = Math.max(1, maxMigrations);
+        this.maxMigrationsPerMember = maxMigrationsPerMember > 0 ? maxMigrationsPerMember : this.maxMigrations;
+    }
+
+    int getMaxMigrations() {
+        return maxMigrations;
+    }
+
+    boolean isParallel() {
+        return maxMigrations > 1;
+    }
+
+    /**
+     * Reserves a slot for the migration if neither the total limit nor the limits of its members are reached.
+     *
+     * @return <code>true</code> if the slot is reserved, the caller must {@link #release(MigrationInfo)} it.
+     */
+    synchronized boolean tryAcquire(MigrationInfo migrationInfo) {
+        Address source = migrationInfo.getSource();
+        Address destination = migrationInfo.getDestination();
+        if (migrations >= maxMigrations || !hasCapacity(source) || !hasCapacity(destination)) {
+            return false;
+        }
+        migrations++;
+        increment(source);
+        increment(destination);
+        return true;
+    }
+
+    /**
+     * Waits at most <code>timeoutMillis</code> for a slot for the migration.
+     *
+     * @return <code>true</code> if the slot is reserved, the caller must {@link #release(MigrationInfo)} it.
+     */
+    synchronized boolean acquire(MigrationInfo migrationInfo, long timeoutMillis) throws InterruptedException {
+        long deadline = Clock.currentTimeMillis() + timeoutMillis;
+        while (!tryAcquire(migrationInfo)) {
+            long remaining = deadline - Clock.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    synchronized void release(MigrationInfo migrationInfo) {
+        migrations--;
+        decrement(migrationInfo.getSource());
+        decrement(migrationInfo.getDestination());
+        notifyAll();
+    }
+
+    /**
+     * Waits until all reserved slots are released.
+     */
+    synchronized void awaitIdle() throws InterruptedException {
+        while (migrations > 0) {
+            wait();
+        }
+    }
+
+    synchronized int getMigrationCount() {
+        return migrations;
+    }
+
+    synchronized int getMigrationCount(Address address) {
+        Integer count = memberMigrations.get(address);
+        return count == null ? 0 : count;
+    }
+
+    private boolean hasCapacity(Address address) {
+        return address == null || getMigrationCount(address) < maxMigrationsPerMember;
+    }
+
+    private void increment(Address address) {
+        if (address != null) {
+            memberMigrations.put(address, getMigrationCount(address) + 1);
+        }
+    }
+
+    private void decrement(Address address) {
+        if (address == null) {
+            return;
+        }
+        int count = getMigrationCount(address) - 1;
+        if (count > 0) {
+            memberMigrations.put(address, count);
+        } else {
+            memberMigrations.remove(address);
+        }
+    }
+}
@@ -18,8 +18,6 @@ package com.hazelcast.partition.impl;
 
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
-import com.hazelcast.nio.BufferObjectDataOutput;
-import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.SerializationService;
@@ -27,6 +25,7 @@ import com.hazelcast.partition.InternalPartition;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.partition.MigrationCycleOperation;
 import com.hazelcast.partition.ReplicaErrorLogger;
+import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
@@ -40,13 +39,10 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-
-import static com.hazelcast.nio.IOUtil.closeResource;
+import java.util.concurrent.Future;
 
 public final class ReplicaSyncRequest extends Operation implements PartitionAwareOperation, MigrationCycleOperation {
 
-    private static final int DEFAULT_DATA_OUTPUT_BUFFER_SIZE = 1024 * 32;
-
     public ReplicaSyncRequest() {
     }
 
@@ -70,17 +66,20 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
             return;
         }
 
+        boolean spawned = false;
         try {
             List<Operation> tasks = createReplicationOperations();
             if (tasks.isEmpty()) {
                 logNoReplicaDataFound(partitionId, replicaIndex);
                 sendEmptyResponse();
             } else {
-                byte[] data = createReplicationData(tasks);
-                sendResponse(data);
+                spawnReplicaSyncTask(tasks);
+                spawned = true;
             }
         } finally {
-            partitionService.decrementReplicaSyncProcessCount();
+            if (!spawned) {
+                partitionService.decrementReplicaSyncProcessCount();
+            }
         }
     }
 
@@ -128,21 +127,14 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
         operationService.send(response, target);
     }
 
-    private byte[] createReplicationData(List<Operation> tasks) throws IOException {
-        byte[] data;
+    private void spawnReplicaSyncTask(List<Operation> tasks) throws IOException {
         NodeEngine nodeEngine = getNodeEngine();
         SerializationService serializationService = nodeEngine.getSerializationService();
-        BufferObjectDataOutput out = serializationService.createObjectDataOutput(DEFAULT_DATA_OUTPUT_BUFFER_SIZE);
-        try {
-            out.writeInt(tasks.size());
-            for (Operation task : tasks) {
-                serializationService.writeObject(out, task);
-            }
-            data = out.toByteArray();
-        } finally {
-            closeResource(out);
-        }
-        return data;
+        Collection<byte[]> serializedTasks
+                = ReplicationChunkSender.serializeNonThreadSafeOperations(serializationService, tasks);
+        long[] replicaVersions = nodeEngine.getPartitionService().getPartitionReplicaVersions(getPartitionId());
+        ReplicaSyncTask task = new ReplicaSyncTask(serializedTasks, tasks, replicaVersions, getCallerAddress());
+        nodeEngine.getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR).execute(task);
     }
 
     private List<Operation> createReplicationOperations() {
@@ -162,39 +154,21 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
     }
 
     private void sendEmptyResponse() throws IOException {
-        sendResponse(null);
-    }
-
-    private void sendResponse(byte[] data) throws IOException {
         NodeEngine nodeEngine = getNodeEngine();
-
-        ReplicaSyncResponse syncResponse = createResponse(data);
+        int partitionId = getPartitionId();
+        long[] replicaVersions = nodeEngine.getPartitionService().getPartitionReplicaVersions(partitionId);
+        ReplicaSyncResponse syncResponse = new ReplicaSyncResponse(null, replicaVersions);
+        syncResponse.setPartitionId(partitionId).setReplicaIndex(getReplicaIndex());
         Address target = getCallerAddress();
         ILogger logger = getLogger();
         if (logger.isFinestEnabled()) {
-            logger.finest("Sending sync response to -> " + target + " for partition: "
-                    + getPartitionId() + ", replica: " + getReplicaIndex());
+            logger.finest("Sending empty sync response to -> " + target + " for partition: "
+                    + partitionId + ", replica: " + getReplicaIndex());
         }
         OperationService operationService = nodeEngine.getOperationService();
         operationService.send(syncResponse, target);
     }
 
-    private ReplicaSyncResponse createResponse(byte[] data) throws IOException {
-        int partitionId = getPartitionId();
-        NodeEngine nodeEngine = getNodeEngine();
-        InternalPartitionService partitionService = nodeEngine.getPartitionService();
-        long[] replicaVersions = partitionService.getPartitionReplicaVersions(partitionId);
-
-        boolean compress = nodeEngine.getGroupProperties().PARTITION_MIGRATION_ZIP_ENABLED.getBoolean();
-        if (data != null && data.length > 0 && compress) {
-            data = IOUtil.compress(data);
-        }
-
-        ReplicaSyncResponse syncResponse = new ReplicaSyncResponse(data, replicaVersions, compress);
-        syncResponse.setPartitionId(partitionId).setReplicaIndex(getReplicaIndex());
-        return syncResponse;
-    }
-
     private void logNoReplicaDataFound(int partitionId, int replicaIndex) {
         NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
         ILogger logger = nodeEngine.getLogger(getClass());
@@ -236,6 +210,50 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
     protected void readInternal(ObjectDataInput in) throws IOException {
     }
 
+    private class ReplicaSyncTask extends ReplicationChunkSender implements Runnable {
+        private final Collection<byte[]> serializedTasks;
+        private final Collection<Operation> tasks;
+        private final long[] replicaVersions;
+        private final Address target;
+
+        ReplicaSyncTask(Collection<byte[]> serializedTasks, Collection<Operation> tasks, long[] replicaVersions,
+                        Address target) {
+            super(getNodeEngine());
+            this.serializedTasks = serializedTasks;
+            this.tasks = tasks;
+            this.replicaVersions = replicaVersions;
+            this.target = target;
+        }
+
+        @Override
+        public void run() {
+            InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) nodeEngine.getPartitionService();
+            try {
+                ILogger logger = getLogger();
+                if (logger.isFinestEnabled()) {
+                    logger.finest("Sending sync response to -> " + target + " for partition: "
+                            + getPartitionId() + ", replica: " + getReplicaIndex());
+                }
+                if (!send(serializedTasks, tasks)) {
+                    logger.warning("Replica sync is not applied by " + target + " -> " + ReplicaSyncRequest.this);
+                }
+            } catch (Throwable e) {
+                logError(e);
+            } finally {
+                partitionService.decrementReplicaSyncProcessCount();
+            }
+        }
+
+        @Override
+        protected Future invoke(ReplicationChunk chunk) {
+            ReplicaSyncResponse syncResponse = new ReplicaSyncResponse(chunk, replicaVersions);
+            return nodeEngine.getOperationService()
+                    .createInvocationBuilder(InternalPartitionService.SERVICE_NAME, syncResponse, getPartitionId())
+                    .setReplicaIndex(getReplicaIndex())
+                    .invoke();
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -17,11 +17,8 @@
 package com.hazelcast.partition.impl;
 
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.nio.BufferObjectDataInput;
-import com.hazelcast.nio.IOUtil;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
-import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.partition.ReplicaErrorLogger;
 import com.hazelcast.spi.BackupOperation;
 import com.hazelcast.spi.Operation;
@@ -32,25 +29,30 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Level;
 
-import static com.hazelcast.nio.IOUtil.closeResource;
-
+/**
+ * Applies a {@link ReplicationChunk} of a partition replica on the backup. The owner sends the chunks in order,
+ * one at a time, and the replica is synced when the last chunk is applied. A missing chunk aborts the sync,
+ * which is then retried by the backup.
+ * <p/>
+ * When the owner has no data to sync, the response carries no chunk and is sent without waiting for a response.
+ */
 @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI_EXPOSE_REP")
 public class ReplicaSyncResponse extends Operation
         implements PartitionAwareOperation, BackupOperation, UrgentSystemOperation {
 
-    private byte[] data;
+    private ReplicationChunk chunk;
     private long[] replicaVersions;
-    private boolean compressed;
+    private boolean applied;
 
     public ReplicaSyncResponse() {
     }
 
-    public ReplicaSyncResponse(byte[] data, long[] replicaVersions, boolean compressed) {
-        this.data = data;
+    ReplicaSyncResponse(ReplicationChunk chunk, long[] replicaVersions) {
+        this.chunk = chunk;
         this.replicaVersions = replicaVersions;
-        this.compressed = compressed;
     }
 
     @Override
@@ -61,37 +63,47 @@ public class ReplicaSyncResponse extends Operation
     public void run() throws Exception {
         NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
         InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) nodeEngine.getPartitionService();
-        SerializationService serializationService = nodeEngine.getSerializationService();
         int partitionId = getPartitionId();
-        int replicaIndex = getReplicaIndex();
-        BufferObjectDataInput in = null;
+        if (chunk == null) {
+            partitionService.finalizeReplicaSync(partitionId, replicaVersions);
+            applied = true;
+            return;
+        }
+
+        List<Operation> ops;
         try {
-            if (data != null && data.length > 0) {
-                logApplyReplicaSync(partitionId, replicaIndex);
-                byte[] taskData = compressed ? IOUtil.decompress(data) : data;
-                in = serializationService.createObjectDataInput(taskData);
-                int size = in.readInt();
-                for (int i = 0; i < size; i++) {
-                    Operation op = (Operation) serializationService.readObject(in);
-                    try {
-                        ErrorLoggingResponseHandler responseHandler
-                                = new ErrorLoggingResponseHandler(nodeEngine.getLogger(op.getClass()));
-                        op.setNodeEngine(nodeEngine)
-                                .setPartitionId(partitionId)
-                                .setReplicaIndex(replicaIndex)
-                                .setResponseHandler(responseHandler);
-                        op.beforeRun();
-                        op.run();
-                        op.afterRun();
-                    } catch (Throwable e) {
-                        logException(op, e);
-                    }
-                }
-            }
-        } finally {
-            closeResource(in);
+            ops = partitionService.getReplicaSyncChunkReader(partitionId, chunk).read(chunk);
+        } catch (Exception e) {
+            partitionService.removeReplicaSyncChunkReader(partitionId);
+            throw e;
+        }
+        if (chunk.getIndex() == 0) {
+            logApplyReplicaSync(partitionId, getReplicaIndex());
+        }
+        for (Operation op : ops) {
+            runReplicationOperation(nodeEngine, op);
+        }
+        if (chunk.isLast()) {
+            partitionService.removeReplicaSyncChunkReader(partitionId);
             partitionService.finalizeReplicaSync(partitionId, replicaVersions);
         }
+        applied = true;
+    }
+
+    private void runReplicationOperation(NodeEngineImpl nodeEngine, Operation op) {
+        try {
+            ErrorLoggingResponseHandler responseHandler
+                    = new ErrorLoggingResponseHandler(nodeEngine.getLogger(op.getClass()));
+            op.setNodeEngine(nodeEngine)
+                    .setPartitionId(getPartitionId())
+                    .setReplicaIndex(getReplicaIndex())
+                    .setResponseHandler(responseHandler);
+            op.beforeRun();
+            op.run();
+            op.afterRun();
+        } catch (Throwable e) {
+            logException(op, e);
+        }
     }
 
     private void logException(Operation op, Throwable e) {
@@ -118,12 +130,12 @@ public class ReplicaSyncResponse extends Operation
 
     @Override
     public boolean returnsResponse() {
-        return false;
+        return chunk != null;
     }
 
     @Override
     public Object getResponse() {
-        return null;
+        return applied;
     }
 
     @Override
@@ -138,16 +150,20 @@ public class ReplicaSyncResponse extends Operation
 
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
-        IOUtil.writeByteArray(out, data);
+        out.writeBoolean(chunk != null);
+        if (chunk != null) {
+            chunk.writeData(out);
+        }
         out.writeLongArray(replicaVersions);
-        out.writeBoolean(compressed);
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
-        data = IOUtil.readByteArray(in);
+        if (in.readBoolean()) {
+            chunk = new ReplicationChunk();
+            chunk.readData(in);
+        }
         replicaVersions = in.readLongArray();
-        compressed = in.readBoolean();
     }
 
     @Override
@@ -157,6 +173,7 @@ public class ReplicaSyncResponse extends Operation
         sb.append("{partition=").append(getPartitionId());
         sb.append(", replica=").append(getReplicaIndex());
         sb.append(", version=").append(Arrays.toString(replicaVersions));
+        sb.append(", chunk=").append(chunk);
         sb.append('}');
         return sb.toString();
     }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+
+/**
+ * A bounded part of the serialized replication operations of a partition, sent during migration and replica sync.
+ * <p/>
+ * Operations are written back to back and an operation may continue in the next chunk. The first
+ * {@link #getLastOperationEnd()} bytes of the chunk complete {@link #getOperationCount()} operations,
+ * the remaining bytes belong to an operation which is completed by a following chunk.
+ */
+@edu.umd.cs.findbugs.annotations.SuppressWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2" })
+final class ReplicationChunk implements DataSerializable {
+
+    private int index;
+    private boolean last;
+    private int operationCount;
+    private int lastOperationEnd;
+    private boolean compressed;
+    private byte[] data;
+
+    ReplicationChunk() {
+    }
+
+    ReplicationChunk(int index, boolean last, int operationCount, int lastOperationEnd, byte[] data, boolean compressed) {
+        this.index = index;
+        this.last = last;
+        this.operationCount = operationCount;
+        this.lastOperationEnd = lastOperationEnd;
+        this.data = data;
+        this.compressed = compressed;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    boolean isLast() {
+        return last;
+    }
+
+    int getOperationCount() {
+        return operationCount;
+    }
+
+    int getLastOperationEnd() {
+        return lastOperationEnd;
+    }
+
+    /**
+     * Returns the number of bytes sent for this chunk.
+     */
+    int getSize() {
+        return data.length;
+    }
+
+    byte[] getUncompressedData() throws IOException {
+        return compressed ? IOUtil.decompress(data) : data;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(index);
+        out.writeBoolean(last);
+        out.writeInt(operationCount);
+        out.writeInt(lastOperationEnd);
+        out.writeBoolean(compressed);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        index = in.readInt();
+        last = in.readBoolean();
+        operationCount = in.readInt();
+        lastOperationEnd = in.readInt();
+        compressed = in.readBoolean();
+        data = new byte[in.readInt()];
+        in.readFully(data);
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicationChunk{index=" + index + ", last=" + last + ", operationCount=" + operationCount
+                + ", size=" + data.length + ", compressed=" + compressed + '}';
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.nio.IOUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Cuts the serialized replication operations of a partition into {@link ReplicationChunk}s of a fixed size
+ * and passes each chunk to a {@link ChunkHandler} as soon as it is full, so the whole partition is never
+ * held in a single byte array.
+ * <p/>
+ * {@link #operationWritten()} should be called after each operation is written, so the destination knows where
+ * operations end. {@link #finish()} passes the remaining bytes as the last chunk.
+ */
+final class ReplicationChunkOutputStream extends OutputStream {
+
+    /**
+     * Handles the chunks in the order they are produced.
+     */
+    interface ChunkHandler {
+        void handle(ReplicationChunk chunk) throws IOException;
+    }
+
+    private final int chunkSize;
+    private final boolean compress;
+    private final ChunkHandler handler;
+    private byte[] buffer;
+    private int position;
+    private int index;
+    private int operationCount;
+    private int lastOperationEnd;
+
+    ReplicationChunkOutputStream(int chunkSize, boolean compress, ChunkHandler handler) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size should be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.compress = compress;
+        this.handler = handler;
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == chunkSize) {
+            flushChunk(false);
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (position == chunkSize) {
+                flushChunk(false);
+            }
+            int length = Math.min(remaining, chunkSize - position);
+            System.arraycopy(b, offset, buffer, position, length);
+            position += length;
+            offset += length;
+            remaining -= length;
+        }
+    }
+
+    /**
+     * Marks the end of an operation at the current position.
+     */
+    void operationWritten() {
+        operationCount++;
+        lastOperationEnd = position;
+    }
+
+    /**
+     * Passes the remaining bytes to the handler as the last chunk, even if there are none.
+     */
+    void finish() throws IOException {
+        flushChunk(true);
+    }
+
+    private void flushChunk(boolean last) throws IOException {
+        // an empty chunk is never compressed, it can't be decompressed
+        boolean compressed = compress && position > 0;
+        byte[] data;
+        if (position == chunkSize && !compressed) {
+            // the handler may still be sending the full buffer while the next chunk is written
+            data = buffer;
+            buffer = new byte[chunkSize];
+        } else {
+            data = Arrays.copyOf(buffer, position);
+            if (compressed) {
+                data = IOUtil.compress(data);
+            }
+        }
+        ReplicationChunk chunk = new ReplicationChunk(index++, last, operationCount, lastOperationEnd, data, compressed);
+        position = 0;
+        operationCount = 0;
+        lastOperationEnd = 0;
+        handler.handle(chunk);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.nio.serialization.ObjectDataInputStream;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.spi.Operation;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Reads the replication operations from the {@link ReplicationChunk}s of a partition on the destination.
+ * <p/>
+ * Only the bytes of an operation which is not completed yet are kept between chunks, so the memory used
+ * is bounded by the chunk size and the size of a single operation instead of the size of the partition.
+ * Chunks should be read in order, a missing or repeated chunk fails the transfer.
+ * <p/>
+ * Not thread safe, a reader is used by the partition thread of its partition.
+ */
+final class ReplicationChunkReader {
+
+    private final SerializationService serializationService;
+    private final List<InputStream> pending = new LinkedList<InputStream>();
+    private int nextIndex;
+
+    ReplicationChunkReader(SerializationService serializationService) {
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Returns the operations completed by the given chunk.
+     *
+     * @throws IllegalStateException if the chunk is not the next one expected.
+     */
+    List<Operation> read(ReplicationChunk chunk) throws IOException {
+        if (chunk.getIndex() != nextIndex) {
+            throw new IllegalStateException("Expected replication chunk " + nextIndex + " but received " + chunk);
+        }
+        nextIndex++;
+        byte[] data = chunk.getUncompressedData();
+        int operationCount = chunk.getOperationCount();
+        if (operationCount == 0) {
+            pending.add(new ByteArrayInputStream(data));
+            return Collections.emptyList();
+        }
+
+        int end = chunk.getLastOperationEnd();
+        pending.add(new ByteArrayInputStream(data, 0, end));
+        InputStream bytes = new SequenceInputStream(Collections.enumeration(pending));
+        ObjectDataInputStream in = serializationService.createObjectDataInputStream(bytes);
+        List<Operation> operations = new ArrayList<Operation>(operationCount);
+        for (int i = 0; i < operationCount; i++) {
+            operations.add((Operation) serializationService.readObject(in));
+        }
+        pending.clear();
+        if (end < data.length) {
+            pending.add(new ByteArrayInputStream(data, end, data.length - end));
+        }
+        return operations;
+    }
+}
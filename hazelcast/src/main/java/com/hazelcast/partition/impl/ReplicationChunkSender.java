@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.nio.serialization.ObjectDataOutputStream;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.NonThreadSafe;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.util.ExceptionUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Streams the replication operations of a partition to another member in {@link ReplicationChunk}s.
+ * <p/>
+ * A chunk is sent only after the previous one is acknowledged by the destination, while the next chunk is being
+ * written. So at most two chunks are held by the source at a time, whatever the size of the partition is.
+ * A chunk which is not acknowledged with <code>true</code> stops the transfer.
+ */
+abstract class ReplicationChunkSender implements ReplicationChunkOutputStream.ChunkHandler {
+
+    private static final int KILOBYTE = 1024;
+    private static final int OPERATION_BUFFER_SIZE = 32 * KILOBYTE;
+
+    protected final NodeEngine nodeEngine;
+    private final InternalPartitionServiceImpl partitionService;
+    private final long timeoutSeconds;
+    private Future pendingChunk;
+    private int pendingChunkSize;
+
+    ReplicationChunkSender(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.partitionService = (InternalPartitionServiceImpl) nodeEngine.getPartitionService();
+        this.timeoutSeconds = nodeEngine.getGroupProperties().PARTITION_MIGRATION_TIMEOUT.getLong();
+    }
+
+    /**
+     * Sends the operations and returns the acknowledgement of the last chunk.
+     *
+     * @param serializedOperations operations which are already serialized with an {@link ObjectDataOutputStream}.
+     * @param operations           operations to serialize while sending.
+     */
+    final boolean send(Collection<byte[]> serializedOperations, Collection<Operation> operations) throws Exception {
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        int chunkSize = nodeEngine.getGroupProperties().PARTITION_MIGRATION_CHUNK_SIZE.getInteger() * KILOBYTE;
+        boolean compress = nodeEngine.getGroupProperties().PARTITION_MIGRATION_ZIP_ENABLED.getBoolean();
+        ReplicationChunkOutputStream chunks = new ReplicationChunkOutputStream(chunkSize, compress, this);
+        ObjectDataOutputStream out = serializationService.createObjectDataOutputStream(chunks);
+        try {
+            for (byte[] operation : serializedOperations) {
+                out.write(operation);
+                chunks.operationWritten();
+            }
+            for (Operation operation : operations) {
+                serializationService.writeObject(out, operation);
+                chunks.operationWritten();
+            }
+            chunks.finish();
+            return awaitPendingChunk();
+        } finally {
+            releasePendingChunk();
+        }
+    }
+
+    /**
+     * Serializes the {@link NonThreadSafe} operations and removes them from the given operations,
+     * should be called by the partition thread before the operations are sent by another thread.
+     */
+    static Collection<byte[]> serializeNonThreadSafeOperations(SerializationService serializationService,
+                                                               Collection<Operation> operations) throws IOException {
+        Collection<byte[]> serializedOperations = new LinkedList<byte[]>();
+        Iterator<Operation> iter = operations.iterator();
+        while (iter.hasNext()) {
+            Operation operation = iter.next();
+            if (operation instanceof NonThreadSafe) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(OPERATION_BUFFER_SIZE);
+                ObjectDataOutputStream out = serializationService.createObjectDataOutputStream(bytes);
+                try {
+                    serializationService.writeObject(out, operation);
+                } finally {
+                    closeResource(out);
+                }
+                serializedOperations.add(bytes.toByteArray());
+                iter.remove();
+            }
+        }
+        return serializedOperations;
+    }
+
+    @Override
+    public void handle(ReplicationChunk chunk) throws IOException {
+        try {
+            if (!awaitPendingChunk()) {
+                throw new IllegalStateException("Replication chunk " + (chunk.getIndex() - 1)
+                        + " is not applied by the destination!");
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+        pendingChunk = invoke(chunk);
+        pendingChunkSize = chunk.getSize();
+        partitionService.onReplicationChunkSent(pendingChunkSize);
+    }
+
+    /**
+     * Sends the chunk to the destination. The response of the returned future should be <code>true</code>
+     * if the chunk is applied.
+     */
+    protected abstract Future invoke(ReplicationChunk chunk);
+
+    private boolean awaitPendingChunk() throws Exception {
+        Future future = pendingChunk;
+        if (future == null) {
+            return true;
+        }
+        try {
+            Object response = nodeEngine.toObject(future.get(timeoutSeconds, TimeUnit.SECONDS));
+            return Boolean.TRUE.equals(response);
+        } finally {
+            pendingChunk = null;
+            partitionService.onReplicationChunkAcknowledged(pendingChunkSize);
+        }
+    }
+
+    private void releasePendingChunk() {
+        if (pendingChunk != null) {
+            // the transfer failed, the chunk is not waited for anymore
+            pendingChunk = null;
+            partitionService.onReplicationChunkAcknowledged(pendingChunkSize);
+        }
+    }
+}
@@ -23,15 +23,13 @@ import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.util.IterationType;
 import com.hazelcast.util.SortingUtil;
+import com.hazelcast.util.TopN;
 
 import java.io.IOException;
 import java.util.AbstractMap;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -143,20 +141,16 @@ public class PagingPredicate implements IndexAwarePredicate, DataSerializable {
             if (set == null) {
                 return null;
             }
-            List<QueryableEntry> list = new LinkedList<QueryableEntry>();
-            Map.Entry anchor = getAnchor();
+            TopN<QueryableEntry> topEntries = new TopN<QueryableEntry>(SortingUtil.newComparator(this),
+                    SortingUtil.getPagingLimit(this));
+            Map.Entry anchor = SortingUtil.getNearestAnchor(this);
             for (QueryableEntry entry : set) {
                 if (anchor != null && SortingUtil.compare(comparator, iterationType, anchor, entry) >= 0) {
                     continue;
                 }
-                list.add(entry);
+                topEntries.add(entry);
             }
-
-            Collections.sort(list, SortingUtil.newComparator(this));
-            if (list.size() > pageSize) {
-                list = list.subList(0, pageSize);
-            }
-            return new LinkedHashSet<QueryableEntry>(list);
+            return new LinkedHashSet<QueryableEntry>(topEntries.toSortedList());
         }
         return null;
     }
@@ -201,9 +195,37 @@ public class PagingPredicate implements IndexAwarePredicate, DataSerializable {
             previousPage();
             return;
         }
+        setAnchor(page, anchor);
+    }
+
+    /**
+     * Sets the last entry of the given page as the anchor of the page after it.
+     *
+     * @param page   the page whose last entry is given, starting from 0
+     * @param anchor the last entry of the page, the next page starts after it
+     */
+    void setAnchor(int page, Map.Entry anchor) {
         anchorMap.put(page + 1, anchor);
     }
 
+    /**
+     * Returns the anchor of the nearest page at or before the current page whose anchor is known,
+     * keyed by that page. A query for the current page starts from this anchor, so the pages in between
+     * are skipped without being queried one by one.
+     *
+     * @return <code>null</code> if no such anchor is known
+     */
+    Map.Entry<Integer, Map.Entry> getNearestAnchorEntry() {
+        Map.Entry<Integer, Map.Entry> nearest = null;
+        for (Map.Entry<Integer, Map.Entry> entry : anchorMap.entrySet()) {
+            int anchorPage = entry.getKey();
+            if (anchorPage <= page && (nearest == null || anchorPage > nearest.getKey())) {
+                nearest = entry;
+            }
+        }
+        return nearest;
+    }
+
     /**
      * resets for reuse
      */
@@ -29,4 +29,12 @@ public final class PagingPredicateAccessor {
     public static void setPagingPredicateAnchor(PagingPredicate predicate, Map.Entry anchor) {
         predicate.setAnchor(anchor);
     }
+
+    public static void setPagingPredicateAnchor(PagingPredicate predicate, int page, Map.Entry anchor) {
+        predicate.setAnchor(page, anchor);
+    }
+
+    public static Map.Entry<Integer, Map.Entry> getNearestAnchorEntry(PagingPredicate predicate) {
+        return predicate.getNearestAnchorEntry();
+    }
 }
@@ -35,91 +35,143 @@ public class IndexImpl implements Index {
 
     // indexKey -- indexValue
     private final ConcurrentMap<Data, Comparable> recordValues = new ConcurrentHashMap<Data, Comparable>(1000);
-    private final IndexStore indexStore;
     private final String attribute;
     private final boolean ordered;
 
+    // an ordered index creates its store for the attribute type of the first saved non-null value. Until then
+    // entries with null values are kept in the undecided store and all its updates are guarded by this.
+    private final IndexStore undecidedIndexStore = new SortedIndexStore();
+    private volatile IndexStore indexStore;
     private volatile AttributeType attributeType;
 
     public IndexImpl(String attribute, boolean ordered) {
         this.attribute = attribute;
         this.ordered = ordered;
-        indexStore = (ordered) ? new SortedIndexStore() : new UnsortedIndexStore();
+        indexStore = (ordered) ? null : new UnsortedIndexStore();
     }
 
     @Override
     public void removeEntryIndex(Data indexKey) {
+        IndexStore store = indexStore;
+        if (store == null) {
+            synchronized (this) {
+                removeEntryIndex(getIndexStore(), indexKey);
+            }
+        } else {
+            removeEntryIndex(store, indexKey);
+        }
+    }
+
+    private void removeEntryIndex(IndexStore store, Data indexKey) {
         Comparable oldValue = recordValues.remove(indexKey);
         if (oldValue != null) {
-            indexStore.removeIndex(oldValue, indexKey);
+            store.removeIndex(oldValue, indexKey);
         }
     }
 
     @Override
     public void clear() {
-        recordValues.clear();
-        indexStore.clear();
+        IndexStore store = indexStore;
+        if (store == null) {
+            synchronized (this) {
+                recordValues.clear();
+                getIndexStore().clear();
+            }
+        } else {
+            recordValues.clear();
+            store.clear();
+        }
     }
 
     ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable indexValue) {
-        return indexStore.getRecordMap(indexValue);
+        return getIndexStore().getRecordMap(indexValue);
+    }
+
+    private IndexStore getIndexStore() {
+        final IndexStore store = indexStore;
+        return store != null ? store : undecidedIndexStore;
     }
 
     @Override
     public void saveEntryIndex(QueryableEntry e) throws QueryException {
         Data key = e.getIndexKey();
-        Comparable oldValue = recordValues.remove(key);
         Comparable newValue = e.getAttribute(attribute);
         if (newValue == null) {
             newValue = NULL;
         } else if (newValue.getClass().isEnum()) {
             newValue = TypeConverters.ENUM_CONVERTER.convert(newValue);
         }
-        recordValues.put(key, newValue);
-        if (oldValue == null) {
-            // new
-            indexStore.newIndex(newValue, e);
+        if (attributeType == null && newValue != NULL) {
+            attributeType = e.getAttributeType(attribute);
+        }
+        IndexStore store = indexStore;
+        if (store == null) {
+            synchronized (this) {
+                store = indexStore;
+                if (store == null && newValue != NULL) {
+                    store = createIndexStore();
+                }
+                saveEntryIndex(store != null ? store : undecidedIndexStore, key, newValue, e);
+            }
         } else {
-            // update
-            indexStore.removeIndex(oldValue, key);
-            indexStore.newIndex(newValue, e);
+            saveEntryIndex(store, key, newValue, e);
         }
-        if (attributeType == null) {
-            attributeType = e.getAttributeType(attribute);
+    }
+
+    private void saveEntryIndex(IndexStore store, Data key, Comparable newValue, QueryableEntry e) {
+        Comparable oldValue = recordValues.put(key, newValue);
+        if (oldValue != null) {
+            store.removeIndex(oldValue, key);
+        }
+        store.newIndex(newValue, e);
+    }
+
+    // called under the lock with the attribute type of the first non-null value, moves the null values over
+    private IndexStore createIndexStore() {
+        IndexStore store = SortedPrimitiveIndexStore.isSupported(attributeType)
+                ? new SortedPrimitiveIndexStore(attributeType) : new SortedIndexStore();
+        ConcurrentMap<Data, QueryableEntry> nullRecords = undecidedIndexStore.getRecordMap(NULL);
+        if (nullRecords != null) {
+            for (QueryableEntry entry : nullRecords.values()) {
+                store.newIndex(NULL, entry);
+            }
         }
+        undecidedIndexStore.clear();
+        indexStore = store;
+        return store;
     }
 
     @Override
     public Set<QueryableEntry> getRecords(Comparable[] values) {
         if (values.length == 1) {
-            return indexStore.getRecords(convert(values[0]));
+            return getIndexStore().getRecords(convert(values[0]));
         } else {
             Set<Comparable> convertedValues = new HashSet<Comparable>(values.length);
             for (Comparable value : values) {
                 convertedValues.add(convert(value));
             }
             MultiResultSet results = new MultiResultSet();
-            indexStore.getRecords(results, convertedValues);
+            getIndexStore().getRecords(results, convertedValues);
             return results;
         }
     }
 
     @Override
     public Set<QueryableEntry> getRecords(Comparable value) {
-        return indexStore.getRecords(convert(value));
+        return getIndexStore().getRecords(convert(value));
     }
 
     @Override
     public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
         MultiResultSet results = new MultiResultSet();
-        indexStore.getSubRecordsBetween(results, convert(from), convert(to));
+        getIndexStore().getSubRecordsBetween(results, convert(from), convert(to));
         return results;
     }
 
     @Override
     public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
         MultiResultSet results = new MultiResultSet();
-        indexStore.getSubRecords(results, comparisonType, convert(searchedValue));
+        getIndexStore().getSubRecords(results, comparisonType, convert(searchedValue));
         return results;
     }
 
@@ -17,21 +17,35 @@
 package com.hazelcast.query.impl;
 
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.query.IndexAwarePredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.QueryException;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class contains methods which manipulate and access index.
+ * <p/>
+ * Index entries of a partition are added or removed all at once when the partition migrates. To let queries
+ * use the index while partitions move, each partition has a stamp which is odd while its migration is in
+ * progress and is incremented again when the migration ends. A query reads the stamps of its partitions
+ * before and after reading the index; entries of a partition are valid only if its stamp is even and
+ * did not change in the meantime, see {@link #isStable(int, int)}.
  */
 public class IndexService {
     private final ConcurrentMap<String, Index> mapIndexes = new ConcurrentHashMap<String, Index>(3);
     private final AtomicReference<Index[]> indexes = new AtomicReference<Index[]>();
+    private final ConcurrentMap<Integer, AtomicInteger> partitionStamps = new ConcurrentHashMap<Integer, AtomicInteger>();
     private volatile boolean hasIndex;
 
     public synchronized Index destroyIndex(String attribute) {
@@ -79,6 +93,55 @@ public class IndexService {
         return mapIndexes.get(attribute);
     }
 
+    /**
+     * Marks the index entries of the partition as being changed by a migration.
+     * Calling it again before {@link #finishPartitionMigration(int)} has no effect.
+     */
+    public void beginPartitionMigration(int partitionId) {
+        AtomicInteger stamp = partitionStamps.get(partitionId);
+        if (stamp == null) {
+            AtomicInteger newStamp = new AtomicInteger();
+            stamp = partitionStamps.putIfAbsent(partitionId, newStamp);
+            if (stamp == null) {
+                stamp = newStamp;
+            }
+        }
+        for (;;) {
+            int current = stamp.get();
+            if ((current & 1) == 1 || stamp.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Marks the index entries of the partition as complete again after its migration is committed or rolled back.
+     */
+    public void finishPartitionMigration(int partitionId) {
+        AtomicInteger stamp = partitionStamps.get(partitionId);
+        if (stamp == null) {
+            return;
+        }
+        for (;;) {
+            int current = stamp.get();
+            if ((current & 1) == 0 || stamp.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    public int getPartitionStamp(int partitionId) {
+        AtomicInteger stamp = partitionStamps.get(partitionId);
+        return stamp == null ? 0 : stamp.get();
+    }
+
+    /**
+     * Returns <code>true</code> if index entries of a partition read between the two stamps are complete.
+     */
+    public static boolean isStable(int stampBefore, int stampAfter) {
+        return stampBefore == stampAfter && (stampBefore & 1) == 0;
+    }
+
     public Set<QueryableEntry> query(Predicate predicate) {
         if (hasIndex) {
             QueryContext queryContext = new QueryContext(this);
@@ -91,4 +154,45 @@ public class IndexService {
         }
         return null;
     }
+
+    /**
+     * Queries the index while partitions may be migrating and groups the found entries by partition.
+     * Only the given partitions whose index entries did not change while they were read are returned,
+     * index entries of other partitions are skipped.
+     *
+     * @return the found entries of every stable partition, or <code>null</code> if the predicate can't use
+     * the index. The partitions missing from the result have to be scanned.
+     */
+    public Map<Integer, List<QueryableEntry>> queryStablePartitions(Predicate predicate, List<Integer> partitions,
+                                                                   InternalPartitionService partitionService) {
+        int[] stamps = new int[partitions.size()];
+        for (int i = 0; i < stamps.length; i++) {
+            stamps[i] = getPartitionStamp(partitions.get(i));
+        }
+        Set<QueryableEntry> entries = query(predicate);
+        if (entries == null) {
+            return null;
+        }
+        // index result sets are views, entries are read here, before the stamps are checked again
+        Map<Integer, List<QueryableEntry>> entriesByPartition = new HashMap<Integer, List<QueryableEntry>>();
+        for (QueryableEntry entry : entries) {
+            Integer partitionId = partitionService.getPartitionId(entry.getKeyData());
+            List<QueryableEntry> partitionEntries = entriesByPartition.get(partitionId);
+            if (partitionEntries == null) {
+                partitionEntries = new ArrayList<QueryableEntry>();
+                entriesByPartition.put(partitionId, partitionEntries);
+            }
+            partitionEntries.add(entry);
+        }
+        Map<Integer, List<QueryableEntry>> stableEntries = new HashMap<Integer, List<QueryableEntry>>(stamps.length);
+        for (int i = 0; i < stamps.length; i++) {
+            Integer partitionId = partitions.get(i);
+            if (isStable(stamps[i], getPartitionStamp(partitionId))) {
+                List<QueryableEntry> partitionEntries = entriesByPartition.get(partitionId);
+                stableEntries.put(partitionId, partitionEntries != null
+                        ? partitionEntries : Collections.<QueryableEntry>emptyList());
+            }
+        }
+        return stableEntries;
+    }
 }
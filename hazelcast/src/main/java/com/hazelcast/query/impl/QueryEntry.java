@@ -17,6 +17,7 @@
 package com.hazelcast.query.impl;
 
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.PortableContext;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.query.QueryException;
@@ -81,15 +82,12 @@ public class QueryEntry implements QueryableEntry {
         }
 
         boolean key = attributeName.startsWith(KEY_ATTRIBUTE_NAME);
-        Data data;
         if (key) {
             attributeName = attributeName.substring(KEY_ATTRIBUTE_NAME.length() + 1);
-            data = getKeyData();
-        } else {
-            data = getValueData();
         }
 
-        if (data != null && data.isPortable()) {
+        Data data = getPortableData(key);
+        if (data != null) {
             return extractViaPortable(attributeName, data);
         }
         return extractViaReflection(attributeName, key);
@@ -125,21 +123,34 @@ public class QueryEntry implements QueryableEntry {
         }
 
         boolean key = attributeName.startsWith(KEY_ATTRIBUTE_NAME);
-        Data data;
         if (key) {
             attributeName = attributeName.substring(KEY_ATTRIBUTE_NAME.length() + 1);
-            data = getKeyData();
-        } else {
-            data = getValueData();
         }
 
-        if (data != null && data.isPortable()) {
+        Data data = getPortableData(key);
+        if (data != null) {
             PortableContext portableContext = serializationService.getPortableContext();
             return PortableExtractor.getAttributeType(portableContext, data, attributeName);
         }
         return ReflectionHelper.getAttributeType(key ? getKey() : getValue(), attributeName);
     }
 
+    /**
+     * Returns the serialized key or value if it is a portable, whose attributes are read from the serialized bytes.
+     * Other keys and values held as objects are not serialized, their attributes are read by reflection.
+     */
+    private Data getPortableData(boolean key) {
+        Data data = key ? this.key : value;
+        if (data == null) {
+            Object object = key ? keyObject : valueObject;
+            if (!(object instanceof Portable)) {
+                return null;
+            }
+            data = key ? getKeyData() : getValueData();
+        }
+        return data != null && data.isPortable() ? data : null;
+    }
+
     @Override
     public Data getKeyData() {
         if (key == null && serializationService != null) {
@@ -17,10 +17,15 @@
 package com.hazelcast.query.impl;
 
 import com.hazelcast.query.QueryException;
+import com.hazelcast.util.ConcurrencyUtil;
+import com.hazelcast.util.ConcurrentReferenceHashMap;
+import com.hazelcast.util.ConcurrentReferenceHashMap.ReferenceType;
+import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.EmptyStatement;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Timestamp;
@@ -30,6 +35,8 @@ import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE_AVAILABLE;
 import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
 
 /**
@@ -38,7 +45,19 @@ import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
 public final class ReflectionHelper {
 
     private static final ClassLoader THIS_CL = ReflectionHelper.class.getClassLoader();
-    private static final ConcurrentMap<String, Getter> GETTER_CACHE = new ConcurrentHashMap<String, Getter>(1000);
+    // getters are looked up for every evaluated entry, so they are cached per class and then per attribute
+    // instead of under a key concatenated from both. Classes are weak keys and the getters, which reference
+    // their class, are soft values, so the cache doesn't keep classes and their classloaders from being unloaded.
+    private static final ConcurrentMap<Class, ConcurrentMap<String, Getter>> GETTER_CACHE
+            = new ConcurrentReferenceHashMap<Class, ConcurrentMap<String, Getter>>(ReferenceType.WEAK, ReferenceType.SOFT);
+    private static final ConstructorFunction<Class, ConcurrentMap<String, Getter>> GETTER_CACHE_CONSTRUCTOR
+            = new ConstructorFunction<Class, ConcurrentMap<String, Getter>>() {
+        @Override
+        public ConcurrentMap<String, Getter> createNew(Class clazz) {
+            return new ConcurrentHashMap<String, Getter>();
+        }
+    };
+    private static final Object[] NO_ARGUMENTS = new Object[0];
     private static final int INITIAL_CAPACITY = 3;
 
     private ReflectionHelper() {
@@ -87,8 +106,9 @@ public final class ReflectionHelper {
 
     private static Getter createGetter(Object obj, String attribute) {
         Class clazz = obj.getClass();
-        final String cacheKey = clazz.getName() + ":" + attribute;
-        Getter getter = GETTER_CACHE.get(cacheKey);
+        final Class targetClazz = clazz;
+        final ConcurrentMap<String, Getter> classGetters = GETTER_CACHE.get(clazz);
+        Getter getter = classGetters != null ? classGetters.get(attribute) : null;
         if (getter != null) {
             return getter;
         }
@@ -120,7 +140,7 @@ public final class ReflectionHelper {
                     if (localGetter == null) {
                         try {
                             final Field field = clazz.getField(name);
-                            localGetter = new FieldGetter(parent, field);
+                            localGetter = newFieldGetter(parent, field);
                             clazz = field.getType();
                         } catch (NoSuchFieldException ignored) {
                             EmptyStatement.ignore(ignored);
@@ -132,7 +152,7 @@ public final class ReflectionHelper {
                             try {
                                 final Field field = c.getDeclaredField(name);
                                 field.setAccessible(true);
-                                localGetter = new FieldGetter(parent, field);
+                                localGetter = newFieldGetter(parent, field);
                                 clazz = field.getType();
                                 break;
                             } catch (NoSuchFieldException ignored) {
@@ -149,7 +169,8 @@ public final class ReflectionHelper {
             }
             getter = parent;
             if (getter.isCacheable()) {
-                Getter foundGetter = GETTER_CACHE.putIfAbsent(cacheKey, getter);
+                Getter foundGetter = ConcurrencyUtil.getOrPutIfAbsent(GETTER_CACHE, targetClazz, GETTER_CACHE_CONSTRUCTOR)
+                        .putIfAbsent(attribute, getter);
                 if (foundGetter != null) {
                     getter = foundGetter;
                 }
@@ -160,6 +181,14 @@ public final class ReflectionHelper {
         }
     }
 
+    private static Getter newFieldGetter(Getter parent, Field field) {
+        final int modifiers = field.getModifiers();
+        if (UNSAFE_AVAILABLE && !Modifier.isStatic(modifiers) && !Modifier.isVolatile(modifiers)) {
+            return new UnsafeFieldGetter(parent, field);
+        }
+        return new FieldGetter(parent, field);
+    }
+
     public static Comparable extractValue(Object object, String attributeName) throws Exception {
         return (Comparable) createGetter(object, attributeName).getValue(object);
     }
@@ -189,7 +218,7 @@ public final class ReflectionHelper {
         Object getValue(Object obj) throws Exception {
             Object paramObj = obj;
             paramObj = parent != null ? parent.getValue(paramObj) : paramObj;
-            return paramObj != null ? method.invoke(paramObj) : null;
+            return paramObj != null ? method.invoke(paramObj, NO_ARGUMENTS) : null;
         }
 
         Class getReturnType() {
@@ -238,6 +267,61 @@ public final class ReflectionHelper {
         }
     }
 
+    /**
+     * Reads a field at its offset through {@link sun.misc.Unsafe}, skipping the access checks of {@link Field#get(Object)}.
+     * Primitive fields are read with the typed read of their type.
+     */
+    static class UnsafeFieldGetter extends FieldGetter {
+        final long offset;
+        final Class type;
+
+        UnsafeFieldGetter(Getter parent, Field field) {
+            super(parent, field);
+            this.offset = UNSAFE.objectFieldOffset(field);
+            this.type = field.getType();
+        }
+
+        @Override
+        Object getValue(Object obj) throws Exception {
+            Object paramObj = obj;
+            paramObj = parent != null ? parent.getValue(paramObj) : paramObj;
+            if (paramObj == null) {
+                return null;
+            }
+            // the offset is only valid for instances of the declaring class
+            if (!field.getDeclaringClass().isInstance(paramObj)) {
+                return field.get(paramObj);
+            }
+            return readField(paramObj);
+        }
+
+        private Object readField(Object obj) {
+            if (!type.isPrimitive()) {
+                return UNSAFE.getObject(obj, offset);
+            } else if (type == int.class) {
+                return UNSAFE.getInt(obj, offset);
+            } else if (type == long.class) {
+                return UNSAFE.getLong(obj, offset);
+            } else if (type == double.class) {
+                return UNSAFE.getDouble(obj, offset);
+            } else if (type == boolean.class) {
+                return UNSAFE.getBoolean(obj, offset);
+            } else if (type == float.class) {
+                return UNSAFE.getFloat(obj, offset);
+            } else if (type == short.class) {
+                return UNSAFE.getShort(obj, offset);
+            } else if (type == byte.class) {
+                return UNSAFE.getByte(obj, offset);
+            }
+            return UNSAFE.getChar(obj, offset);
+        }
+
+        @Override
+        public String toString() {
+            return "UnsafeFieldGetter [parent=" + parent + ", field=" + field + "]";
+        }
+    }
+
     static class ThisGetter extends Getter {
         final Object object;
 
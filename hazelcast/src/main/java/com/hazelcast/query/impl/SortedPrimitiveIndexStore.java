@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sorted index store for numeric attributes, see {@link #isSupported(AttributeType)}.
+ * <p/>
+ * Instead of boxed values in a skip list and a map of records per value, values are stored as primitive
+ * longs in sorted blocks of arrays next to their records. A value shared by several records keeps them in
+ * a map, a value of a single record keeps only the record. Floating point values are stored as longs which
+ * sort in the same order as the values.
+ * <p/>
+ * Updates are serialized by a write lock and queries share a read lock. The record maps added to results
+ * are safe to iterate after the lock is released.
+ */
+public class SortedPrimitiveIndexStore implements IndexStore {
+
+    /**
+     * Maximum number of values in a block.
+     */
+    static final int BLOCK_SIZE = 128;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final boolean floatingPoint;
+    private final ConcurrentMap<Data, QueryableEntry> nullRecords = new ConcurrentHashMap<Data, QueryableEntry>();
+    private final Lock readLock;
+    private final Lock writeLock;
+    // guarded by the read and write locks, blocks are never empty and sorted by their first value
+    private final List<Block> blocks = new ArrayList<Block>();
+
+    public SortedPrimitiveIndexStore(AttributeType attributeType) {
+        if (!isSupported(attributeType)) {
+            throw new IllegalArgumentException("Unsupported attribute type: " + attributeType);
+        }
+        this.floatingPoint = attributeType == AttributeType.DOUBLE || attributeType == AttributeType.FLOAT;
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    /**
+     * Returns if the values of the attribute type can be stored as primitive longs.
+     */
+    public static boolean isSupported(AttributeType attributeType) {
+        if (attributeType == null) {
+            return false;
+        }
+        switch (attributeType) {
+            case BYTE:
+            case SHORT:
+            case INTEGER:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void getSubRecordsBetween(MultiResultSet results, Comparable from, Comparable to) {
+        long fromValue = toLong(from);
+        long toValue = toLong(to);
+        if (fromValue > toValue) {
+            long oldFrom = fromValue;
+            fromValue = toValue;
+            toValue = oldFrom;
+        }
+        readLock.lock();
+        try {
+            addRecords(results, fromValue, true, toValue, true);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void getSubRecords(MultiResultSet results, ComparisonType comparisonType, Comparable searchedValue) {
+        final long value = toLong(searchedValue);
+        readLock.lock();
+        try {
+            switch (comparisonType) {
+                case LESSER:
+                    addRecords(results, Long.MIN_VALUE, true, value, false);
+                    break;
+                case LESSER_EQUAL:
+                    addRecords(results, Long.MIN_VALUE, true, value, true);
+                    break;
+                case GREATER:
+                    addRecords(results, value, false, Long.MAX_VALUE, true);
+                    break;
+                case GREATER_EQUAL:
+                    addRecords(results, value, true, Long.MAX_VALUE, true);
+                    break;
+                case NOT_EQUAL:
+                    addRecords(results, Long.MIN_VALUE, true, value, false);
+                    addRecords(results, value, false, Long.MAX_VALUE, true);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unrecognized comparisonType:" + comparisonType);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        return new SingleResultSet(getRecordsOf(value));
+    }
+
+    @Override
+    public void getRecords(MultiResultSet results, Set<Comparable> values) {
+        for (Comparable value : values) {
+            Map<Data, QueryableEntry> records = getRecordsOf(value);
+            if (records != null) {
+                results.addResultSet(records);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        writeLock.lock();
+        try {
+            blocks.clear();
+            nullRecords.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void removeIndex(Comparable oldValue, Data indexKey) {
+        if (oldValue instanceof IndexImpl.NullObject) {
+            nullRecords.remove(indexKey);
+            return;
+        }
+        final long value = toLong(oldValue);
+        writeLock.lock();
+        try {
+            if (blocks.isEmpty()) {
+                return;
+            }
+            final int blockIndex = blockIndex(value);
+            final Block block = blocks.get(blockIndex);
+            final int index = block.indexOf(value);
+            if (index < 0) {
+                return;
+            }
+            final Object records = removeRecord(block.records[index], indexKey);
+            if (records != null) {
+                block.records[index] = records;
+            } else {
+                block.remove(index);
+                if (block.size == 0) {
+                    blocks.remove(blockIndex);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void newIndex(Comparable newValue, QueryableEntry entry) {
+        if (newValue instanceof IndexImpl.NullObject) {
+            nullRecords.put(entry.getIndexKey(), entry);
+            return;
+        }
+        final long value = toLong(newValue);
+        writeLock.lock();
+        try {
+            if (blocks.isEmpty()) {
+                blocks.add(new Block());
+            }
+            final int blockIndex = blockIndex(value);
+            Block block = blocks.get(blockIndex);
+            int index = block.indexOf(value);
+            if (index >= 0) {
+                block.records[index] = addRecord(block.records[index], entry);
+                return;
+            }
+            index = -index - 1;
+            if (block.size == BLOCK_SIZE) {
+                final Block next = index == BLOCK_SIZE ? new Block() : block.split();
+                blocks.add(blockIndex + 1, next);
+                if (index >= block.size) {
+                    index -= block.size;
+                    block = next;
+                }
+            }
+            block.insert(index, value, entry);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the records of the value. The returned map is a copy if the value has a single record.
+     */
+    @Override
+    public ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable indexValue) {
+        final Map<Data, QueryableEntry> records = getRecordsOf(indexValue);
+        if (records == null || records instanceof ConcurrentMap) {
+            return (ConcurrentMap<Data, QueryableEntry>) records;
+        }
+        return new ConcurrentHashMap<Data, QueryableEntry>(records);
+    }
+
+    @Override
+    public String toString() {
+        int values = 0;
+        readLock.lock();
+        try {
+            for (Block block : blocks) {
+                values += block.size;
+            }
+        } finally {
+            readLock.unlock();
+        }
+        return "SortedPrimitiveIndexStore{"
+                + "values=" + values
+                + '}';
+    }
+
+    private Map<Data, QueryableEntry> getRecordsOf(Comparable value) {
+        if (value instanceof IndexImpl.NullObject) {
+            return nullRecords.isEmpty() ? null : nullRecords;
+        }
+        final long longValue = toLong(value);
+        readLock.lock();
+        try {
+            if (blocks.isEmpty()) {
+                return null;
+            }
+            final Block block = blocks.get(blockIndex(longValue));
+            final int index = block.indexOf(longValue);
+            return index >= 0 ? toMap(block.records[index]) : null;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void addRecords(MultiResultSet results, long from, boolean fromInclusive, long to, boolean toInclusive) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        int blockIndex = blockIndex(from);
+        int index = blocks.get(blockIndex).indexOf(from);
+        if (index < 0) {
+            index = -index - 1;
+        } else if (!fromInclusive) {
+            index++;
+        }
+        for (; blockIndex < blocks.size(); blockIndex++) {
+            final Block block = blocks.get(blockIndex);
+            for (; index < block.size; index++) {
+                final long value = block.values[index];
+                if (value > to || (value == to && !toInclusive)) {
+                    return;
+                }
+                results.addResultSet(toMap(block.records[index]));
+            }
+            index = 0;
+        }
+    }
+
+    /**
+     * Returns the index of the last block whose first value is not greater than the value,
+     * or the first block if there is none.
+     */
+    private int blockIndex(long value) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (blocks.get(mid).values[0] <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private long toLong(Comparable value) {
+        if (!floatingPoint) {
+            return ((Number) value).longValue();
+        }
+        // flips all bits but the sign bit of negative values, so that longs sort like the doubles they represent
+        final long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+        return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+    }
+
+    private static Object addRecord(Object records, QueryableEntry entry) {
+        if (records instanceof QueryableEntry) {
+            final QueryableEntry record = (QueryableEntry) records;
+            if (record.getIndexKey().equals(entry.getIndexKey())) {
+                return entry;
+            }
+            final ConcurrentMap<Data, QueryableEntry> recordMap
+                    = new ConcurrentHashMap<Data, QueryableEntry>(2, LOAD_FACTOR, 1);
+            recordMap.put(record.getIndexKey(), record);
+            recordMap.put(entry.getIndexKey(), entry);
+            return recordMap;
+        }
+        toRecordMap(records).put(entry.getIndexKey(), entry);
+        return records;
+    }
+
+    /**
+     * @return remaining records or <code>null</code> if there is none left.
+     */
+    private static Object removeRecord(Object records, Data indexKey) {
+        if (records instanceof QueryableEntry) {
+            return ((QueryableEntry) records).getIndexKey().equals(indexKey) ? null : records;
+        }
+        final ConcurrentMap<Data, QueryableEntry> recordMap = toRecordMap(records);
+        recordMap.remove(indexKey);
+        return recordMap.isEmpty() ? null : records;
+    }
+
+    private static Map<Data, QueryableEntry> toMap(Object records) {
+        if (records instanceof QueryableEntry) {
+            final QueryableEntry record = (QueryableEntry) records;
+            return Collections.singletonMap(record.getIndexKey(), record);
+        }
+        return toRecordMap(records);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Data, QueryableEntry> toRecordMap(Object records) {
+        return (ConcurrentMap<Data, QueryableEntry>) records;
+    }
+
+    /**
+     * Sorted values and their records, either a {@link QueryableEntry} or a map of them.
+     */
+    private static final class Block {
+        final long[] values = new long[BLOCK_SIZE];
+        final Object[] records = new Object[BLOCK_SIZE];
+        int size;
+
+        int indexOf(long value) {
+            return Arrays.binarySearch(values, 0, size, value);
+        }
+
+        void insert(int index, long value, Object record) {
+            System.arraycopy(values, index, values, index + 1, size - index);
+            System.arraycopy(records, index, records, index + 1, size - index);
+            values[index] = value;
+            records[index] = record;
+            size++;
+        }
+
+        void remove(int index) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            System.arraycopy(records, index + 1, records, index, size - index - 1);
+            size--;
+            records[size] = null;
+        }
+
+        /**
+         * Moves the upper half of the values to a new block.
+         */
+        Block split() {
+            final Block next = new Block();
+            final int half = size / 2;
+            next.size = size - half;
+            System.arraycopy(values, half, next.values, 0, next.size);
+            System.arraycopy(records, half, next.records, 0, next.size);
+            Arrays.fill(records, half, size, null);
+            size = half;
+            return next;
+        }
+    }
+}
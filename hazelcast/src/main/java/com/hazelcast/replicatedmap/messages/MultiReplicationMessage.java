@@ -16,16 +16,24 @@
 
 package com.hazelcast.replicatedmap.messages;
 
+import com.hazelcast.core.Member;
+import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.replicatedmap.operation.ReplicatedMapDataSerializerHook;
+import com.hazelcast.replicatedmap.record.VectorClockTimestamp;
 import edu.umd.cs.findbugs.annotations.SuppressWarnings;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * This replicated message contains multiple replications at once
+ * This replicated message contains multiple replications at once<br/>
+ * To keep the message small all members referenced by origins and vector clocks are written once into a
+ * member table, the map name is only written once and every vector clock is written as a delta to the vector
+ * clock of the previous replication.
  */
 public class MultiReplicationMessage
         implements IdentifiedDataSerializable {
@@ -57,9 +65,28 @@ public class MultiReplicationMessage
     public void writeData(ObjectDataOutput out)
             throws IOException {
         out.writeUTF(name);
+
+        Map<Member, Integer> memberIndexes = new HashMap<Member, Integer>();
+        for (ReplicationMessage replicationMessage : replicationMessages) {
+            addMemberIndex(memberIndexes, replicationMessage.getOrigin());
+            for (Member member : replicationMessage.getVectorClockTimestamp().getMembers()) {
+                addMemberIndex(memberIndexes, member);
+            }
+        }
+        Member[] members = new Member[memberIndexes.size()];
+        for (Map.Entry<Member, Integer> entry : memberIndexes.entrySet()) {
+            members[entry.getValue()] = entry.getKey();
+        }
+        out.writeInt(members.length);
+        for (Member member : members) {
+            member.writeData(out);
+        }
+
+        VectorClockTimestamp previous = new VectorClockTimestamp();
         out.writeInt(replicationMessages.length);
-        for (int i = 0; i < replicationMessages.length; i++) {
-            replicationMessages[i].writeData(out);
+        for (ReplicationMessage replicationMessage : replicationMessages) {
+            replicationMessage.writeBatchData(out, previous, memberIndexes);
+            previous = replicationMessage.getVectorClockTimestamp();
         }
     }
 
@@ -67,12 +94,28 @@ public class MultiReplicationMessage
     public void readData(ObjectDataInput in)
             throws IOException {
         name = in.readUTF();
+
+        Member[] members = new Member[in.readInt()];
+        for (int i = 0; i < members.length; i++) {
+            Member member = new MemberImpl();
+            member.readData(in);
+            members[i] = member;
+        }
+
+        VectorClockTimestamp previous = new VectorClockTimestamp();
         int length = in.readInt();
         replicationMessages = new ReplicationMessage[length];
         for (int i = 0; i < length; i++) {
             ReplicationMessage replicationMessage = new ReplicationMessage();
-            replicationMessage.readData(in);
+            replicationMessage.readBatchData(in, name, previous, members);
             replicationMessages[i] = replicationMessage;
+            previous = replicationMessage.getVectorClockTimestamp();
+        }
+    }
+
+    private void addMemberIndex(Map<Member, Integer> memberIndexes, Member member) {
+        if (!memberIndexes.containsKey(member)) {
+            memberIndexes.put(member, memberIndexes.size());
         }
     }
 
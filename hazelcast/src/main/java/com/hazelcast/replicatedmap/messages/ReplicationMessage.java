@@ -25,6 +25,7 @@ import com.hazelcast.replicatedmap.operation.ReplicatedMapDataSerializerHook;
 import com.hazelcast.replicatedmap.record.VectorClockTimestamp;
 
 import java.io.IOException;
+import java.util.Map;
 
 /**
  * This replication message is used for sending over a replication event to another node
@@ -112,6 +113,32 @@ public class ReplicationMessage<K, V>
         ttlMillis = in.readLong();
     }
 
+    /**
+     * Writes this message as part of a {@link MultiReplicationMessage}. The map name is written once by the
+     * batch, the origin is written as its index in the batch's member table and the vector clock as a delta
+     * to the previous message's vector clock.
+     */
+    void writeBatchData(ObjectDataOutput out, VectorClockTimestamp previous, Map<Member, Integer> memberIndexes)
+            throws IOException {
+        out.writeObject(key);
+        out.writeObject(value);
+        vectorClockTimestamp.writeDelta(out, previous, memberIndexes);
+        out.writeInt(memberIndexes.get(origin));
+        out.writeInt(updateHash);
+        out.writeLong(ttlMillis);
+    }
+
+    void readBatchData(ObjectDataInput in, String name, VectorClockTimestamp previous, Member[] members)
+            throws IOException {
+        this.name = name;
+        key = (K) in.readObject();
+        value = (V) in.readObject();
+        vectorClockTimestamp = VectorClockTimestamp.readDelta(in, previous, members);
+        origin = members[in.readInt()];
+        updateHash = in.readInt();
+        ttlMillis = in.readLong();
+    }
+
     @Override
     public int getFactoryId() {
         return ReplicatedMapDataSerializerHook.F_ID;
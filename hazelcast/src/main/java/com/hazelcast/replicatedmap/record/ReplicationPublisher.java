@@ -47,9 +47,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class implements the actual replication logic for replicated map
@@ -67,8 +69,10 @@ public class ReplicationPublisher<K, V>
     private static final int MAX_MESSAGE_CACHE_SIZE = 1000;
     private static final int MAX_CLEAR_EXECUTION_RETRY = 5;
 
-    private final List<ReplicationMessage> replicationMessageCache = new ArrayList<ReplicationMessage>();
-    private final Lock replicationMessageCacheLock = new ReentrantLock();
+    // Replication messages waiting for the next batch, publishers never block each other
+    private final Queue<ReplicationMessage> replicationMessageCache = new ConcurrentLinkedQueue<ReplicationMessage>();
+    private final AtomicInteger replicationMessageCacheSize = new AtomicInteger();
+    private final AtomicBoolean replicationFlushScheduled = new AtomicBoolean();
     private final Random memberRandomizer = new Random();
 
     private final ScheduledExecutorService executorService;
@@ -124,20 +128,14 @@ public class ReplicationPublisher<K, V>
         if (replicatedMapConfig.getReplicationDelayMillis() == 0) {
             distributeReplicationMessage(message, false);
         } else {
-            replicationMessageCacheLock.lock();
-            try {
-                replicationMessageCache.add(message);
-                if (replicationMessageCache.size() == 1) {
-                    ReplicationCachedSenderTask task = new ReplicationCachedSenderTask(this);
-                    long replicationDelayMillis = replicatedMapConfig.getReplicationDelayMillis();
-                    executorService.schedule(task, replicationDelayMillis, TimeUnit.MILLISECONDS);
-                } else {
-                    if (replicationMessageCache.size() > MAX_MESSAGE_CACHE_SIZE) {
-                        processMessageCache();
-                    }
-                }
-            } finally {
-                replicationMessageCacheLock.unlock();
+            replicationMessageCache.offer(message);
+            int size = replicationMessageCacheSize.incrementAndGet();
+            if (replicationFlushScheduled.compareAndSet(false, true)) {
+                ReplicationCachedSenderTask task = new ReplicationCachedSenderTask(this);
+                long replicationDelayMillis = replicatedMapConfig.getReplicationDelayMillis();
+                executorService.schedule(task, replicationDelayMillis, TimeUnit.MILLISECONDS);
+            } else if (size > MAX_MESSAGE_CACHE_SIZE) {
+                sendMessageCache();
             }
         }
     }
@@ -171,23 +169,34 @@ public class ReplicationPublisher<K, V>
     }
 
     void processMessageCache() {
-        ReplicationMessage[] replicationMessages = null;
-        replicationMessageCacheLock.lock();
-        try {
-            final int size = replicationMessageCache.size();
-            if (size > 0) {
-                replicationMessages = replicationMessageCache.toArray(new ReplicationMessage[size]);
-                replicationMessageCache.clear();
+        // Reset the flag before draining, messages offered afterwards schedule a new task
+        replicationFlushScheduled.set(false);
+        sendMessageCache();
+    }
+
+    private void sendMessageCache() {
+        List<ReplicationMessage> replicationMessages = new ArrayList<ReplicationMessage>();
+        ReplicationMessage replicationMessage;
+        while ((replicationMessage = replicationMessageCache.poll()) != null) {
+            replicationMessageCacheSize.decrementAndGet();
+            replicationMessages.add(replicationMessage);
+            if (replicationMessages.size() == MAX_MESSAGE_CACHE_SIZE) {
+                publishMessageBatch(replicationMessages);
+                replicationMessages.clear();
             }
-        } finally {
-            replicationMessageCacheLock.unlock();
         }
-        if (replicationMessages != null) {
-            MultiReplicationMessage message = new MultiReplicationMessage(name, replicationMessages);
-            distributeReplicationMessage(message, false);
+        if (replicationMessages.size() > 0) {
+            publishMessageBatch(replicationMessages);
         }
     }
 
+    private void publishMessageBatch(List<ReplicationMessage> replicationMessages) {
+        int size = replicationMessages.size();
+        ReplicationMessage[] messages = replicationMessages.toArray(new ReplicationMessage[size]);
+        MultiReplicationMessage message = new MultiReplicationMessage(name, messages);
+        distributeReplicationMessage(message, false);
+    }
+
     void distributeReplicationMessage(final Object message, final boolean forceSend) {
         final PreReplicationHook preReplicationHook = getPreReplicationHook();
         if (forceSend || preReplicationHook == null) {
@@ -229,11 +238,8 @@ public class ReplicationPublisher<K, V>
     }
 
     public void emptyReplicationQueue() {
-        replicationMessageCacheLock.lock();
-        try {
-            replicationMessageCache.clear();
-        } finally {
-            replicationMessageCacheLock.unlock();
+        while (replicationMessageCache.poll() != null) {
+            replicationMessageCacheSize.decrementAndGet();
         }
     }
 
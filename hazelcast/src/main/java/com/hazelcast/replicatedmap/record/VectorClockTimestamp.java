@@ -26,14 +26,16 @@ import com.hazelcast.replicatedmap.operation.ReplicatedMapDataSerializerHook;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 /**
  * A vector clock implementation based on hashcodes of the Hazelcast members UUID to solve conflicts on
- * replication updates
+ * replication updates<br/>
+ * Inside a {@link com.hazelcast.replicatedmap.messages.MultiReplicationMessage} the clocks are written
+ * compactly: members are referenced by their index in a member table written once per message and only the
+ * clocks that differ from the previous update's vector are written.
  */
 public final class VectorClockTimestamp
         implements IdentifiedDataSerializable {
@@ -98,6 +100,86 @@ public final class VectorClockTimestamp
         this.clocks = Collections.unmodifiableMap(data);
     }
 
+    /**
+     * Writes the clocks which differ from the given previous vector. Members are written as their index
+     * inside the given member table, a clock of 0 marks a member not being part of this vector.
+     *
+     * @param dataOutput    the output to write to
+     * @param previous      the vector the delta is based on
+     * @param memberIndexes the indexes of all members known to the reader
+     * @throws IOException
+     */
+    public void writeDelta(ObjectDataOutput dataOutput, VectorClockTimestamp previous, Map<Member, Integer> memberIndexes)
+            throws IOException {
+
+        Map<Member, Integer> clocks = this.clocks;
+        Map<Member, Integer> previousClocks = previous.clocks;
+        int changes = 0;
+        for (Entry<Member, Integer> entry : clocks.entrySet()) {
+            if (!entry.getValue().equals(previousClocks.get(entry.getKey()))) {
+                changes++;
+            }
+        }
+        for (Member member : previousClocks.keySet()) {
+            if (!clocks.containsKey(member)) {
+                changes++;
+            }
+        }
+
+        dataOutput.writeInt(changes);
+        for (Entry<Member, Integer> entry : clocks.entrySet()) {
+            if (!entry.getValue().equals(previousClocks.get(entry.getKey()))) {
+                dataOutput.writeInt(memberIndexes.get(entry.getKey()));
+                dataOutput.writeInt(entry.getValue());
+            }
+        }
+        for (Member member : previousClocks.keySet()) {
+            if (!clocks.containsKey(member)) {
+                dataOutput.writeInt(memberIndexes.get(member));
+                dataOutput.writeInt(0);
+            }
+        }
+    }
+
+    /**
+     * Reads a vector written by {@link #writeDelta(ObjectDataOutput, VectorClockTimestamp, Map)}.
+     *
+     * @param dataInput the input to read from
+     * @param previous  the vector the delta is based on
+     * @param members   the member table the indexes refer to
+     * @return the read vector
+     * @throws IOException
+     */
+    public static VectorClockTimestamp readDelta(ObjectDataInput dataInput, VectorClockTimestamp previous, Member[] members)
+            throws IOException {
+
+        int changes = dataInput.readInt();
+        if (changes == 0) {
+            // Vectors are immutable so the previous one can be shared
+            return previous;
+        }
+        Map<Member, Integer> data = new HashMap<Member, Integer>(previous.clocks);
+        for (int i = 0; i < changes; i++) {
+            Member member = members[dataInput.readInt()];
+            int clock = dataInput.readInt();
+            if (clock == 0) {
+                data.remove(member);
+            } else {
+                data.put(member, clock);
+            }
+        }
+        return new VectorClockTimestamp(data);
+    }
+
+    /**
+     * Returns the members this vector contains clocks for.
+     *
+     * @return the members of this vector
+     */
+    public Set<Member> getMembers() {
+        return clocks.keySet();
+    }
+
     @Override
     public int getId() {
         return ReplicatedMapDataSerializerHook.VECTOR;
@@ -108,6 +190,22 @@ public final class VectorClockTimestamp
         return ReplicatedMapDataSerializerHook.F_ID;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return clocks.equals(((VectorClockTimestamp) o).clocks);
+    }
+
+    @Override
+    public int hashCode() {
+        return clocks.hashCode();
+    }
+
     @Override
     public String toString() {
         return "Vector{" + "clocks=" + clocks + '}';
@@ -130,13 +228,11 @@ public final class VectorClockTimestamp
     }
 
     static boolean happenedBefore(VectorClockTimestamp x, VectorClockTimestamp y) {
-        Set<Member> members = new HashSet<Member>(x.clocks.keySet());
-        members.addAll(y.clocks.keySet());
-
         boolean hasLesser = false;
-        for (Member m : members) {
-            int xi = x.clocks.get(m) != null ? x.clocks.get(m) : 0;
-            int yi = y.clocks.get(m) != null ? y.clocks.get(m) : 0;
+        for (Entry<Member, Integer> entry : x.clocks.entrySet()) {
+            int xi = entry.getValue();
+            Integer yClock = y.clocks.get(entry.getKey());
+            int yi = yClock != null ? yClock : 0;
             if (xi > yi) {
                 return false;
             }
@@ -144,6 +240,14 @@ public final class VectorClockTimestamp
                 hasLesser = true;
             }
         }
+        if (!hasLesser) {
+            // Members only known to y count as lesser clocks of x
+            for (Entry<Member, Integer> entry : y.clocks.entrySet()) {
+                if (entry.getValue() > 0 && !x.clocks.containsKey(entry.getKey())) {
+                    return true;
+                }
+            }
+        }
         return hasLesser;
     }
 }
@@ -40,6 +40,14 @@ public interface OperationService {
 
     int getPriorityOperationExecutorQueueSize();
 
+    /**
+     * Returns the given percentile of the time generic operations wait in the operation executor queues.
+     *
+     * @param percentile percentile in (0, 100], e.g. 99.9
+     * @return latency in microseconds, rounded up to a power of two.
+     */
+    long getOperationExecutorQueueLatencyMicros(double percentile);
+
     int getRunningOperationsCount();
 
     int getRemoteOperationsCount();
@@ -17,6 +17,8 @@ import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
 import static com.hazelcast.util.ExceptionUtil.fixRemoteStackTrace;
 import static com.hazelcast.util.ValidationUtil.isNotNull;
@@ -25,6 +27,11 @@ import static java.lang.Math.min;
 /**
  * The BasicInvocationFuture is the {@link com.hazelcast.spi.InternalCompletableFuture} that waits on the completion
  * of a {@link com.hazelcast.spi.impl.BasicInvocation}. The BasicInvocation executes an operation.
+ * <p/>
+ * The future doesn't use a monitor. The response is set with a CAS, waiting threads and callbacks are pushed on
+ * lock free stacks which are swapped for a completed marker once the final response is set. So threads waiting
+ * for the response are parked and unparked individually and callbacks are scheduled outside of any lock. A thread
+ * that stops waiting without a response, e.g. on a timeout, unlinks its node from the stack.
  *
  * @param <E>
  */
@@ -32,9 +39,21 @@ final class BasicInvocationFuture<E> implements InternalCompletableFuture<E> {
 
     private static final int CALL_TIMEOUT = 5000;
 
+    private static final ExecutionCallbackNode COMPLETED_CALLBACK = new ExecutionCallbackNode(null, null, null);
+    private static final WaitNode COMPLETED_WAITER = new WaitNode(null, null);
+
+    private static final AtomicReferenceFieldUpdater<BasicInvocationFuture, Object> RESPONSE_UPDATER
+            = AtomicReferenceFieldUpdater.newUpdater(BasicInvocationFuture.class, Object.class, "response");
+    private static final AtomicReferenceFieldUpdater<BasicInvocationFuture, ExecutionCallbackNode> CALLBACK_HEAD_UPDATER
+            = AtomicReferenceFieldUpdater.newUpdater(BasicInvocationFuture.class, ExecutionCallbackNode.class,
+            "callbackHead");
+    private static final AtomicReferenceFieldUpdater<BasicInvocationFuture, WaitNode> WAITER_HEAD_UPDATER
+            = AtomicReferenceFieldUpdater.newUpdater(BasicInvocationFuture.class, WaitNode.class, "waiterHead");
+
     volatile boolean interrupted;
     private BasicInvocation basicInvocation;
     private volatile ExecutionCallbackNode<E> callbackHead;
+    private volatile WaitNode waiterHead;
     private volatile Object response;
 
     BasicInvocationFuture(BasicInvocation basicInvocation, final Callback<E> callback) {
@@ -59,13 +78,17 @@ final class BasicInvocationFuture<E> implements InternalCompletableFuture<E> {
         isNotNull(callback, "callback");
         isNotNull(executor, "executor");
 
-        synchronized (this) {
-            if (response != null) {
+        for (;;) {
+            ExecutionCallbackNode<E> head = callbackHead;
+            if (head == COMPLETED_CALLBACK) {
                 runAsynchronous(callback, executor);
                 return;
             }
 
-            this.callbackHead = new ExecutionCallbackNode<E>(callback, executor, callbackHead);
+            ExecutionCallbackNode<E> node = new ExecutionCallbackNode<E>(callback, executor, head);
+            if (CALLBACK_HEAD_UPDATER.compareAndSet(this, head, node)) {
+                return;
+            }
         }
     }
 
@@ -107,9 +130,9 @@ final class BasicInvocationFuture<E> implements InternalCompletableFuture<E> {
     public void set(Object offeredResponse) {
         offeredResponse = resolveInternalResponse(offeredResponse);
 
-        ExecutionCallbackNode<E> callbackChain;
-        synchronized (this) {
-            if (response != null && !(response instanceof BasicInvocation.InternalResponse)) {
+        for (;;) {
+            Object currentResponse = response;
+            if (currentResponse != null && !(currentResponse instanceof BasicInvocation.InternalResponse)) {
                 //it can be that this invocation future already received an answer, e.g. when a an invocation
                 //already received a response, but before it cleans up itself, it receives a
                 //HazelcastInstanceNotActiveException.
@@ -117,23 +140,36 @@ final class BasicInvocationFuture<E> implements InternalCompletableFuture<E> {
                 return;
             }
 
-            response = offeredResponse;
-            if (offeredResponse == BasicInvocation.WAIT_RESPONSE) {
-                return;
+            if (RESPONSE_UPDATER.compareAndSet(this, currentResponse, offeredResponse)) {
+                break;
             }
-            callbackChain = callbackHead;
-            callbackHead = null;
-            notifyAll();
         }
 
+        if (offeredResponse == BasicInvocation.WAIT_RESPONSE) {
+            return;
+        }
+
+        unparkWaiters();
+
         BasicOperationService operationService = (BasicOperationService) basicInvocation.nodeEngine.operationService;
         operationService.deregisterInvocation(basicInvocation.op.getCallId());
 
-        notifyCallbacks(callbackChain);
+        notifyCallbacks(CALLBACK_HEAD_UPDATER.getAndSet(this, COMPLETED_CALLBACK));
+    }
+
+    private void unparkWaiters() {
+        WaitNode waiter = WAITER_HEAD_UPDATER.getAndSet(this, COMPLETED_WAITER);
+        while (waiter != null && waiter != COMPLETED_WAITER) {
+            Thread thread = waiter.thread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+            waiter = waiter.next;
+        }
     }
 
     private void notifyCallbacks(ExecutionCallbackNode<E> callbackChain) {
-        while (callbackChain != null) {
+        while (callbackChain != null && callbackChain != COMPLETED_CALLBACK) {
             runAsynchronous(callbackChain.callback, callbackChain.executor);
             callbackChain = callbackChain.next;
         }
@@ -186,6 +222,15 @@ final class BasicInvocationFuture<E> implements InternalCompletableFuture<E> {
             return response;
         }
 
+        WaitNode waiter = registerWaiter(Thread.currentThread());
+        try {
+            return pollResponse(time, unit);
+        } finally {
+            removeWaiter(waiter);
+        }
+    }
+
+    private Object pollResponse(long time, TimeUnit unit) {
         long timeoutMs = getTimeoutMs(time, unit);
         long maxCallTimeoutMs = getMaxCallTimeoutMs();
         boolean longPolling = timeoutMs > maxCallTimeoutMs;
@@ -197,30 +242,23 @@ final class BasicInvocationFuture<E> implements InternalCompletableFuture<E> {
             long lastPollTime = 0;
             pollCount++;
 
-            try {
-                //we should only wait if there is any timeout. We can't call wait with 0, because it is interpreted as infinite.
-                if (pollTimeoutMs > 0) {
-                    synchronized (this) {
-                        if (response == null || response == BasicInvocation.WAIT_RESPONSE) {
-                            wait(pollTimeoutMs);
-                        }
-                    }
-                }
-                lastPollTime = Clock.currentTimeMillis() - startMs;
-                timeoutMs = decrementTimeout(timeoutMs, lastPollTime);
-
-                if (response == BasicInvocation.WAIT_RESPONSE) {
-                    continue;
-                } else if (response != null) {
-                    //if the thread is interrupted, but the response was not an interrupted-response,
-                    //we need to restore the interrupt flag.
-                    if (response != BasicInvocation.INTERRUPTED_RESPONSE && interrupted) {
-                        Thread.currentThread().interrupt();
-                    }
-                    return response;
+            //we should only wait if there is any timeout.
+            if (pollTimeoutMs > 0) {
+                park(pollTimeoutMs);
+            }
+            lastPollTime = Clock.currentTimeMillis() - startMs;
+            timeoutMs = decrementTimeout(timeoutMs, lastPollTime);
+
+            Object currentResponse = response;
+            if (currentResponse == BasicInvocation.WAIT_RESPONSE) {
+                continue;
+            } else if (currentResponse != null) {
+                //if the thread is interrupted, but the response was not an interrupted-response,
+                //we need to restore the interrupt flag.
+                if (currentResponse != BasicInvocation.INTERRUPTED_RESPONSE && interrupted) {
+                    Thread.currentThread().interrupt();
                 }
-            } catch (InterruptedException e) {
-                interrupted = true;
+                return currentResponse;
             }
 
             if (!interrupted && longPolling) {
@@ -244,6 +282,82 @@ final class BasicInvocationFuture<E> implements InternalCompletableFuture<E> {
         return BasicInvocation.TIMEOUT_RESPONSE;
     }
 
+    private WaitNode registerWaiter(Thread thread) {
+        WaitNode waiter = new WaitNode(thread, null);
+        for (;;) {
+            WaitNode head = waiterHead;
+            if (head == COMPLETED_WAITER) {
+                return null;
+            }
+            waiter.next = head;
+            if (WAITER_HEAD_UPDATER.compareAndSet(this, head, waiter)) {
+                return waiter;
+            }
+        }
+    }
+
+    /**
+     * Unlinks the node of a thread which stopped waiting, so timed gets on a future which doesn't complete don't
+     * leave their nodes behind. Nodes of other threads which are removed concurrently are unlinked as well.
+     */
+    private void removeWaiter(WaitNode waiter) {
+        if (waiter == null) {
+            return;
+        }
+        waiter.thread = null;
+        retry:
+        for (;;) {
+            WaitNode pred = null;
+            WaitNode node = waiterHead;
+            if (node == COMPLETED_WAITER) {
+                return;
+            }
+            while (node != null) {
+                WaitNode next = node.next;
+                if (node.thread != null) {
+                    pred = node;
+                } else if (pred != null) {
+                    pred.next = next;
+                    if (pred.thread == null) {
+                        // the predecessor was removed concurrently, start over
+                        continue retry;
+                    }
+                } else if (!WAITER_HEAD_UPDATER.compareAndSet(this, node, next)) {
+                    continue retry;
+                }
+                node = next;
+            }
+            return;
+        }
+    }
+
+    /**
+     * Parks the calling thread until the final response is set or the timeout expires. An interrupt doesn't end the
+     * wait, it is remembered so the interrupted response can be sent by the invocation.
+     */
+    private void park(long timeoutMs) {
+        boolean timed = timeoutMs != Long.MAX_VALUE;
+        long deadlineNanos = timed ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs) : 0;
+        for (;;) {
+            Object currentResponse = response;
+            if (currentResponse != null && currentResponse != BasicInvocation.WAIT_RESPONSE) {
+                return;
+            }
+            if (timed) {
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return;
+                }
+                LockSupport.parkNanos(this, remainingNanos);
+            } else {
+                LockSupport.park(this);
+            }
+            if (Thread.interrupted()) {
+                interrupted = true;
+            }
+        }
+    }
+
     private long getMaxCallTimeoutMs() {
         return basicInvocation.callTimeout > 0 ? basicInvocation.callTimeout * 2 : Long.MAX_VALUE;
     }
@@ -418,6 +532,16 @@ final class BasicInvocationFuture<E> implements InternalCompletableFuture<E> {
         }
     }
 
+    private static final class WaitNode {
+        private volatile Thread thread;
+        private volatile WaitNode next;
+
+        private WaitNode(Thread thread, WaitNode next) {
+            this.thread = thread;
+            this.next = next;
+        }
+    }
+
     private static final class ExecutorCallbackAdapter<E> implements ExecutionCallback<E> {
         private final Callback callback;
 
@@ -25,16 +25,23 @@ import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionAwareOperation;
 import com.hazelcast.spi.UrgentSystemOperation;
+import com.hazelcast.util.LatencyHistogram;
+import com.hazelcast.util.concurrent.MPSCQueue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.onOutOfMemory;
 
@@ -64,6 +71,20 @@ public final class BasicOperationScheduler {
 
     public static final int TERMINATION_TIMEOUT_SECONDS = 3;
 
+    //max number of responses the response thread takes from its queue at once.
+    private static final int RESPONSE_BATCH_SIZE = 64;
+
+    //one in every 64 operations is timed from offering to processing.
+    private static final int QUEUE_LATENCY_SAMPLE_MASK = 63;
+
+    //every offering thread counts its own generic offers, so sampling doesn't add a shared counter to the offer path.
+    private static final ThreadLocal<int[]> QUEUE_LATENCY_SAMPLE_COUNTER = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
     //all operations for specific partitions will be executed on these threads, .e.g map.put(key,value).
     final OperationThread[] partitionOperationThreads;
 
@@ -74,6 +95,18 @@ public final class BasicOperationScheduler {
     private final ExecutionService executionService;
     private final BasicDispatcher dispatcher;
 
+    //partition and response threads are the only consumer of their work queue, so they can use a MPSCQueue
+    //which doesn't create a node per offer and doesn't lock.
+    private final boolean mpscQueueEnabled;
+
+    //when work stealing is enabled, every generic operation thread has its own work queue and idle generic
+    //threads take work from the queues of the busy ones. Otherwise they share the genericWorkQueue.
+    private final boolean genericWorkStealing;
+
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+
+    private final AtomicInteger genericThreadIndex = new AtomicInteger();
+
     //the generic workqueues are shared between all generic operation threads, so that work can be stolen
     //and a task gets processed as quickly as possible.
     private final BlockingQueue genericWorkQueue = new LinkedBlockingQueue();
@@ -91,7 +124,8 @@ public final class BasicOperationScheduler {
 
     //The trigger is used when a priority message is send and offered to the operation-thread priority queue.
     //To wakeup the thread, a priorityTaskTrigger is send to the regular blocking queue to wake up the operation
-    //thread.
+    //thread. With generic work stealing it also wakes up an idle generic thread, so it can steal a task that was
+    //offered to a busy one.
     private final Runnable priorityTaskTrigger = new Runnable() {
         @Override
         public void run() {
@@ -110,6 +144,8 @@ public final class BasicOperationScheduler {
         this.logger = node.getLogger(BasicOperationScheduler.class);
         this.node = node;
         this.dispatcher = dispatcher;
+        this.mpscQueueEnabled = node.getGroupProperties().OPERATION_MPSC_QUEUE_ENABLED.getBoolean();
+        this.genericWorkStealing = node.getGroupProperties().GENERIC_OPERATION_WORK_STEALING_ENABLED.getBoolean();
 
         this.genericOperationThreads = new OperationThread[getGenericOperationThreadCount()];
         initOperationThreads(genericOperationThreads, new GenericOperationThreadFactory());
@@ -121,7 +157,8 @@ public final class BasicOperationScheduler {
         responseThread.start();
 
         logger.info("Starting with " + genericOperationThreads.length + " generic operation threads and "
-                + partitionOperationThreads.length + " partition operation threads.");
+                + partitionOperationThreads.length + " partition operation threads"
+                + (mpscQueueEnabled ? " using MPSC work queues." : "."));
     }
 
     @edu.umd.cs.findbugs.annotations.SuppressWarnings({ "NP_NONNULL_PARAM_VIOLATION" })
@@ -151,6 +188,10 @@ public final class BasicOperationScheduler {
         return threadCount;
     }
 
+    private <E> BlockingQueue<E> newSingleConsumerWorkQueue() {
+        return mpscQueueEnabled ? new MPSCQueue<E>() : new LinkedBlockingQueue<E>();
+    }
+
     int getPartitionIdForExecution(Operation op) {
         return op instanceof PartitionAwareOperation ? op.getPartitionId() : -1;
     }
@@ -221,7 +262,13 @@ public final class BasicOperationScheduler {
             size += t.workQueue.size();
         }
 
-        size += genericWorkQueue.size();
+        if (genericWorkStealing) {
+            for (OperationThread t : genericOperationThreads) {
+                size += t.workQueue.size();
+            }
+        } else {
+            size += genericWorkQueue.size();
+        }
 
         return size;
     }
@@ -241,6 +288,17 @@ public final class BasicOperationScheduler {
         return responseThread.workQueue.size();
     }
 
+    /**
+     * Returns the given percentile of the time generic operations waited in the (non priority) work queues before
+     * being processed. Measured on a sample of the operations since the start of the member.
+     *
+     * @param percentile percentile in (0, 100], e.g. 99.9
+     * @return upper bound of the latency in microseconds, see {@link LatencyHistogram}.
+     */
+    public long getOperationExecutorQueueLatencyMicros(double percentile) {
+        return queueLatency.getPercentileMicros(percentile);
+    }
+
     public void execute(Operation op) {
         String executorName = op.getExecutorName();
         if (executorName == null) {
@@ -293,8 +351,15 @@ public final class BasicOperationScheduler {
 
         BlockingQueue workQueue;
         Queue priorityWorkQueue;
-        if (partitionId < 0) {
-            workQueue = genericWorkQueue;
+        OperationThread genericOperationThread = null;
+        boolean generic = partitionId < 0;
+        if (generic) {
+            if (genericWorkStealing) {
+                genericOperationThread = nextGenericOperationThread();
+                workQueue = genericOperationThread.workQueue;
+            } else {
+                workQueue = genericWorkQueue;
+            }
             priorityWorkQueue = genericPriorityWorkQueue;
         } else {
             OperationThread partitionOperationThread = partitionOperationThreads[toPartitionThreadIndex(partitionId)];
@@ -306,8 +371,44 @@ public final class BasicOperationScheduler {
             offerWork(priorityWorkQueue, task);
             offerWork(workQueue, priorityTaskTrigger);
         } else {
-            offerWork(workQueue, task);
+            offerWork(workQueue, generic ? sampleQueueLatency(task) : task);
+        }
+
+        if (genericOperationThread != null && !genericOperationThread.idle) {
+            wakeupIdleGenericOperationThread();
+        }
+    }
+
+    //idle generic threads block on their own work queue, so one is woken up to steal the task of a busy thread.
+    //A thread is marked idle before it looks for a task to steal, so it either finds the task or is seen here.
+    private void wakeupIdleGenericOperationThread() {
+        for (OperationThread thread : genericOperationThreads) {
+            if (thread != null && thread.idle) {
+                offerWork(thread.workQueue, priorityTaskTrigger);
+                return;
+            }
+        }
+    }
+
+    //prefers an idle generic thread so the task doesn't need to be stolen.
+    private OperationThread nextGenericOperationThread() {
+        OperationThread[] threads = genericOperationThreads;
+        int start = (genericThreadIndex.getAndIncrement() & Integer.MAX_VALUE) % threads.length;
+        for (int i = 0; i < threads.length; i++) {
+            OperationThread thread = threads[(start + i) % threads.length];
+            if (thread.idle) {
+                return thread;
+            }
+        }
+        return threads[start];
+    }
+
+    private static Object sampleQueueLatency(Object task) {
+        int[] counter = QUEUE_LATENCY_SAMPLE_COUNTER.get();
+        if ((++counter[0] & QUEUE_LATENCY_SAMPLE_MASK) != 0) {
+            return task;
         }
+        return new QueueLatencySample(task, System.nanoTime());
     }
 
     private void offerWork(Queue queue, Object task) {
@@ -362,7 +463,8 @@ public final class BasicOperationScheduler {
         @Override
         public OperationThread newThread(Runnable ignore) {
             String threadName = node.getThreadPoolNamePrefix("generic-operation") + threadId;
-            OperationThread thread = new OperationThread(threadName, false, threadId, genericWorkQueue,
+            BlockingQueue workQueue = genericWorkStealing ? new LinkedBlockingDeque() : genericWorkQueue;
+            OperationThread thread = new OperationThread(threadName, false, threadId, workQueue,
                     genericPriorityWorkQueue);
             threadId++;
             return thread;
@@ -377,7 +479,7 @@ public final class BasicOperationScheduler {
             String threadName = node.getThreadPoolNamePrefix("partition-operation") + threadId;
             //each partition operation thread, has its own workqueues because operations are partition specific and can't
             //be executed by other threads.
-            LinkedBlockingQueue workQueue = new LinkedBlockingQueue();
+            BlockingQueue workQueue = newSingleConsumerWorkQueue();
             ConcurrentLinkedQueue priorityWorkQueue = new ConcurrentLinkedQueue();
             OperationThread thread = new OperationThread(threadName, true, threadId, workQueue, priorityWorkQueue);
             threadId++;
@@ -392,6 +494,9 @@ public final class BasicOperationScheduler {
         private final BlockingQueue workQueue;
         private final Queue priorityWorkQueue;
 
+        //only used with generic work stealing, set while the thread is looking for work.
+        private volatile boolean idle;
+
         public OperationThread(String name, boolean isPartitionSpecific,
                                int threadId, BlockingQueue workQueue, Queue priorityWorkQueue) {
             super(node.threadGroup, name);
@@ -417,7 +522,7 @@ public final class BasicOperationScheduler {
             for (;;) {
                 Object task;
                 try {
-                    task = workQueue.take();
+                    task = takeTask();
                 } catch (InterruptedException e) {
                     if (shutdown) {
                         return;
@@ -434,7 +539,47 @@ public final class BasicOperationScheduler {
             }
         }
 
+        private Object takeTask() throws InterruptedException {
+            if (isPartitionSpecific || !genericWorkStealing) {
+                return workQueue.take();
+            }
+            Object task = workQueue.poll();
+            if (task != null) {
+                return task;
+            }
+            idle = true;
+            try {
+                task = steal();
+                //producers offer to an idle thread first, or wake one up when they offer to a busy thread.
+                return task != null ? task : workQueue.take();
+            } finally {
+                idle = false;
+            }
+        }
+
+        //takes the most recently offered task of another generic thread, the owner keeps processing from the head.
+        private Object steal() {
+            OperationThread[] threads = genericOperationThreads;
+            for (int i = 1; i < threads.length; i++) {
+                OperationThread victim = threads[(threadId + i) % threads.length];
+                //threads are started while the array is being filled.
+                if (victim == null) {
+                    continue;
+                }
+                Object task = ((BlockingDeque) victim.workQueue).pollLast();
+                if (task != null) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
         private void process(Object task) {
+            if (task instanceof QueueLatencySample) {
+                QueueLatencySample sample = (QueueLatencySample) task;
+                queueLatency.recordNanos(System.nanoTime() - sample.offerNanos);
+                task = sample.task;
+            }
             try {
                 dispatcher.dispatch(task);
             } catch (Exception e) {
@@ -459,7 +604,9 @@ public final class BasicOperationScheduler {
     }
 
     private class ResponseThread extends Thread {
-        private final BlockingQueue<Packet> workQueue = new LinkedBlockingQueue<Packet>();
+        private final BlockingQueue<Packet> workQueue = newSingleConsumerWorkQueue();
+        //responses are drained in batches, so under load the queue is accessed once per batch instead of once per response.
+        private final List<Packet> batch = new ArrayList<Packet>(RESPONSE_BATCH_SIZE);
 
         public ResponseThread() {
             super(node.threadGroup, node.getThreadNamePrefix("response"));
@@ -478,21 +625,24 @@ public final class BasicOperationScheduler {
 
         private void doRun() {
             for (;;) {
-                Object task;
                 try {
-                    task = workQueue.take();
+                    batch.add(workQueue.take());
                 } catch (InterruptedException e) {
                     if (shutdown) {
                         return;
                     }
                     continue;
                 }
+                workQueue.drainTo(batch, RESPONSE_BATCH_SIZE - 1);
 
                 if (shutdown) {
                     return;
                 }
 
-                process(task);
+                for (int i = 0; i < batch.size(); i++) {
+                    process(batch.get(i));
+                }
+                batch.clear();
             }
         }
 
@@ -505,6 +655,24 @@ public final class BasicOperationScheduler {
         }
     }
 
+    /**
+     * Wraps a sampled task to measure how long it waits in a work queue.
+     */
+    private static final class QueueLatencySample {
+        private final Object task;
+        private final long offerNanos;
+
+        private QueueLatencySample(Object task, long offerNanos) {
+            this.task = task;
+            this.offerNanos = offerNanos;
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
     /**
      * Process the operation that has been send locally to this OperationService.
      */
@@ -188,6 +188,11 @@ final class BasicOperationService implements InternalOperationService {
         return scheduler.getPriorityOperationExecutorQueueSize();
     }
 
+    @Override
+    public long getOperationExecutorQueueLatencyMicros(double percentile) {
+        return scheduler.getOperationExecutorQueueLatencyMicros(percentile);
+    }
+
     @Override
     public InvocationBuilder createInvocationBuilder(String serviceName, Operation op, int partitionId) {
         if (partitionId < 0) {
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link MemoryBlock} backed by direct {@link ByteBuffer}s. Since a single buffer
+ * cannot exceed 2GB, the block is split into pages each holding a whole number of chunks.
+ */
+final class ByteBufferMemoryBlock implements MemoryBlock {
+
+    private final int chunkSize;
+    private final int chunksPerPage;
+    private ByteBuffer[] pages;
+
+    ByteBufferMemoryBlock(int chunkCount, int chunkSize) {
+        this.chunkSize = chunkSize;
+        this.chunksPerPage = Integer.MAX_VALUE / chunkSize;
+        int pageCount = (chunkCount + chunksPerPage - 1) / chunksPerPage;
+        pages = new ByteBuffer[pageCount];
+        int remaining = chunkCount;
+        for (int i = 0; i < pageCount; i++) {
+            int chunks = Math.min(remaining, chunksPerPage);
+            pages[i] = ByteBuffer.allocateDirect(chunks * chunkSize);
+            remaining -= chunks;
+        }
+    }
+
+    @Override
+    public void write(int chunk, byte[] src, int offset, int length) {
+        ByteBuffer page = position(chunk);
+        page.put(src, offset, length);
+    }
+
+    @Override
+    public void read(int chunk, byte[] dst, int offset, int length) {
+        ByteBuffer page = position(chunk);
+        page.get(dst, offset, length);
+    }
+
+    private ByteBuffer position(int chunk) {
+        if (pages == null) {
+            throw new IllegalStateException("Memory block is already freed!");
+        }
+        ByteBuffer page = pages[chunk / chunksPerPage];
+        page.clear();
+        page.position((chunk % chunksPerPage) * chunkSize);
+        return page;
+    }
+
+    @Override
+    public void free() {
+        // direct buffers are released when they are garbage collected
+        pages = null;
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBufferMemoryBlock{pages=" + (pages != null ? pages.length : 0) + ", chunkSize=" + chunkSize + '}';
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.storage;
+
+import com.hazelcast.nio.serialization.ClassDefinition;
+
+/**
+ * Reference to a value stored by {@link OffHeapStorage}. Only the meta data of the
+ * {@link com.hazelcast.nio.serialization.Data} stays on heap, its buffer lives in
+ * the chunks listed by this reference.
+ */
+final class DataRefImpl implements DataRef {
+
+    // object header + type + class definition + partition hash + length + chunks + released
+    private static final int SHALLOW_HEAP_COST = 12 + 4 + 4 + 4 + 4 + 4 + 4;
+    // array header + length
+    private static final int ARRAY_HEAP_COST = 16;
+    private static final int INT_SIZE = 4;
+
+    private final int type;
+    private final ClassDefinition classDefinition;
+    private final int partitionHash;
+    private final int length;
+    private final int[] chunks;
+    private boolean released;
+
+    DataRefImpl(int type, ClassDefinition classDefinition, int partitionHash, int length, int[] chunks) {
+        this.type = type;
+        this.classDefinition = classDefinition;
+        this.partitionHash = partitionHash;
+        this.length = length;
+        this.chunks = chunks;
+    }
+
+    int getType() {
+        return type;
+    }
+
+    ClassDefinition getClassDefinition() {
+        return classDefinition;
+    }
+
+    int getPartitionHash() {
+        return partitionHash;
+    }
+
+    int[] getChunks() {
+        return chunks;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    void release() {
+        released = true;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public int heapCost() {
+        return SHALLOW_HEAP_COST + ARRAY_HEAP_COST + chunks.length * INT_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return "DataRefImpl{length=" + length + ", chunks=" + chunks.length + ", released=" + released + '}';
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.storage;
+
+/**
+ * A fixed size native memory region which is addressed in chunks of equal size.
+ * Implementations are not thread-safe, callers should guard them.
+ */
+interface MemoryBlock {
+
+    void write(int chunk, byte[] src, int offset, int length);
+
+    void read(int chunk, byte[] dst, int offset, int length);
+
+    void free();
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.storage;
+
+/**
+ * Parses memory sizes such as <tt>512</tt>, <tt>1K</tt>, <tt>128M</tt> or <tt>4G</tt> into bytes.
+ */
+public final class MemorySize {
+
+    private static final int KILO = 1024;
+
+    private MemorySize() {
+    }
+
+    public static long parse(String value) {
+        if (value == null || value.trim().length() == 0) {
+            throw new IllegalArgumentException("Memory size cannot be empty!");
+        }
+        String s = value.trim().toUpperCase();
+        long multiplier = 1;
+        char unit = s.charAt(s.length() - 1);
+        switch (unit) {
+            case 'G':
+                multiplier *= KILO;
+                // fall through
+            case 'M':
+                multiplier *= KILO;
+                // fall through
+            case 'K':
+                multiplier *= KILO;
+                s = s.substring(0, s.length() - 1).trim();
+                break;
+            default:
+                break;
+        }
+        try {
+            return Long.parseLong(s) * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid memory size: " + value);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.storage;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A slab of off-heap memory divided into fixed size chunks. Values are written into
+ * as many free chunks as they need, the chunks do not have to be contiguous.
+ * Free chunks are kept in an int stack, so allocation and release are O(chunks of the value).
+ */
+final class OffHeapSegment {
+
+    private final Lock lock = new ReentrantLock();
+    private final MemoryBlock memory;
+    private final int chunkSize;
+    private final int chunkCount;
+    private final int[] freeChunks;
+    private int freeChunkCount;
+    private long valueBytes;
+
+    OffHeapSegment(MemoryBlock memory, int chunkCount, int chunkSize) {
+        this.memory = memory;
+        this.chunkSize = chunkSize;
+        this.chunkCount = chunkCount;
+        this.freeChunks = new int[chunkCount];
+        // pop lower chunk indexes first
+        for (int i = 0; i < chunkCount; i++) {
+            freeChunks[i] = chunkCount - i - 1;
+        }
+        this.freeChunkCount = chunkCount;
+    }
+
+    DataRefImpl put(Data data) {
+        final byte[] buffer = data.getBuffer();
+        final int length = data.bufferSize();
+        final int count = (length + chunkSize - 1) / chunkSize;
+        final int[] chunks = new int[count];
+        lock.lock();
+        try {
+            if (count > freeChunkCount) {
+                throw new OffHeapOutOfMemoryException("Not enough off-heap memory! Required chunks: " + count
+                        + ", free chunks: " + freeChunkCount + ", chunk size: " + chunkSize);
+            }
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                final int chunk = freeChunks[--freeChunkCount];
+                final int len = Math.min(chunkSize, length - offset);
+                memory.write(chunk, buffer, offset, len);
+                chunks[i] = chunk;
+                offset += len;
+            }
+            valueBytes += length;
+        } finally {
+            lock.unlock();
+        }
+        return new DataRefImpl(data.getType(), data.getClassDefinition(), data.getPartitionHash(), length, chunks);
+    }
+
+    Data get(DataRefImpl ref) {
+        final int length = ref.size();
+        final byte[] buffer = length > 0 ? new byte[length] : null;
+        lock.lock();
+        try {
+            if (ref.isReleased()) {
+                return null;
+            }
+            final int[] chunks = ref.getChunks();
+            int offset = 0;
+            for (int chunk : chunks) {
+                final int len = Math.min(chunkSize, length - offset);
+                memory.read(chunk, buffer, offset, len);
+                offset += len;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new Data(ref.getType(), buffer, ref.getClassDefinition(), ref.getPartitionHash());
+    }
+
+    void remove(DataRefImpl ref) {
+        lock.lock();
+        try {
+            if (ref.isReleased()) {
+                return;
+            }
+            ref.release();
+            for (int chunk : ref.getChunks()) {
+                freeChunks[freeChunkCount++] = chunk;
+            }
+            valueBytes -= ref.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getTotalMemory() {
+        return (long) chunkCount * chunkSize;
+    }
+
+    long getUsedMemory() {
+        lock.lock();
+        try {
+            return (long) (chunkCount - freeChunkCount) * chunkSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getFragmentedMemory() {
+        lock.lock();
+        try {
+            return (long) (chunkCount - freeChunkCount) * chunkSize - valueBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void destroy() {
+        lock.lock();
+        try {
+            freeChunkCount = 0;
+            valueBytes = 0;
+            memory.free();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
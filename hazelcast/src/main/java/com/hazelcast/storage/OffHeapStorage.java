@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.storage;
+
+import com.hazelcast.nio.UnsafeHelper;
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * {@link Storage} keeping value buffers outside of the Java heap, so large data sets
+ * do not add to garbage collection pauses.
+ * <p/>
+ * Memory is split into segments, each one is a slab of fixed size chunks guarded by its own lock.
+ * A value is routed to a segment by the hash given by the caller (the partition hash of the key),
+ * which stripes contention across partition threads.
+ * <p/>
+ * When unsafe is requested and available, segments are allocated via <tt>sun.misc.Unsafe</tt>,
+ * otherwise direct {@link java.nio.ByteBuffer}s are used.
+ */
+public class OffHeapStorage implements Storage<DataRef>, StorageStats {
+
+    private final OffHeapSegment[] segments;
+    private final int chunkSize;
+    private final boolean unsafe;
+
+    public OffHeapStorage(long totalSize, int chunkSize, int segmentCount, boolean useUnsafe) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive! -> " + chunkSize);
+        }
+        if (segmentCount <= 0) {
+            throw new IllegalArgumentException("Segment count must be positive! -> " + segmentCount);
+        }
+        final long chunksPerSegment = totalSize / chunkSize / segmentCount;
+        if (chunksPerSegment <= 0) {
+            throw new IllegalArgumentException("Total size " + totalSize + " is too small for "
+                    + segmentCount + " segments of " + chunkSize + " byte chunks!");
+        }
+        if (chunksPerSegment > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many chunks per segment, "
+                    + "increase chunk size or segment count! -> " + chunksPerSegment);
+        }
+        this.chunkSize = chunkSize;
+        this.unsafe = useUnsafe && UnsafeHelper.UNSAFE_AVAILABLE;
+        this.segments = new OffHeapSegment[segmentCount];
+        final int chunkCount = (int) chunksPerSegment;
+        for (int i = 0; i < segmentCount; i++) {
+            MemoryBlock memory = unsafe
+                    ? new UnsafeMemoryBlock(chunkCount, chunkSize)
+                    : new ByteBufferMemoryBlock(chunkCount, chunkSize);
+            segments[i] = new OffHeapSegment(memory, chunkCount, chunkSize);
+        }
+    }
+
+    private OffHeapSegment getSegment(int hash) {
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    @Override
+    public DataRef put(int hash, Data data) {
+        return getSegment(hash).put(data);
+    }
+
+    @Override
+    public Data get(int hash, DataRef ref) {
+        return getSegment(hash).get((DataRefImpl) ref);
+    }
+
+    @Override
+    public void remove(int hash, DataRef ref) {
+        getSegment(hash).remove((DataRefImpl) ref);
+    }
+
+    @Override
+    public void destroy() {
+        for (OffHeapSegment segment : segments) {
+            segment.destroy();
+        }
+    }
+
+    @Override
+    public long getTotalMemory() {
+        long total = 0;
+        for (OffHeapSegment segment : segments) {
+            total += segment.getTotalMemory();
+        }
+        return total;
+    }
+
+    @Override
+    public long getUsedMemory() {
+        long used = 0;
+        for (OffHeapSegment segment : segments) {
+            used += segment.getUsedMemory();
+        }
+        return used;
+    }
+
+    @Override
+    public long getFreeMemory() {
+        return getTotalMemory() - getUsedMemory();
+    }
+
+    @Override
+    public long getFragmentedMemory() {
+        long fragmented = 0;
+        for (OffHeapSegment segment : segments) {
+            fragmented += segment.getFragmentedMemory();
+        }
+        return fragmented;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapStorage{segments=" + segments.length
+                + ", chunkSize=" + chunkSize
+                + ", unsafe=" + unsafe
+                + ", total=" + getTotalMemory()
+                + ", used=" + getUsedMemory()
+                + '}';
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.storage;
+
+/**
+ * Memory usage figures of a {@link Storage}, all in bytes.
+ */
+public interface StorageStats {
+
+    /**
+     * @return total memory reserved by the storage.
+     */
+    long getTotalMemory();
+
+    /**
+     * @return memory held by allocated chunks.
+     */
+    long getUsedMemory();
+
+    /**
+     * @return memory of the chunks which are not allocated yet.
+     */
+    long getFreeMemory();
+
+    /**
+     * @return part of the used memory which is wasted because values
+     * do not fill their last chunk completely.
+     */
+    long getFragmentedMemory();
+}
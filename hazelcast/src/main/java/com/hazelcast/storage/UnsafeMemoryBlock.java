@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.storage;
+
+import static com.hazelcast.nio.UnsafeHelper.BYTE_ARRAY_BASE_OFFSET;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+
+/**
+ * {@link MemoryBlock} allocated via <tt>sun.misc.Unsafe</tt>, can be larger than 2GB.
+ */
+final class UnsafeMemoryBlock implements MemoryBlock {
+
+    private final int chunkSize;
+    private final long size;
+    private long address;
+
+    UnsafeMemoryBlock(int chunkCount, int chunkSize) {
+        this.chunkSize = chunkSize;
+        this.size = (long) chunkCount * chunkSize;
+        this.address = UNSAFE.allocateMemory(size);
+    }
+
+    @Override
+    public void write(int chunk, byte[] src, int offset, int length) {
+        UNSAFE.copyMemory(src, BYTE_ARRAY_BASE_OFFSET + offset, null, offsetOf(chunk), length);
+    }
+
+    @Override
+    public void read(int chunk, byte[] dst, int offset, int length) {
+        UNSAFE.copyMemory(null, offsetOf(chunk), dst, BYTE_ARRAY_BASE_OFFSET + offset, length);
+    }
+
+    private long offsetOf(int chunk) {
+        if (address == 0L) {
+            throw new IllegalStateException("Memory block is already freed!");
+        }
+        return address + (long) chunk * chunkSize;
+    }
+
+    @Override
+    public void free() {
+        if (address != 0L) {
+            UNSAFE.freeMemory(address);
+            address = 0L;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UnsafeMemoryBlock{size=" + size + ", chunkSize=" + chunkSize + '}';
+    }
+}
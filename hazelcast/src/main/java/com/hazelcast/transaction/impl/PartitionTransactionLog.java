@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.transaction.impl;
+
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+
+/**
+ * A {@link TransactionLog} which is prepared and committed by a single operation on one partition. The
+ * transaction groups these operations by partition and sends them as one {@link TxnBatchOperation} per
+ * partition. If all logs of a transaction belong to the same partition, prepare and commit are executed by
+ * one operation.
+ */
+public interface PartitionTransactionLog extends TransactionLog {
+
+    int getPartitionId(NodeEngine nodeEngine);
+
+    Operation createPrepareOperation();
+
+    Operation createCommitOperation();
+}
@@ -20,6 +20,7 @@ import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.exception.TargetNotMemberException;
 import com.hazelcast.transaction.TransactionException;
@@ -31,7 +32,9 @@ import com.hazelcast.util.FutureUtil;
 import com.hazelcast.util.UuidUtil;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
@@ -81,6 +84,7 @@ final class TransactionImpl implements Transaction, TransactionSupport {
     private long startTime;
     private Address[] backupAddresses;
     private SerializableXID xid;
+    private boolean singlePartitionCommit;
 
     public TransactionImpl(TransactionManagerServiceImpl transactionManagerService, NodeEngine nodeEngine,
                            TransactionOptions options, String txOwnerUuid) {
@@ -193,6 +197,7 @@ final class TransactionImpl implements Transaction, TransactionSupport {
             setThreadFlag(Boolean.TRUE);
         }
         startTime = Clock.currentTimeMillis();
+        singlePartitionCommit = false;
         backupAddresses = transactionManagerService.pickBackupAddresses(durability);
 
         if (durability > 0 && backupAddresses != null && transactionType == TransactionType.TWO_PHASE) {
@@ -247,15 +252,18 @@ final class TransactionImpl implements Transaction, TransactionSupport {
         checkThread();
         checkTimeout();
         try {
-            final List<Future> futures = new ArrayList<Future>(txLogs.size());
             state = PREPARING;
-            for (TransactionLog txLog : txLogs) {
-                futures.add(txLog.prepare(nodeEngine));
+            // if all logs belong to one partition, prepare and commit are done by one operation in commit(),
+            // so there is nothing to recover if this member dies in between and the log is not replicated.
+            // A lost lock then fails commit() with COMMIT_FAILED instead of prepare(), see commitSinglePartition()
+            singlePartitionCommit = xid == null && isSinglePartition();
+            if (!singlePartitionCommit) {
+                final List<Future> futures = invoke(true);
+                waitWithDeadline(futures, timeoutMillis, TimeUnit.MILLISECONDS, FutureUtil.RETHROW_EVERYTHING);
+                futures.clear();
             }
-            waitWithDeadline(futures, timeoutMillis, TimeUnit.MILLISECONDS, FutureUtil.RETHROW_EVERYTHING);
-            futures.clear();
             state = PREPARED;
-            if (durability > 0) {
+            if (durability > 0 && !singlePartitionCommit) {
                 replicateTxnLog();
             }
         } catch (Throwable e) {
@@ -289,17 +297,18 @@ final class TransactionImpl implements Transaction, TransactionSupport {
             checkThread();
             checkTimeout();
             try {
-                final List<Future> futures = new ArrayList<Future>(txLogs.size());
                 state = COMMITTING;
-                for (TransactionLog txLog : txLogs) {
-                    futures.add(txLog.commit(nodeEngine));
-                }
-                waitWithDeadline(futures, COMMIT_TIMEOUT_MINUTES, TimeUnit.MINUTES, commitExceptionHandler);
-                for (Future future : futures) {
-                    try {
-                        future.get(COMMIT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
-                    } catch (Throwable e) {
-                        nodeEngine.getLogger(getClass()).warning("Error during commit!", e);
+                if (singlePartitionCommit) {
+                    commitSinglePartition();
+                } else {
+                    final List<Future> futures = invoke(false);
+                    waitWithDeadline(futures, COMMIT_TIMEOUT_MINUTES, TimeUnit.MINUTES, commitExceptionHandler);
+                    for (Future future : futures) {
+                        try {
+                            future.get(COMMIT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+                        } catch (Throwable e) {
+                            nodeEngine.getLogger(getClass()).warning("Error during commit!", e);
+                        }
                     }
                 }
                 state = COMMITTED;
@@ -315,6 +324,87 @@ final class TransactionImpl implements Transaction, TransactionSupport {
         }
     }
 
+    /**
+     * Sends the prepare or commit operations of all transaction logs. The operations of
+     * {@link PartitionTransactionLog}s are grouped by partition and sent as one {@link TxnBatchOperation}
+     * per partition.
+     */
+    private List<Future> invoke(boolean prepare) {
+        final List<Future> futures = new ArrayList<Future>(txLogs.size());
+        final Map<Integer, List<Operation>> partitionOperations = new LinkedHashMap<Integer, List<Operation>>();
+        for (TransactionLog txLog : txLogs) {
+            if (txLog instanceof PartitionTransactionLog) {
+                PartitionTransactionLog partitionTxLog = (PartitionTransactionLog) txLog;
+                Integer partitionId = partitionTxLog.getPartitionId(nodeEngine);
+                List<Operation> operations = partitionOperations.get(partitionId);
+                if (operations == null) {
+                    operations = new ArrayList<Operation>();
+                    partitionOperations.put(partitionId, operations);
+                }
+                operations.add(prepare ? partitionTxLog.createPrepareOperation() : partitionTxLog.createCommitOperation());
+            } else {
+                futures.add(prepare ? txLog.prepare(nodeEngine) : txLog.commit(nodeEngine));
+            }
+        }
+        final OperationService operationService = nodeEngine.getOperationService();
+        final List<Operation> none = Collections.emptyList();
+        for (Map.Entry<Integer, List<Operation>> entry : partitionOperations.entrySet()) {
+            List<Operation> operations = entry.getValue();
+            Operation op;
+            if (operations.size() == 1) {
+                op = operations.get(0);
+            } else if (prepare) {
+                op = new TxnBatchOperation(operations, none);
+            } else {
+                op = new TxnBatchOperation(none, operations);
+            }
+            futures.add(operationService.invokeOnPartition(serviceName(op), op, entry.getKey()));
+        }
+        return futures;
+    }
+
+    private boolean isSinglePartition() {
+        int partitionId = -1;
+        for (TransactionLog txLog : txLogs) {
+            if (!(txLog instanceof PartitionTransactionLog)) {
+                return false;
+            }
+            int logPartitionId = ((PartitionTransactionLog) txLog).getPartitionId(nodeEngine);
+            if (partitionId != -1 && partitionId != logPartitionId) {
+                return false;
+            }
+            partitionId = logPartitionId;
+        }
+        return partitionId != -1;
+    }
+
+    /**
+     * Runs the prepare and commit operations of a single partition transaction as one {@link TxnBatchOperation}.
+     * The lock checks of the prepare operations run first, so a lost lock fails the operation before anything
+     * is written. Unlike the two phase protocol, this failure is reported by {@link #commit()} which leaves the
+     * transaction in {@link State#COMMIT_FAILED}; the caller rolls it back as after a failed prepare.
+     * The batch carries the transaction id, so a retry after the partition owner died finds the transaction
+     * committed on the new owner instead of failing on the locks the first run released.
+     */
+    private void commitSinglePartition() throws Exception {
+        final List<Operation> prepareOperations = new ArrayList<Operation>(txLogs.size());
+        final List<Operation> commitOperations = new ArrayList<Operation>(txLogs.size());
+        int partitionId = -1;
+        for (TransactionLog txLog : txLogs) {
+            PartitionTransactionLog partitionTxLog = (PartitionTransactionLog) txLog;
+            partitionId = partitionTxLog.getPartitionId(nodeEngine);
+            prepareOperations.add(partitionTxLog.createPrepareOperation());
+            commitOperations.add(partitionTxLog.createCommitOperation());
+        }
+        final Operation op = new TxnBatchOperation(txnId, prepareOperations, commitOperations);
+        final Future future = nodeEngine.getOperationService().invokeOnPartition(serviceName(op), op, partitionId);
+        future.get(COMMIT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private static String serviceName(Operation op) {
+        return op instanceof TxnBatchOperation ? TransactionManagerServiceImpl.SERVICE_NAME : op.getServiceName();
+    }
+
     private void checkTimeout() throws TransactionException {
         if (startTime + timeoutMillis < Clock.currentTimeMillis()) {
             throw new TransactionException("Transaction is timed-out!");
@@ -42,6 +42,7 @@ import com.hazelcast.util.ExceptionUtil;
 
 import javax.transaction.xa.Xid;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -70,6 +71,8 @@ public class TransactionManagerServiceImpl implements TransactionManagerService,
 
     public static final int RECOVER_TIMEOUT = 5000;
 
+    private static final int COMMITTED_TXN_IDS_PER_PARTITION = 16;
+
     private final ExceptionHandler finalizeExceptionHandler;
 
     private final NodeEngineImpl nodeEngine;
@@ -82,6 +85,11 @@ public class TransactionManagerServiceImpl implements TransactionManagerService,
     private final ConcurrentMap<SerializableXID, RecoveredTransaction>
             clientRecoveredTransactions = new ConcurrentHashMap<SerializableXID, RecoveredTransaction>();
 
+    // ids of the single partition transactions committed last on the partition replicas of this member,
+    // only accessed by the partition threads, see TxnBatchOperation
+    private String[][] committedTxnIds;
+    private int[] committedTxnIndexes;
+
     public TransactionManagerServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
         this.logger = nodeEngine.getLogger(TransactionManagerService.class);
@@ -130,11 +138,42 @@ public class TransactionManagerServiceImpl implements TransactionManagerService,
 
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        committedTxnIds = new String[partitionCount][COMMITTED_TXN_IDS_PER_PARTITION];
+        committedTxnIndexes = new int[partitionCount];
     }
 
     @Override
     public void reset() {
         txBackupLogs.clear();
+        if (committedTxnIds != null) {
+            for (String[] txnIds : committedTxnIds) {
+                Arrays.fill(txnIds, null);
+            }
+        }
+    }
+
+    /**
+     * Records that the transaction was committed on this member's replica of the partition.
+     * Must be called by the partition thread.
+     */
+    void addCommittedTxn(int partitionId, String txnId) {
+        int index = committedTxnIndexes[partitionId];
+        committedTxnIds[partitionId][index] = txnId;
+        committedTxnIndexes[partitionId] = (index + 1) % COMMITTED_TXN_IDS_PER_PARTITION;
+    }
+
+    /**
+     * Returns true if the transaction is one of the last transactions committed on this member's replica of
+     * the partition. Must be called by the partition thread.
+     */
+    boolean isCommittedTxn(int partitionId, String txnId) {
+        for (String committedTxnId : committedTxnIds[partitionId]) {
+            if (txnId.equals(committedTxnId)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
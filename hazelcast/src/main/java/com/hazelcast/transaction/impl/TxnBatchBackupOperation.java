@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.transaction.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.BackupOperation;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationAccessor;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Applies the backups of a {@link TxnBatchOperation}. The operations in a batch may belong to data structures
+ * with different backup counts, a backup operation is only applied on the replicas its data structure has.
+ * The transaction id of the batch, if any, is recorded like on the owner.
+ */
+public final class TxnBatchBackupOperation extends Operation implements BackupOperation {
+
+    private String txnId;
+    private List<Operation> backupOperations;
+    private int[] backupCounts;
+
+    public TxnBatchBackupOperation() {
+    }
+
+    public TxnBatchBackupOperation(String txnId, List<Operation> backupOperations, int[] backupCounts) {
+        this.txnId = txnId;
+        this.backupOperations = backupOperations;
+        this.backupCounts = backupCounts;
+    }
+
+    @Override
+    public void beforeRun() throws Exception {
+    }
+
+    @Override
+    public void run() throws Exception {
+        for (int i = 0; i < backupOperations.size(); i++) {
+            if (getReplicaIndex() > backupCounts[i]) {
+                continue;
+            }
+            Operation op = backupOperations.get(i);
+            op.setNodeEngine(getNodeEngine())
+                    .setPartitionId(getPartitionId())
+                    .setReplicaIndex(getReplicaIndex())
+                    .setCallerUuid(getCallerUuid());
+            OperationAccessor.setCallerAddress(op, getCallerAddress());
+            try {
+                op.beforeRun();
+                op.run();
+                op.afterRun();
+            } catch (Throwable e) {
+                op.logError(e);
+            }
+        }
+        if (txnId != null) {
+            TransactionManagerServiceImpl txManagerService = getService();
+            txManagerService.addCommittedTxn(getPartitionId(), txnId);
+        }
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public Object getResponse() {
+        return null;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(txnId);
+        TxnBatchOperation.writeOperations(out, backupOperations);
+        out.writeIntArray(backupCounts);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        txnId = in.readUTF();
+        backupOperations = TxnBatchOperation.readOperations(in);
+        backupCounts = in.readIntArray();
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.transaction.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.BackupAwareOperation;
+import com.hazelcast.spi.Notifier;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationAccessor;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.WaitNotifyKey;
+import com.hazelcast.spi.WaitSupport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the prepare and commit operations of the {@link PartitionTransactionLog}s of a transaction which belong
+ * to the same partition, so the partition is visited once per phase instead of once per log.
+ * <p/>
+ * The prepare operations run first and fail the whole batch on the first error, before anything is committed.
+ * Errors of commit operations are logged and do not stop the remaining commits, like commits sent one by one.
+ * The backups of all operations are sent as one {@link TxnBatchBackupOperation}.
+ * <p/>
+ * A batch which prepares and commits a whole transaction carries the transaction id. The owner and the backups
+ * of the partition record it, so if the owner dies before responding and the batch is retried on the new owner,
+ * the batch finds it committed already and succeeds without running its operations again.
+ */
+public final class TxnBatchOperation extends Operation implements PartitionAwareOperation, BackupAwareOperation,
+        WaitSupport {
+
+    private String txnId;
+    private List<Operation> prepareOperations;
+    private List<Operation> commitOperations;
+
+    private transient WaitSupport waitingOperation;
+    private transient boolean committedAlready;
+
+    public TxnBatchOperation() {
+    }
+
+    public TxnBatchOperation(List<Operation> prepareOperations, List<Operation> commitOperations) {
+        this(null, prepareOperations, commitOperations);
+    }
+
+    /**
+     * @param txnId id of the transaction committed by this batch, or null if the batch runs only one phase
+     */
+    public TxnBatchOperation(String txnId, List<Operation> prepareOperations, List<Operation> commitOperations) {
+        this.txnId = txnId;
+        this.prepareOperations = prepareOperations;
+        this.commitOperations = commitOperations;
+    }
+
+    @Override
+    public void beforeRun() throws Exception {
+        for (Operation op : prepareOperations) {
+            initOperation(op);
+            op.beforeRun();
+        }
+        for (Operation op : commitOperations) {
+            initOperation(op);
+            op.beforeRun();
+        }
+    }
+
+    private void initOperation(Operation op) {
+        op.setNodeEngine(getNodeEngine())
+                .setPartitionId(getPartitionId())
+                .setReplicaIndex(getReplicaIndex())
+                .setResponseHandler(getResponseHandler())
+                .setCallerUuid(getCallerUuid());
+        OperationAccessor.setCallerAddress(op, getCallerAddress());
+        OperationAccessor.setConnection(op, getConnection());
+    }
+
+    @Override
+    public void run() throws Exception {
+        TransactionManagerServiceImpl txManagerService = getService();
+        if (txnId != null && txManagerService.isCommittedTxn(getPartitionId(), txnId)) {
+            committedAlready = true;
+            return;
+        }
+        for (Operation op : prepareOperations) {
+            op.run();
+        }
+        for (Operation op : commitOperations) {
+            try {
+                op.run();
+            } catch (Throwable e) {
+                getLogger().warning("Error during commit!", e);
+            }
+        }
+        if (txnId != null) {
+            txManagerService.addCommittedTxn(getPartitionId(), txnId);
+        }
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+        if (committedAlready) {
+            return;
+        }
+        afterRun(prepareOperations);
+        afterRun(commitOperations);
+    }
+
+    private void afterRun(List<Operation> operations) {
+        for (Operation op : operations) {
+            try {
+                op.afterRun();
+                if (op instanceof Notifier && ((Notifier) op).shouldNotify()) {
+                    getNodeEngine().getWaitNotifyService().notify((Notifier) op);
+                }
+            } catch (Throwable e) {
+                op.logError(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return true;
+    }
+
+    @Override
+    public Object getResponse() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public boolean shouldWait() {
+        // the prepare operations fail if a lock is not owned anymore, waiting for it is not needed then
+        if (!prepareOperations.isEmpty()) {
+            return false;
+        }
+        for (Operation op : commitOperations) {
+            if (op instanceof WaitSupport && ((WaitSupport) op).shouldWait()) {
+                waitingOperation = (WaitSupport) op;
+                setWaitTimeout(waitingOperation.getWaitTimeout());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public WaitNotifyKey getWaitKey() {
+        return waitingOperation.getWaitKey();
+    }
+
+    @Override
+    public void onWaitExpire() {
+        waitingOperation.onWaitExpire();
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return !committedAlready && !getBackupAwareOperations().isEmpty();
+    }
+
+    @Override
+    public int getSyncBackupCount() {
+        int syncBackupCount = 0;
+        for (BackupAwareOperation op : getBackupAwareOperations()) {
+            syncBackupCount = Math.max(syncBackupCount, op.getSyncBackupCount());
+        }
+        return syncBackupCount;
+    }
+
+    @Override
+    public int getAsyncBackupCount() {
+        int totalBackupCount = 0;
+        for (BackupAwareOperation op : getBackupAwareOperations()) {
+            totalBackupCount = Math.max(totalBackupCount, op.getSyncBackupCount() + op.getAsyncBackupCount());
+        }
+        return Math.max(0, totalBackupCount - getSyncBackupCount());
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        List<BackupAwareOperation> backupAwareOperations = getBackupAwareOperations();
+        List<Operation> backupOperations = new ArrayList<Operation>(backupAwareOperations.size());
+        int[] backupCounts = new int[backupAwareOperations.size()];
+        for (int i = 0; i < backupCounts.length; i++) {
+            BackupAwareOperation op = backupAwareOperations.get(i);
+            Operation backupOp = op.getBackupOperation();
+            backupOp.setServiceName(((Operation) op).getServiceName());
+            backupOperations.add(backupOp);
+            backupCounts[i] = op.getSyncBackupCount() + op.getAsyncBackupCount();
+        }
+        return new TxnBatchBackupOperation(txnId, backupOperations, backupCounts);
+    }
+
+    private List<BackupAwareOperation> getBackupAwareOperations() {
+        List<BackupAwareOperation> operations = new ArrayList<BackupAwareOperation>();
+        addBackupAwareOperations(prepareOperations, operations);
+        addBackupAwareOperations(commitOperations, operations);
+        return operations;
+    }
+
+    private static void addBackupAwareOperations(List<Operation> source, List<BackupAwareOperation> target) {
+        for (Operation op : source) {
+            if (op instanceof BackupAwareOperation && ((BackupAwareOperation) op).shouldBackup()) {
+                target.add((BackupAwareOperation) op);
+            }
+        }
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(txnId);
+        writeOperations(out, prepareOperations);
+        writeOperations(out, commitOperations);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        txnId = in.readUTF();
+        prepareOperations = readOperations(in);
+        commitOperations = readOperations(in);
+    }
+
+    static void writeOperations(ObjectDataOutput out, List<Operation> operations) throws IOException {
+        out.writeInt(operations.size());
+        for (Operation op : operations) {
+            out.writeObject(op);
+        }
+    }
+
+    static List<Operation> readOperations(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        List<Operation> operations = new ArrayList<Operation>(size);
+        for (int i = 0; i < size; i++) {
+            Operation op = in.readObject();
+            operations.add(op);
+        }
+        return operations;
+    }
+}
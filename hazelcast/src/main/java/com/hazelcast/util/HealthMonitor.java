@@ -21,6 +21,7 @@ import com.hazelcast.instance.HazelcastInstanceImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.ConnectionManager;
+import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.spi.EventService;
 import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.OperationService;
@@ -69,6 +70,7 @@ public class HealthMonitor extends Thread {
     private final EventService eventService;
     private final OperationService operationService;
     private final ProxyService proxyService;
+    private final InternalPartitionService partitionService;
     private final ConnectionManager connectionManager;
     private final ClientEngineImpl clientEngine;
     private final ThreadMXBean threadMxBean;
@@ -88,6 +90,7 @@ public class HealthMonitor extends Thread {
         this.eventService = node.nodeEngine.getEventService();
         this.operationService = node.nodeEngine.getOperationService();
         this.proxyService = node.nodeEngine.getProxyService();
+        this.partitionService = node.nodeEngine.getPartitionService();
         this.clientEngine = node.clientEngine;
         this.connectionManager = node.connectionManager;
     }
@@ -148,6 +151,10 @@ public class HealthMonitor extends Thread {
         private final int operationServiceOperationExecutorQueueSize;
         private final int operationServiceOperationPriorityExecutorQueueSize;
         private final int operationServiceOperationResponseQueueSize;
+        private final long operationServiceOperationQueueLatencyP50;
+        private final long operationServiceOperationQueueLatencyP99;
+        private final long replicationChunksInFlight;
+        private final long replicationBytesInFlight;
         private final int runningOperationsCount;
         private final int remoteOperationsCount;
         private final int proxyCount;
@@ -179,6 +186,10 @@ public class HealthMonitor extends Thread {
             operationServiceOperationExecutorQueueSize = operationService.getOperationExecutorQueueSize();
             operationServiceOperationPriorityExecutorQueueSize = operationService.getPriorityOperationExecutorQueueSize();
             operationServiceOperationResponseQueueSize = operationService.getResponseQueueSize();
+            operationServiceOperationQueueLatencyP50 = operationService.getOperationExecutorQueueLatencyMicros(50);
+            operationServiceOperationQueueLatencyP99 = operationService.getOperationExecutorQueueLatencyMicros(99);
+            replicationChunksInFlight = partitionService.getReplicationChunksInFlight();
+            replicationBytesInFlight = partitionService.getReplicationBytesInFlight();
             runningOperationsCount = operationService.getRunningOperationsCount();
             remoteOperationsCount = operationService.getRemoteOperationsCount();
             proxyCount = proxyService.getProxyCount();
@@ -228,7 +239,11 @@ public class HealthMonitor extends Thread {
             sb.append("executor.q.priorityOperation.size=").
                     append(operationServiceOperationPriorityExecutorQueueSize).append(", ");
             sb.append("executor.q.response.size=").append(operationServiceOperationResponseQueueSize).append(", ");
+            sb.append("executor.q.operation.latency.p50=").append(operationServiceOperationQueueLatencyP50).append("us, ");
+            sb.append("executor.q.operation.latency.p99=").append(operationServiceOperationQueueLatencyP99).append("us, ");
             sb.append("operations.remote.size=").append(remoteOperationsCount).append(", ");
+            sb.append("migration.chunks.inFlight=").append(replicationChunksInFlight).append(", ");
+            sb.append("migration.bytes.inFlight=").append(numberToUnitRepresentation(replicationBytesInFlight)).append(", ");
             sb.append("operations.running.size=").append(runningOperationsCount).append(", ");
             sb.append("proxy.count=").append(proxyCount).append(", ");
             sb.append("clientEndpoint.count=").append(clientEndpointCount).append(", ");
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of latencies with power of two microsecond buckets.
+ * <p/>
+ * Recording is a single atomic increment, so it is cheap enough to be done on hot paths. The price is
+ * precision: a percentile is reported as the upper bound of the bucket it falls into, e.g. a latency of
+ * 300 microseconds is reported as 512.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = 40;
+    private static final double PERCENT = 100d;
+
+    // bucket 0 counts latencies below 1 microsecond, bucket n counts latencies in [2^(n-1), 2^n) microseconds.
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    public void recordNanos(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = micros <= 0 ? 0 : Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the upper bound of the given percentile in microseconds.
+     *
+     * @param percentile percentile in (0, 100], e.g. 99.9
+     * @return latency in microseconds or 0 if nothing is recorded yet.
+     */
+    public long getPercentileMicros(double percentile) {
+        if (percentile <= 0 || percentile > PERCENT) {
+            throw new IllegalArgumentException("Percentile should be in (0, 100], but is " + percentile);
+        }
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile / PERCENT);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return 1L << i;
+            }
+        }
+        return 1L << (BUCKET_COUNT - 1);
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+    }
+}
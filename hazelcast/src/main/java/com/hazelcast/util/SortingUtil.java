@@ -1,9 +1,15 @@
 package com.hazelcast.util;
 
 import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.PagingPredicateAccessor;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  *  Utility class for generating Comparators to be used in sort methods specific to hazelcast classes.
@@ -20,36 +26,41 @@ public final class SortingUtil {
             if (result != 0) {
                 return result;
             }
-            return entry1.getKey().hashCode() - entry2.getKey().hashCode();
+            return compareHashCodes(entry1.getKey().hashCode(), entry2.getKey().hashCode());
         }
 
-        Object comparable1;
-        Object comparable2;
+        int result;
         switch (iterationType) {
             case KEY:
-                comparable1 = entry1.getKey();
-                comparable2 = entry2.getKey();
+                result = compareObjects(entry1.getKey(), entry2.getKey());
                 break;
             case VALUE:
-                comparable1 = entry1.getValue();
-                comparable2 = entry2.getValue();
+                result = compareObjects(entry1.getValue(), entry2.getValue());
                 break;
             default:
-                comparable1 = entry1;
-                comparable2 = entry2;
+                // entries of partitions, members and callers are of different classes, so the hash codes
+                // are computed as defined by Map.Entry instead of relying on the hashCode of the entry class.
+                result = compareHashCodes(entry1.getKey().hashCode() ^ entry1.getValue().hashCode(),
+                        entry2.getKey().hashCode() ^ entry2.getValue().hashCode());
                 break;
         }
-        int result;
-        if (comparable1 instanceof Comparable && comparable2 instanceof Comparable) {
-            result = ((Comparable) comparable1).compareTo(comparable2);
-        } else {
-            result = comparable1.hashCode() - comparable2.hashCode();
-        }
 
         if (result != 0) {
             return result;
         }
-        return entry1.getKey().hashCode() - entry2.getKey().hashCode();
+        return compareHashCodes(entry1.getKey().hashCode(), entry2.getKey().hashCode());
+    }
+
+    private static int compareObjects(Object comparable1, Object comparable2) {
+        if (comparable1 instanceof Comparable && comparable2 instanceof Comparable) {
+            return ((Comparable) comparable1).compareTo(comparable2);
+        }
+        return compareHashCodes(comparable1.hashCode(), comparable2.hashCode());
+    }
+
+    // subtracting hash codes overflows and breaks the order sorted results are merged in.
+    private static int compareHashCodes(int hashCode1, int hashCode2) {
+        return hashCode1 < hashCode2 ? -1 : (hashCode1 == hashCode2 ? 0 : 1);
     }
 
     public static Comparator<Map.Entry> newComparator(final Comparator<Map.Entry> comparator,
@@ -70,4 +81,116 @@ public final class SortingUtil {
         };
     }
 
+
+    /**
+     * Returns the anchor the query for the current page of the paging predicate starts after,
+     * see {@link #getPagingLimit(PagingPredicate)}.
+     *
+     * @return <code>null</code> if the query starts from the first entry
+     */
+    public static Map.Entry getNearestAnchor(PagingPredicate pagingPredicate) {
+        final Map.Entry<Integer, Map.Entry> nearest = PagingPredicateAccessor.getNearestAnchorEntry(pagingPredicate);
+        return nearest == null ? null : nearest.getValue();
+    }
+
+    /**
+     * Returns how many of the sorted entries following the nearest known anchor are needed to fill the current page:
+     * the entries of the pages between the anchor and the current page, whose anchors are not known yet, followed
+     * by the current page. Only this many entries need to be kept per partition and member.
+     */
+    public static int getPagingLimit(PagingPredicate pagingPredicate) {
+        final long pages = pagingPredicate.getPage() - getNearestAnchorPage(pagingPredicate) + 1L;
+        return (int) Math.min(pages * pagingPredicate.getPageSize(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Cuts the current page out of the sorted entries following the nearest known anchor and records the anchors
+     * of the pages on the way, so that the next pages continue from them. Updates the anchor of the current page
+     * like {@link PagingPredicateAccessor#setPagingPredicateAnchor(PagingPredicate, Map.Entry)}.
+     *
+     * @param sortedEntries at most {@link #getPagingLimit(PagingPredicate)} sorted entries following the nearest anchor.
+     * @return entries of the current page.
+     */
+    public static List<Map.Entry> getPage(PagingPredicate pagingPredicate, List<Map.Entry> sortedEntries) {
+        final int pageSize = pagingPredicate.getPageSize();
+        final int size = sortedEntries.size();
+        long from = 0;
+        for (int page = getNearestAnchorPage(pagingPredicate); page < pagingPredicate.getPage() && from < size; page++) {
+            from += pageSize;
+            if (from <= size) {
+                PagingPredicateAccessor.setPagingPredicateAnchor(pagingPredicate, page, sortedEntries.get((int) from - 1));
+            }
+        }
+        if (from >= size) {
+            PagingPredicateAccessor.setPagingPredicateAnchor(pagingPredicate, null);
+            return Collections.emptyList();
+        }
+        final List<Map.Entry> pageEntries = sortedEntries.subList((int) from, (int) Math.min(from + pageSize, size));
+        PagingPredicateAccessor.setPagingPredicateAnchor(pagingPredicate, pageEntries.get(pageEntries.size() - 1));
+        return pageEntries;
+    }
+
+    /**
+     * Merges sorted sources into a sorted list of at most <code>limit</code> entries. An entry whose key was already
+     * merged is dropped, e.g. when two members returned the same partition during a migration. Besides the merged
+     * entries, only the current head of each source is read.
+     */
+    public static <E extends Map.Entry> List<E> merge(List<Iterator<E>> sources, final Comparator<? super E> comparator,
+                                                      int limit) {
+        final PriorityQueue<MergeHead<E>> heads = new PriorityQueue<MergeHead<E>>(Math.max(1, sources.size()),
+                new Comparator<MergeHead<E>>() {
+                    public int compare(MergeHead<E> head1, MergeHead<E> head2) {
+                        return comparator.compare(head1.element, head2.element);
+                    }
+                });
+        for (Iterator<E> source : sources) {
+            if (source.hasNext()) {
+                heads.offer(new MergeHead<E>(source));
+            }
+        }
+        final List<E> merged = new ArrayList<E>();
+        // merged entries which compare equal to the last one, different keys can compare equal (same key hash)
+        final List<E> ties = new ArrayList<E>();
+        while (merged.size() < limit && !heads.isEmpty()) {
+            final MergeHead<E> head = heads.poll();
+            final E element = head.element;
+            if (!ties.isEmpty() && comparator.compare(ties.get(0), element) != 0) {
+                ties.clear();
+            }
+            if (!containsKey(ties, element)) {
+                ties.add(element);
+                merged.add(element);
+            }
+            if (head.source.hasNext()) {
+                head.element = head.source.next();
+                heads.offer(head);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean containsKey(List<? extends Map.Entry> entries, Map.Entry entry) {
+        for (Map.Entry e : entries) {
+            if (e.getKey().equals(entry.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int getNearestAnchorPage(PagingPredicate pagingPredicate) {
+        final Map.Entry<Integer, Map.Entry> nearest = PagingPredicateAccessor.getNearestAnchorEntry(pagingPredicate);
+        return nearest == null ? 0 : nearest.getKey();
+    }
+
+    private static final class MergeHead<E extends Map.Entry> {
+
+        private final Iterator<E> source;
+        private E element;
+
+        private MergeHead(Iterator<E> source) {
+            this.source = source;
+            this.element = source.next();
+        }
+    }
 }
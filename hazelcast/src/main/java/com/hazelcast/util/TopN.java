@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the <code>n</code> smallest of the added elements in a bounded heap, so selecting them out of
+ * <code>m</code> elements costs O(m log n) time and O(n) memory instead of sorting all of them.
+ *
+ * @param <E> element type.
+ */
+public final class TopN<E> {
+
+    private static final int MAX_INITIAL_CAPACITY = 64;
+
+    private final Comparator<? super E> comparator;
+    private final int n;
+    // head is the greatest of the kept elements
+    private final PriorityQueue<E> heap;
+
+    public TopN(final Comparator<? super E> comparator, int n) {
+        this.comparator = comparator;
+        this.n = n;
+        this.heap = new PriorityQueue<E>(Math.max(1, Math.min(n, MAX_INITIAL_CAPACITY)), new Comparator<E>() {
+            public int compare(E e1, E e2) {
+                return comparator.compare(e2, e1);
+            }
+        });
+    }
+
+    /**
+     * @return <code>true</code> if the element is kept, possibly dropping the greatest kept element.
+     */
+    public boolean add(E element) {
+        if (heap.size() < n) {
+            return heap.offer(element);
+        }
+        if (n == 0 || comparator.compare(element, heap.peek()) >= 0) {
+            return false;
+        }
+        heap.poll();
+        return heap.offer(element);
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * @return the kept elements in ascending order.
+     */
+    public List<E> toSortedList() {
+        List<E> list = new ArrayList<E>(heap);
+        Collections.sort(list, comparator);
+        return list;
+    }
+}
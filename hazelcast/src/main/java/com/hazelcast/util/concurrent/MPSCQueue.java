@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Unbounded multi producer single consumer blocking queue.
+ * <p/>
+ * Items are stored in linked array chunks, so unlike {@link java.util.concurrent.LinkedBlockingQueue} an offer
+ * does not create a node and producers do not share a lock, they only increment a counter to claim a slot.
+ * A new chunk is created once per {@link #CHUNK_SIZE} items.
+ * <p/>
+ * Only a single thread may take items from the queue. An idle consumer spins, then yields and finally parks
+ * until a producer wakes it up. {@link #peek()} and {@link #iterator()} can be used by any thread, the iterator
+ * is weakly consistent and does not support removal, so removal of arbitrary items is not supported either.
+ *
+ * @param <E> type of the items.
+ */
+public final class MPSCQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    static final int CHUNK_SIZE = 1024;
+
+    private static final int SPIN_COUNT = 100;
+    private static final int YIELD_COUNT = 10;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    // the chunk of the last claimed slot, or a chunk before it. Producers start searching their slot from here.
+    private volatile Chunk producerChunk;
+
+    private volatile boolean consumerWaiting;
+
+    private volatile Thread consumerThread;
+
+    // index of the next item to take, only written by the consumer.
+    private volatile long consumerIndex;
+
+    // the chunk of the next item to take, only written by the consumer.
+    private volatile Chunk consumerChunk;
+
+    public MPSCQueue() {
+        Chunk chunk = new Chunk(0);
+        producerChunk = chunk;
+        consumerChunk = chunk;
+    }
+
+    @Override
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        // read the chunk before claiming the index, so the chunk can't be beyond the claimed slot.
+        Chunk chunk = producerChunk;
+        long index = producerIndex.getAndIncrement();
+        while (index >= chunk.base + CHUNK_SIZE) {
+            chunk = chunk.nextOrCreate();
+        }
+        if (chunk.base > producerChunk.base) {
+            producerChunk = chunk;
+        }
+        chunk.slots.set((int) (index - chunk.base), item);
+        if (consumerWaiting) {
+            LockSupport.unpark(consumerThread);
+        }
+        return true;
+    }
+
+    @Override
+    public void put(E item) {
+        offer(item);
+    }
+
+    @Override
+    public boolean offer(E item, long timeout, TimeUnit unit) {
+        return offer(item);
+    }
+
+    /**
+     * Takes the next item if it is available. Must only be called by the consumer thread.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long index = consumerIndex;
+        Chunk chunk = consumerChunk;
+        if (index == chunk.base + CHUNK_SIZE) {
+            Chunk next = chunk.next;
+            if (next == null) {
+                return null;
+            }
+            consumerChunk = next;
+            chunk = next;
+        }
+        Object item = chunk.slots.get((int) (index - chunk.base));
+        if (item == null) {
+            return null;
+        }
+        consumerIndex = index + 1;
+        return (E) item;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E item = poll();
+        if (item != null) {
+            return item;
+        }
+        return await(false, 0);
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E item = poll();
+        if (item != null) {
+            return item;
+        }
+        return await(true, unit.toNanos(timeout));
+    }
+
+    private E await(boolean timed, long timeoutNanos) throws InterruptedException {
+        consumerThread = Thread.currentThread();
+        final long deadlineNanos = timed ? System.nanoTime() + timeoutNanos : 0;
+        for (int idleCount = 0;; idleCount++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            E item = poll();
+            if (item != null) {
+                return item;
+            }
+            long remainingNanos = timed ? deadlineNanos - System.nanoTime() : 0;
+            if (timed && remainingNanos <= 0) {
+                return null;
+            }
+            if (idleCount < SPIN_COUNT) {
+                continue;
+            }
+            if (idleCount < SPIN_COUNT + YIELD_COUNT) {
+                Thread.yield();
+                continue;
+            }
+            park(timed, remainingNanos);
+        }
+    }
+
+    private void park(boolean timed, long remainingNanos) {
+        consumerWaiting = true;
+        // an item offered before the waiting flag was visible to its producer won't unpark us, so check again.
+        if (isEmpty()) {
+            if (timed) {
+                LockSupport.parkNanos(this, remainingNanos);
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        consumerWaiting = false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        // read the chunk before the index, the consumer moves to the next chunk before it moves the index into it.
+        Chunk chunk = consumerChunk;
+        long index = consumerIndex;
+        chunk = chunkOf(chunk, index);
+        return chunk == null ? null : (E) chunk.slots.get((int) (index - chunk.base));
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the items which are not taken yet. Items taken or offered
+     * while iterating may or may not be returned. {@link Iterator#remove()} is not supported.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        Chunk chunk = consumerChunk;
+        long index = consumerIndex;
+        return new Itr(chunkOf(chunk, index), index);
+    }
+
+    /**
+     * Returns the chunk containing the slot of the given index, starting the search from the given chunk,
+     * or <code>null</code> if that chunk is not created yet.
+     */
+    private static Chunk chunkOf(Chunk chunk, long index) {
+        while (chunk != null && index >= chunk.base + CHUNK_SIZE) {
+            chunk = chunk.next;
+        }
+        return chunk;
+    }
+
+    /**
+     * Returns the number of claimed slots which are not taken yet, this includes items which are being offered.
+     */
+    @Override
+    public int size() {
+        long size = producerIndex.get() - consumerIndex;
+        return size > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection, int maxElements) {
+        int count = 0;
+        for (E item = poll(); item != null; item = poll()) {
+            collection.add(item);
+            if (++count == maxElements) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private final class Itr implements Iterator<E> {
+        private Chunk chunk;
+        private long index;
+        private E next;
+
+        private Itr(Chunk chunk, long index) {
+            this.chunk = chunk;
+            this.index = index;
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            chunk = chunkOf(chunk, index);
+            next = chunk == null ? null : (E) chunk.slots.get((int) (index - chunk.base));
+            index++;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            E item = next;
+            if (item == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return item;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class Chunk {
+        private final long base;
+        private final AtomicReferenceArray<Object> slots = new AtomicReferenceArray<Object>(CHUNK_SIZE);
+        private volatile Chunk next;
+
+        private Chunk(long base) {
+            this.base = base;
+        }
+
+        private Chunk nextOrCreate() {
+            Chunk chunk = next;
+            return chunk != null ? chunk : createNext();
+        }
+
+        private synchronized Chunk createNext() {
+            if (next == null) {
+                next = new Chunk(base + CHUNK_SIZE);
+            }
+            return next;
+        }
+    }
+}
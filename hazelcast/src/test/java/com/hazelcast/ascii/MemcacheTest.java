@@ -172,6 +172,38 @@ public class MemcacheTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testMemcacheBulkGetFromMultipleMaps() throws IOException, InterruptedException, ExecutionException {
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        MemcachedClient client = getMemcacheClient(instance);
+        final String prefix1 = "testMemcacheBulkGet1:";
+        final String prefix2 = "testMemcacheBulkGet2:";
+        try {
+            final LinkedList<String> keys = new LinkedList<String>();
+            for (int i = 0; i < 100; i++) {
+                if (i % 3 != 0) {
+                    client.set(prefix1 + String.valueOf(i), 0, i).get();
+                    client.set(prefix2 + String.valueOf(i), 0, i * 10).get();
+                }
+                keys.add(prefix1 + String.valueOf(i));
+                keys.add(prefix2 + String.valueOf(i));
+            }
+            final Map<String, Object> bulk = client.getBulk(keys);
+            assertEquals(132, bulk.size());
+            for (int i = 0; i < 100; i++) {
+                if (i % 3 != 0) {
+                    assertEquals(i, bulk.get(prefix1 + String.valueOf(i)));
+                    assertEquals(i * 10, bulk.get(prefix2 + String.valueOf(i)));
+                } else {
+                    assertEquals(null, bulk.get(prefix1 + String.valueOf(i)));
+                    assertEquals(null, bulk.get(prefix2 + String.valueOf(i)));
+                }
+            }
+        } finally {
+            client.shutdown();
+        }
+    }
+
     @Test
     public void testIncrementAndDecrement() throws IOException, ExecutionException, InterruptedException {
         final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
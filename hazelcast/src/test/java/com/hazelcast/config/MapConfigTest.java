@@ -104,6 +104,30 @@ public class MapConfigTest {
         new MapConfig().setEvictionPercentage(MapConfig.MAX_EVICTION_PERCENTAGE + 1);
     }
 
+    /**
+     * Test method for {@link com.hazelcast.config.MapConfig#getEvictionSampleCount()}.
+     */
+    @Test
+    public void testGetEvictionSampleCount() {
+        assertEquals(MapConfig.DEFAULT_EVICTION_SAMPLE_COUNT, new MapConfig().getEvictionSampleCount());
+    }
+
+    /**
+     * Test method for {@link com.hazelcast.config.MapConfig#setEvictionSampleCount(int)}.
+     */
+    @Test
+    public void testSetEvictionSampleCount() {
+        assertEquals(5, new MapConfig().setEvictionSampleCount(5).getEvictionSampleCount());
+    }
+
+    /**
+     * Test method for {@link com.hazelcast.config.MapConfig#setEvictionSampleCount(int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetEvictionSampleCountNegative() {
+        new MapConfig().setEvictionSampleCount(-1);
+    }
+
     /**
      * Test method for {@link com.hazelcast.config.MapConfig#getTimeToLiveSeconds()}.
      */
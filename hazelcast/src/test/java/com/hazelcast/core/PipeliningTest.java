@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class PipeliningTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroDepth() {
+        new Pipelining<Integer>(0);
+    }
+
+    @Test
+    public void testResultsInOrder() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Pipelining<Integer> pipelining = new Pipelining<Integer>(10);
+            for (int i = 0; i < 1000; i++) {
+                final int value = i;
+                pipelining.add(executor.submit(new Callable<Integer>() {
+                    public Integer call() {
+                        return value;
+                    }
+                }));
+            }
+            List<Integer> results = pipelining.results();
+            assertEquals(1000, results.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, results.get(i).intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDepthIsNotExceeded() throws Exception {
+        final int depth = 5;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        Pipelining<Integer> pipelining = new Pipelining<Integer>(depth);
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            // completes the oldest pending call when get is called on it, like a response arriving.
+            FutureTask<Integer> future = new FutureTask<Integer>(new Callable<Integer>() {
+                public Integer call() {
+                    inFlight.decrementAndGet();
+                    return value;
+                }
+            }) {
+                @Override
+                public Integer get() throws InterruptedException, ExecutionException {
+                    run();
+                    return super.get();
+                }
+            };
+            int current = inFlight.incrementAndGet();
+            maxInFlight.set(Math.max(maxInFlight.get(), current));
+            pipelining.add(future);
+        }
+        assertTrue("max in flight: " + maxInFlight.get(), maxInFlight.get() <= depth);
+        assertEquals(100, pipelining.results().size());
+        assertEquals(0, inFlight.get());
+    }
+
+    @Test
+    public void testFailureReportedByResults() throws Exception {
+        Pipelining<Integer> pipelining = new Pipelining<Integer>(1);
+        FutureTask<Integer> failing = new FutureTask<Integer>(new Callable<Integer>() {
+            public Integer call() {
+                throw new IllegalStateException("expected");
+            }
+        });
+        failing.run();
+        pipelining.add(failing);
+        FutureTask<Integer> succeeding = new FutureTask<Integer>(new Callable<Integer>() {
+            public Integer call() {
+                return 1;
+            }
+        });
+        succeeding.run();
+        pipelining.add(succeeding);
+        try {
+            pipelining.results();
+            fail();
+        } catch (IllegalStateException expected) {
+            assertEquals("expected", expected.getMessage());
+        }
+    }
+}
@@ -21,6 +21,8 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
@@ -128,6 +130,28 @@ public class InMemoryFormatTest extends HazelcastTestSupport {
         assertTrue(objectMap2.containsValue(v1));
     }
 
+    @Test
+    public void offHeap() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_ELASTIC_MEMORY_TOTAL_SIZE, "16M");
+        config.addMapConfig(new MapConfig("offHeapMap").setInMemoryFormat(InMemoryFormat.OFFHEAP));
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        IMap<String, Pair> offHeapMap = hz.getMap("offHeapMap");
+        for (int i = 0; i < 100; i++) {
+            offHeapMap.put(String.valueOf(i), new Pair("a" + i, "1"));
+        }
+        assertEquals(new Pair("a1", "x"), offHeapMap.get("1"));
+        assertTrue(offHeapMap.containsValue(new Pair("a2", "1")));
+
+        LocalMapStats stats = offHeapMap.getLocalMapStats();
+        assertTrue(stats.getOffHeapUsedMemory() > 0);
+        assertEquals(16 * 1024 * 1024, stats.getOffHeapUsedMemory() + stats.getOffHeapFreeMemory());
+
+        offHeapMap.clear();
+        assertEquals(0, offHeapMap.getLocalMapStats().getOffHeapUsedMemory());
+    }
+
     public static final class Pair implements Serializable {
         private final String significant;
         private final String insignificant;
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.operation.QueryCursorOperation;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.IterationType;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapQueryIteratorTest extends HazelcastTestSupport {
+
+    @Test
+    public void testKeyIterator_returnsAllKeys() {
+        IMap<Integer, Integer> map = newMap(2, 1000);
+
+        Set<Integer> keys = new HashSet<Integer>();
+        Iterator<Integer> iterator = map.keyIterator(null, 10);
+        while (iterator.hasNext()) {
+            assertTrue(keys.add(iterator.next()));
+        }
+
+        assertEquals(map.keySet(), keys);
+    }
+
+    @Test
+    public void testValueIterator_withPredicate() {
+        IMap<Integer, Integer> map = newMap(2, 1000);
+
+        Set<Integer> values = new HashSet<Integer>();
+        Iterator<Integer> iterator = map.valueIterator(Predicates.greaterEqual("this", 900), 7);
+        while (iterator.hasNext()) {
+            assertTrue(values.add(iterator.next()));
+        }
+
+        assertEquals(100, values.size());
+        for (Integer value : values) {
+            assertTrue(value >= 900);
+        }
+    }
+
+    @Test
+    public void testEntryIterator_withPredicate() {
+        IMap<Integer, Integer> map = newMap(2, 1000);
+
+        int count = 0;
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.entryIterator(Predicates.lessThan("this", 10), 1);
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            assertEquals(entry.getKey(), entry.getValue());
+            assertTrue(entry.getValue() < 10);
+            count++;
+        }
+
+        assertEquals(10, count);
+    }
+
+    @Test
+    public void testIterator_onEmptyMap() {
+        IMap<Integer, Integer> map = newMap(1, 0);
+
+        assertFalse(map.keyIterator(null, 10).hasNext());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIterator_doesNotSupportRemove() {
+        IMap<Integer, Integer> map = newMap(1, 10);
+
+        Iterator<Integer> iterator = map.keyIterator(null, 10);
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIterator_withPagingPredicate() {
+        IMap<Integer, Integer> map = newMap(1, 10);
+
+        map.keyIterator(new PagingPredicate(10), 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIterator_withNonPositiveBatchSize() {
+        IMap<Integer, Integer> map = newMap(1, 10);
+
+        map.keyIterator(null, 0);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIterator_failsWhenCursorIsEvicted() {
+        IMap<Integer, Integer> map = newMap(1, 10000);
+        Iterator<Integer> iterator = map.keyIterator(null, 1);
+        iterator.next();
+        sleepMillis(10);
+
+        // opens more cursors on the first partition than a partition keeps, evicting the cursor of the first iterator
+        for (int i = 0; i < PartitionContainer.MAX_QUERY_CURSORS; i++) {
+            map.keyIterator(null, 1).hasNext();
+        }
+
+        iterator.hasNext();
+    }
+
+    @Test
+    public void testCursorOperation_retriedFetchReturnsSameBatch() throws Exception {
+        HazelcastInstance instance = createHazelcastInstance();
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 10000; i++) {
+            map.put(i, i);
+        }
+
+        QueryCursorBatch first = fetch(instance, map.getName(), 0, 0);
+        QueryCursorBatch second = fetch(instance, map.getName(), first.getCursorId(), 1);
+        QueryCursorBatch retried = fetch(instance, map.getName(), first.getCursorId(), 1);
+        QueryCursorBatch third = fetch(instance, map.getName(), first.getCursorId(), 2);
+
+        assertFalse(second.isExpired());
+        assertEquals(second.getEntries().get(0).getKeyData(), retried.getEntries().get(0).getKeyData());
+        assertFalse(second.getEntries().get(0).getKeyData().equals(third.getEntries().get(0).getKeyData()));
+        assertTrue(fetch(instance, map.getName(), first.getCursorId(), 5).isExpired());
+    }
+
+    private QueryCursorBatch fetch(HazelcastInstance instance, String mapName, long cursorId, int batchSequence)
+            throws Exception {
+        QueryCursorOperation operation = new QueryCursorOperation(mapName, TruePredicate.INSTANCE, IterationType.KEY,
+                cursorId, batchSequence, 1);
+        InternalCompletableFuture<QueryCursorBatch> future = getNode(instance).nodeEngine.getOperationService()
+                .invokeOnPartition(MapService.SERVICE_NAME, operation, 0);
+        return future.get();
+    }
+
+    private IMap<Integer, Integer> newMap(int nodeCount, int entryCount) {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(nodeCount);
+        HazelcastInstance[] instances = factory.newInstances();
+        IMap<Integer, Integer> map = instances[0].getMap(randomMapName());
+        for (int i = 0; i < entryCount; i++) {
+            map.put(i, i);
+        }
+        return map;
+    }
+}
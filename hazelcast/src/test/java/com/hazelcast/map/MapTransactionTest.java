@@ -26,14 +26,18 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.MapStoreAdapter;
+import com.hazelcast.core.PartitionService;
 import com.hazelcast.core.TransactionalMap;
 import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.Node;
+import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.query.EntryObject;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.PredicateBuilder;
 import com.hazelcast.query.SampleObjects;
 import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.spi.Operation;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -45,15 +49,25 @@ import com.hazelcast.transaction.TransactionNotActiveException;
 import com.hazelcast.transaction.TransactionOptions;
 import com.hazelcast.transaction.TransactionalTask;
 import com.hazelcast.transaction.TransactionalTaskContext;
+import com.hazelcast.transaction.impl.PartitionTransactionLog;
+import com.hazelcast.transaction.impl.TransactionAccessor;
+import com.hazelcast.transaction.impl.TransactionLog;
+import com.hazelcast.transaction.impl.TransactionManagerServiceImpl;
+import com.hazelcast.transaction.impl.TransactionSupport;
+import com.hazelcast.transaction.impl.TxnBatchOperation;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -1145,4 +1159,156 @@ public class MapTransactionTest extends HazelcastTestSupport {
         assertOpenEventually("Not reached expected update event count", expectedUpdateEventCount);
 
     }
+
+    @Test
+    public void testCommitManyKeysOnSinglePartition() throws TransactionException {
+        final String mapName = randomMapName();
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance h1 = factory.newHazelcastInstance();
+        final HazelcastInstance h2 = factory.newHazelcastInstance();
+        final List<String> keys = generateKeysOnSamePartition(h1, 50);
+        final IMap<String, String> map = h1.getMap(mapName);
+        for (int i = 0; i < 10; i++) {
+            map.put(keys.get(i), "old");
+        }
+
+        h1.executeTransaction(options, new TransactionalTask<Boolean>() {
+            public Boolean execute(TransactionalTaskContext context) throws TransactionException {
+                final TransactionalMap<String, String> txMap = context.getMap(mapName);
+                for (int i = 0; i < keys.size(); i++) {
+                    if (i < 10) {
+                        txMap.delete(keys.get(i));
+                    } else {
+                        txMap.put(keys.get(i), "value" + i);
+                    }
+                }
+                return true;
+            }
+        });
+
+        // the committed values and unlocked keys must also be seen on the backups
+        h1.getLifecycleService().terminate();
+        final IMap<String, String> survivingMap = h2.getMap(mapName);
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i < 10 ? null : "value" + i, survivingMap.get(keys.get(i)));
+            assertFalse(survivingMap.isLocked(keys.get(i)));
+        }
+    }
+
+    @Test
+    public void testCommitManyKeysOnMultiplePartitions() throws TransactionException {
+        final String mapName = randomMapName();
+        final int keyCount = 1000;
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance h1 = factory.newHazelcastInstance();
+        final HazelcastInstance h2 = factory.newHazelcastInstance();
+        final IMap<Integer, Integer> map = h1.getMap(mapName);
+        for (int i = 0; i < keyCount; i++) {
+            map.put(i, 0);
+        }
+
+        h2.executeTransaction(options, new TransactionalTask<Boolean>() {
+            public Boolean execute(TransactionalTaskContext context) throws TransactionException {
+                final TransactionalMap<Integer, Integer> txMap = context.getMap(mapName);
+                for (int i = 0; i < keyCount; i++) {
+                    txMap.put(i, txMap.getForUpdate(i) + i);
+                }
+                return true;
+            }
+        });
+
+        h2.getLifecycleService().terminate();
+        final IMap<Integer, Integer> survivingMap = h1.getMap(mapName);
+        for (int i = 0; i < keyCount; i++) {
+            assertEquals(i, (int) survivingMap.get(i));
+            assertFalse(survivingMap.isLocked(i));
+        }
+    }
+
+    @Test
+    public void testCommitOnSinglePartition_whenLockLost() throws TransactionException {
+        final String mapName = randomMapName();
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance h1 = factory.newHazelcastInstance();
+        final HazelcastInstance h2 = factory.newHazelcastInstance();
+        final List<String> keys = generateKeysOnSamePartition(h1, 2);
+        final IMap<String, String> map = h1.getMap(mapName);
+        map.put(keys.get(0), "old");
+
+        final TransactionContext context = h1.newTransactionContext(options);
+        context.beginTransaction();
+        final TransactionalMap<String, String> txMap = context.getMap(mapName);
+        txMap.put(keys.get(0), "new");
+        txMap.put(keys.get(1), "new");
+        h2.getMap(mapName).forceUnlock(keys.get(1));
+
+        // prepare has nothing to check for a single partition, the lost lock fails the commit
+        try {
+            context.commitTransaction();
+            fail("Commit should fail when a lock is lost");
+        } catch (TransactionException expected) {
+        }
+        assertEquals("old", map.get(keys.get(0)));
+        assertNull(map.get(keys.get(1)));
+
+        context.rollbackTransaction();
+        assertFalse(map.isLocked(keys.get(0)));
+        assertFalse(map.isLocked(keys.get(1)));
+        assertEquals("old", map.get(keys.get(0)));
+        assertNull(map.get(keys.get(1)));
+    }
+
+    @Test
+    public void testCommitOnSinglePartition_retriedAfterOwnerTerminated() throws Exception {
+        final String mapName = randomMapName();
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance h1 = factory.newHazelcastInstance();
+        final HazelcastInstance h2 = factory.newHazelcastInstance();
+        final String key = generateKeyOwnedBy(h2);
+        final IMap<String, String> map = h1.getMap(mapName);
+        map.put(key, "old");
+
+        final TransactionContext context = h1.newTransactionContext(options);
+        context.beginTransaction();
+        context.getMap(mapName).put(key, "new");
+        context.commitTransaction();
+
+        // the owner dies after the batch and its backup on h1 ran, before the caller got the response;
+        // the invocation then sends the same batch again to h1, the new owner
+        h2.getLifecycleService().terminate();
+        final Node node = getNode(h1);
+        final Operation batch = createSinglePartitionBatch(node, context, mapName, key);
+        final int partitionId = h1.getPartitionService().getPartition(key).getPartitionId();
+        final Future future = node.nodeEngine.getOperationService()
+                .invokeOnPartition(TransactionManagerServiceImpl.SERVICE_NAME, batch, partitionId);
+
+        assertEquals(Boolean.TRUE, future.get());
+        assertEquals("new", map.get(key));
+        assertFalse(map.isLocked(key));
+    }
+
+    private static Operation createSinglePartitionBatch(Node node, TransactionContext context, String mapName,
+                                                       String key) {
+        final SerializationService serializationService = node.getSerializationService();
+        final TransactionSupport transaction = (TransactionSupport) TransactionAccessor.getTransaction(context);
+        final TransactionLog txLog
+                = transaction.getTransactionLog(new MapRecordKey(mapName, serializationService.toData(key)));
+        // a copy, like the operations the caller sends again
+        final PartitionTransactionLog copy = serializationService.toObject(serializationService.toData(txLog));
+        return new TxnBatchOperation(transaction.getTxnId(), Collections.singletonList(copy.createPrepareOperation()),
+                Collections.singletonList(copy.createCommitOperation()));
+    }
+
+    private static List<String> generateKeysOnSamePartition(HazelcastInstance instance, int count) {
+        final PartitionService partitionService = instance.getPartitionService();
+        final int partitionId = partitionService.getPartition("key").getPartitionId();
+        final List<String> keys = new ArrayList<String>(count);
+        for (int i = 0; keys.size() < count; i++) {
+            final String key = "key" + i;
+            if (partitionService.getPartition(key).getPartitionId() == partitionId) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.nio.UnsafeHelper;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class NativeRecordStoreTest extends HazelcastTestSupport {
+
+    @Before
+    public void setUp() {
+        assumeTrue(UnsafeHelper.UNSAFE_AVAILABLE);
+    }
+
+    @Test
+    public void testPutReturnsPreviousValue() {
+        final IMap<Integer, String> map = createMap(createHazelcastInstance(newConfig()));
+
+        assertNull(map.put(1, "a"));
+        assertEquals("a", map.put(1, "b"));
+        assertEquals("b", map.replace(1, "c"));
+        assertEquals("c", map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        final IMap<Integer, String> map = createMap(createHazelcastInstance(newConfig()));
+
+        assertNull(map.putIfAbsent(1, "a"));
+        assertEquals("a", map.putIfAbsent(1, "b"));
+        assertEquals("a", map.get(1));
+    }
+
+    @Test
+    public void testRemoveReturnsValue() {
+        final IMap<Integer, String> map = createMap(createHazelcastInstance(newConfig()));
+        map.put(1, "a");
+        map.put(2, "b");
+
+        assertEquals("a", map.remove(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertTrue(map.remove(2, "b"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testPutWithTtl() {
+        final IMap<Integer, String> map = createMap(createHazelcastInstance(newConfig()));
+        map.put(1, "a", 1, TimeUnit.SECONDS);
+        map.put(2, "b");
+        map.put(2, "c", 1, TimeUnit.SECONDS);
+
+        assertEquals("a", map.get(1));
+        assertEquals("c", map.get(2));
+        assertSizeEventually(0, map);
+        assertNull(map.get(1));
+        assertNull(map.get(2));
+    }
+
+    @Test
+    public void testPutIfAbsentWithTtl() {
+        final IMap<Integer, String> map = createMap(createHazelcastInstance(newConfig()));
+        map.putIfAbsent(1, "a", 1, TimeUnit.SECONDS);
+
+        assertEquals(1000L, map.getEntryView(1).getTtl());
+        assertSizeEventually(0, map);
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testTtlIsKeptOnBackup() {
+        final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final Config config = newConfig();
+        final HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        final HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        final String key = generateKeyOwnedBy(instance1);
+        final IMap<String, String> map = createMap(instance1);
+        map.put(key, "a", 30, TimeUnit.SECONDS);
+
+        instance1.getLifecycleService().terminate();
+        final IMap<String, String> backupMap = createMap(instance2);
+        assertEquals("a", backupMap.get(key));
+        assertEquals(30000L, backupMap.getEntryView(key).getTtl());
+    }
+
+    @Test
+    public void testUpdatesOfStoredRecordAreKept() {
+        final HazelcastInstance instance = createHazelcastInstance(newConfig());
+        final NodeEngineImpl nodeEngine = getNode(instance).getNodeEngine();
+        final MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+        final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        final Data key = mapServiceContext.toData("key");
+        final int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+        final RecordStore recordStore = mapServiceContext.getRecordStore(partitionId, "native");
+
+        final Record record = recordStore.putBackup(key, "value", 1000L);
+        record.setVersion(5L);
+
+        assertEquals(5L, recordStore.getRecord(key).getVersion());
+        assertEquals(1000L, recordStore.getRecord(key).getTtl());
+    }
+
+    private static <K, V> IMap<K, V> createMap(HazelcastInstance instance) {
+        return instance.getMap("native");
+    }
+
+    private static Config newConfig() {
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_ELASTIC_MEMORY_NATIVE_RECORD_STORE, "true");
+        config.addMapConfig(new MapConfig("native").setInMemoryFormat(InMemoryFormat.OFFHEAP));
+        return config;
+    }
+}
@@ -241,6 +241,46 @@ public class SortLimitTest extends HazelcastTestSupport {
         assertEquals(0, values.size());
     }
 
+    @Test
+    public void testJumpToPage() {
+        final IMap<Integer, Integer> map = initMap();
+
+        final TestComparator comparator = new TestComparator(true, IterationType.VALUE); //ascending values
+        final PagingPredicate predicate = new PagingPredicate(comparator, pageSize); //pageSize = 5
+        for (int i = 0; i < 3; i++) {
+            predicate.nextPage();
+        }
+
+        Collection<Integer> values = map.values(predicate);
+        assertIterableEquals(values, 15, 16, 17, 18, 19);
+        assertEquals(3, predicate.getPage());
+
+        // anchors of the skipped pages are known, previous pages continue from them
+        predicate.previousPage();
+        assertEquals(9, predicate.getAnchor().getValue());
+        values = map.values(predicate);
+        assertIterableEquals(values, 10, 11, 12, 13, 14);
+
+        for (int i = 0; i < 6; i++) {
+            predicate.nextPage();
+        }
+        values = map.values(predicate);
+        assertIterableEquals(values, 40, 41, 42, 43, 44);
+    }
+
+    @Test
+    public void testJumpBeyondLastPage() {
+        final IMap<Integer, Integer> map = initMap();
+
+        final PagingPredicate predicate = new PagingPredicate(pageSize);
+        for (int i = 0; i < 100; i++) {
+            predicate.nextPage();
+        }
+
+        Set<Integer> keySet = map.keySet(predicate);
+        assertEquals(0, keySet.size());
+    }
+
     private IMap<Integer, Integer> initMap(){
         TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
         final HazelcastInstance instance1 = nodeFactory.newHazelcastInstance();
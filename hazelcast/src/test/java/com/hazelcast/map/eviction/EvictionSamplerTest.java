@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map.eviction;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.map.record.ObjectRecordFactory;
+import com.hazelcast.map.record.Record;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class EvictionSamplerTest {
+
+    private final SerializationService ss = new SerializationServiceBuilder().build();
+    private final ObjectRecordFactory recordFactory = new ObjectRecordFactory(new MapConfig(), ss);
+
+    @Test
+    public void testSampleReturnsMinimumOfSample() {
+        final List<Record> records = createRecords(5, 3, 8, 1, 9, 7);
+        final EvictionSampler sampler = new EvictionSampler(records);
+
+        assertEquals(3L, sampler.sample(3).getEvictionCriteriaNumber());
+        assertEquals(1L, sampler.sample(3).getEvictionCriteriaNumber());
+    }
+
+    @Test
+    public void testSampleWrapsAround() {
+        final List<Record> records = createRecords(5, 3, 8, 1);
+        final EvictionSampler sampler = new EvictionSampler(records);
+
+        assertEquals(3L, sampler.sample(3).getEvictionCriteriaNumber());
+        // samples 1, 5 and 3
+        assertEquals(1L, sampler.sample(3).getEvictionCriteriaNumber());
+        // samples 8 and 1
+        assertEquals(1L, sampler.sample(2).getEvictionCriteriaNumber());
+        // samples 5
+        assertEquals(5L, sampler.sample(1).getEvictionCriteriaNumber());
+    }
+
+    @Test
+    public void testEmpty() {
+        final EvictionSampler sampler = new EvictionSampler(Collections.<Record>emptyList());
+
+        assertNull(sampler.sample(5));
+    }
+
+    private List<Record> createRecords(long... criteriaNumbers) {
+        final List<Record> records = new ArrayList<Record>();
+        for (int i = 0; i < criteriaNumbers.length; i++) {
+            final Record record = recordFactory.newRecord(ss.toData(i), i);
+            record.setEvictionCriteriaNumber(criteriaNumbers[i]);
+            records.add(record);
+        }
+        return records;
+    }
+}
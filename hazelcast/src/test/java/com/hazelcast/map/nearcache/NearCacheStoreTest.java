@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.nearcache;
+
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.map.SizeEstimator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class NearCacheStoreTest {
+
+    private static final int MAX_SIZE = 100;
+
+    @Test
+    public void testEvictsOneEntryPerInsertionWhenFull() {
+        final NearCacheStore<Integer> store = createStore("LRU");
+        for (int i = 0; i < MAX_SIZE * 3; i++) {
+            assertTrue(store.put(i, new NearCacheRecord<Integer>(i, i)));
+            assertTrue(store.size() < MAX_SIZE);
+        }
+        assertEquals(MAX_SIZE - 1, store.size());
+        assertEquals(MAX_SIZE * 2 + 1, store.getNearCacheStats().getEvictions());
+        assertEquals(MAX_SIZE - 1, store.getNearCacheStats().getOwnedEntryCount());
+    }
+
+    @Test
+    public void testConcurrentInsertionsStayBelowMaxSize() throws Exception {
+        final NearCacheStore<Integer> store = createStore("LRU");
+        final int threadCount = 4;
+        final Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int offset = t * MAX_SIZE * 10;
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = offset; i < offset + MAX_SIZE * 10; i++) {
+                        store.put(i, new NearCacheRecord<Integer>(i, i));
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(store.size() < MAX_SIZE);
+    }
+
+    @Test
+    public void testUpdateOfExistingKeyDoesNotEvict() {
+        final NearCacheStore<Integer> store = createStore("LRU");
+        fill(store, MAX_SIZE - 1);
+        store.put(0, new NearCacheRecord<Integer>(0, -1));
+
+        assertEquals(MAX_SIZE - 1, store.size());
+        assertEquals(0, store.getNearCacheStats().getEvictions());
+        assertEquals(-1, store.get(0).getValue());
+    }
+
+    @Test
+    public void testNoneRejectsWhenFull() {
+        final NearCacheStore<Integer> store = createStore("NONE");
+        fill(store, MAX_SIZE);
+
+        assertFalse(store.put(MAX_SIZE, new NearCacheRecord<Integer>(MAX_SIZE, MAX_SIZE)));
+        assertNull(store.get(MAX_SIZE));
+        assertEquals(MAX_SIZE, store.size());
+        assertEquals(0, store.getNearCacheStats().getEvictions());
+    }
+
+    @Test
+    public void testLFUKeepsFrequentlyUsedEntries() {
+        final NearCacheStore<Integer> store = createStore("LFU");
+        fill(store, MAX_SIZE - 1);
+        final int hotKeyCount = NearCacheStore.SAMPLE_COUNT - 1;
+        for (int i = 0; i < hotKeyCount; i++) {
+            store.get(i).access();
+        }
+        for (int i = MAX_SIZE; i < MAX_SIZE * 10; i++) {
+            store.put(i, new NearCacheRecord<Integer>(i, i));
+        }
+        for (int i = 0; i < hotKeyCount; i++) {
+            assertNotNull(store.get(i));
+        }
+    }
+
+    @Test
+    public void testSizeEstimator() {
+        final NearCacheStore<Integer> store = createStore("LRU");
+        final CountingSizeEstimator estimator = new CountingSizeEstimator();
+        store.setSizeEstimator(estimator);
+        fill(store, MAX_SIZE - 1);
+        assertEquals(MAX_SIZE - 1, estimator.getSize());
+
+        store.put(MAX_SIZE, new NearCacheRecord<Integer>(MAX_SIZE, MAX_SIZE));
+        store.put(0, new NearCacheRecord<Integer>(0, 0));
+        assertEquals(store.size(), estimator.getSize());
+
+        store.remove(MAX_SIZE);
+        assertEquals(store.size(), estimator.getSize());
+
+        store.clear();
+        assertEquals(0, estimator.getSize());
+    }
+
+    private NearCacheStore<Integer> createStore(String evictionPolicy) {
+        final NearCacheConfig nearCacheConfig = new NearCacheConfig();
+        nearCacheConfig.setMaxSize(MAX_SIZE);
+        nearCacheConfig.setEvictionPolicy(evictionPolicy);
+        return new NearCacheStore<Integer>(nearCacheConfig);
+    }
+
+    private void fill(NearCacheStore<Integer> store, int count) {
+        for (int i = 0; i < count; i++) {
+            store.put(i, new NearCacheRecord<Integer>(i, i));
+        }
+    }
+
+    private static class CountingSizeEstimator implements SizeEstimator<NearCacheRecord<Integer>> {
+
+        private long size;
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public void add(long size) {
+            this.size += size;
+        }
+
+        @Override
+        public long getCost(NearCacheRecord<Integer> record) {
+            return record == null ? 0 : 1;
+        }
+
+        @Override
+        public void reset() {
+            size = 0;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.hazelcast.instance.TestUtil;
 import com.hazelcast.map.MapService;
 import com.hazelcast.map.NearCache;
 import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -204,9 +205,9 @@ public class NearCacheTest extends HazelcastTestSupport {
 
     private int countNotNullValuesInNearCache(String mapName, HazelcastInstance instance) {
         final NearCache nearCache = getNearCache(mapName, instance);
-        final Collection<NearCache.CacheRecord> values = nearCache.getReadonlyMap().values();
+        final Collection<NearCacheRecord<Data>> values = nearCache.getReadonlyMap().values();
         int count = 0;
-        for (NearCache.CacheRecord e : values) {
+        for (NearCacheRecord<Data> e : values) {
             if (!NearCache.NULL_OBJECT.equals(e.getValue())) {
                 count++;
             }
@@ -5,6 +5,7 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MapIndexConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.query.EntryObject;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.PredicateBuilder;
@@ -217,4 +218,41 @@ public class QuerySlowTest extends HazelcastTestSupport {
         }
         assertTrue("tookWithIndex: " + tookWithIndex + ", tookWithoutIndex: " + tookWithout,  tookWithIndex < (tookWithout / 2));
     }
+
+    @Test
+    public void testIndexedQueryDuringMigration() throws Exception {
+        final TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(4);
+        HazelcastInstance h1 = nodeFactory.newHazelcastInstance();
+        IMap imap = h1.getMap("employees");
+        imap.addIndex("age", true);
+        imap.addIndex("active", false);
+        int size = 18000;
+        for (int i = 0; i < size; i++) {
+            imap.put(String.valueOf(i), new SampleObjects.Employee("name" + i, i % 60, ((i & 1) == 1), Double.valueOf(i)));
+        }
+        // half of the employees are active and half of those are younger than 30
+        int expected = size / 4;
+
+        Thread joiner = new Thread() {
+            public void run() {
+                for (int i = 0; i < 3; i++) {
+                    nodeFactory.newHazelcastInstance();
+                }
+            }
+        };
+        joiner.start();
+
+        InternalPartitionService partitionService = getNode(h1).getPartitionService();
+        Predicate predicate = new SqlPredicate("active and age < 30");
+        int queriesDuringMigration = 0;
+        while (joiner.isAlive() || !h1.getPartitionService().isClusterSafe()) {
+            boolean migrating = partitionService.hasOnGoingMigration();
+            assertEquals(expected, imap.values(predicate).size());
+            if (migrating && partitionService.hasOnGoingMigration()) {
+                queriesDuringMigration++;
+            }
+        }
+        assertTrue("no query ran during a migration", queriesDuringMigration > 0);
+        assertEquals(expected, imap.values(predicate).size());
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map.record;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.nio.UnsafeHelper;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class NativeRecordMapTest {
+
+    private static final int COUNT = 5000;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final SerializationService ss = new SerializationServiceBuilder().build();
+    private NativeRecordMap map;
+
+    @Before
+    public void setUp() {
+        assumeTrue(UnsafeHelper.UNSAFE_AVAILABLE);
+        map = new NativeRecordMap(ss, true);
+    }
+
+    @After
+    public void tearDown() {
+        if (map != null) {
+            map.clear();
+        }
+    }
+
+    @Test
+    public void testPutGet() {
+        fill();
+        assertEquals(COUNT, map.size());
+        for (int i = 0; i < COUNT; i++) {
+            Record record = map.get(ss.toData(i));
+            assertNotNull(record);
+            assertEquals(ss.toData((long) i), record.getValue());
+            assertEquals(i, record.getTtl());
+        }
+        assertNull(map.get(ss.toData(COUNT)));
+    }
+
+    @Test
+    public void testPutExistingReturnsOldRecord() {
+        Data key = ss.toData(1);
+        map.put(key, new DataRecord(key, ss.toData(1L)));
+        Record old = map.put(key, new DataRecord(key, ss.toData(2L)));
+
+        assertEquals(ss.toData(1L), old.getValue());
+        assertEquals(ss.toData(2L), map.get(key).getValue());
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRecordViewSurvivesRemovals() {
+        fill();
+        Data key = ss.toData(COUNT - 1);
+        Record view = map.get(key);
+        for (int i = 0; i < COUNT; i += 2) {
+            assertNotNull(map.remove(ss.toData(i)));
+        }
+        assertEquals(COUNT / 2, map.size());
+        assertEquals(ss.toData((long) COUNT - 1), view.getValue());
+
+        view.setValue(ss.toData(-1L));
+        assertEquals(ss.toData(-1L), map.get(key).getValue());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(i % 2 == 1, map.containsKey(ss.toData(i)));
+        }
+    }
+
+    @Test
+    public void testTouch() {
+        Data key = ss.toData(1);
+        map.put(key, new DataRecordWithStats(key, ss.toData(1L)));
+
+        assertEquals(ss.toData(1L), map.touch(key, 10L, MapConfig.EvictionPolicy.LFU, 0));
+        Record record = map.get(key);
+        assertEquals(10L, record.getLastAccessTime());
+        assertEquals(1, record.getEvictionCriteriaNumber());
+        assertEquals(1, record.getStatistics().getHits());
+        assertNull(map.touch(ss.toData(2), 10L, MapConfig.EvictionPolicy.LFU, 0));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        fill();
+        Set<Data> seen = new HashSet<Data>();
+        int removed = 0;
+        Iterator<Record> iterator = map.values().iterator();
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            assertTrue(seen.add(record.getKey()));
+            if (seen.size() % 3 == 0) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        assertEquals(COUNT, seen.size());
+        assertEquals(COUNT - removed, map.size());
+    }
+
+    @Test
+    public void testIteratorRemove_whenClusterWrapsAroundTableEnd() {
+        // keys whose home is the last slot of the initial table, the following ones wrap to its start
+        List<Data> keys = new ArrayList<Data>();
+        for (int i = 0; keys.size() < 3; i++) {
+            Data key = ss.toData(i);
+            int h = key.hashCode();
+            if (((h ^ (h >>> 16)) & (INITIAL_CAPACITY - 1)) == INITIAL_CAPACITY - 1) {
+                keys.add(key);
+                map.put(key, new DataRecord(key, ss.toData((long) i)));
+            }
+        }
+
+        // the first key sits in the last slot, removing it shifts the wrapped keys back to the table end
+        Set<Data> seen = new HashSet<Data>();
+        Iterator<Record> iterator = map.values().iterator();
+        while (iterator.hasNext()) {
+            Data key = iterator.next().getKey();
+            assertTrue(seen.add(key));
+            if (key.equals(keys.get(0))) {
+                iterator.remove();
+            }
+        }
+        assertEquals(new HashSet<Data>(keys), seen);
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testReplaceAndRemove_compareValues() {
+        Data key = ss.toData(1);
+        map.put(key, new DataRecord(key, ss.toData(1L)));
+
+        assertFalse(map.replace(key, new DataRecord(key, ss.toData(2L)), new DataRecord(key, ss.toData(3L))));
+        assertTrue(map.replace(key, new DataRecord(key, ss.toData(1L)), new DataRecord(key, ss.toData(3L))));
+        assertEquals(ss.toData(3L), map.get(key).getValue());
+
+        assertFalse(map.remove(key, new DataRecord(key, ss.toData(1L))));
+        assertTrue(map.remove(key, new DataRecord(key, ss.toData(3L))));
+        assertNull(map.get(key));
+    }
+
+    @Test
+    public void testClearReleasesMemory() {
+        fill();
+        assertTrue(map.getNativeMemory() > 0);
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(0, map.getNativeMemory());
+        assertNull(map.get(ss.toData(1)));
+    }
+
+    private void fill() {
+        for (int i = 0; i < COUNT; i++) {
+            Data key = ss.toData(i);
+            Record record = new DataRecordWithStats(key, ss.toData((long) i));
+            record.setTtl(i);
+            assertNull(map.put(key, record));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.standalone;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.mapreduce.JobTracker;
+import com.hazelcast.mapreduce.aggregation.Aggregation;
+import com.hazelcast.mapreduce.aggregation.Aggregations;
+import com.hazelcast.mapreduce.aggregation.PropertyExtractor;
+import com.hazelcast.mapreduce.aggregation.Supplier;
+import com.hazelcast.query.Predicates;
+
+/**
+ * Measures aggregations of a map, run on the members which own the entries versus run as a MapReduce job,
+ * and with a predicate on an indexed versus a not indexed attribute.
+ */
+public final class AggregationBenchmark {
+
+    private static final int MEMBER_COUNT = 2;
+    private static final int ENTRY_COUNT = 100000;
+    private static final int SELECTED_COUNT = ENTRY_COUNT / 100;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 10;
+
+    static {
+        System.setProperty("hazelcast.version.check.enabled", "false");
+        System.setProperty("java.net.preferIPv4Stack", "true");
+    }
+
+    private AggregationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        HazelcastInstance instance = null;
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            instance = Hazelcast.newHazelcastInstance();
+        }
+        try {
+            final IMap<Integer, Integer> map = instance.getMap("aggregation");
+            final IMap<Integer, Integer> indexedMap = instance.getMap("indexedAggregation");
+            indexedMap.addIndex("this", true);
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                map.put(i, i);
+                indexedMap.put(i, i);
+            }
+            final JobTracker jobTracker = instance.getJobTracker("aggregationBenchmark");
+            final Supplier<Integer, Integer, Object> all = Supplier.all();
+            final Aggregation<Integer, Long, Long> sum = Aggregations.longSum();
+            final Supplier<Integer, Integer, Long> allAsLong = Supplier.all(new LongExtractor());
+
+            System.out.println("count, map reduce: " + runMapReduce(map, all, Aggregations.<Integer>count(), jobTracker)
+                    + " us, native: " + run(map, all, Aggregations.<Integer>count()) + " us");
+            System.out.println("sum, map reduce: " + runMapReduce(map, allAsLong, sum, jobTracker)
+                    + " us, native: " + run(map, allAsLong, sum) + " us");
+
+            final Supplier<Integer, Integer, Long> selected = Supplier.fromPredicate(
+                    Predicates.greaterEqual("this", ENTRY_COUNT - SELECTED_COUNT), allAsLong);
+            System.out.println("sum of " + SELECTED_COUNT + " entries, not indexed: " + run(map, selected, sum)
+                    + " us, indexed: " + run(indexedMap, selected, sum) + " us");
+        } finally {
+            Hazelcast.shutdownAll();
+        }
+    }
+
+    private static <S, R> long run(IMap<Integer, Integer> map, Supplier<Integer, Integer, S> supplier,
+                                   Aggregation<Integer, S, R> aggregation) {
+        long nanos = 0;
+        for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            final long start = System.nanoTime();
+            map.aggregate(supplier, aggregation);
+            if (i >= WARMUP_ROUNDS) {
+                nanos += System.nanoTime() - start;
+            }
+        }
+        return nanos / ROUNDS / 1000;
+    }
+
+    private static <S, R> long runMapReduce(IMap<Integer, Integer> map, Supplier<Integer, Integer, S> supplier,
+                                            Aggregation<Integer, S, R> aggregation, JobTracker jobTracker) {
+        long nanos = 0;
+        for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            final long start = System.nanoTime();
+            map.aggregate(supplier, aggregation, jobTracker);
+            if (i >= WARMUP_ROUNDS) {
+                nanos += System.nanoTime() - start;
+            }
+        }
+        return nanos / ROUNDS / 1000;
+    }
+
+    private static class LongExtractor implements PropertyExtractor<Integer, Long> {
+
+        @Override
+        public Long extract(Integer value) {
+            return value.longValue();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.standalone;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.MapService;
+import com.hazelcast.map.MapServiceContext;
+import com.hazelcast.map.RecordStore;
+import com.hazelcast.map.eviction.EvictionHelper;
+import com.hazelcast.map.eviction.EvictionSampler;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.test.HazelcastTestSupport;
+
+import java.util.Random;
+
+/**
+ * Compares the sort based eviction with the sampling based eviction on a single partition.
+ * <p/>
+ * For growing partition sizes, fills one record store and measures how long one eviction pass
+ * of a fixed number of entries takes with both strategies. The record store is refilled after each pass.
+ */
+public final class EvictionBenchmark {
+
+    private static final int[] PARTITION_SIZES = {10000, 100000, 1000000};
+    private static final int EVICTION_SIZE = 100;
+    private static final int SAMPLE_COUNT = 5;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+
+    static {
+        System.setProperty("hazelcast.version.check.enabled", "false");
+        System.setProperty("java.net.preferIPv4Stack", "true");
+    }
+
+    private final MapServiceContext mapServiceContext;
+    private final NodeEngine nodeEngine;
+    private final Random random = new Random();
+
+    private EvictionBenchmark(HazelcastInstance instance) {
+        this.nodeEngine = HazelcastTestSupport.getNode(instance).getNodeEngine();
+        final MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+        this.mapServiceContext = mapService.getMapServiceContext();
+    }
+
+    public static void main(String[] args) {
+        final Config config = new Config();
+        config.getMapConfig("sort").setEvictionPolicy(MapConfig.EvictionPolicy.LRU);
+        config.getMapConfig("sampling").setEvictionPolicy(MapConfig.EvictionPolicy.LRU)
+                .setEvictionSampleCount(SAMPLE_COUNT);
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        try {
+            final EvictionBenchmark benchmark = new EvictionBenchmark(instance);
+            for (int partitionSize : PARTITION_SIZES) {
+                final long sortNanos = benchmark.run("sort", partitionSize);
+                final long samplingNanos = benchmark.run("sampling", partitionSize);
+                System.out.println("partition size: " + partitionSize
+                        + ", sort: " + sortNanos / 1000 + " us/pass"
+                        + ", sampling: " + samplingNanos / 1000 + " us/pass");
+            }
+        } finally {
+            Hazelcast.shutdownAll();
+        }
+    }
+
+    private long run(String mapName, int partitionSize) {
+        final RecordStore recordStore = mapServiceContext.getRecordStore(0, mapName);
+        final MapConfig mapConfig = recordStore.getMapContainer().getMapConfig();
+        final EvictionSampler sampler = new EvictionSampler(recordStore.getRecordMap().values());
+        fill(recordStore, partitionSize);
+        long total = 0;
+        for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            final long start = System.nanoTime();
+            if (mapConfig.getEvictionSampleCount() > 0) {
+                EvictionHelper.removeSampledEvictableRecords(recordStore, sampler, EVICTION_SIZE, mapConfig,
+                        mapServiceContext);
+            } else {
+                EvictionHelper.removeEvictableRecords(recordStore, EVICTION_SIZE, mapConfig, mapServiceContext);
+            }
+            final long elapsed = System.nanoTime() - start;
+            if (i >= WARMUP_ROUNDS) {
+                total += elapsed;
+            }
+            fill(recordStore, partitionSize);
+        }
+        recordStore.clearPartition();
+        return total / ROUNDS;
+    }
+
+    private void fill(RecordStore recordStore, int partitionSize) {
+        final int size = recordStore.size();
+        for (int i = 0; i < partitionSize - size; i++) {
+            final Data key = mapServiceContext.toData(random.nextLong());
+            recordStore.put(key, key, -1);
+        }
+    }
+}
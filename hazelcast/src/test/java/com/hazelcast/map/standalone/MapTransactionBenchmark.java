@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.standalone;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.PartitionService;
+import com.hazelcast.core.TransactionalMap;
+import com.hazelcast.transaction.TransactionException;
+import com.hazelcast.transaction.TransactionOptions;
+import com.hazelcast.transaction.TransactionalTask;
+import com.hazelcast.transaction.TransactionalTaskContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the commit latency of two phase map transactions whose keys all live on one partition versus
+ * transactions whose keys are spread over the cluster, and of a single key read-modify-write transaction.
+ */
+public final class MapTransactionBenchmark {
+
+    private static final int MEMBER_COUNT = 2;
+    private static final int KEY_COUNT = 50;
+    private static final int WARMUP_ROUNDS = 100;
+    private static final int ROUNDS = 1000;
+
+    private static final TransactionOptions OPTIONS = new TransactionOptions()
+            .setTransactionType(TransactionOptions.TransactionType.TWO_PHASE);
+
+    static {
+        System.setProperty("hazelcast.version.check.enabled", "false");
+        System.setProperty("java.net.preferIPv4Stack", "true");
+    }
+
+    private MapTransactionBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        HazelcastInstance instance = null;
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            instance = Hazelcast.newHazelcastInstance();
+        }
+        try {
+            final List<String> samePartitionKeys = new ArrayList<String>(KEY_COUNT);
+            final List<String> spreadKeys = new ArrayList<String>(KEY_COUNT);
+            final PartitionService partitionService = instance.getPartitionService();
+            final int partitionId = partitionService.getPartition("key").getPartitionId();
+            for (int i = 0; samePartitionKeys.size() < KEY_COUNT; i++) {
+                final String key = "key" + i;
+                if (partitionService.getPartition(key).getPartitionId() == partitionId) {
+                    samePartitionKeys.add(key);
+                }
+                if (spreadKeys.size() < KEY_COUNT) {
+                    spreadKeys.add(key);
+                }
+            }
+            instance.getMap("increment").put("counter", 0);
+
+            System.out.println(KEY_COUNT + " puts, single partition: " + run(instance, new PutTask(samePartitionKeys))
+                    + " us, spread: " + run(instance, new PutTask(spreadKeys)) + " us");
+            System.out.println("getForUpdate and put of a single key: " + run(instance, new IncrementTask()) + " us");
+        } finally {
+            Hazelcast.shutdownAll();
+        }
+    }
+
+    private static long run(HazelcastInstance instance, TransactionalTask<Object> task) {
+        long nanos = 0;
+        for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            final long start = System.nanoTime();
+            instance.executeTransaction(OPTIONS, task);
+            if (i >= WARMUP_ROUNDS) {
+                nanos += System.nanoTime() - start;
+            }
+        }
+        return nanos / ROUNDS / 1000;
+    }
+
+    private static class PutTask implements TransactionalTask<Object> {
+
+        private final List<String> keys;
+
+        PutTask(List<String> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public Object execute(TransactionalTaskContext context) throws TransactionException {
+            final TransactionalMap<String, String> map = context.getMap("put");
+            for (String key : keys) {
+                map.put(key, key);
+            }
+            return null;
+        }
+    }
+
+    private static class IncrementTask implements TransactionalTask<Object> {
+
+        @Override
+        public Object execute(TransactionalTaskContext context) throws TransactionException {
+            final TransactionalMap<String, Integer> map = context.getMap("increment");
+            map.put("counter", map.getForUpdate("counter") + 1);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.standalone;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Measures paging a map with a {@link PagingPredicate} sorted by a comparator.
+ * <p/>
+ * For each page, a fresh predicate jumps to the page directly, so the query can not continue from the anchor
+ * of a previous page. The query of the following page, which continues from the anchor of the page jumped to,
+ * is measured separately.
+ */
+public final class PagingBenchmark {
+
+    private static final int MEMBER_COUNT = 2;
+    private static final int ENTRY_COUNT = 100000;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] PAGES = {1, 100, 1000};
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 10;
+
+    static {
+        System.setProperty("hazelcast.version.check.enabled", "false");
+        System.setProperty("java.net.preferIPv4Stack", "true");
+    }
+
+    private final IMap<Integer, Integer> map;
+
+    private PagingBenchmark(IMap<Integer, Integer> map) {
+        this.map = map;
+    }
+
+    public static void main(String[] args) {
+        HazelcastInstance instance = null;
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            instance = Hazelcast.newHazelcastInstance();
+        }
+        try {
+            final IMap<Integer, Integer> map = instance.getMap("paging");
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                map.put(i, i);
+            }
+            final PagingBenchmark benchmark = new PagingBenchmark(map);
+            for (int page : PAGES) {
+                benchmark.run(page);
+            }
+        } finally {
+            Hazelcast.shutdownAll();
+        }
+    }
+
+    private void run(int page) {
+        long jumpNanos = 0;
+        long nextNanos = 0;
+        for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            final PagingPredicate predicate = new PagingPredicate(new DescendingComparator(), PAGE_SIZE);
+            for (int p = 1; p < page; p++) {
+                predicate.nextPage();
+            }
+            final long start = System.nanoTime();
+            query(predicate);
+            final long jumped = System.nanoTime();
+            predicate.nextPage();
+            query(predicate);
+            final long end = System.nanoTime();
+            if (i >= WARMUP_ROUNDS) {
+                jumpNanos += jumped - start;
+                nextNanos += end - jumped;
+            }
+        }
+        System.out.println("page: " + page
+                + ", jump: " + jumpNanos / ROUNDS / 1000 + " us"
+                + ", next page: " + nextNanos / ROUNDS / 1000 + " us");
+    }
+
+    private void query(PagingPredicate predicate) {
+        final Collection<Integer> values = map.values(predicate);
+        if (values.size() != PAGE_SIZE) {
+            throw new IllegalStateException("Unexpected page size " + values.size() + " on page " + predicate.getPage());
+        }
+    }
+
+    private static class DescendingComparator implements Comparator<Map.Entry>, Serializable {
+
+        @Override
+        public int compare(Map.Entry entry1, Map.Entry entry2) {
+            return (Integer) entry2.getValue() - (Integer) entry1.getValue();
+        }
+    }
+}
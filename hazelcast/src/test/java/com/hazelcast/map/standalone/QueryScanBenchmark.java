@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.standalone;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.QueryEntry;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Measures a full scan of a predicate on a single attribute, without indexes.
+ * <p/>
+ * Evaluates the predicate on 10M query entries, as a partition scan does, for values stored as objects,
+ * as serialized objects which are deserialized for each entry and as portables whose attribute is read
+ * from the serialized bytes.
+ */
+public final class QueryScanBenchmark {
+
+    private static final int ENTRY_COUNT = 10000000;
+    private static final int DISTINCT_VALUES = 1000;
+    private static final int FACTORY_ID = 1;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int ROUNDS = 5;
+
+    private final SerializationService serializationService = new SerializationServiceBuilder()
+            .addPortableFactory(FACTORY_ID, new EmployeeFactory()).build();
+    private final Data[] keys = new Data[DISTINCT_VALUES];
+    private final Object[] objects = new Object[DISTINCT_VALUES];
+    private final Data[] binaries = new Data[DISTINCT_VALUES];
+    private final Data[] portables = new Data[DISTINCT_VALUES];
+
+    private QueryScanBenchmark() {
+        for (int i = 0; i < DISTINCT_VALUES; i++) {
+            keys[i] = serializationService.toData(i);
+            objects[i] = new Employee(i);
+            binaries[i] = serializationService.toData(objects[i]);
+            portables[i] = serializationService.toData(new PortableEmployee(i));
+        }
+    }
+
+    public static void main(String[] args) {
+        final QueryScanBenchmark benchmark = new QueryScanBenchmark();
+        final Predicate predicate = Predicates.lessThan("age", DISTINCT_VALUES / 2);
+        System.out.println("object: " + benchmark.run(predicate, benchmark.objects) + " ms/scan");
+        System.out.println("binary: " + benchmark.run(predicate, benchmark.binaries) + " ms/scan");
+        System.out.println("portable: " + benchmark.run(predicate, benchmark.portables) + " ms/scan");
+    }
+
+    private long run(Predicate predicate, Object[] values) {
+        long total = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            int matches = 0;
+            final long start = System.nanoTime();
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                final int index = i % DISTINCT_VALUES;
+                final QueryEntry entry = new QueryEntry(serializationService, keys[index], keys[index], values[index]);
+                if (predicate.apply(entry)) {
+                    matches++;
+                }
+            }
+            final long elapsed = System.nanoTime() - start;
+            if (matches != ENTRY_COUNT / 2) {
+                throw new IllegalStateException("Unexpected match count " + matches);
+            }
+            if (round >= WARMUP_ROUNDS) {
+                total += elapsed;
+            }
+        }
+        return total / ROUNDS / 1000000;
+    }
+
+    private static class Employee implements Serializable {
+        private int age;
+
+        Employee(int age) {
+            this.age = age;
+        }
+    }
+
+    private static class PortableEmployee implements Portable {
+        private int age;
+
+        PortableEmployee() {
+        }
+
+        PortableEmployee(int age) {
+            this.age = age;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return 1;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeInt("age", age);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            age = reader.readInt("age");
+        }
+    }
+
+    private static class EmployeeFactory implements PortableFactory {
+        @Override
+        public Portable create(int classId) {
+            return new PortableEmployee();
+        }
+    }
+}
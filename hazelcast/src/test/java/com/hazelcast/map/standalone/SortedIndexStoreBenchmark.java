@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.standalone;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceBuilder;
+import com.hazelcast.query.impl.AttributeType;
+import com.hazelcast.query.impl.IndexStore;
+import com.hazelcast.query.impl.MultiResultSet;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.SortedIndexStore;
+import com.hazelcast.query.impl.SortedPrimitiveIndexStore;
+
+import java.util.Random;
+
+/**
+ * Compares the generic sorted index store with the primitive one on a <code>long</code> attribute.
+ * <p/>
+ * Fills each store with the same entries of distinct values and reports the heap used by the store per entry,
+ * without the entries themselves, and the latency of range queries which match a fixed number of entries.
+ */
+public final class SortedIndexStoreBenchmark {
+
+    private static final int ENTRY_COUNT = 1000000;
+    private static final int RANGE_SIZE = 1000;
+    private static final int WARMUP_ROUNDS = 1000;
+    private static final int ROUNDS = 10000;
+
+    private final QueryableEntry[] entries = new QueryableEntry[ENTRY_COUNT];
+    private final Long[] values = new Long[ENTRY_COUNT];
+    private final Random random = new Random();
+
+    private SortedIndexStoreBenchmark() {
+        final SerializationService serializationService = new SerializationServiceBuilder().build();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            final Data key = serializationService.toData(i);
+            values[i] = (long) i;
+            entries[i] = new QueryEntry(serializationService, key, key, values[i]);
+        }
+        // inserts in random order
+        for (int i = ENTRY_COUNT - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final QueryableEntry entry = entries[i];
+            entries[i] = entries[j];
+            entries[j] = entry;
+        }
+    }
+
+    public static void main(String[] args) {
+        final SortedIndexStoreBenchmark benchmark = new SortedIndexStoreBenchmark();
+        benchmark.run(new SortedPrimitiveIndexStore(AttributeType.LONG));
+        benchmark.run(new SortedIndexStore());
+    }
+
+    private void run(IndexStore store) {
+        final long usedBefore = usedMemory();
+        final long fillStart = System.nanoTime();
+        for (QueryableEntry entry : entries) {
+            store.newIndex((Comparable) entry.getValue(), entry);
+        }
+        final long fillNanos = System.nanoTime() - fillStart;
+        final long usedAfter = usedMemory();
+
+        long total = 0;
+        for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            final int from = random.nextInt(ENTRY_COUNT - RANGE_SIZE);
+            final long start = System.nanoTime();
+            final MultiResultSet results = new MultiResultSet();
+            store.getSubRecordsBetween(results, values[from], values[from + RANGE_SIZE - 1]);
+            int count = 0;
+            for (QueryableEntry ignored : results) {
+                count++;
+            }
+            final long elapsed = System.nanoTime() - start;
+            if (count != RANGE_SIZE) {
+                throw new IllegalStateException("Unexpected result size " + count);
+            }
+            if (i >= WARMUP_ROUNDS) {
+                total += elapsed;
+            }
+        }
+        System.out.println(store.getClass().getSimpleName()
+                + ": " + (usedAfter - usedBefore) / ENTRY_COUNT + " bytes/entry"
+                + ", insert: " + fillNanos / ENTRY_COUNT + " ns/entry"
+                + ", range of " + RANGE_SIZE + ": " + total / ROUNDS / 1000 + " us");
+        store.clear();
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
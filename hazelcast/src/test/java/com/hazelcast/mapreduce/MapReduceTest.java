@@ -14,6 +14,7 @@
 
 package com.hazelcast.mapreduce;
 
+import com.hazelcast.config.Config;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.ICompletableFuture;
@@ -384,6 +385,80 @@ public class MapReduceTest
         });
     }
 
+    @Test(timeout = 60000)
+    public void testMapperReducerChunkedWithLimitedChunksInFlight() throws Exception {
+        Config config = new Config();
+        config.getJobTrackerConfig("default").setMaxChunksInFlight(1);
+
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(3);
+
+        final HazelcastInstance h1 = nodeFactory.newHazelcastInstance(config);
+        final HazelcastInstance h2 = nodeFactory.newHazelcastInstance(config);
+        final HazelcastInstance h3 = nodeFactory.newHazelcastInstance(config);
+
+        assertClusterSizeEventually(3, h1);
+        assertClusterSizeEventually(3, h2);
+        assertClusterSizeEventually(3, h3);
+
+        final IMap<Integer, Integer> m1 = h1.getMap(MAP_NAME);
+        for (int i = 0; i < 10000; i++) {
+            m1.put(i, i);
+        }
+
+        JobTracker tracker = h1.getJobTracker("default");
+        Job<Integer, Integer> job = tracker.newJob(KeyValueSource.fromMap(m1));
+        JobCompletableFuture<Map<String, Integer>> future = job.chunkSize(1).mapper(new GroupingTestMapper())
+                                                               .reducer(new TestReducerFactory()).submit();
+
+        Map<String, Integer> result = future.get();
+
+        // Precalculate results
+        int[] expectedResults = new int[4];
+        for (int i = 0; i < 10000; i++) {
+            int index = i % 4;
+            expectedResults[index] += i;
+        }
+
+        assertEquals(4, result.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(expectedResults[i], (int) result.get(String.valueOf(i)));
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testMapperReducerWithLimitedChunksInFlight_heldBackValuesSentInChunks() throws Exception {
+        Config config = new Config();
+        config.getJobTrackerConfig("default").setMaxChunksInFlight(1);
+
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(3);
+
+        final HazelcastInstance h1 = nodeFactory.newHazelcastInstance(config);
+        final HazelcastInstance h2 = nodeFactory.newHazelcastInstance(config);
+        final HazelcastInstance h3 = nodeFactory.newHazelcastInstance(config);
+
+        assertClusterSizeEventually(3, h1);
+        assertClusterSizeEventually(3, h2);
+        assertClusterSizeEventually(3, h3);
+
+        final IMap<Integer, Integer> m1 = h1.getMap(MAP_NAME);
+        for (int i = 0; i < 10000; i++) {
+            m1.put(i, i);
+        }
+
+        // every key is distinct, values held back while out of credits exceed the chunk size
+        JobTracker tracker = h1.getJobTracker("default");
+        Job<Integer, Integer> job = tracker.newJob(KeyValueSource.fromMap(m1));
+        JobCompletableFuture<Map<String, Integer>> future = job.chunkSize(10).mapper(new TestMapper())
+                                                               .reducer(new TestReducerFactory()).submit();
+
+        Map<String, Integer> result = future.get();
+
+        assertEquals(10000, result.size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, (int) result.get(String.valueOf(i)));
+        }
+    }
+
     @Test(timeout = 30000)
     public void testMapperCollator() throws Exception {
         TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(3);
@@ -17,8 +17,10 @@
 package com.hazelcast.mapreduce.aggregation;
 
 import com.hazelcast.core.IMap;
+import com.hazelcast.mapreduce.JobTracker;
 import com.hazelcast.mapreduce.KeyPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.Test;
@@ -164,6 +166,63 @@ public class MapBaseAggregationTest
         assertEquals(values.length / 2, count);
     }
 
+    @Test
+    public void testIndexedPredicateAggregation()
+            throws Exception {
+
+        String mapName = randomMapName();
+        IMap<Integer, Integer> map = HAZELCAST_INSTANCE.getMap(mapName);
+        map.addIndex("this", true);
+
+        Integer[] values = buildPlainValues(new ValueProvider<Integer>() {
+            @Override
+            public Integer provideRandom(Random random) {
+                return random(1000, 2000);
+            }
+        }, Integer.class);
+
+        int expectation = 0;
+        for (int i = 0; i < values.length; i++) {
+            map.put(i, values[i]);
+            if (values[i] >= 1500) {
+                expectation += values[i];
+            }
+        }
+
+        Predicate<Integer, Integer> predicate = Predicates.greaterEqual("this", 1500);
+        Supplier<Integer, Integer, Integer> supplier = Supplier.fromPredicate(predicate);
+        Aggregation<Integer, Integer, Integer> aggregation = Aggregations.integerSum();
+        int sum = map.aggregate(supplier, aggregation);
+        assertEquals(expectation, sum);
+    }
+
+    @Test
+    public void testAggregationWithJobTrackerRunsAsMapReduceJob()
+            throws Exception {
+
+        String mapName = randomMapName();
+        IMap<Integer, Integer> map = HAZELCAST_INSTANCE.getMap(mapName);
+
+        Integer[] values = buildPlainValues(new ValueProvider<Integer>() {
+            @Override
+            public Integer provideRandom(Random random) {
+                return random(1000, 2000);
+            }
+        }, Integer.class);
+
+        for (int i = 0; i < values.length; i++) {
+            map.put(i, values[i]);
+        }
+
+        Predicate<Integer, Integer> predicate = new SelectorPredicate(values.length / 2);
+        Supplier<Integer, Integer, Integer> supplier = Supplier.fromPredicate(predicate);
+        Aggregation<Integer, Integer, Integer> aggregation = Aggregations.integerMax();
+        JobTracker jobTracker = HAZELCAST_INSTANCE.getJobTracker(randomString());
+        int expectation = map.aggregate(supplier, aggregation, jobTracker);
+        int max = map.aggregate(supplier, aggregation);
+        assertEquals(expectation, max);
+    }
+
     @Test
     public void testDistinctValuesAggregation()
             throws Exception {
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.mapreduce.aggregation.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static com.hazelcast.instance.TestUtil.toObject;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class AccumulatorTest {
+
+    @Test
+    public void testIntegerAccumulators() {
+        assertEquals(15, accumulateInSplits(new IntegerAccumulator(Accumulator.SUM), 1, 2, 3, 4, 5));
+        assertEquals(-2, accumulateInSplits(new IntegerAccumulator(Accumulator.MIN), 1, -2, 3, 4, 5));
+        assertEquals(9, accumulateInSplits(new IntegerAccumulator(Accumulator.MAX), 1, 2, 9, 4, 5));
+        assertEquals(2, accumulateInSplits(new IntegerAccumulator(Accumulator.AVG), 1, 2, 3, 3));
+    }
+
+    @Test
+    public void testLongAccumulators() {
+        assertEquals(Long.MAX_VALUE, accumulateInSplits(new LongAccumulator(Accumulator.SUM), Long.MAX_VALUE - 1, 1L));
+        assertEquals(-2L, accumulateInSplits(new LongAccumulator(Accumulator.MIN), 1L, -2L, 3L));
+        assertEquals(9L, accumulateInSplits(new LongAccumulator(Accumulator.MAX), 1L, 9L, 3L));
+        assertEquals(3L, accumulateInSplits(new LongAccumulator(Accumulator.AVG), 2L, 4L));
+    }
+
+    @Test
+    public void testDoubleAccumulators() {
+        assertEquals(6.5, accumulateInSplits(new DoubleAccumulator(Accumulator.SUM), 1.5, 2.0, 3.0));
+        assertEquals(-2.5, accumulateInSplits(new DoubleAccumulator(Accumulator.MIN), 1.5, -2.5, 3.0));
+        assertEquals(3.0, accumulateInSplits(new DoubleAccumulator(Accumulator.MAX), 1.5, -2.5, 3.0));
+        assertEquals(1.25, accumulateInSplits(new DoubleAccumulator(Accumulator.AVG), 1.0, 1.5));
+    }
+
+    @Test
+    public void testEmptyResultsMatchCollators() {
+        assertEquals(0, new IntegerAccumulator(Accumulator.SUM).getResult().intValue());
+        assertEquals(Integer.MAX_VALUE, new IntegerAccumulator(Accumulator.MIN).getResult().intValue());
+        assertEquals(Integer.MIN_VALUE, new IntegerAccumulator(Accumulator.MAX).getResult().intValue());
+        assertEquals(Long.MAX_VALUE, new LongAccumulator(Accumulator.MIN).getResult().longValue());
+        assertEquals(-Double.MAX_VALUE, new DoubleAccumulator(Accumulator.MAX).getResult(), 0.0);
+        assertEquals(Double.NaN, new DoubleAccumulator(Accumulator.AVG).getResult(), 0.0);
+        assertEquals(0L, new CountAccumulator().getResult().longValue());
+        assertNull(new ComparableAccumulator(Accumulator.MIN).getResult());
+    }
+
+    @Test
+    public void testComparableAccumulators() {
+        assertEquals("a", accumulateInSplits(new ComparableAccumulator(Accumulator.MIN), "c", "a", "b"));
+        assertEquals("c", accumulateInSplits(new ComparableAccumulator(Accumulator.MAX), "c", "a", "b"));
+    }
+
+    @Test
+    public void testCountAndDistinctValues() {
+        assertEquals(4L, accumulateInSplits(new CountAccumulator(), "a", "b", "a", "c"));
+        Set<String> expected = new HashSet<String>(Arrays.asList("a", "b", "c"));
+        assertEquals(expected, accumulateInSplits(new DistinctValuesAccumulator<String>(), "a", "b", "a", "c"));
+    }
+
+    /**
+     * Accumulates the values in two accumulators which are serialized and merged like partial results of members.
+     */
+    private static <T> Object accumulateInSplits(Accumulator<T, ?> accumulator, T... values) {
+        Accumulator<T, ?> first = accumulator.newAccumulator();
+        Accumulator second = accumulator.newAccumulator();
+        for (int i = 0; i < values.length; i++) {
+            (i % 2 == 0 ? first : second).accumulate(values[i]);
+        }
+        Accumulator merged = (Accumulator) toObject(toData(accumulator));
+        merged.merge((Accumulator) toObject(toData(first)));
+        merged.merge((Accumulator) toObject(toData(second)));
+        return merged.getResult();
+    }
+}
@@ -127,6 +127,38 @@ public class IOUtilTest {
         }
     }
 
+    @Test
+    public void shouldCopyBetweenHeapAndDirectBuffers() throws Exception {
+        assertCopy(false, false);
+        assertCopy(false, true);
+        assertCopy(true, false);
+        assertCopy(true, true);
+    }
+
+    private static void assertCopy(boolean directSrc, boolean directDest) {
+        //given
+        final int length = NON_EMPTY_BYTE_ARRAY.length;
+        final ByteBuffer src = IOUtil.newByteBuffer(length, directSrc);
+        for (int i = 0; i < length; i++) {
+            src.put((byte) i);
+        }
+        src.flip();
+        src.get();
+        final ByteBuffer dest = IOUtil.newByteBuffer(length / 2, directDest);
+        dest.put((byte) -1);
+
+        //when
+        final int copied = IOUtil.copyToHeapBuffer(src, dest);
+
+        //then
+        assertEquals(length / 2 - 1, copied);
+        assertEquals(length / 2, src.position());
+        assertEquals(length / 2, dest.position());
+        for (int i = 1; i < length / 2; i++) {
+            assertEquals((byte) i, dest.get(i));
+        }
+    }
+
     @Test
     public void shouldThrowWhenByteBufferExhaustedAndTryingToReadFully() throws Exception {
         //given
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.standalone;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.Member;
+import com.hazelcast.instance.GroupProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures member to member throughput over the loopback interface with heap and direct socket buffers.
+ * <p/>
+ * Starts a two member cluster for each mode and writes values of growing sizes from the first member
+ * to keys owned by the second one, so every operation travels over the connection between the members.
+ * Values larger than the socket send buffer also exercise the gathering write of the value bytes.
+ */
+public final class LoopbackThroughputBenchmark {
+
+    private static final int[] VALUE_SIZES = {1024, 64 * 1024, 1024 * 1024};
+    private static final int THREAD_COUNT = 4;
+    private static final int KEY_COUNT = 100;
+    private static final long WARMUP_SECONDS = 5;
+    private static final long DURATION_SECONDS = 20;
+    private static final double MEGA_BYTE = 1024 * 1024;
+
+    static {
+        System.setProperty("hazelcast.version.check.enabled", "false");
+        System.setProperty("java.net.preferIPv4Stack", "true");
+    }
+
+    private LoopbackThroughputBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int valueSize : VALUE_SIZES) {
+            final double heap = run(false, valueSize);
+            final double direct = run(true, valueSize);
+            System.out.println("value size: " + valueSize
+                    + ", heap buffers: " + format(heap) + " MB/s"
+                    + ", direct buffers: " + format(direct) + " MB/s");
+        }
+    }
+
+    private static double run(boolean directBuffers, int valueSize) throws Exception {
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_SOCKET_BUFFER_DIRECT, String.valueOf(directBuffers));
+        final JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        final HazelcastInstance local = Hazelcast.newHazelcastInstance(config);
+        final HazelcastInstance remote = Hazelcast.newHazelcastInstance(config);
+        try {
+            final IMap<Integer, byte[]> map = local.getMap("loopback");
+            final List<Integer> keys = remoteKeys(local, remote.getCluster().getLocalMember());
+            final byte[] value = new byte[valueSize];
+            Arrays.fill(value, (byte) 1);
+
+            measure(map, keys, value, WARMUP_SECONDS);
+            final long bytes = measure(map, keys, value, DURATION_SECONDS);
+            if (!Arrays.equals(value, map.get(keys.get(0)))) {
+                throw new IllegalStateException("Value is corrupted on the way to the remote member!");
+            }
+            return bytes / MEGA_BYTE / DURATION_SECONDS;
+        } finally {
+            Hazelcast.shutdownAll();
+        }
+    }
+
+    private static List<Integer> remoteKeys(HazelcastInstance local, Member remote) {
+        final List<Integer> keys = new ArrayList<Integer>(KEY_COUNT);
+        for (int key = 0; keys.size() < KEY_COUNT; key++) {
+            if (remote.equals(local.getPartitionService().getPartition(key).getOwner())) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static long measure(final IMap<Integer, byte[]> map, final List<Integer> keys, final byte[] value,
+                                long seconds) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        final AtomicLong bytes = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            final int offset = i;
+            new Thread() {
+                public void run() {
+                    int k = offset;
+                    while (System.nanoTime() < deadline) {
+                        map.set(keys.get(k++ % keys.size()), value);
+                        bytes.addAndGet(value.length);
+                    }
+                    latch.countDown();
+                }
+            }.start();
+        }
+        latch.await();
+        return bytes.get();
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
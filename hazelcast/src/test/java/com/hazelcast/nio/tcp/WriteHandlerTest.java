@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.Node;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.Protocols;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class WriteHandlerTest extends HazelcastTestSupport {
+
+    private static final int QUEUE_CAPACITY = 3;
+
+    private Node node;
+
+    private TestSocketChannel socketChannel;
+
+    private TcpIpConnection connection;
+
+    private WriteHandler writeHandler;
+
+    @Before
+    public void setUp() throws IOException {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_SOCKET_WRITE_QUEUE_CAPACITY, String.valueOf(QUEUE_CAPACITY));
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        node = getNode(hz);
+        socketChannel = new TestSocketChannel();
+        TcpIpConnectionManager connectionManager = (TcpIpConnectionManager) node.getConnectionManager();
+        connection = new TcpIpConnection(connectionManager, new TestIOSelector(), new TestIOSelector(), 1, socketChannel);
+        writeHandler = connection.getWriteHandler();
+        writeHandler.setProtocol(Protocols.CLUSTER);
+    }
+
+    @After
+    public void tearDown() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testOffer_whenQueueFull_rejected() {
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            assertTrue(writeHandler.offer(newPacket("value-" + i)));
+        }
+
+        assertFalse(writeHandler.offer(newPacket("rejected")));
+        assertFalse(connection.write(newPacket("rejected")));
+        assertEquals(QUEUE_CAPACITY, writeHandler.getWriteQueueSize());
+    }
+
+    @Test
+    public void testOffer_whenQueueFull_urgentAccepted() {
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            assertTrue(writeHandler.offer(newPacket("value-" + i)));
+        }
+        Packet urgent = newPacket("urgent");
+        urgent.setHeader(Packet.HEADER_URGENT);
+
+        assertTrue(writeHandler.offer(urgent));
+        assertEquals(QUEUE_CAPACITY + 1, writeHandler.getWriteQueueSize());
+    }
+
+    @Test
+    public void testOffer_afterDrain_acceptedAgain() throws Exception {
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            assertTrue(writeHandler.offer(newPacket("value-" + i)));
+        }
+        assertFalse(writeHandler.offer(newPacket("rejected")));
+
+        writeHandler.handle();
+
+        assertEquals(0, writeHandler.getWriteQueueSize());
+        assertTrue(writeHandler.offer(newPacket("accepted")));
+        assertEquals(1, writeHandler.getWriteQueueSize());
+    }
+
+    @Test
+    public void testPendingWriteBytes() throws Exception {
+        Packet first = newPacket("first");
+        Packet second = newPacket("second-value");
+        writeHandler.offer(first);
+        writeHandler.offer(second);
+
+        assertEquals(first.size() + second.size(), writeHandler.getPendingWriteBytes());
+
+        writeHandler.handle();
+
+        assertEquals(0, writeHandler.getPendingWriteBytes());
+        assertEquals(0, writeHandler.getWriteQueueSize());
+    }
+
+    @Test
+    public void testShutdown_clearsCounters() {
+        writeHandler.offer(newPacket("first"));
+        writeHandler.offer(newPacket("second"));
+
+        writeHandler.shutdown();
+
+        assertEquals(0, writeHandler.getWriteQueueSize());
+        assertEquals(0, writeHandler.getPendingWriteBytes());
+    }
+
+    @Test
+    public void testGatheringWrite_whenChannelAcceptsPartOfBuffers() throws Exception {
+        byte[] value = new byte[256 * 1024];
+        new Random().nextBytes(value);
+        writeHandler.offer(newPacket(value));
+        writeHandler.offer(newPacket("next"));
+        socketChannel.writeLimit = 1000;
+
+        int written;
+        do {
+            written = socketChannel.written.position();
+            writeHandler.handle();
+        } while (socketChannel.written.position() > written);
+
+        assertTrue(socketChannel.gatheringWriteCalls > 0);
+        ByteBuffer bytes = socketChannel.written;
+        bytes.flip();
+        byte[] protocol = new byte[Protocols.CLUSTER.length()];
+        bytes.get(protocol);
+        assertEquals(Protocols.CLUSTER, new String(protocol));
+        assertArrayEquals(value, (byte[]) readValue(bytes));
+        assertEquals("next", readValue(bytes));
+        assertFalse(bytes.hasRemaining());
+    }
+
+    private Object readValue(ByteBuffer bytes) {
+        Packet packet = new Packet(node.getSerializationService().getPortableContext());
+        assertTrue(packet.readFrom(bytes));
+        return node.getSerializationService().toObject(packet.getData());
+    }
+
+    private Packet newPacket(Object value) {
+        Data data = node.getSerializationService().toData(value);
+        return new Packet(data, node.getSerializationService().getPortableContext());
+    }
+
+    private static class TestIOSelector implements IOSelector {
+
+        @Override
+        public Selector getSelector() {
+            return null;
+        }
+
+        @Override
+        public void addTask(Runnable runnable) {
+            // the protocol is set synchronously, the tests call WriteHandler.handle themselves
+            if (!(runnable instanceof WriteHandler)) {
+                runnable.run();
+            }
+        }
+
+        @Override
+        public void wakeup() {
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void awaitShutdown() {
+        }
+    }
+
+    /**
+     * Accepts at most {@link #writeLimit} bytes per write call and keeps everything written.
+     */
+    private static class TestSocketChannel implements SocketChannelWrapper {
+
+        final ByteBuffer written = ByteBuffer.allocate(1 << 20);
+
+        int writeLimit = Integer.MAX_VALUE;
+
+        int gatheringWriteCalls;
+
+        @Override
+        public int write(ByteBuffer byteBuffer) throws IOException {
+            return drain(byteBuffer, writeLimit);
+        }
+
+        @Override
+        public long write(ByteBuffer[] byteBuffers) throws IOException {
+            gatheringWriteCalls++;
+            int limit = writeLimit;
+            long total = 0;
+            for (ByteBuffer byteBuffer : byteBuffers) {
+                int n = drain(byteBuffer, limit);
+                total += n;
+                limit -= n;
+                if (byteBuffer.hasRemaining()) {
+                    break;
+                }
+            }
+            return total;
+        }
+
+        private int drain(ByteBuffer src, int limit) {
+            int n = Math.min(src.remaining(), limit);
+            for (int i = 0; i < n; i++) {
+                written.put(src.get());
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return false;
+        }
+
+        @Override
+        public Socket socket() {
+            return null;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public boolean connect(SocketAddress socketAddress) throws IOException {
+            return true;
+        }
+
+        @Override
+        public SelectionKey keyFor(Selector selector) {
+            return null;
+        }
+
+        @Override
+        public SelectionKey register(Selector selector, int ops, Object attachment) throws ClosedChannelException {
+            return null;
+        }
+
+        @Override
+        public int read(ByteBuffer byteBuffer) throws IOException {
+            return 0;
+        }
+
+        @Override
+        public SelectableChannel configureBlocking(boolean b) throws IOException {
+            return null;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+}
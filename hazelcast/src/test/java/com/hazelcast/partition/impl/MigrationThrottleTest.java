@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.partition.MigrationInfo;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.net.UnknownHostException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MigrationThrottleTest {
+
+    @Test
+    public void testSerialByDefault() throws Exception {
+        MigrationThrottle throttle = new MigrationThrottle(1, 0);
+        assertFalse(throttle.isParallel());
+
+        MigrationInfo first = migration(0, 5701, 5702);
+        assertTrue(throttle.tryAcquire(first));
+        assertFalse(throttle.tryAcquire(migration(1, 5703, 5704)));
+
+        throttle.release(first);
+        assertTrue(throttle.tryAcquire(migration(1, 5703, 5704)));
+    }
+
+    @Test
+    public void testTotalLimit() throws Exception {
+        MigrationThrottle throttle = new MigrationThrottle(2, 0);
+        assertTrue(throttle.isParallel());
+
+        assertTrue(throttle.tryAcquire(migration(0, 5701, 5702)));
+        assertTrue(throttle.tryAcquire(migration(1, 5701, 5702)));
+        assertFalse(throttle.tryAcquire(migration(2, 5703, 5704)));
+        assertEquals(2, throttle.getMigrationCount());
+    }
+
+    @Test
+    public void testMemberLimit_countsSourceAndDestination() throws Exception {
+        MigrationThrottle throttle = new MigrationThrottle(4, 2);
+
+        assertTrue(throttle.tryAcquire(migration(0, 5701, 5702)));
+        assertTrue(throttle.tryAcquire(migration(1, 5703, 5701)));
+        // 5701 is already source of one and destination of another migration
+        assertFalse(throttle.tryAcquire(migration(2, 5701, 5704)));
+        assertFalse(throttle.tryAcquire(migration(3, 5704, 5701)));
+        assertTrue(throttle.tryAcquire(migration(4, 5704, 5705)));
+
+        assertEquals(2, throttle.getMigrationCount(address(5701)));
+        assertEquals(1, throttle.getMigrationCount(address(5704)));
+    }
+
+    @Test
+    public void testRelease_freesMemberSlots() throws Exception {
+        MigrationThrottle throttle = new MigrationThrottle(4, 1);
+        MigrationInfo migration = migration(0, 5701, 5702);
+
+        assertTrue(throttle.tryAcquire(migration));
+        assertFalse(throttle.tryAcquire(migration(1, 5702, 5703)));
+        throttle.release(migration);
+
+        assertEquals(0, throttle.getMigrationCount());
+        assertEquals(0, throttle.getMigrationCount(address(5701)));
+        assertTrue(throttle.tryAcquire(migration(1, 5702, 5703)));
+    }
+
+    @Test
+    public void testAcquire_timesOut() throws Exception {
+        MigrationThrottle throttle = new MigrationThrottle(1, 0);
+        assertTrue(throttle.tryAcquire(migration(0, 5701, 5702)));
+        assertFalse(throttle.acquire(migration(1, 5703, 5704), 10));
+    }
+
+    @Test
+    public void testAcquire_wakesUpOnRelease() throws Exception {
+        final MigrationThrottle throttle = new MigrationThrottle(1, 0);
+        final MigrationInfo first = migration(0, 5701, 5702);
+        assertTrue(throttle.tryAcquire(first));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicBoolean acquired = new AtomicBoolean();
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    acquired.set(throttle.acquire(migration(1, 5703, 5704), TimeUnit.MINUTES.toMillis(1)));
+                } catch (Exception ignored) {
+                    // acquired stays false
+                }
+                latch.countDown();
+            }
+        };
+        thread.start();
+        throttle.release(first);
+
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        assertTrue(acquired.get());
+    }
+
+    @Test
+    public void testAwaitIdle() throws Exception {
+        final MigrationThrottle throttle = new MigrationThrottle(2, 0);
+        final MigrationInfo migration = migration(0, 5701, 5702);
+        assertTrue(throttle.tryAcquire(migration));
+
+        new Thread() {
+            @Override
+            public void run() {
+                throttle.release(migration);
+            }
+        }.start();
+        throttle.awaitIdle();
+        assertEquals(0, throttle.getMigrationCount());
+    }
+
+    private static MigrationInfo migration(int partitionId, int sourcePort, int destinationPort)
+            throws UnknownHostException {
+        return new MigrationInfo(partitionId, address(sourcePort), address(destinationPort));
+    }
+
+    private static Address address(int port) throws UnknownHostException {
+        return new Address("127.0.0.1", port);
+    }
+}
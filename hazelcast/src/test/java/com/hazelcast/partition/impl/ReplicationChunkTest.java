@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.ObjectDataOutputStream;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceBuilder;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ReplicationChunkTest {
+
+    private final SerializationService serializationService = new SerializationServiceBuilder().build();
+
+    @Test
+    public void testOperationsSpanningChunks() throws IOException {
+        testRoundTrip(64, false);
+    }
+
+    @Test
+    public void testOperationsSpanningChunks_compressed() throws IOException {
+        testRoundTrip(64, true);
+    }
+
+    @Test
+    public void testOperationsSmallerThanChunk() throws IOException {
+        testRoundTrip(1024 * 1024, false);
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        List<ReplicationChunk> chunks = write(new ArrayList<Operation>(), 64, true);
+        assertEquals(1, chunks.size());
+        assertTrue(chunks.get(0).isLast());
+        ReplicationChunkReader reader = new ReplicationChunkReader(serializationService);
+        assertTrue(reader.read(chunks.get(0)).isEmpty());
+    }
+
+    @Test
+    public void testMissingChunk() throws IOException {
+        List<ReplicationChunk> chunks = write(createOperations(10, 100), 64, false);
+        ReplicationChunkReader reader = new ReplicationChunkReader(serializationService);
+        reader.read(chunks.get(0));
+        try {
+            reader.read(chunks.get(2));
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private void testRoundTrip(int chunkSize, boolean compress) throws IOException {
+        List<Operation> operations = createOperations(50, 300);
+        List<ReplicationChunk> chunks = write(operations, chunkSize, compress);
+        for (int i = 0; i < chunks.size(); i++) {
+            assertEquals(i, chunks.get(i).getIndex());
+            assertEquals(i == chunks.size() - 1, chunks.get(i).isLast());
+        }
+
+        ReplicationChunkReader reader = new ReplicationChunkReader(serializationService);
+        List<Operation> read = new ArrayList<Operation>();
+        for (ReplicationChunk chunk : chunks) {
+            read.addAll(reader.read(serialize(chunk)));
+        }
+        assertEquals(operations.size(), read.size());
+        for (int i = 0; i < operations.size(); i++) {
+            assertArrayEquals(((TestOperation) operations.get(i)).payload, ((TestOperation) read.get(i)).payload);
+        }
+    }
+
+    private List<ReplicationChunk> write(List<Operation> operations, int chunkSize, boolean compress) throws IOException {
+        final List<ReplicationChunk> chunks = new ArrayList<ReplicationChunk>();
+        ReplicationChunkOutputStream stream = new ReplicationChunkOutputStream(chunkSize, compress,
+                new ReplicationChunkOutputStream.ChunkHandler() {
+                    public void handle(ReplicationChunk chunk) {
+                        chunks.add(chunk);
+                    }
+                });
+        ObjectDataOutputStream out = serializationService.createObjectDataOutputStream(stream);
+        for (Operation operation : operations) {
+            serializationService.writeObject(out, operation);
+            stream.operationWritten();
+        }
+        stream.finish();
+        return chunks;
+    }
+
+    private ReplicationChunk serialize(ReplicationChunk chunk) throws IOException {
+        ObjectDataOutput out = serializationService.createObjectDataOutput(128);
+        chunk.writeData(out);
+        ObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+        ReplicationChunk copy = new ReplicationChunk();
+        copy.readData(in);
+        return copy;
+    }
+
+    private static List<Operation> createOperations(int count, int maxPayload) {
+        List<Operation> operations = new ArrayList<Operation>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] payload = new byte[(i * 37) % maxPayload];
+            for (int k = 0; k < payload.length; k++) {
+                payload[k] = (byte) (i + k);
+            }
+            operations.add(new TestOperation(payload));
+        }
+        return operations;
+    }
+
+    public static class TestOperation extends AbstractOperation {
+
+        private byte[] payload;
+
+        public TestOperation() {
+        }
+
+        TestOperation(byte[] payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        protected void writeInternal(ObjectDataOutput out) throws IOException {
+            out.writeInt(payload.length);
+            out.write(payload);
+        }
+
+        @Override
+        protected void readInternal(ObjectDataInput in) throws IOException {
+            payload = new byte[in.readInt()];
+            in.readFully(payload);
+        }
+    }
+}
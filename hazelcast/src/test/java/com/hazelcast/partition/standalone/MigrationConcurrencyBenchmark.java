@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.standalone;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.Partition;
+import com.hazelcast.instance.GroupProperties;
+
+/**
+ * Compares how long a member join takes to repartition the cluster with serial migrations and with
+ * concurrent migrations (see {@link GroupProperties#PROP_PARTITION_MIGRATION_CONCURRENCY}).
+ * <p/>
+ * For every migration concurrency, starts a cluster, fills a map, adds a member and prints the time until
+ * the cluster is safe again.
+ */
+public final class MigrationConcurrencyBenchmark {
+
+    private static final int[] MIGRATION_CONCURRENCIES = {1, 2, 4, 8};
+    private static final int INITIAL_MEMBER_COUNT = 3;
+    private static final int ENTRY_COUNT = 500000;
+    private static final int VALUE_SIZE = 1000;
+    private static final long SAFE_CHECK_INTERVAL_MILLIS = 10;
+
+    static {
+        System.setProperty("hazelcast.version.check.enabled", "false");
+        System.setProperty("java.net.preferIPv4Stack", "true");
+    }
+
+    private MigrationConcurrencyBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int concurrency : MIGRATION_CONCURRENCIES) {
+            final long millis = run(concurrency);
+            System.out.println("migration concurrency: " + concurrency + ", repartitioning: " + millis + " ms");
+        }
+    }
+
+    private static long run(int migrationConcurrency) throws InterruptedException {
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_MIGRATION_CONCURRENCY, String.valueOf(migrationConcurrency));
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        try {
+            final HazelcastInstance master = Hazelcast.newHazelcastInstance(config);
+            for (int i = 1; i < INITIAL_MEMBER_COUNT; i++) {
+                Hazelcast.newHazelcastInstance(config);
+            }
+            final IMap<Integer, byte[]> map = master.getMap("migration");
+            final byte[] value = new byte[VALUE_SIZE];
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                map.set(i, value);
+            }
+            awaitClusterSafe(master);
+
+            final long start = System.currentTimeMillis();
+            final HazelcastInstance joined = Hazelcast.newHazelcastInstance(config);
+            awaitOwnsPartitions(joined);
+            awaitClusterSafe(master);
+            return System.currentTimeMillis() - start;
+        } finally {
+            Hazelcast.shutdownAll();
+        }
+    }
+
+    // repartitioning starts a little after the join, so the cluster may still look safe right after it.
+    private static void awaitOwnsPartitions(HazelcastInstance instance) throws InterruptedException {
+        for (;;) {
+            for (Partition partition : instance.getPartitionService().getPartitions()) {
+                Member owner = partition.getOwner();
+                if (owner != null && owner.localMember()) {
+                    return;
+                }
+            }
+            Thread.sleep(SAFE_CHECK_INTERVAL_MILLIS);
+        }
+    }
+
+    private static void awaitClusterSafe(HazelcastInstance instance) throws InterruptedException {
+        while (!instance.getPartitionService().isClusterSafe()) {
+            Thread.sleep(SAFE_CHECK_INTERVAL_MILLIS);
+        }
+    }
+}
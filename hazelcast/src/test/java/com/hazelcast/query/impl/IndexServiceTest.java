@@ -16,27 +16,38 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.query.EntryObject;
 import com.hazelcast.query.PredicateBuilder;
 import com.hazelcast.query.SqlPredicate;
 import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.QuickTest;
 import com.hazelcast.util.Clock;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.hazelcast.instance.TestUtil.toData;
 import static com.hazelcast.query.SampleObjects.Employee;
 import static com.hazelcast.query.SampleObjects.Value;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category(QuickTest.class)
-public class IndexServiceTest {
+public class IndexServiceTest extends HazelcastTestSupport {
 
     @Test
     public void testAndWithSingleEntry() throws Exception {
@@ -96,4 +107,76 @@ public class IndexServiceTest {
         indexService.saveEntryIndex(new QueryEntry(null, toData(9), 9, new Value("qwx")));
         assertEquals(8, new HashSet(indexService.query(new SqlPredicate("name > 'aac'"))).size());
     }
+
+    @Test
+    public void testPartitionStamp_stableWithoutMigration() throws Exception {
+        IndexService indexService = new IndexService();
+        int stamp = indexService.getPartitionStamp(1);
+        assertTrue(IndexService.isStable(stamp, indexService.getPartitionStamp(1)));
+    }
+
+    @Test
+    public void testPartitionStamp_unstableWhileMigrating() throws Exception {
+        IndexService indexService = new IndexService();
+        indexService.beginPartitionMigration(1);
+        // repeated calls during the same migration are ignored
+        indexService.beginPartitionMigration(1);
+        int stamp = indexService.getPartitionStamp(1);
+        assertFalse(IndexService.isStable(stamp, indexService.getPartitionStamp(1)));
+        assertTrue(IndexService.isStable(indexService.getPartitionStamp(2), indexService.getPartitionStamp(2)));
+
+        indexService.finishPartitionMigration(1);
+        indexService.finishPartitionMigration(1);
+        assertFalse(IndexService.isStable(stamp, indexService.getPartitionStamp(1)));
+        assertEquals(stamp + 1, indexService.getPartitionStamp(1));
+    }
+
+    @Test
+    public void testPartitionStamp_changesWhenMigratedInBetween() throws Exception {
+        IndexService indexService = new IndexService();
+        int stamp = indexService.getPartitionStamp(1);
+        indexService.beginPartitionMigration(1);
+        indexService.finishPartitionMigration(1);
+        int stampAfter = indexService.getPartitionStamp(1);
+        assertFalse(IndexService.isStable(stamp, stampAfter));
+        assertTrue(IndexService.isStable(stampAfter, indexService.getPartitionStamp(1)));
+    }
+
+    @Test
+    public void testQueryStablePartitions_skipsMigratingAndOtherPartitions() throws Exception {
+        HazelcastInstance hz = createHazelcastInstance();
+        InternalPartitionService partitionService = getNode(hz).getPartitionService();
+        IndexService indexService = new IndexService();
+        indexService.addOrGetIndex("age", true);
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            Employee employee = new Employee(i + "Name", i % 80, true, 100);
+            Data key = toData(i);
+            indexService.saveEntryIndex(new QueryEntry(null, key, key, employee));
+            if (i % 80 < 10) {
+                int partitionId = partitionService.getPartitionId(key);
+                Integer count = expected.get(partitionId);
+                expected.put(partitionId, count == null ? 1 : count + 1);
+            }
+        }
+        List<Integer> partitions = new ArrayList<Integer>();
+        for (int i = 0; i < partitionService.getPartitionCount() - 1; i++) {
+            partitions.add(i);
+        }
+        int migratingPartition = partitionService.getPartitionId(toData(0));
+        int otherPartition = partitionService.getPartitionCount() - 1;
+        indexService.beginPartitionMigration(migratingPartition);
+
+        Map<Integer, List<QueryableEntry>> stableEntries = indexService.queryStablePartitions(
+                new SqlPredicate("age < 10"), partitions, partitionService);
+
+        assertNull(stableEntries.get(migratingPartition));
+        assertNull(stableEntries.get(otherPartition));
+        assertEquals(partitions.size() - 1, stableEntries.size());
+        for (Map.Entry<Integer, List<QueryableEntry>> entry : stableEntries.entrySet()) {
+            Integer count = expected.get(entry.getKey());
+            assertEquals(count == null ? 0 : count, entry.getValue().size());
+        }
+        assertNull(indexService.queryStablePartitions(new SqlPredicate("name = 'x'"), partitions, partitionService));
+    }
 }
@@ -61,6 +61,24 @@ public class IndexTest {
         return new QueryRecord(toData(key), attributeValue);
     }
 
+    @Test
+    public void testOrderedIndex_whenFirstValueIsNull() {
+        IndexImpl index = new IndexImpl(null, true);
+        QueryRecord nullRecord = newRecord(1L, null);
+        index.saveEntryIndex(nullRecord);
+        assertEquals(1, index.getRecordMap(IndexImpl.NULL).size());
+
+        index.saveEntryIndex(newRecord(2L, 10L));
+        index.saveEntryIndex(newRecord(3L, 20L));
+
+        assertEquals(1, index.getRecordMap(IndexImpl.NULL).size());
+        assertEquals(2, index.getSubRecords(ComparisonType.GREATER, 5L).size());
+        assertEquals(1, index.getSubRecordsBetween(15L, 25L).size());
+        index.removeEntryIndex(nullRecord.getIndexKey());
+        assertNull(index.getRecordMap(IndexImpl.NULL));
+        assertEquals(2, index.getRecordValues().size());
+    }
+
     @Test
     public void testRemoveEnumIndex() {
         IndexService is = new IndexService();
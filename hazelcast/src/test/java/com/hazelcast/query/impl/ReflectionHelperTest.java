@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ReflectionHelperTest {
+
+    @Test
+    public void testExtractPrimitiveFields() throws Exception {
+        Primitives primitives = new Primitives();
+
+        assertEquals(1, ReflectionHelper.extractValue(primitives, "intField"));
+        assertEquals(2L, ReflectionHelper.extractValue(primitives, "longField"));
+        assertEquals(3d, ReflectionHelper.extractValue(primitives, "doubleField"));
+        assertEquals(4f, ReflectionHelper.extractValue(primitives, "floatField"));
+        assertEquals((short) 5, ReflectionHelper.extractValue(primitives, "shortField"));
+        assertEquals((byte) 6, ReflectionHelper.extractValue(primitives, "byteField"));
+        assertEquals('7', ReflectionHelper.extractValue(primitives, "charField"));
+        assertEquals(true, ReflectionHelper.extractValue(primitives, "booleanField"));
+        assertEquals("8", ReflectionHelper.extractValue(primitives, "stringField"));
+        assertEquals(9, ReflectionHelper.extractValue(primitives, "volatileField"));
+    }
+
+    @Test
+    public void testExtractInheritedPrivateField() throws Exception {
+        assertEquals(1, ReflectionHelper.extractValue(new SubPrimitives(), "intField"));
+        assertEquals(10, ReflectionHelper.extractValue(new SubPrimitives(), "subField"));
+    }
+
+    @Test
+    public void testExtractNestedField() throws Exception {
+        Outer outer = new Outer();
+
+        assertEquals(1, ReflectionHelper.extractValue(outer, "inner.intField"));
+        assertEquals(1, ReflectionHelper.extractValue(outer, "getInner.intField"));
+
+        outer.inner = null;
+        assertNull(ReflectionHelper.extractValue(outer, "inner.intField"));
+    }
+
+    @Test
+    public void testExtractNestedField_ofSubclass() throws Exception {
+        Outer outer = new Outer();
+        outer.inner = new SubPrimitives();
+
+        assertEquals(1, ReflectionHelper.extractValue(outer, "inner.intField"));
+    }
+
+    @Test
+    public void testExtractCachedGetterOfOtherAttribute() throws Exception {
+        Primitives primitives = new Primitives();
+
+        assertEquals(1, ReflectionHelper.extractValue(primitives, "intField"));
+        assertEquals(2L, ReflectionHelper.extractValue(primitives, "longField"));
+        assertEquals(1, ReflectionHelper.extractValue(primitives, "intField"));
+    }
+
+    @SuppressWarnings("unused")
+    private static class Primitives {
+        private int intField = 1;
+        private long longField = 2;
+        private double doubleField = 3;
+        private float floatField = 4;
+        private short shortField = 5;
+        private byte byteField = 6;
+        private char charField = '7';
+        private boolean booleanField = true;
+        private String stringField = "8";
+        private volatile int volatileField = 9;
+    }
+
+    @SuppressWarnings("unused")
+    private static class SubPrimitives extends Primitives {
+        private int subField = 10;
+    }
+
+    private static class Outer {
+        private Primitives inner = new Primitives();
+
+        public Primitives getInner() {
+            return inner;
+        }
+    }
+}
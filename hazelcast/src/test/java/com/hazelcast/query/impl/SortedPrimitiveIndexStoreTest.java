@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class SortedPrimitiveIndexStoreTest {
+
+    @Test
+    public void testIsSupported() {
+        assertTrue(SortedPrimitiveIndexStore.isSupported(AttributeType.INTEGER));
+        assertTrue(SortedPrimitiveIndexStore.isSupported(AttributeType.LONG));
+        assertTrue(SortedPrimitiveIndexStore.isSupported(AttributeType.DOUBLE));
+        assertFalse(SortedPrimitiveIndexStore.isSupported(AttributeType.STRING));
+        assertFalse(SortedPrimitiveIndexStore.isSupported(null));
+    }
+
+    @Test
+    public void testAscendingValues() {
+        SortedPrimitiveIndexStore store = new SortedPrimitiveIndexStore(AttributeType.LONG);
+        int count = SortedPrimitiveIndexStore.BLOCK_SIZE * 5;
+        for (long i = 0; i < count; i++) {
+            store.newIndex(i, newEntry((int) i, i));
+        }
+
+        assertEquals(count, subRecords(store, ComparisonType.GREATER_EQUAL, 0L).size());
+        assertEquals(count - 1, subRecords(store, ComparisonType.NOT_EQUAL, 300L).size());
+        assertEquals(300, subRecords(store, ComparisonType.LESSER, 300L).size());
+        assertEquals(101, recordsBetween(store, 200L, 300L).size());
+        assertEquals(101, recordsBetween(store, 300L, 200L).size());
+        assertEquals(1, store.getRecords(5L).size());
+    }
+
+    @Test
+    public void testRandomUpdatesMatchTreeMap() {
+        SortedPrimitiveIndexStore store = new SortedPrimitiveIndexStore(AttributeType.INTEGER);
+        TreeMap<Integer, Set<Integer>> expected = new TreeMap<Integer, Set<Integer>>();
+        Integer[] values = new Integer[2000];
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(values.length);
+            if (values[key] != null) {
+                store.removeIndex(values[key], toData(key));
+                remove(expected, values[key], key);
+                values[key] = null;
+            }
+            if (random.nextInt(4) != 0) {
+                int value = random.nextInt(1000) - 500;
+                store.newIndex(value, newEntry(key, value));
+                add(expected, value, key);
+                values[key] = value;
+            }
+        }
+
+        for (int value = -510; value <= 510; value += 17) {
+            assertEquals(count(expected.headMap(value, false)), subRecords(store, ComparisonType.LESSER, value).size());
+            assertEquals(count(expected.headMap(value, true)), subRecords(store, ComparisonType.LESSER_EQUAL, value).size());
+            assertEquals(count(expected.tailMap(value, false)), subRecords(store, ComparisonType.GREATER, value).size());
+            assertEquals(count(expected.tailMap(value, true)), subRecords(store, ComparisonType.GREATER_EQUAL, value).size());
+            Set<Integer> keys = expected.get(value);
+            assertEquals(keys == null ? 0 : keys.size(), store.getRecords(value).size());
+            assertEquals(count(expected.subMap(value, true, value + 100, true)),
+                    recordsBetween(store, value, value + 100).size());
+        }
+    }
+
+    @Test
+    public void testSharedValue() {
+        SortedPrimitiveIndexStore store = new SortedPrimitiveIndexStore(AttributeType.LONG);
+        store.newIndex(5L, newEntry(1, 5L));
+        store.newIndex(5L, newEntry(2, 5L));
+        store.newIndex(6L, newEntry(3, 6L));
+
+        assertEquals(2, store.getRecords(5L).size());
+        assertEquals(2, store.getRecordMap(5L).size());
+        assertEquals(3, recordsBetween(store, 5L, 6L).size());
+
+        store.removeIndex(5L, toData(1));
+        assertEquals(1, store.getRecords(5L).size());
+        store.removeIndex(5L, toData(2));
+        assertEquals(0, store.getRecords(5L).size());
+        assertNull(store.getRecordMap(5L));
+        assertEquals(1, recordsBetween(store, 5L, 6L).size());
+    }
+
+    @Test
+    public void testDoubleOrder() {
+        SortedPrimitiveIndexStore store = new SortedPrimitiveIndexStore(AttributeType.DOUBLE);
+        double[] values = {-Double.MAX_VALUE, -10.5d, -1d, -0d, 0d, Double.MIN_VALUE, 1d, 10.5d, Double.POSITIVE_INFINITY};
+        for (int i = 0; i < values.length; i++) {
+            store.newIndex(values[i], newEntry(i, values[i]));
+        }
+
+        assertEquals(3, subRecords(store, ComparisonType.LESSER, -0d).size());
+        assertEquals(4, subRecords(store, ComparisonType.LESSER, 0d).size());
+        assertEquals(2, subRecords(store, ComparisonType.GREATER, 1d).size());
+        assertEquals(4, recordsBetween(store, -10.5d, 0d).size());
+        assertEquals(1, store.getRecords(-1d).size());
+    }
+
+    @Test
+    public void testNullValues() {
+        SortedPrimitiveIndexStore store = new SortedPrimitiveIndexStore(AttributeType.LONG);
+        store.newIndex(IndexImpl.NULL, newEntry(1, null));
+        store.newIndex(1L, newEntry(2, 1L));
+
+        assertEquals(1, store.getRecords(IndexImpl.NULL).size());
+        assertEquals(1, subRecords(store, ComparisonType.NOT_EQUAL, 2L).size());
+
+        store.removeIndex(IndexImpl.NULL, toData(1));
+        assertEquals(0, store.getRecords(IndexImpl.NULL).size());
+    }
+
+    @Test
+    public void testClear() {
+        SortedPrimitiveIndexStore store = new SortedPrimitiveIndexStore(AttributeType.LONG);
+        for (long i = 0; i < 1000; i++) {
+            store.newIndex(i, newEntry((int) i, i));
+        }
+        store.clear();
+
+        assertEquals(0, subRecords(store, ComparisonType.GREATER_EQUAL, 0L).size());
+        store.newIndex(1L, newEntry(1, 1L));
+        assertEquals(1, store.getRecords(1L).size());
+    }
+
+    private static QueryableEntry newEntry(int key, Object value) {
+        Data keyData = toData(key);
+        return new QueryEntry(null, keyData, keyData, value);
+    }
+
+    private static Set<QueryableEntry> subRecords(IndexStore store, ComparisonType comparisonType, Comparable value) {
+        MultiResultSet results = new MultiResultSet();
+        store.getSubRecords(results, comparisonType, value);
+        return new HashSet<QueryableEntry>(results);
+    }
+
+    private static Set<QueryableEntry> recordsBetween(IndexStore store, Comparable from, Comparable to) {
+        MultiResultSet results = new MultiResultSet();
+        store.getSubRecordsBetween(results, from, to);
+        return new HashSet<QueryableEntry>(results);
+    }
+
+    private static void add(TreeMap<Integer, Set<Integer>> expected, int value, int key) {
+        Set<Integer> keys = expected.get(value);
+        if (keys == null) {
+            keys = new HashSet<Integer>();
+            expected.put(value, keys);
+        }
+        keys.add(key);
+    }
+
+    private static void remove(TreeMap<Integer, Set<Integer>> expected, int value, int key) {
+        Set<Integer> keys = expected.get(value);
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            expected.remove(value);
+        }
+    }
+
+    private static int count(Map<Integer, Set<Integer>> values) {
+        int count = 0;
+        for (Set<Integer> keys : values.values()) {
+            count += keys.size();
+        }
+        return count;
+    }
+}
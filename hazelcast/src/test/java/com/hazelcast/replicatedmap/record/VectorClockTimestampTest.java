@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.record;
+
+import com.hazelcast.core.Member;
+import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.nio.Address;
+import com.hazelcast.replicatedmap.messages.MultiReplicationMessage;
+import com.hazelcast.replicatedmap.messages.ReplicationMessage;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static com.hazelcast.instance.TestUtil.toObject;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class VectorClockTimestampTest {
+
+    @Test
+    public void testHappenedBefore() throws Exception {
+        Member m1 = new MemberImpl(new Address("127.0.0.1", 5701), false);
+        Member m2 = new MemberImpl(new Address("127.0.0.1", 5702), false);
+
+        VectorClockTimestamp empty = new VectorClockTimestamp();
+        VectorClockTimestamp v1 = empty.incrementClock0(m1);
+        VectorClockTimestamp v2 = v1.incrementClock0(m2);
+        VectorClockTimestamp v3 = empty.incrementClock0(m2);
+
+        assertTrue(VectorClockTimestamp.happenedBefore(empty, v1));
+        assertTrue(VectorClockTimestamp.happenedBefore(v1, v2));
+        assertTrue(VectorClockTimestamp.happenedBefore(v3, v2));
+        assertFalse(VectorClockTimestamp.happenedBefore(v2, v1));
+        assertFalse(VectorClockTimestamp.happenedBefore(v1, v1));
+        assertFalse(VectorClockTimestamp.happenedBefore(v1, v3));
+        assertFalse(VectorClockTimestamp.happenedBefore(v3, v1));
+    }
+
+    @Test
+    public void testMultiReplicationMessageSerialization() throws Exception {
+        Member m1 = new MemberImpl(new Address("127.0.0.1", 5701), false);
+        Member m2 = new MemberImpl(new Address("127.0.0.1", 5702), false);
+        Member m3 = new MemberImpl(new Address("127.0.0.1", 5703), false);
+
+        VectorClockTimestamp v1 = new VectorClockTimestamp().incrementClock0(m1).incrementClock0(m2);
+        VectorClockTimestamp v2 = v1.incrementClock0(m1);
+        VectorClockTimestamp v3 = new VectorClockTimestamp().incrementClock0(m3);
+
+        ReplicationMessage[] messages = new ReplicationMessage[4];
+        messages[0] = new ReplicationMessage<String, String>("map", "k1", "v1", v1, m1, 1, 0);
+        messages[1] = new ReplicationMessage<String, String>("map", "k2", "v2", v2, m1, 2, 0);
+        messages[2] = new ReplicationMessage<String, String>("map", "k3", null, v3, m3, 3, 1000);
+        messages[3] = new ReplicationMessage<String, String>("map", "k4", "v4", v3, m3, 4, 0);
+
+        MultiReplicationMessage message = (MultiReplicationMessage) toObject(toData(new MultiReplicationMessage("map", messages)));
+
+        assertEquals("map", message.getName());
+        ReplicationMessage[] result = message.getReplicationMessages();
+        assertEquals(messages.length, result.length);
+        for (int i = 0; i < messages.length; i++) {
+            ReplicationMessage expected = messages[i];
+            ReplicationMessage actual = result[i];
+            assertEquals("map", actual.getName());
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(expected.getValue(), actual.getValue());
+            assertEquals(expected.getOrigin(), actual.getOrigin());
+            assertEquals(expected.getUpdateHash(), actual.getUpdateHash());
+            assertEquals(expected.getTtlMillis(), actual.getTtlMillis());
+            assertEquals(expected.getVectorClockTimestamp(), actual.getVectorClockTimestamp());
+        }
+        assertNull(result[2].getValue());
+        assertTrue(VectorClockTimestamp.happenedBefore(result[0].getVectorClockTimestamp(),
+                result[1].getVectorClockTimestamp()));
+        assertFalse(VectorClockTimestamp.happenedBefore(result[1].getVectorClockTimestamp(),
+                result[2].getVectorClockTimestamp()));
+    }
+}
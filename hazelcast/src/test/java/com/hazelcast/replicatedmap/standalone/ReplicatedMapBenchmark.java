@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.standalone;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReplicatedMap;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the updates per second a write-heavy replicated map sustains for growing cluster sizes. Every
+ * member runs the same number of writer threads and the benchmark waits until all members received all
+ * updates, so replication is part of the measured time.
+ */
+public final class ReplicatedMapBenchmark {
+
+    private static final int[] CLUSTER_SIZES = {1, 2, 4, 8};
+    private static final int THREADS_PER_MEMBER = 2;
+    private static final int KEY_COUNT = 10000;
+    private static final int UPDATES_PER_THREAD = 20000;
+    private static final long REPLICATION_TIMEOUT_SECONDS = 120;
+
+    static {
+        System.setProperty("hazelcast.version.check.enabled", "false");
+        System.setProperty("java.net.preferIPv4Stack", "true");
+    }
+
+    private ReplicatedMapBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int clusterSize : CLUSTER_SIZES) {
+            HazelcastInstance[] instances = new HazelcastInstance[clusterSize];
+            for (int i = 0; i < clusterSize; i++) {
+                instances[i] = Hazelcast.newHazelcastInstance();
+            }
+            try {
+                // Warm up
+                run(instances, "warmup");
+                long updatesPerSecond = run(instances, "benchmark");
+                System.out.println(clusterSize + " members: " + updatesPerSecond + " updates/sec");
+            } finally {
+                Hazelcast.shutdownAll();
+            }
+        }
+    }
+
+    private static long run(HazelcastInstance[] instances, String name) throws InterruptedException {
+        final int threadCount = instances.length * THREADS_PER_MEMBER;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        final AtomicLong lastValue = new AtomicLong();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < threadCount; i++) {
+            final ReplicatedMap<Integer, Long> map = instances[i % instances.length].getReplicatedMap(name);
+            final Random random = new Random(i);
+            new Thread() {
+                public void run() {
+                    for (int u = 0; u < UPDATES_PER_THREAD; u++) {
+                        map.put(random.nextInt(KEY_COUNT), lastValue.incrementAndGet());
+                    }
+                    latch.countDown();
+                }
+            }.start();
+        }
+        latch.await();
+
+        // Wait for the final value to arrive on every member
+        long marker = lastValue.incrementAndGet();
+        instances[0].<Integer, Long>getReplicatedMap(name).put(-1, marker);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(REPLICATION_TIMEOUT_SECONDS);
+        for (HazelcastInstance instance : instances) {
+            ReplicatedMap<Integer, Long> map = instance.getReplicatedMap(name);
+            while (!Long.valueOf(marker).equals(map.get(-1)) && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        return (long) threadCount * UPDATES_PER_THREAD * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+}
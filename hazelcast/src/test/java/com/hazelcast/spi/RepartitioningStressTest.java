@@ -20,6 +20,8 @@ import com.hazelcast.config.Config;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -40,6 +42,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -58,6 +61,7 @@ public class RepartitioningStressTest extends HazelcastTestSupport {
 
     private final static long DURATION_SECONDS = 120;
     private final static int THREAD_COUNT = 10;
+    private final static int MIGRATION_CONCURRENCY = 4;
     private Config config;
 
     @After
@@ -74,6 +78,9 @@ public class RepartitioningStressTest extends HazelcastTestSupport {
         MapConfig mapConfig = new MapConfig("map");
         //mapConfig.setBackupCount(0);
         config.addMapConfig(mapConfig);
+    }
+
+    private void startCluster() {
         hz = createHazelcastInstance();
 
         for (int k = 0; k < INITIAL_MEMBER_COUNT(); k++) {
@@ -91,6 +98,7 @@ public class RepartitioningStressTest extends HazelcastTestSupport {
 
     @Test
     public void callWithBackups() throws InterruptedException {
+        startCluster();
         final ConcurrentMap<Integer, Integer> map = hz.getMap("map");
         final int itemCount = 10000;
 
@@ -132,6 +140,7 @@ public class RepartitioningStressTest extends HazelcastTestSupport {
 
     @Test
     public void callWithoutBackups() throws InterruptedException {
+        startCluster();
         final Map<Integer, Integer> map = hz.getMap("map");
         final int itemCount = 10000;
         for (int k = 0; k < itemCount; k++) {
@@ -171,6 +180,39 @@ public class RepartitioningStressTest extends HazelcastTestSupport {
         restartThread.stop = true;
     }
 
+    @Test
+    public void repartitioningWithConcurrentMigrations() throws InterruptedException {
+        config.setProperty(GroupProperties.PROP_PARTITION_MIGRATION_CONCURRENCY, String.valueOf(MIGRATION_CONCURRENCY));
+        startCluster();
+        final Map<Integer, Integer> map = hz.getMap("map");
+        final int itemCount = 100000;
+        for (int k = 0; k < itemCount; k++) {
+            map.put(k, k);
+        }
+        assertClusterSafeEventually();
+
+        for (int k = 0; k < 3; k++) {
+            queue.add(createHazelcastInstance());
+            assertClusterSafeEventually();
+        }
+        queue.take().getLifecycleService().terminate();
+        assertClusterSafeEventually();
+
+        assertEquals(itemCount, map.size());
+        for (int k = 0; k < itemCount; k++) {
+            assertEquals(new Integer(k), map.get(k));
+        }
+    }
+
+    private void assertClusterSafeEventually() {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(hz.getPartitionService().isClusterSafe());
+            }
+        }, DURATION_SECONDS);
+    }
+
     private abstract class TestThread extends Thread {
         private volatile Throwable t;
 
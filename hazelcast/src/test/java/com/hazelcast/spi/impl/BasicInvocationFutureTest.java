@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Field;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class BasicInvocationFutureTest extends HazelcastTestSupport {
+
+    @Test
+    public void testCallbacks_registeredWhileCompleting_areNotifiedOnce() throws Exception {
+        HazelcastInstance hz = createHazelcastInstance();
+        for (int i = 0; i < 20; i++) {
+            assertCallbacksRegisteredWhileCompletingAreNotifiedOnce(hz);
+        }
+    }
+
+    private void assertCallbacksRegisteredWhileCompletingAreNotifiedOnce(HazelcastInstance hz) throws Exception {
+        final CountDownLatch completeLatch = new CountDownLatch(1);
+        final ICompletableFuture<String> future = invokeBlockingOperation(hz, completeLatch);
+        final Queue<AtomicInteger> notifications = new ConcurrentLinkedQueue<AtomicInteger>();
+        final CountDownLatch registeringLatch = new CountDownLatch(4);
+        final CountDownLatch registeredLatch = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            new Thread() {
+                public void run() {
+                    registeringLatch.countDown();
+                    // keep registering until the future is done, and once more after it
+                    boolean done;
+                    do {
+                        done = future.isDone();
+                        AtomicInteger notified = new AtomicInteger();
+                        notifications.add(notified);
+                        future.andThen(new CountingCallback(notified));
+                    } while (!done);
+                    registeredLatch.countDown();
+                }
+            }.start();
+        }
+        assertOpenEventually(registeringLatch);
+        completeLatch.countDown();
+        assertOpenEventually(registeredLatch);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (AtomicInteger notified : notifications) {
+                    assertEquals(1, notified.get());
+                }
+            }
+        });
+        // a second notification would arrive asynchronously as well
+        sleepMillis(100);
+        for (AtomicInteger notified : notifications) {
+            assertEquals(1, notified.get());
+        }
+    }
+
+    @Test
+    public void testGet_whenInterruptedWhileWaiting_restoresInterruptFlag() throws Exception {
+        HazelcastInstance hz = createHazelcastInstance();
+        CountDownLatch completeLatch = new CountDownLatch(1);
+        final ICompletableFuture<String> future = invokeBlockingOperation(hz, completeLatch);
+        final AtomicReference<Object> result = new AtomicReference<Object>();
+        final AtomicBoolean interruptFlag = new AtomicBoolean();
+        final CountDownLatch doneLatch = new CountDownLatch(1);
+        final Thread waiter = new Thread() {
+            public void run() {
+                try {
+                    result.set(future.get());
+                } catch (Throwable t) {
+                    result.set(t);
+                }
+                interruptFlag.set(Thread.currentThread().isInterrupted());
+                doneLatch.countDown();
+            }
+        };
+        waiter.start();
+        assertWaiting(waiter);
+
+        waiter.interrupt();
+        sleepMillis(100);
+        assertFalse(future.isDone());
+        assertEquals(1, doneLatch.getCount());
+
+        completeLatch.countDown();
+        assertOpenEventually(doneLatch);
+        assertEquals(BlockingOperation.RESPONSE, result.get());
+        assertTrue(interruptFlag.get());
+    }
+
+    @Test
+    public void testGet_whenTimedOut_removesWaiter() throws Exception {
+        HazelcastInstance hz = createHazelcastInstance();
+        CountDownLatch completeLatch = new CountDownLatch(1);
+        ICompletableFuture<String> future = invokeBlockingOperation(hz, completeLatch);
+        for (int i = 0; i < 10; i++) {
+            try {
+                future.get(1, TimeUnit.MILLISECONDS);
+                fail();
+            } catch (TimeoutException expected) {
+            }
+        }
+
+        Field waiterHead = BasicInvocationFuture.class.getDeclaredField("waiterHead");
+        waiterHead.setAccessible(true);
+        assertNull(waiterHead.get(future));
+
+        completeLatch.countDown();
+        assertEquals(BlockingOperation.RESPONSE, future.get());
+    }
+
+    private static ICompletableFuture<String> invokeBlockingOperation(HazelcastInstance hz, CountDownLatch latch) {
+        OperationService operationService = getNode(hz).nodeEngine.getOperationService();
+        return operationService.invokeOnPartition(null, new BlockingOperation(latch), 0);
+    }
+
+    private static void assertWaiting(final Thread thread) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                Thread.State state = thread.getState();
+                assertTrue(state.toString(), state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING);
+            }
+        });
+    }
+
+    private static class CountingCallback implements ExecutionCallback<String> {
+
+        private final AtomicInteger notified;
+
+        CountingCallback(AtomicInteger notified) {
+            this.notified = notified;
+        }
+
+        @Override
+        public void onResponse(String response) {
+            notified.incrementAndGet();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+        }
+    }
+
+    /**
+     * Keeps the invocation pending until the latch is opened. It runs on a partition thread, so the invoking
+     * thread doesn't run it itself.
+     */
+    private static class BlockingOperation extends AbstractOperation implements PartitionAwareOperation {
+
+        static final String RESPONSE = "response";
+
+        private final CountDownLatch latch;
+
+        BlockingOperation(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() throws Exception {
+            latch.await();
+        }
+
+        @Override
+        public Object getResponse() {
+            return RESPONSE;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class GenericWorkStealingTest extends HazelcastTestSupport {
+
+    @Test
+    public void testOperationsCompleteWhileGenericThreadIsBlocked() throws Exception {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_GENERIC_OPERATION_WORK_STEALING_ENABLED, "true");
+        config.setProperty(GroupProperties.PROP_GENERIC_OPERATION_THREAD_COUNT, "2");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        OperationService opService = getNode(hz).nodeEngine.getOperationService();
+
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+        opService.executeOperation(new BlockingOperation(blockingLatch));
+
+        int iterations = 1000;
+        final CountDownLatch completedLatch = new CountDownLatch(iterations);
+        for (int k = 0; k < iterations; k++) {
+            opService.executeOperation(new CountDownOperation(completedLatch));
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(0, completedLatch.getCount());
+            }
+        });
+        assertEquals(0, opService.getOperationExecutorQueueSize());
+        assertTrue(opService.getOperationExecutorQueueLatencyMicros(99) > 0);
+        blockingLatch.countDown();
+    }
+
+    public static class BlockingOperation extends AbstractOperation {
+
+        private final CountDownLatch latch;
+
+        public BlockingOperation(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() throws Exception {
+            latch.await();
+        }
+    }
+
+    public static class CountDownOperation extends AbstractOperation {
+
+        private final CountDownLatch latch;
+
+        public CountDownOperation(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() throws Exception {
+            latch.countDown();
+        }
+    }
+}
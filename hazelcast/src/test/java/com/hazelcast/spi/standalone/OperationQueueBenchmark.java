@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.standalone;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the operation throughput of the default blocking work queues with the MPSC work queues
+ * of the {@link com.hazelcast.spi.impl.BasicOperationScheduler}.
+ * <p/>
+ * For a growing number of caller threads, runs a mix of map gets and puts against a single member, so every
+ * operation is offered to a partition thread work queue, and prints the operations per second.
+ */
+public final class OperationQueueBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int KEY_COUNT = 10000;
+    private static final int GET_PERCENTAGE = 80;
+    private static final int PERCENT = 100;
+    private static final long WARMUP_SECONDS = 5;
+    private static final long DURATION_SECONDS = 20;
+
+    static {
+        System.setProperty("hazelcast.version.check.enabled", "false");
+        System.setProperty("java.net.preferIPv4Stack", "true");
+    }
+
+    private OperationQueueBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threadCount : THREAD_COUNTS) {
+            final long blocking = run(false, threadCount);
+            final long mpsc = run(true, threadCount);
+            System.out.println("threads: " + threadCount
+                    + ", blocking queue: " + blocking + " ops/s"
+                    + ", mpsc queue: " + mpsc + " ops/s");
+        }
+    }
+
+    private static long run(boolean mpscQueue, int threadCount) throws Exception {
+        final Config config = new Config();
+        config.setProperty(GroupProperties.PROP_OPERATION_MPSC_QUEUE_ENABLED, String.valueOf(mpscQueue));
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        final HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        try {
+            final IMap<Integer, Integer> map = instance.getMap("operations");
+            for (int i = 0; i < KEY_COUNT; i++) {
+                map.set(i, i);
+            }
+            measure(map, threadCount, WARMUP_SECONDS);
+            return measure(map, threadCount, DURATION_SECONDS) / DURATION_SECONDS;
+        } finally {
+            Hazelcast.shutdownAll();
+        }
+    }
+
+    private static long measure(final IMap<Integer, Integer> map, int threadCount, long seconds)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        final AtomicLong operations = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread() {
+                public void run() {
+                    final Random random = new Random();
+                    long count = 0;
+                    while (System.nanoTime() < deadline) {
+                        final int key = random.nextInt(KEY_COUNT);
+                        if (random.nextInt(PERCENT) < GET_PERCENTAGE) {
+                            map.get(key);
+                        } else {
+                            map.set(key, key);
+                        }
+                        count++;
+                    }
+                    operations.addAndGet(count);
+                    latch.countDown();
+                }
+            }.start();
+        }
+        latch.await();
+        return operations.get();
+    }
+}
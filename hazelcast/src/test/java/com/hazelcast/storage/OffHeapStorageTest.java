@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.storage;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class OffHeapStorageTest {
+
+    private static final int CHUNK_SIZE = 64;
+    private static final int SEGMENT_COUNT = 4;
+    private static final long TOTAL_SIZE = CHUNK_SIZE * SEGMENT_COUNT * 16;
+
+    private final SerializationService ss = new SerializationServiceBuilder().build();
+    private OffHeapStorage storage;
+
+    @Before
+    public void setUp() {
+        storage = new OffHeapStorage(TOTAL_SIZE, CHUNK_SIZE, SEGMENT_COUNT, false);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy();
+    }
+
+    @Test
+    public void testPutGet() {
+        Data data = ss.toData(randomBytes(1000));
+        DataRef ref = storage.put(data.getPartitionHash(), data);
+
+        assertEquals(data.bufferSize(), ref.size());
+        assertEquals(data, storage.get(data.getPartitionHash(), ref));
+        assertEquals(data.getPartitionHash(), storage.get(data.getPartitionHash(), ref).getPartitionHash());
+    }
+
+    @Test
+    public void testPutGet_withUnsafe() {
+        OffHeapStorage unsafeStorage = new OffHeapStorage(TOTAL_SIZE, CHUNK_SIZE, SEGMENT_COUNT, true);
+        try {
+            Data data = ss.toData(randomBytes(1000));
+            DataRef ref = unsafeStorage.put(1, data);
+            assertEquals(data, unsafeStorage.get(1, ref));
+        } finally {
+            unsafeStorage.destroy();
+        }
+    }
+
+    @Test
+    public void testRemove_releasesChunks() {
+        Data data = ss.toData(randomBytes(CHUNK_SIZE * 3));
+        DataRef ref = storage.put(1, data);
+        assertEquals(chunksOf(data) * CHUNK_SIZE, storage.getUsedMemory());
+
+        storage.remove(1, ref);
+
+        assertEquals(0, storage.getUsedMemory());
+        assertEquals(TOTAL_SIZE, storage.getFreeMemory());
+        assertNull(storage.get(1, ref));
+    }
+
+    @Test
+    public void testRemoveTwice_doesNotCorruptFreeChunks() {
+        DataRef ref = storage.put(1, ss.toData(randomBytes(CHUNK_SIZE)));
+        storage.remove(1, ref);
+        storage.remove(1, ref);
+
+        assertEquals(TOTAL_SIZE, storage.getFreeMemory());
+    }
+
+    @Test
+    public void testFragmentedMemory() {
+        Data data = ss.toData(randomBytes(CHUNK_SIZE + 1));
+        storage.put(1, data);
+
+        assertEquals(chunksOf(data) * CHUNK_SIZE - data.bufferSize(), storage.getFragmentedMemory());
+    }
+
+    @Test(expected = OffHeapOutOfMemoryException.class)
+    public void testPut_whenSegmentIsFull() {
+        storage.put(1, ss.toData(randomBytes((int) TOTAL_SIZE / SEGMENT_COUNT + 1)));
+    }
+
+    @Test
+    public void testMemorySize() {
+        assertEquals(512, MemorySize.parse("512"));
+        assertEquals(1024, MemorySize.parse("1K"));
+        assertEquals(128L * 1024 * 1024, MemorySize.parse("128m"));
+        assertEquals(4L * 1024 * 1024 * 1024, MemorySize.parse("4G"));
+    }
+
+    private static int chunksOf(Data data) {
+        return (data.bufferSize() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMicros(99));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(3));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(4, histogram.getPercentileMicros(50));
+        assertEquals(4, histogram.getPercentileMicros(90));
+        assertEquals(1024, histogram.getPercentileMicros(99));
+        assertEquals(1024, histogram.getPercentileMicros(100));
+    }
+
+    @Test
+    public void testBelowOneMicrosecond() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(100);
+        assertEquals(1, histogram.getPercentileMicros(50));
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(TimeUnit.SECONDS.toNanos(1));
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new LatencyHistogram().getPercentileMicros(0);
+    }
+}
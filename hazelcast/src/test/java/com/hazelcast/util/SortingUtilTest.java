@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the paging support of {@link SortingUtil} and {@link TopN}.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class SortingUtilTest {
+
+    private static final Comparator<Integer> NATURAL = new Comparator<Integer>() {
+        public int compare(Integer i1, Integer i2) {
+            return i1.compareTo(i2);
+        }
+    };
+
+    private static final Comparator<Map.Entry> KEY_ORDER = SortingUtil.newComparator(null, IterationType.KEY);
+
+    @Test
+    public void testTopN_keepsSmallestElements() {
+        TopN<Integer> topN = new TopN<Integer>(NATURAL, 3);
+        for (int i : new int[]{5, 1, 9, 3, 7, 2, 8}) {
+            topN.add(i);
+        }
+
+        assertEquals(3, topN.size());
+        assertEquals(Arrays.asList(1, 2, 3), topN.toSortedList());
+    }
+
+    @Test
+    public void testTopN_rejectsGreaterElementsWhenFull() {
+        TopN<Integer> topN = new TopN<Integer>(NATURAL, 2);
+        assertTrue(topN.add(2));
+        assertTrue(topN.add(4));
+
+        assertFalse(topN.add(5));
+        assertTrue(topN.add(3));
+        assertEquals(Arrays.asList(2, 3), topN.toSortedList());
+    }
+
+    @Test
+    public void testMerge() {
+        List<Iterator<Map.Entry>> sources = new ArrayList<Iterator<Map.Entry>>();
+        sources.add(entries(1, 4, 7).iterator());
+        sources.add(entries(2, 5, 8).iterator());
+        sources.add(Collections.<Map.Entry>emptyList().iterator());
+        sources.add(entries(3, 6, 9).iterator());
+
+        assertEquals(entries(1, 2, 3, 4, 5), SortingUtil.merge(sources, KEY_ORDER, 5));
+    }
+
+    @Test
+    public void testMerge_dropsDuplicateKeys() {
+        List<Iterator<Map.Entry>> sources = new ArrayList<Iterator<Map.Entry>>();
+        sources.add(entries(1, 2, 3).iterator());
+        sources.add(entries(2, 3, 4).iterator());
+
+        assertEquals(entries(1, 2, 3, 4), SortingUtil.merge(sources, KEY_ORDER, 10));
+    }
+
+    @Test
+    public void testMerge_keepsDifferentKeysWhichCompareEqual() {
+        // "Aa" and "BB" have the same hash code, so with equal values they compare equal
+        Map.Entry aa = new AbstractMap.SimpleImmutableEntry<String, Integer>("Aa", 1);
+        Map.Entry bb = new AbstractMap.SimpleImmutableEntry<String, Integer>("BB", 1);
+        Comparator<Map.Entry> valueOrder = SortingUtil.newComparator(null, IterationType.VALUE);
+        assertEquals(0, valueOrder.compare(aa, bb));
+        List<Iterator<Map.Entry>> sources = new ArrayList<Iterator<Map.Entry>>();
+        sources.add(Arrays.asList(aa).iterator());
+        sources.add(Arrays.asList(bb).iterator());
+        sources.add(Arrays.asList(aa).iterator());
+
+        List<Map.Entry> merged = SortingUtil.merge(sources, valueOrder, 10);
+
+        assertEquals(2, merged.size());
+        assertTrue(merged.contains(aa));
+        assertTrue(merged.contains(bb));
+    }
+
+    @Test
+    public void testGetPage_skipsPagesAndSetsTheirAnchors() {
+        PagingPredicate predicate = new PagingPredicate(2);
+        predicate.setIterationType(IterationType.KEY);
+        predicate.nextPage();
+        predicate.nextPage();
+        assertEquals(6, SortingUtil.getPagingLimit(predicate));
+
+        List<Map.Entry> page = SortingUtil.getPage(predicate, entries(0, 1, 2, 3, 4, 5));
+
+        assertEquals(entries(4, 5), page);
+        predicate.previousPage();
+        assertEquals(1, predicate.getAnchor().getKey());
+        assertEquals(1, SortingUtil.getNearestAnchor(predicate).getKey());
+        assertEquals(2, SortingUtil.getPagingLimit(predicate));
+    }
+
+    @Test
+    public void testGetPage_beyondLastEntry() {
+        PagingPredicate predicate = new PagingPredicate(2);
+        predicate.setIterationType(IterationType.KEY);
+        predicate.nextPage();
+        predicate.nextPage();
+
+        List<Map.Entry> page = SortingUtil.getPage(predicate, entries(0, 1, 2));
+
+        assertTrue(page.isEmpty());
+        assertEquals(1, predicate.getPage());
+        assertEquals(1, predicate.getAnchor().getKey());
+    }
+
+    @Test
+    public void testGetNearestAnchor_withoutAnchors() {
+        PagingPredicate predicate = new PagingPredicate(10);
+        predicate.nextPage();
+
+        assertNull(SortingUtil.getNearestAnchor(predicate));
+        assertEquals(20, SortingUtil.getPagingLimit(predicate));
+    }
+
+    @Test
+    public void testCompare_entriesOfDifferentClasses() {
+        Map.Entry<Integer, Integer> entry1 = new AbstractMap.SimpleImmutableEntry<Integer, Integer>(1, 2);
+        Map.Entry<Integer, Integer> entry2 = new AbstractMap.SimpleEntry<Integer, Integer>(1, 2) {
+            @Override
+            public int hashCode() {
+                return Integer.MIN_VALUE;
+            }
+        };
+
+        assertEquals(0, SortingUtil.compare(null, IterationType.ENTRY, entry1, entry2));
+    }
+
+    @Test
+    public void testCompare_hashCodesDoNotOverflow() {
+        Map.Entry<Object, Integer> entry1 = new AbstractMap.SimpleImmutableEntry<Object, Integer>(hashedKey(-2), 0);
+        Map.Entry<Object, Integer> entry2 = new AbstractMap.SimpleImmutableEntry<Object, Integer>(
+                hashedKey(Integer.MAX_VALUE), 0);
+
+        assertTrue(SortingUtil.compare(null, IterationType.KEY, entry1, entry2) < 0);
+        assertTrue(SortingUtil.compare(null, IterationType.KEY, entry2, entry1) > 0);
+    }
+
+    private static Object hashedKey(final int hashCode) {
+        return new Object() {
+            @Override
+            public int hashCode() {
+                return hashCode;
+            }
+        };
+    }
+
+    private static List<Map.Entry> entries(int... keys) {
+        List<Map.Entry> entries = new ArrayList<Map.Entry>();
+        for (int key : keys) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<Integer, Integer>(key, key));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2013, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MPSCQueueTest {
+
+    @Test
+    public void testOfferAndPoll_acrossChunks() {
+        final MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+        final int count = MPSCQueue.CHUNK_SIZE * 3 + 1;
+        for (int i = 0; i < count; i++) {
+            queue.offer(i);
+        }
+        assertEquals(count, queue.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPeek() {
+        final MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+        assertNull(queue.peek());
+        queue.offer(1);
+        queue.offer(2);
+        assertEquals(Integer.valueOf(1), queue.peek());
+        assertEquals(Integer.valueOf(1), queue.poll());
+        assertEquals(Integer.valueOf(2), queue.peek());
+        assertEquals(Integer.valueOf(2), queue.poll());
+        assertNull(queue.peek());
+    }
+
+    @Test
+    public void testPeek_atChunkBoundary() {
+        final MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+        for (int i = 0; i < MPSCQueue.CHUNK_SIZE; i++) {
+            queue.offer(i);
+            queue.poll();
+        }
+        assertNull(queue.peek());
+        queue.offer(-1);
+        assertEquals(Integer.valueOf(-1), queue.peek());
+    }
+
+    @Test
+    public void testIterator_acrossChunks() {
+        final MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+        final int count = MPSCQueue.CHUNK_SIZE * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            queue.offer(i);
+        }
+        queue.poll();
+        final List<Integer> items = new ArrayList<Integer>();
+        for (Integer item : queue) {
+            items.add(item);
+        }
+        assertEquals(count - 1, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(Integer.valueOf(i + 1), items.get(i));
+        }
+        assertTrue(queue.contains(count - 1));
+        assertEquals(count - 1, queue.size());
+    }
+
+    @Test
+    public void testIterator_empty() {
+        final Iterator<Integer> iterator = new MPSCQueue<Integer>().iterator();
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            fail();
+        } catch (NoSuchElementException expected) {
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIterator_remove() {
+        final MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+        queue.offer(1);
+        final Iterator<Integer> iterator = queue.iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOffer_null() {
+        new MPSCQueue<Integer>().offer(null);
+    }
+
+    @Test
+    public void testPoll_timeout() throws InterruptedException {
+        final MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testTake_wakesUpOnOffer() throws Exception {
+        final MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+        final AtomicReference<Integer> taken = new AtomicReference<Integer>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        new Thread() {
+            public void run() {
+                try {
+                    taken.set(queue.take());
+                    latch.countDown();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }.start();
+        Thread.sleep(100);
+        queue.offer(1);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(1), taken.get());
+    }
+
+    @Test
+    public void testTake_interrupted() throws Exception {
+        final MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+        Thread.currentThread().interrupt();
+        try {
+            queue.take();
+            fail();
+        } catch (InterruptedException expected) {
+        }
+    }
+
+    @Test
+    public void testMultipleProducers_keepOrderPerProducer() throws Exception {
+        final MPSCQueue<int[]> queue = new MPSCQueue<int[]>();
+        final int producerCount = 4;
+        final int itemCount = 100000;
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            new Thread() {
+                public void run() {
+                    for (int i = 0; i < itemCount; i++) {
+                        queue.offer(new int[]{producer, i});
+                    }
+                }
+            }.start();
+        }
+        final List<Integer> expected = new ArrayList<Integer>();
+        for (int p = 0; p < producerCount; p++) {
+            expected.add(0);
+        }
+        for (int i = 0; i < producerCount * itemCount; i++) {
+            final int[] item = queue.poll(10, TimeUnit.SECONDS);
+            final int producer = item[0];
+            assertEquals(expected.get(producer).intValue(), item[1]);
+            expected.set(producer, item[1] + 1);
+        }
+        assertNull(queue.poll());
+    }
+}